@@ -0,0 +1,124 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandAllDetails;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandInfo;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing the expanded /connectors responses, scaled up to simulate large clusters, both eagerly and lazily.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpandedResponseParsingBenchmark {
+
+    @Param({"status", "info", "all"})
+    public String expand;
+
+    @Param({"100", "10000"})
+    public int connectorCount;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private Request<?> request;
+    private String responseStr;
+    private byte[] responseBytes;
+
+    /**
+     * Generate the scaled mock response.
+     */
+    @Setup
+    public void setup() {
+        final String mockResponse;
+        switch (expand) {
+            case "status":
+                request = new GetConnectorsExpandStatus(lazy);
+                mockResponse = "getConnectorsWithExpandedStatus.json";
+                break;
+            case "info":
+                request = new GetConnectorsExpandInfo(lazy);
+                mockResponse = "getConnectorsWithExpandedInfo.json";
+                break;
+            case "all":
+                request = new GetConnectorsExpandAllDetails(lazy);
+                mockResponse = "getConnectorsWithAllExpandedMetadata.json";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown expand value: " + expand);
+        }
+        responseStr = MockResponses.scaleExpanded(mockResponse, connectorCount);
+        responseBytes = responseStr.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a response which has been read into a String.
+     * @return parsed result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object parseFromString() throws IOException {
+        return request.parseResponse(responseStr);
+    }
+
+    /**
+     * Parse a response directly from its byte stream.
+     * @return parsed result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object parseFromStream() throws IOException {
+        return request.parseResponse(new ByteArrayInputStream(responseBytes));
+    }
+
+    /**
+     * Parse a response directly from its byte stream, then look up a single connector, as when monitoring only a
+     * few connectors of a large cluster.
+     * @return looked up result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object parseAndLookupOne() throws IOException {
+        final ConnectorsWithExpandedMetadata result = (ConnectorsWithExpandedMetadata) request.parseResponse(new ByteArrayInputStream(responseBytes));
+        final String connectorName = result.getConnectorNames().iterator().next();
+        return "info".equals(expand) ? result.getDefinitionForConnector(connectorName) : result.getStatusForConnector(connectorName);
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+import org.sourcelab.kafka.connect.apiclient.request.dto.NewConnectorDefinition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding through the shared ObjectMapper, which resolves the (de)serializer on every call, against the
+ * ObjectReader and ObjectWriter instances cached by JacksonFactory.
+ *
+ * Blackbird is on the benchmark classpath, but is only registered on Java 9+ when enabled.  To measure with it:
+ *   mvn -P benchmark test-compile exec:exec -Djmh.include=JacksonBindingBenchmark \
+ *     -Djmh.args="-jvmArgsAppend -Dkafka.connect.client.jackson.acceleration=true"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBindingBenchmark {
+
+    @Param({
+        "getConnectorStatus.json",
+        "getConnectorConfig.json",
+        "getConnectorsWithExpandedStatus.json"
+    })
+    public String mockResponse;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private byte[] responseBytes;
+    private NewConnectorDefinition connectorDefinition;
+
+    /**
+     * Load the mock response, and resolve its type.
+     */
+    @Setup
+    public void setup() {
+        mapper = JacksonFactory.newInstance();
+        if (mockResponse.equals("getConnectorStatus.json")) {
+            type = mapper.constructType(ConnectorStatus.class);
+        } else if (mockResponse.equals("getConnectorConfig.json")) {
+            type = JacksonFactory.mapTypeStringString;
+        } else {
+            type = mapper.constructType(ConnectorsWithExpandedMetadata.class);
+        }
+        reader = JacksonFactory.readerFor(type);
+        writer = JacksonFactory.writerFor(NewConnectorDefinition.class);
+        responseBytes = MockResponses.read(mockResponse).getBytes(StandardCharsets.UTF_8);
+
+        final Map<String, String> config = new HashMap<>();
+        config.put("connector.class", "org.apache.kafka.connect.file.FileStreamSinkConnector");
+        config.put("file", "/tmp/test.sink.txt");
+        config.put("tasks.max", "3");
+        config.put("topics", "topic1,topic2,topic3");
+        connectorDefinition = new NewConnectorDefinition("MyTestConnector", config);
+    }
+
+    /**
+     * Parse via the shared ObjectMapper.
+     * @return parsed result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object readWithMapper() throws IOException {
+        return mapper.readValue(responseBytes, type);
+    }
+
+    /**
+     * Parse via the cached ObjectReader.
+     * @return parsed result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object readWithReader() throws IOException {
+        return reader.readValue(responseBytes);
+    }
+
+    /**
+     * Serialize a new connector request body via the shared ObjectMapper.
+     * @return serialized body.
+     * @throws IOException on serialization errors.
+     */
+    @Benchmark
+    public String writeWithMapper() throws IOException {
+        return mapper.writeValueAsString(connectorDefinition);
+    }
+
+    /**
+     * Serialize a new connector request body via the cached ObjectWriter.
+     * @return serialized body.
+     * @throws IOException on serialization errors.
+     */
+    @Benchmark
+    public String writeWithWriter() throws IOException {
+        return writer.writeValueAsString(connectorDefinition);
+    }
+}
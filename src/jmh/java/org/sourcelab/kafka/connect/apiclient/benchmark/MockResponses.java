@@ -0,0 +1,107 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the mock responses used by the unit tests, optionally scaling them up to simulate large clusters.
+ */
+final class MockResponses {
+
+    private MockResponses() {
+    }
+
+    /**
+     * Load a mock response from test resources.
+     * @param fileName file name under mockResponses/
+     * @return The contents of the file, as a UTF-8 string.
+     */
+    static String read(final String fileName) {
+        try (final InputStream inputStream = MockResponses.class.getClassLoader().getResourceAsStream("mockResponses/" + fileName)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Unable to find mock response " + fileName);
+            }
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final byte[] chunk = new byte[4096];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, bytesRead);
+            }
+            return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Scale up one of the expanded /connectors mock responses to contain the requested number of connectors.
+     * Connectors in the mock response are used as templates in round robin order, each copy being renamed.
+     *
+     * @param fileName file name of an expanded /connectors mock response.
+     * @param connectorCount Number of connectors the result should contain.
+     * @return JSON response containing connectorCount connectors.
+     */
+    static String scaleExpanded(final String fileName, final int connectorCount) {
+        final ObjectMapper mapper = JacksonFactory.newInstance();
+        try {
+            final JsonNode source = mapper.readTree(read(fileName));
+            final List<JsonNode> templates = new ArrayList<>();
+            source.elements().forEachRemaining(templates::add);
+
+            final ObjectNode result = mapper.createObjectNode();
+            for (int index = 0; index < connectorCount; index++) {
+                final String name = "connector-" + index;
+                final ObjectNode entry = templates.get(index % templates.size()).deepCopy();
+                rename(entry, name);
+                result.set(name, entry);
+            }
+            return mapper.writeValueAsString(result);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void rename(final ObjectNode entry, final String name) {
+        final Iterator<Map.Entry<String, JsonNode>> sections = entry.fields();
+        while (sections.hasNext()) {
+            final Map.Entry<String, JsonNode> section = sections.next();
+            final ObjectNode sectionNode = (ObjectNode) section.getValue();
+            sectionNode.put("name", name);
+
+            // 'info' sections also reference the connector name from within config and task definitions.
+            if ("info".equals(section.getKey())) {
+                ((ObjectNode) sectionNode.get("config")).put("name", name);
+                sectionNode.get("tasks").forEach((task) -> ((ObjectNode) task).put("connector", name));
+            }
+        }
+    }
+}
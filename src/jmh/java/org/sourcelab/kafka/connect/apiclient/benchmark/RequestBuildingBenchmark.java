@@ -0,0 +1,128 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+import org.sourcelab.kafka.connect.apiclient.request.dto.NewConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnector;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnectorRestart;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the client side cost of building requests: endpoint construction, path escaping, and body serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBuildingBenchmark {
+
+    private static final String PLAIN_NAME = "MyTestConnector";
+    private static final String ESCAPED_NAME = "My Test/Connector?with&reserved#characters";
+
+    private ObjectMapper mapper;
+    private Map<String, String> config;
+    private NewConnectorDefinition connectorDefinition;
+
+    /**
+     * Build request bodies.
+     */
+    @Setup
+    public void setup() {
+        mapper = JacksonFactory.newInstance();
+
+        config = new HashMap<>();
+        config.put("connector.class", "org.apache.kafka.connect.file.FileStreamSinkConnector");
+        config.put("file", "/tmp/test.sink.txt");
+        config.put("tasks.max", "3");
+        config.put("topics", "topic1,topic2,topic3");
+        config.put("key.converter", "org.apache.kafka.connect.storage.StringConverter");
+        config.put("value.converter", "org.apache.kafka.connect.json.JsonConverter");
+
+        connectorDefinition = new NewConnectorDefinition(PLAIN_NAME, config);
+    }
+
+    /**
+     * Build the restart endpoint including its query parameters.
+     * @return endpoint.
+     */
+    @Benchmark
+    public String restartEndpoint() {
+        return new PostConnectorRestart(PLAIN_NAME)
+            .withIncludeTasks(true)
+            .withOnlyFailed(true)
+            .getApiEndpoint();
+    }
+
+    /**
+     * Escape a connector name which contains no reserved characters.
+     * @return escaped name.
+     */
+    @Benchmark
+    public String escapePlainName() {
+        return UrlEscapingUtil.escapePath(PLAIN_NAME);
+    }
+
+    /**
+     * Escape a connector name which contains reserved characters.
+     * @return escaped name.
+     */
+    @Benchmark
+    public String escapeReservedName() {
+        return UrlEscapingUtil.escapePath(ESCAPED_NAME);
+    }
+
+    /**
+     * Serialize a new connector request body.
+     * @return serialized body.
+     * @throws JsonProcessingException on serialization errors.
+     */
+    @Benchmark
+    public String serializeNewConnector() throws JsonProcessingException {
+        return mapper.writeValueAsString(new PostConnector(connectorDefinition).getRequestBody());
+    }
+
+    /**
+     * Serialize a connector config update request body.
+     * @return serialized body.
+     * @throws JsonProcessingException on serialization errors.
+     */
+    @Benchmark
+    public String serializeConnectorConfig() throws JsonProcessingException {
+        return mapper.writeValueAsString(new PutConnectorConfig(PLAIN_NAME, config).getRequestBody());
+    }
+}
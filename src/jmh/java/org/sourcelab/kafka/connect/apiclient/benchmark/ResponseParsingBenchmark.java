@@ -0,0 +1,139 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectServerVersion;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnector;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorPlugins;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorTaskStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorTasks;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorTopics;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandAllDetails;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandInfo;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorPluginConfigValidate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing each of the mock responses used by the unit tests, via both the String and InputStream paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    /**
+     * Request used to parse each mock response.
+     */
+    private static final Map<String, Request<?>> REQUESTS = new HashMap<>();
+
+    static {
+        REQUESTS.put("getConnectServerVersion.json", new GetConnectServerVersion());
+        REQUESTS.put("getConnector.json", new GetConnector("MyTestConnector"));
+        REQUESTS.put("getConnectorConfig.json", new GetConnectorConfig("MyTestConnector"));
+        REQUESTS.put("getConnectorPlugins.json", new GetConnectorPlugins());
+        REQUESTS.put("getConnectorStatus.json", new GetConnectorStatus("MyTestConnector"));
+        REQUESTS.put("getConnectorTaskStatus.json", new GetConnectorTaskStatus("MyTestConnector", 0));
+        REQUESTS.put("getConnectorTasks.json", new GetConnectorTasks("MyTestConnector"));
+        REQUESTS.put("getConnectorTopics.json", new GetConnectorTopics("MyTestConnector"));
+        REQUESTS.put("getConnectors.json", new GetConnectors());
+        REQUESTS.put("getConnectorsWithAllExpandedMetadata.json", new GetConnectorsExpandAllDetails());
+        REQUESTS.put("getConnectorsWithExpandedInfo.json", new GetConnectorsExpandInfo());
+        REQUESTS.put("getConnectorsWithExpandedStatus.json", new GetConnectorsExpandStatus());
+        REQUESTS.put(
+            "putConnectorPluginConfigValidate.json",
+            new PutConnectorPluginConfigValidate("FileStreamSinkConnector", Collections.emptyMap())
+        );
+    }
+
+    @Param({
+        "getConnectServerVersion.json",
+        "getConnector.json",
+        "getConnectorConfig.json",
+        "getConnectorPlugins.json",
+        "getConnectorStatus.json",
+        "getConnectorTaskStatus.json",
+        "getConnectorTasks.json",
+        "getConnectorTopics.json",
+        "getConnectors.json",
+        "getConnectorsWithAllExpandedMetadata.json",
+        "getConnectorsWithExpandedInfo.json",
+        "getConnectorsWithExpandedStatus.json",
+        "putConnectorPluginConfigValidate.json"
+    })
+    public String mockResponse;
+
+    private Request<?> request;
+    private String responseStr;
+    private byte[] responseBytes;
+
+    /**
+     * Load the mock response.
+     */
+    @Setup
+    public void setup() {
+        request = REQUESTS.get(mockResponse);
+        responseStr = MockResponses.read(mockResponse);
+        responseBytes = responseStr.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a response which has been read into a String.
+     * @return parsed result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object parseFromString() throws IOException {
+        return request.parseResponse(responseStr);
+    }
+
+    /**
+     * Parse a response directly from its byte stream.
+     * @return parsed result.
+     * @throws IOException on parse errors.
+     */
+    @Benchmark
+    public Object parseFromStream() throws IOException {
+        return request.parseResponse(new ByteArrayInputStream(responseBytes));
+    }
+}
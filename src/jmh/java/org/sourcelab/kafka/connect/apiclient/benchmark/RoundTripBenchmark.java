@@ -0,0 +1,91 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.KafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedStatus;
+import testserver.TestHttpServer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full request round trip through KafkaConnectClient against a local mock server.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    private static final int HTTP_PORT = 10890;
+
+    @Param({"10", "1000"})
+    public int connectorCount;
+
+    private TestHttpServer httpServer;
+    private KafkaConnectClient client;
+
+    /**
+     * Start the mock server and create the client.
+     * @throws Exception on errors starting the server.
+     */
+    @Setup
+    public void setup() throws Exception {
+        httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(MockResponses.scaleExpanded("getConnectorsWithExpandedStatus.json", connectorCount))
+            .start();
+        client = new KafkaConnectClient(new Configuration("http://localhost:" + HTTP_PORT));
+    }
+
+    /**
+     * Shut down the client and the mock server.
+     * @throws Exception on errors stopping the server.
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        httpServer.close();
+    }
+
+    /**
+     * Retrieve the expanded status of all connectors.
+     * @return parsed result.
+     */
+    @Benchmark
+    public ConnectorsWithExpandedStatus getConnectorsWithExpandedStatus() {
+        return client.getConnectorsWithExpandedStatus();
+    }
+}
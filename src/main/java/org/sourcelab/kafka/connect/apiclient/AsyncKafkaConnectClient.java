@@ -0,0 +1,576 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.delete.DeleteConnector;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectServerVersion;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorPlugin;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorPluginConfigDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorPluginConfigValidationResults;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorTopics;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedInfo;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.NewConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.dto.Task;
+import org.sourcelab.kafka.connect.apiclient.request.dto.TaskStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectServerVersion;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnector;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorPlugins;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorTaskStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorTasks;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorTopics;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandAllDetails;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandInfo;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnector;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnectorRestart;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnectorTaskRestart;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorPause;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorPluginConfigValidate;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorResume;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorTopicsReset;
+import org.sourcelab.kafka.connect.apiclient.rest.AsyncRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.ExecutorAsyncRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.HttpClientRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous API Client for interacting with the Kafka-Connect Rest Endpoint.
+ *
+ * Exposes the same operations as {@link KafkaConnectClient}, but every method returns immediately with a
+ * CompletableFuture which is completed with the result, or completed exceptionally with the same exception
+ * types KafkaConnectClient would have thrown.
+ *
+ * By default requests are executed by an {@link ExecutorAsyncRestClient}, which still blocks one of its pool's threads
+ * per in-flight request, so no more than {@link Configuration#useAsyncThreadPoolSize(int)} requests are in flight at
+ * once.  For non-blocking I/O, construct the client with a JdkHttpRestClient (Java 11+) or HttpClient5RestClient.
+ *
+ * Official Rest Endpoint documentation can be found here:
+ *   https://docs.confluent.io/current/connect/references/restapi.html
+ */
+public class AsyncKafkaConnectClient implements AutoCloseable {
+
+    /**
+     * Our API Configuration.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Underlying AsyncRestClient to use.
+     */
+    private final AsyncRestClient restClient;
+
+    /**
+     * Translates responses into results or exceptions.
+     */
+    private final RestResponseParser responseParser;
+
+    /**
+     * Shares in flight GET requests between concurrent callers, or null if disabled.
+     */
+    private final RequestCoalescer requestCoalescer;
+
+    /**
+     * Schedules retries of failed requests, created during initialization.
+     */
+    private ScheduledThreadPoolExecutor retryScheduler;
+
+    /**
+     * Guards initializing and closing the underlying RestClient.
+     */
+    private final Object stateLock = new Object();
+
+    /**
+     * Internal State flags.  isInitialized is volatile so that once set, callers can skip acquiring stateLock.
+     */
+    private volatile boolean isInitialized = false;
+    private boolean isClosed = false;
+
+    /**
+     * Default Constructor.
+     * @param configuration Api Client Configuration.
+     */
+    public AsyncKafkaConnectClient(final Configuration configuration) {
+        this(configuration, new ExecutorAsyncRestClient(new HttpClientRestClient()));
+    }
+
+    /**
+     * Constructor for injecting an AsyncRestClient implementation.
+     * @param configuration Api Client Configuration.
+     * @param restClient AsyncRestClient implementation to use.
+     */
+    public AsyncKafkaConnectClient(final Configuration configuration, final AsyncRestClient restClient) {
+        this.configuration = configuration;
+        this.restClient = restClient;
+        this.responseParser = new RestResponseParser(configuration);
+        this.requestCoalescer = configuration.isRequestCoalescingEnabled() ? new RequestCoalescer() : null;
+    }
+
+    /**
+     * Retrieve details about the Kafka-Connect service itself.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--
+     * @return Future resolving to: ConnectServerVersion
+     */
+    public CompletableFuture<ConnectServerVersion> getConnectServerVersion() {
+        return submitRequest(new GetConnectServerVersion());
+    }
+
+    /**
+     * Get a list of deployed connectors.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors
+     *
+     * @return Future resolving to: Collection of connector names currently deployed.
+     */
+    public CompletableFuture<Collection<String>> getConnectors() {
+        return submitRequest(new GetConnectors());
+    }
+
+    /**
+     * Get a list of deployed connectors, including the status for each connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors
+     *
+     * Requires Kafka-Connect 2.3.0+
+     *
+     * @return Future resolving to: All deployed connectors, and their respective statuses.
+     */
+    public CompletableFuture<ConnectorsWithExpandedStatus> getConnectorsWithExpandedStatus() {
+        return submitRequest(new GetConnectorsExpandStatus(configuration.isLazyExpandedResponsesEnabled()));
+    }
+
+    /**
+     * Get a list of deployed connectors, including the definition for each connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors
+     *
+     * Requires Kafka-Connect 2.3.0+
+     *
+     * @return Future resolving to: All deployed connectors, and their respective definition.
+     */
+    public CompletableFuture<ConnectorsWithExpandedInfo> getConnectorsWithExpandedInfo() {
+        return submitRequest(new GetConnectorsExpandInfo(configuration.isLazyExpandedResponsesEnabled()));
+    }
+
+    /**
+     * Get a list of deployed connectors, including all metadata available.
+     * Currently includes both 'info' and 'status'
+     * metadata.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors
+     *
+     * Requires Kafka-Connect 2.3.0+
+     *
+     * @return Future resolving to: All deployed connectors, and their respective metadata.
+     */
+    public CompletableFuture<ConnectorsWithExpandedMetadata> getConnectorsWithAllExpandedMetadata() {
+        return submitRequest(new GetConnectorsExpandAllDetails(configuration.isLazyExpandedResponsesEnabled()));
+    }
+
+    /**
+     * Get information about the connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)
+     * @param connectorName Name of connector.
+     * @return Future resolving to: Connector details.
+     */
+    public CompletableFuture<ConnectorDefinition> getConnector(final String connectorName) {
+        return submitRequest(new GetConnector(connectorName));
+    }
+
+    /**
+     * Get the configuration for the connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)-config
+     * @param connectorName Name of connector.
+     * @return Future resolving to: Configuration for connector.
+     */
+    public CompletableFuture<Map<String, String>> getConnectorConfig(final String connectorName) {
+        return submitRequest(new GetConnectorConfig(connectorName));
+    }
+
+    /**
+     * Get the status of specified connector by name.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)-config
+     *
+     * @param connectorName Name of connector.
+     * @return Future resolving to: Status details of the connector.
+     */
+    public CompletableFuture<ConnectorStatus> getConnectorStatus(final String connectorName) {
+        return submitRequest(new GetConnectorStatus(connectorName));
+    }
+
+    /**
+     * Get the set of topics that a specific connector is using since the connector was created or since a request
+     * to reset its set of active topics was issued.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)-topics
+     *
+     * Requires Kafka-Connect 2.5.0+
+     *
+     * @param connectorName Name of connector.
+     * @return Future resolving to: Connector Topics response.
+     */
+    public CompletableFuture<ConnectorTopics> getConnectorTopics(final String connectorName) {
+        return submitRequest(new GetConnectorTopics(connectorName));
+    }
+
+    /**
+     * Send a request to empty the set of active topics of a connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#put--connectors-(string-name)-topics-reset
+     * Requires Kafka-Connect 2.5.0+
+     *
+     * @param connectorName Name of connector.
+     * @return Future resolving to: true on success.
+     */
+    public CompletableFuture<Boolean> resetConnectorTopics(final String connectorName) {
+        return submitRequest(new PutConnectorTopicsReset(connectorName));
+    }
+
+    /**
+     * Create a new connector, returning the current connector info if successful.
+     * https://docs.confluent.io/current/connect/references/restapi.html#post--connectors
+     *
+     * @param connectorDefinition Defines the new connector to deploy
+     * @return Future resolving to: connector info.
+     */
+    public CompletableFuture<ConnectorDefinition> addConnector(final NewConnectorDefinition connectorDefinition) {
+        return submitRequest(new PostConnector(connectorDefinition));
+    }
+
+    /**
+     * Update a connector's configuration.
+     * https://docs.confluent.io/current/connect/references/restapi.html#put--connectors-(string-name)-config
+     *
+     * @param connectorName Name of connector to update.
+     * @param config Configuration values to set.
+     * @return Future resolving to: ConnectorDefinition describing the connectors configuration.
+     */
+    public CompletableFuture<ConnectorDefinition> updateConnectorConfig(final String connectorName, final Map<String, String> config) {
+        return submitRequest(new PutConnectorConfig(connectorName, config));
+    }
+
+    /**
+     * Restart a connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#post--connectors-(string-name)-restart
+     *
+     * @param connectorName Name of connector to restart.
+     * @return Future resolving to: Boolean true if success.
+     */
+    public CompletableFuture<Boolean> restartConnector(final String connectorName) {
+        return submitRequest(new PostConnectorRestart(connectorName));
+    }
+
+    /**
+     * Restart a connector, optionally including its tasks and only restarting failed instances.
+     * https://docs.confluent.io/current/connect/references/restapi.html#post--connectors-(string-name)-restart
+     * Requires Kafka-Connect server 3.0.0+
+     *
+     * @param connectorName Name of connector to restart.
+     * @param includeTasks Restart the connector's tasks as well as the connector instance.
+     * @param onlyFailed Only restart instances with a FAILED status.
+     * @return Future resolving to: Boolean true if success.
+     */
+    public CompletableFuture<Boolean> restartConnector(final String connectorName, final boolean includeTasks, final boolean onlyFailed) {
+        return submitRequest(new PostConnectorRestart(connectorName)
+            .withIncludeTasks(includeTasks)
+            .withOnlyFailed(onlyFailed)
+        );
+    }
+
+    /**
+     * Pause a connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#put--connectors-(string-name)-pause
+     *
+     * @param connectorName Name of connector to pause.
+     * @return Future resolving to: Boolean true if success.
+     */
+    public CompletableFuture<Boolean> pauseConnector(final String connectorName) {
+        return submitRequest(new PutConnectorPause(connectorName));
+    }
+
+    /**
+     * Resume a connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#put--connectors-(string-name)-resume
+     *
+     * @param connectorName Name of connector to resume.
+     * @return Future resolving to: Boolean true if success.
+     */
+    public CompletableFuture<Boolean> resumeConnector(final String connectorName) {
+        return submitRequest(new PutConnectorResume(connectorName));
+    }
+
+    /**
+     * Delete a connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#delete--connectors-(string-name)-
+     *
+     * @param connectorName Name of connector to delete.
+     * @return Future resolving to: Boolean true if success.
+     */
+    public CompletableFuture<Boolean> deleteConnector(final String connectorName) {
+        return submitRequest(new DeleteConnector(connectorName));
+    }
+
+    /**
+     * Get a list of tasks currently running for the connector.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)-tasks
+     *
+     * @param connectorName Name of connector to retrieve tasks for.
+     * @return Future resolving to: Collection of details about each task.
+     */
+    public CompletableFuture<Collection<Task>> getConnectorTasks(final String connectorName) {
+        return submitRequest(new GetConnectorTasks(connectorName));
+    }
+
+    /**
+     * Get a task’s status.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)-tasks-(int-taskid)-status
+     *
+     * @param connectorName Name of connector to retrieve tasks for.
+     * @param taskId Id of task to get status for.
+     * @return Future resolving to: Details about task.
+     */
+    public CompletableFuture<TaskStatus> getConnectorTaskStatus(final String connectorName, final int taskId) {
+        return submitRequest(new GetConnectorTaskStatus(connectorName, taskId));
+    }
+
+    /**
+     * Restart an individual task.
+     * https://docs.confluent.io/current/connect/references/restapi.html#post--connectors-(string-name)-tasks-(int-taskid)-restart
+     *
+     * @param connectorName Name of connector to restart tasks for.
+     * @param taskId Id of task to restart
+     * @return Future resolving to: True if a success.
+     */
+    public CompletableFuture<Boolean> restartConnectorTask(final String connectorName, final int taskId) {
+        return submitRequest(new PostConnectorTaskRestart(connectorName, taskId));
+    }
+
+    /**
+     * Return a list of connector plugins installed in the Kafka Connect cluster.
+     * https://docs.confluent.io/current/connect/references/restapi.html#get--connector-plugins-
+     *
+     * @return Future resolving to: Collection of available connector plugins.
+     */
+    public CompletableFuture<Collection<ConnectorPlugin>> getConnectorPlugins() {
+        return submitRequest(new GetConnectorPlugins());
+    }
+
+    /**
+     * Validate the provided configuration values against the configuration definition. This API performs per config
+     * validation, returns suggested values and error messages during validation.
+     * https://docs.confluent.io/current/connect/references/restapi.html#put--connector-plugins-(string-name)-config-validate
+     *
+     * @param configDefinition Defines the configuration to validate.
+     * @return Future resolving to: Results of the validation.
+     */
+    public CompletableFuture<ConnectorPluginConfigValidationResults> validateConnectorPluginConfig(final ConnectorPluginConfigDefinition configDefinition) {
+        return submitRequest(
+            new PutConnectorPluginConfigValidate(configDefinition.getName(), configDefinition.getConfig())
+        );
+    }
+
+    /**
+     * Release any resources held by the underlying AsyncRestClient.  The client may not be used after being closed.
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            if (!isClosed) {
+                isClosed = true;
+                isInitialized = false;
+                restClient.close();
+
+                // Pending retries still run, failing as the client has been closed.
+                if (retryScheduler != null) {
+                    retryScheduler.shutdown();
+                }
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> submitRequest(final Request<T> request) {
+        final ResponseCache responseCache = configuration.getResponseCache();
+        if (responseCache == null) {
+            return submitCoalescedRequest(request);
+        }
+        return responseCache.getAsync(request, () -> submitCoalescedRequest(request));
+    }
+
+    private <T> CompletableFuture<T> submitCoalescedRequest(final Request<T> request) {
+        if (requestCoalescer == null) {
+            return submitUncachedRequest(request);
+        }
+        return requestCoalescer.submitAsync(request, () -> submitUncachedRequest(request));
+    }
+
+    private <T> CompletableFuture<T> submitUncachedRequest(final Request<T> request) {
+        final RequestMetricsListener metricsListener = configuration.getRequestMetricsListener();
+        final long startNanos = System.nanoTime();
+
+        // Submit request, parsing the response once it arrives.
+        return submitWithRetries(request)
+            .thenApply((restResponse) -> responseParser.parse(request, restResponse))
+            .whenComplete((result, error) -> {
+                if (error == null) {
+                    metricsListener.onRequestSuccess(request, System.nanoTime() - startNanos);
+                } else {
+                    metricsListener.onRequestFailure(request, unwrap(error), System.nanoTime() - startNanos);
+                }
+            });
+    }
+
+    /**
+     * Submit the request, retrying failed attempts as allowed by the configured RetryPolicy.
+     * @param request The request to submit.
+     * @return Future resolving to the response to the final attempt.
+     */
+    private CompletableFuture<RestResponse> submitWithRetries(final Request<?> request) {
+        final RetryPolicy retryPolicy = configuration.getRetryPolicy();
+        final CompletableFuture<RestResponse> firstAttempt;
+        try {
+            firstAttempt = getRestClient().submitRequestAsync(request);
+        } catch (final RuntimeException exception) {
+            // Client has been closed, or the request could not be submitted.
+            final CompletableFuture<RestResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(exception);
+            return failed;
+        }
+        if (!retryPolicy.isEnabled()) {
+            return firstAttempt;
+        }
+        retryPolicy.onRequest();
+
+        final CompletableFuture<RestResponse> result = new CompletableFuture<>();
+        handleAttempt(request, 1, firstAttempt, result);
+        return result;
+    }
+
+    /**
+     * Once an attempt completes, either schedule a retry or complete the result with the attempt's outcome.
+     * @param request The request being submitted.
+     * @param attempt The attempt number, starting at 1.
+     * @param attemptFuture Future resolving to the outcome of the attempt.
+     * @param result Future to complete with the outcome of the final attempt.
+     */
+    private void handleAttempt(
+        final Request<?> request,
+        final int attempt,
+        final CompletableFuture<RestResponse> attemptFuture,
+        final CompletableFuture<RestResponse> result
+    ) {
+        attemptFuture.whenComplete((restResponse, error) -> {
+            final RetryPolicy retryPolicy = configuration.getRetryPolicy();
+            final Throwable cause = unwrap(error);
+            final OptionalLong retryDelay = cause == null
+                ? retryPolicy.getRetryDelay(request, attempt, restResponse.getHttpCode())
+                : retryPolicy.getRetryDelay(request, attempt, cause);
+
+            if (retryDelay.isPresent()) {
+                configuration.getRequestMetricsListener().onRetry(
+                    request, attempt, cause == null ? restResponse.getHttpCode() : 0, cause, retryDelay.getAsLong()
+                );
+                try {
+                    retryScheduler.schedule(() -> retry(request, attempt + 1, result), retryDelay.getAsLong(), TimeUnit.MILLISECONDS);
+                    return;
+                } catch (final RejectedExecutionException exception) {
+                    // Client has been closed, report the outcome of this attempt.
+                }
+            }
+
+            if (cause != null) {
+                result.completeExceptionally(cause);
+            } else {
+                result.complete(restResponse);
+            }
+        });
+    }
+
+    /**
+     * Submit a retry attempt.
+     * @param request The request being submitted.
+     * @param attempt The attempt number.
+     * @param result Future to complete with the outcome of the final attempt.
+     */
+    private void retry(final Request<?> request, final int attempt, final CompletableFuture<RestResponse> result) {
+        final CompletableFuture<RestResponse> attemptFuture;
+        try {
+            attemptFuture = getRestClient().submitRequestAsync(request);
+        } catch (final RuntimeException exception) {
+            result.completeExceptionally(exception);
+            return;
+        }
+        handleAttempt(request, attempt, attemptFuture, result);
+    }
+
+    /**
+     * Report the underlying exception, rather than the wrapper added by CompletableFuture.
+     * @param error The error a future completed with, or null.
+     * @return The underlying exception, or null.
+     */
+    private static Throwable unwrap(final Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private AsyncRestClient getRestClient() {
+        // Fast path, already initialized.
+        if (isInitialized) {
+            return restClient;
+        }
+
+        synchronized (stateLock) {
+            if (isClosed) {
+                throw new IllegalStateException("Client has been closed.");
+            }
+
+            // If we haven't initialized.
+            if (!isInitialized) {
+                // Call Init.
+                restClient.init(getConfiguration());
+
+                // Scheduler thread is only started once a retry is scheduled.
+                retryScheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+                    final Thread thread = new Thread(runnable, "kafka-connect-client-retry");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+                // Flip state flag
+                isInitialized = true;
+            }
+        }
+
+        // return our rest client.
+        return restClient;
+    }
+
+    private Configuration getConfiguration() {
+        return configuration;
+    }
+}
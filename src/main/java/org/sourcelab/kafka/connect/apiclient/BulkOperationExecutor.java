@@ -0,0 +1,144 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.sourcelab.kafka.connect.apiclient.util.VirtualThreads;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Applies an operation to many connectors in parallel, bounded by the concurrency and rate limit defined in Configuration.
+ */
+final class BulkOperationExecutor {
+    private final int concurrency;
+    private final int rateLimitPerSecond;
+    private final boolean useVirtualThreads;
+
+    /**
+     * Constructor.
+     * @param concurrency Maximum number of operations in flight at once.
+     * @param rateLimitPerSecond Maximum number of operations started per second, or 0 for no limit.
+     */
+    BulkOperationExecutor(final int concurrency, final int rateLimitPerSecond) {
+        this(concurrency, rateLimitPerSecond, false);
+    }
+
+    /**
+     * Constructor.
+     * @param concurrency Maximum number of operations in flight at once.
+     * @param rateLimitPerSecond Maximum number of operations started per second, or 0 for no limit.
+     * @param useVirtualThreads Run each operation on a new virtual thread when supported by the runtime,
+     *                          rather than on a pool of platform threads.
+     */
+    BulkOperationExecutor(final int concurrency, final int rateLimitPerSecond, final boolean useVirtualThreads) {
+        this.concurrency = concurrency;
+        this.rateLimitPerSecond = rateLimitPerSecond;
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * Apply the operation to each connector, waiting for all operations to complete.
+     * @param connectorNames Names of connectors to apply the operation to.
+     * @param operation Operation to apply.
+     * @param <T> Result type of the operation.
+     * @return Result or exception for every connector, in the order given.
+     */
+    <T> BulkOperationResult<T> execute(final Collection<String> connectorNames, final Function<String, T> operation) {
+        // Apply the operation once per connector.
+        final Set<String> uniqueNames = new LinkedHashSet<>(connectorNames);
+        final Map<String, T> successes = new LinkedHashMap<>();
+        final Map<String, Exception> failures = new LinkedHashMap<>();
+        if (uniqueNames.isEmpty()) {
+            return new BulkOperationResult<>(successes, failures);
+        }
+
+        final RateLimiter rateLimiter = rateLimitPerSecond > 0 ? new RateLimiter(rateLimitPerSecond) : null;
+
+        // A virtual thread is started per operation, so concurrency is bounded by a semaphore rather than the pool size.
+        // Operations beyond the connection pool's size wait within HttpClientRestClient, also on a semaphore.
+        final ExecutorService executorService;
+        final Semaphore permits;
+        if (useVirtualThreads && VirtualThreads.isAvailable()) {
+            executorService = VirtualThreads.newThreadPerTaskExecutor("kafka-connect-client-bulk-");
+            permits = new Semaphore(concurrency);
+        } else {
+            final AtomicInteger threadCount = new AtomicInteger(0);
+            executorService = Executors.newFixedThreadPool(Math.min(concurrency, uniqueNames.size()), (runnable) -> {
+                final Thread thread = new Thread(runnable, "kafka-connect-client-bulk-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            permits = null;
+        }
+
+        try {
+            final Map<String, Future<T>> futures = new LinkedHashMap<>();
+            for (final String connectorName : uniqueNames) {
+                futures.put(connectorName, executorService.submit(() -> {
+                    if (permits != null) {
+                        permits.acquire();
+                    }
+                    try {
+                        if (rateLimiter != null) {
+                            rateLimiter.acquire();
+                        }
+                        return operation.apply(connectorName);
+                    } finally {
+                        if (permits != null) {
+                            permits.release();
+                        }
+                    }
+                }));
+            }
+
+            for (final Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+                try {
+                    successes.put(entry.getKey(), entry.getValue().get());
+                } catch (final ExecutionException exception) {
+                    failures.put(entry.getKey(), unwrap(exception));
+                } catch (final CancellationException exception) {
+                    failures.put(entry.getKey(), exception);
+                } catch (final InterruptedException exception) {
+                    // Abandon any remaining operations, preserving the interrupt for the caller.
+                    Thread.currentThread().interrupt();
+                    executorService.shutdownNow();
+                    failures.put(entry.getKey(), exception);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        return new BulkOperationResult<>(successes, failures);
+    }
+
+    private static Exception unwrap(final ExecutionException exception) {
+        return exception.getCause() instanceof Exception ? (Exception) exception.getCause() : exception;
+    }
+}
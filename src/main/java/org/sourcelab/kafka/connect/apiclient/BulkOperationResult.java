@@ -0,0 +1,67 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of applying an operation to many connectors, recording the result or exception for each connector
+ * rather than stopping at the first failure.
+ *
+ * @param <T> Result type of the operation.
+ */
+public final class BulkOperationResult<T> {
+    private final Map<String, T> successes;
+    private final Map<String, Exception> failures;
+
+    /**
+     * Constructor.
+     * @param successes Result for each connector the operation succeeded on, keyed by connector name.
+     * @param failures Exception for each connector the operation failed on, keyed by connector name.
+     */
+    public BulkOperationResult(final Map<String, T> successes, final Map<String, Exception> failures) {
+        this.successes = Collections.unmodifiableMap(new LinkedHashMap<>(successes));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    public Map<String, T> getSuccesses() {
+        return successes;
+    }
+
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Whether the operation succeeded on every connector.
+     * @return true if there were no failures.
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkOperationResult{"
+            + "successes=" + successes
+            + ", failures=" + failures
+            + '}';
+    }
+}
@@ -17,7 +17,18 @@
 
 package org.sourcelab.kafka.connect.apiclient;
 
+import org.sourcelab.kafka.connect.apiclient.metrics.NoopRequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.rest.LeaderResolver;
+
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -29,9 +40,47 @@ public final class Configuration {
     // Defines the URL/Hostname of Kafka-Connect
     private final String apiHost;
 
+    // Defines the URLs of every Kafka-Connect worker, the first being apiHost.
+    private final List<String> apiHosts;
+    private int workerHealthCheckIntervalInSeconds = 10;
+    private LeaderResolver leaderResolver = null;
+
     // Optional Connection options
     private int requestTimeoutInSeconds = 300;
+    private int socketTimeoutInSeconds = 300;
+    private int connectionRequestTimeoutInSeconds = 300;
     private int connectionTimeToLiveInSeconds = 300;
+    private final Map<Class<?>, Integer> requestDeadlinesInSeconds = new HashMap<>();
+
+    // Optional Connection Pool options
+    private int connectionPoolMaxTotal = 50;
+    private int connectionPoolMaxPerRoute = 10;
+    private int validateAfterInactivityInMillis = 2_000;
+    private int idleConnectionEvictionInSeconds = 0;
+
+    // Optional AsyncKafkaConnectClient options
+    private int asyncThreadPoolSize = 10;
+    private int ioReactorThreadCount = 0;
+    private boolean virtualThreadsEnabled = false;
+    private boolean lazyExpandedResponsesEnabled = false;
+
+    // Optional bulk operation options.
+    private int bulkOperationConcurrency = 8;
+    private int bulkOperationRateLimitPerSecond = 0;
+
+    // Optional retry behavior.
+    private RetryPolicy retryPolicy = RetryPolicy.noRetries();
+
+    // Optional response caching.
+    private ResponseCache responseCache = null;
+    private boolean requestCoalescingEnabled = false;
+
+    // Optional http compression.
+    private boolean responseCompressionEnabled = false;
+    private int requestCompressionThresholdInBytes = 0;
+
+    // Optional metrics collection.
+    private RequestMetricsListener requestMetricsListener = NoopRequestMetricsListener.INSTANCE;
 
     // Optional BasicAuth options
     private String basicAuthUsername = null;
@@ -62,16 +111,38 @@ public final class Configuration {
      * @param kafkaConnectHost Hostname of Kafka-Connect
      */
     public Configuration(final String kafkaConnectHost) {
+        this(Collections.singletonList(kafkaConnectHost));
+    }
+
+    /**
+     * Constructor for clusters of multiple Kafka-Connect workers.  Requests are spread across every healthy worker,
+     * failing over to other workers when a worker cannot be connected to.
+     * @param kafkaConnectHosts Hostnames of each Kafka-Connect worker.
+     */
+    public Configuration(final Collection<String> kafkaConnectHosts) {
+        if (kafkaConnectHosts == null || kafkaConnectHosts.isEmpty()) {
+            throw new IllegalArgumentException("At least one Kafka Connect Host must be provided!");
+        }
+
+        final List<String> hosts = new ArrayList<>();
+        for (final String kafkaConnectHost : kafkaConnectHosts) {
+            hosts.add(normalizeHost(kafkaConnectHost));
+        }
+        this.apiHosts = Collections.unmodifiableList(hosts);
+        this.apiHost = apiHosts.get(0);
+    }
+
+    private static String normalizeHost(final String kafkaConnectHost) {
         if (kafkaConnectHost == null) {
             throw new NullPointerException("Kafka Connect Host parameter cannot be null!");
         }
 
         // Normalize into "http://<hostname>" if not specified.
         if (kafkaConnectHost.startsWith("http://") || kafkaConnectHost.startsWith("https://")) {
-            this.apiHost = kafkaConnectHost;
+            return kafkaConnectHost;
         } else {
             // Assume http protocol
-            this.apiHost = "http://" + kafkaConnectHost;
+            return "http://" + kafkaConnectHost;
         }
     }
 
@@ -158,7 +229,9 @@ public final class Configuration {
     }
 
     /**
-     * Set the request timeout value, in seconds.
+     * Set the request timeout value, in seconds.  This bounds how long establishing the connection to
+     * Kafka-Connect may take.  See also {@link #useSocketTimeoutInSeconds(int)} and
+     * {@link #useConnectionRequestTimeoutInSeconds(int)}.
      * @param requestTimeoutInSeconds How long before a request times out, in seconds.
      * @return Configuration instance.
      */
@@ -167,6 +240,50 @@ public final class Configuration {
         return this;
     }
 
+    /**
+     * Set the socket timeout value, in seconds.  This bounds how long the client will wait for data from
+     * Kafka-Connect after a connection has been established.
+     * @param socketTimeoutInSeconds Maximum period of inactivity while reading a response, in seconds, or 0 to wait forever.
+     * @return Configuration instance.
+     */
+    public Configuration useSocketTimeoutInSeconds(final int socketTimeoutInSeconds) {
+        this.socketTimeoutInSeconds = socketTimeoutInSeconds;
+        return this;
+    }
+
+    /**
+     * Set the connection request timeout value, in seconds.  This bounds how long a request will wait to
+     * lease a connection from the connection pool.
+     * @param connectionRequestTimeoutInSeconds How long to wait for a pooled connection, in seconds, or 0 to wait forever.
+     * @return Configuration instance.
+     */
+    public Configuration useConnectionRequestTimeoutInSeconds(final int connectionRequestTimeoutInSeconds) {
+        this.connectionRequestTimeoutInSeconds = connectionRequestTimeoutInSeconds;
+        return this;
+    }
+
+    /**
+     * Set a deadline for every request of the given type, in seconds.  If such a request has not completed within
+     * this period it is aborted and fails with a RequestTimeoutException.  This allows slow end points, such as
+     * {@link org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus}, to be given a different
+     * time budget than fast ones.  A deadline returned by {@link Request#getDeadlineInSeconds()} takes precedence.
+     * @param requestType The type of request to apply the deadline to.
+     * @param deadlineInSeconds Deadline in seconds, or 0 to remove a previously configured deadline.
+     * @return Configuration instance.
+     */
+    public Configuration useRequestDeadlineInSeconds(final Class<? extends Request> requestType, final int deadlineInSeconds) {
+        Objects.requireNonNull(requestType);
+        if (deadlineInSeconds < 0) {
+            throw new IllegalArgumentException("deadlineInSeconds must not be negative");
+        }
+        if (deadlineInSeconds == 0) {
+            requestDeadlinesInSeconds.remove(requestType);
+        } else {
+            requestDeadlinesInSeconds.put(requestType, deadlineInSeconds);
+        }
+        return this;
+    }
+
     /**
      * Sets maximum time to live for persistent connections.
      * @param connectionTimeToLiveInSeconds How long before persistent connection will be interrupted, in seconds
@@ -177,6 +294,222 @@ public final class Configuration {
         return this;
     }
     
+    /**
+     * Set the connection pool limits.  Requests made in parallel against the same Kafka-Connect host
+     * are limited by the per route value, and requests across all hosts are limited by the total value.
+     * @param maxTotal Maximum number of pooled connections across all hosts, must be at least 1.
+     * @param maxPerRoute Maximum number of pooled connections per Kafka-Connect host, must be at least 1.
+     * @return Configuration instance.
+     */
+    public Configuration useConnectionPoolLimits(final int maxTotal, final int maxPerRoute) {
+        if (maxTotal < 1 || maxPerRoute < 1) {
+            throw new IllegalArgumentException("Connection pool limits must be at least 1.");
+        }
+        this.connectionPoolMaxTotal = maxTotal;
+        this.connectionPoolMaxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    /**
+     * Set how long a pooled connection may sit idle before it is re-validated prior to being re-used.
+     * @param validateAfterInactivityInMillis Inactivity period in milliseconds, or a value of 0 or less to disable.
+     * @return Configuration instance.
+     */
+    public Configuration useValidateAfterInactivityInMillis(final int validateAfterInactivityInMillis) {
+        this.validateAfterInactivityInMillis = validateAfterInactivityInMillis;
+        return this;
+    }
+
+    /**
+     * Enable a background thread which closes pooled connections that have been idle longer than the given value.
+     * @param idleConnectionEvictionInSeconds Maximum idle time in seconds, or a value of 0 or less to disable.
+     * @return Configuration instance.
+     */
+    public Configuration useIdleConnectionEvictionInSeconds(final int idleConnectionEvictionInSeconds) {
+        this.idleConnectionEvictionInSeconds = idleConnectionEvictionInSeconds;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads used by AsyncKafkaConnectClient to execute requests when it is
+     * backed by a blocking RestClient implementation, and by HttpClient5RestClient to parse responses.
+     * @param asyncThreadPoolSize Number of threads, must be at least 1.
+     * @return Configuration instance.
+     */
+    public Configuration useAsyncThreadPoolSize(final int asyncThreadPoolSize) {
+        if (asyncThreadPoolSize < 1) {
+            throw new IllegalArgumentException("Async thread pool size must be at least 1.");
+        }
+        this.asyncThreadPoolSize = asyncThreadPoolSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of I/O reactor threads used by HttpClient5RestClient to execute all requests.
+     * By default one thread per available processor is used.
+     * @param ioReactorThreadCount Number of threads, must be at least 1.
+     * @return Configuration instance.
+     */
+    public Configuration useIoReactorThreadCount(final int ioReactorThreadCount) {
+        if (ioReactorThreadCount < 1) {
+            throw new IllegalArgumentException("I/O reactor thread count must be at least 1.");
+        }
+        this.ioReactorThreadCount = ioReactorThreadCount;
+        return this;
+    }
+    
+    /**
+     * Run blocking requests made by bulk operations, such as pauseConnectors(), and by the default AsyncKafkaConnectClient
+     * on a new virtual thread per request rather than on a pool of platform threads.  As virtual threads are cheap,
+     * {@link #useBulkOperationConcurrency(int)} may then be raised to fan out thousands of requests at once, and
+     * {@link #useAsyncThreadPoolSize(int)} no longer applies.
+     *
+     * Requires Java 21+.  On older runtimes a warning is logged and platform threads are used as before.
+     * When using the default HttpClientRestClient, concurrent requests remain limited by the per host limit of
+     * {@link #useConnectionPoolLimits(int, int)}.  Requests beyond that limit wait outside of HttpClient, as waiting within
+     * HttpCore 4's connection pool would pin a virtual thread to its carrier thread.
+     * @return Configuration instance.
+     */
+    public Configuration useVirtualThreads() {
+        this.virtualThreadsEnabled = true;
+        return this;
+    }
+
+    /**
+     * Decode the connectors in expanded responses, such as from getConnectorsWithExpandedStatus(), lazily.
+     * The response is scanned once to find each connector's entry, and an entry is only decoded the first time it is
+     * accessed, for example by getStatusForConnector().  This is cheaper when only a few connectors of a large cluster
+     * are looked at, at the cost of retaining the raw response for the life of the result.
+     * @return Configuration instance.
+     */
+    public Configuration useLazyExpandedResponses() {
+        this.lazyExpandedResponsesEnabled = true;
+        return this;
+    }
+
+    /**
+     * How often each Kafka-Connect worker is probed with a request to "/" when multiple workers are configured.
+     * Workers which fail the probe, or which cannot be connected to, are taken out of rotation until a probe succeeds.
+     * @param workerHealthCheckIntervalInSeconds Interval between probes, must be at least 1.
+     * @return Configuration instance.
+     */
+    public Configuration useWorkerHealthCheckIntervalInSeconds(final int workerHealthCheckIntervalInSeconds) {
+        if (workerHealthCheckIntervalInSeconds < 1) {
+            throw new IllegalArgumentException("Worker health check interval must be at least 1 second.");
+        }
+        this.workerHealthCheckIntervalInSeconds = workerHealthCheckIntervalInSeconds;
+        return this;
+    }
+
+    /**
+     * Sets how the current leader of the Kafka-Connect cluster is identified, allowing write requests to be sent
+     * straight to the leader rather than forwarded to it by another worker.  By default the leader is unknown.
+     * @param leaderResolver Resolves the current leader.
+     * @return Configuration instance.
+     */
+    public Configuration useLeaderResolver(final LeaderResolver leaderResolver) {
+        this.leaderResolver = Objects.requireNonNull(leaderResolver);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests a bulk operation, such as pauseConnectors(), has in flight at once.
+     * @param bulkOperationConcurrency Maximum concurrent requests, must be at least 1.  Defaults to 8.
+     * @return Configuration instance.
+     */
+    public Configuration useBulkOperationConcurrency(final int bulkOperationConcurrency) {
+        if (bulkOperationConcurrency < 1) {
+            throw new IllegalArgumentException("Bulk operation concurrency must be at least 1.");
+        }
+        this.bulkOperationConcurrency = bulkOperationConcurrency;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests a bulk operation, such as pauseConnectors(), starts per second.
+     * @param bulkOperationRateLimitPerSecond Maximum requests per second, or 0 for no limit.  Defaults to 0.
+     * @return Configuration instance.
+     */
+    public Configuration useBulkOperationRateLimitPerSecond(final int bulkOperationRateLimitPerSecond) {
+        if (bulkOperationRateLimitPerSecond < 0) {
+            throw new IllegalArgumentException("Bulk operation rate limit must not be negative.");
+        }
+        this.bulkOperationRateLimitPerSecond = bulkOperationRateLimitPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets the policy for retrying requests which fail due to rebalances, restarting workers or connection errors.
+     * By default requests are not retried.
+     * @param retryPolicy The policy to apply to every request.
+     * @return Configuration instance.
+     */
+    public Configuration useRetryPolicy(final RetryPolicy retryPolicy) {
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+        return this;
+    }
+
+    /**
+     * Caches responses to GET requests, invalidating the cache whenever the client modifies a connector.
+     * By default responses are not cached.
+     * @param responseCache The cache to use, or null to disable caching.
+     * @return Configuration instance.
+     */
+    public Configuration useResponseCache(final ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    /**
+     * Identical GET requests submitted concurrently share a single request to Kafka-Connect and a single parsed
+     * result, rather than each being submitted.  The shared result must not be modified by callers.
+     * By default every request is submitted.
+     * @return Configuration instance.
+     */
+    public Configuration useRequestCoalescing() {
+        this.requestCoalescingEnabled = true;
+        return this;
+    }
+
+    /**
+     * Requests gzip or deflate compressed responses from Kafka-Connect, decompressing them as they are read.
+     * Kafka-Connect does not compress responses itself, so this is only useful when a proxy in front of the cluster
+     * does, for example across WAN links to remote clusters.
+     * By default responses are requested uncompressed.
+     * @return Configuration instance.
+     */
+    public Configuration useResponseCompression() {
+        this.responseCompressionEnabled = true;
+        return this;
+    }
+
+    /**
+     * Gzip compresses POST and PUT request bodies, such as connector configurations, of at least the given size.
+     * Kafka-Connect does not accept compressed request bodies itself, so this requires a proxy in front of the
+     * cluster which decompresses them.
+     * By default request bodies are not compressed.
+     * @param requestCompressionThresholdInBytes Minimum request body size to compress, or 0 to disable compression.
+     * @return Configuration instance.
+     */
+    public Configuration useRequestCompressionThresholdInBytes(final int requestCompressionThresholdInBytes) {
+        if (requestCompressionThresholdInBytes < 0) {
+            throw new IllegalArgumentException("Request compression threshold may not be negative.");
+        }
+        this.requestCompressionThresholdInBytes = requestCompressionThresholdInBytes;
+        return this;
+    }
+
+    /**
+     * Registers a listener notified of the latency, response size and outcome of every request.
+     * See InMemoryRequestMetrics for a default implementation.
+     * @param requestMetricsListener Listener to notify, must be thread safe.
+     * @return Configuration instance.
+     */
+    public Configuration useRequestMetricsListener(final RequestMetricsListener requestMetricsListener) {
+        this.requestMetricsListener = Objects.requireNonNull(requestMetricsListener);
+        return this;
+    }
+
     public Configuration useEncoding(final String encoding) {
     	this.encoding = encoding;
     	return this;
@@ -206,6 +539,14 @@ public final class Configuration {
         return apiHost;
     }
 
+    public List<String> getApiHosts() {
+        return apiHosts;
+    }
+
+    public int getWorkerHealthCheckIntervalInSeconds() {
+        return workerHealthCheckIntervalInSeconds;
+    }
+
     public boolean getIgnoreInvalidSslCertificates() {
         return ignoreInvalidSslCertificates;
     }
@@ -222,10 +563,104 @@ public final class Configuration {
         return requestTimeoutInSeconds;
     }
 
+    public int getSocketTimeoutInSeconds() {
+        return socketTimeoutInSeconds;
+    }
+
+    public int getConnectionRequestTimeoutInSeconds() {
+        return connectionRequestTimeoutInSeconds;
+    }
+
+    /**
+     * Resolve the deadline to apply to a request.
+     * @param request The request being submitted.
+     * @return The request's own deadline if it defines one, otherwise the deadline configured for its type,
+     *         or 0 for no deadline.
+     */
+    public int getRequestDeadlineInSeconds(final Request<?> request) {
+        final int deadlineInSeconds = request.getDeadlineInSeconds();
+        if (deadlineInSeconds > 0) {
+            return deadlineInSeconds;
+        }
+        return requestDeadlinesInSeconds.getOrDefault(request.getClass(), 0);
+    }
+
     public int getConnectionTimeToLiveInSeconds() {
         return connectionTimeToLiveInSeconds;
     }
 
+    public int getConnectionPoolMaxTotal() {
+        return connectionPoolMaxTotal;
+    }
+
+    public int getConnectionPoolMaxPerRoute() {
+        return connectionPoolMaxPerRoute;
+    }
+
+    public int getValidateAfterInactivityInMillis() {
+        return validateAfterInactivityInMillis;
+    }
+
+    public int getIdleConnectionEvictionInSeconds() {
+        return idleConnectionEvictionInSeconds;
+    }
+
+    public int getAsyncThreadPoolSize() {
+        return asyncThreadPoolSize;
+    }
+
+    /**
+     * Number of I/O reactor threads used by HttpClient5RestClient.
+     * @return Number of threads, or 0 to use one thread per available processor.
+     */
+    public int getIoReactorThreadCount() {
+        return ioReactorThreadCount;
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public boolean isLazyExpandedResponsesEnabled() {
+        return lazyExpandedResponsesEnabled;
+    }
+
+    public int getBulkOperationConcurrency() {
+        return bulkOperationConcurrency;
+    }
+
+    public int getBulkOperationRateLimitPerSecond() {
+        return bulkOperationRateLimitPerSecond;
+    }
+
+    public LeaderResolver getLeaderResolver() {
+        return leaderResolver;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public boolean isRequestCoalescingEnabled() {
+        return requestCoalescingEnabled;
+    }
+
+    public boolean isResponseCompressionEnabled() {
+        return responseCompressionEnabled;
+    }
+
+    public int getRequestCompressionThresholdInBytes() {
+        return requestCompressionThresholdInBytes;
+    }
+
+    public RequestMetricsListener getRequestMetricsListener() {
+        return requestMetricsListener;
+    }
+
     public File getKeyStoreFile() {
         return keyStoreFile;
     }
@@ -251,8 +686,21 @@ public final class Configuration {
     public String toString() {
         final StringBuilder stringBuilder = new StringBuilder("Configuration{")
             .append("apiHost='").append(apiHost).append('\'')
+            .append(apiHosts.size() > 1 ? ", apiHosts=" + apiHosts : "")
             .append(", requestTimeout='").append(requestTimeoutInSeconds).append('\'')
-            .append("connectionTimeToLiveInSeconds='").append(connectionTimeToLiveInSeconds).append('\'');
+            .append(", socketTimeout='").append(socketTimeoutInSeconds).append('\'')
+            .append(", connectionRequestTimeout='").append(connectionRequestTimeoutInSeconds).append('\'')
+            .append(requestDeadlinesInSeconds.isEmpty() ? "" : ", requestDeadlinesInSeconds=" + requestDeadlinesInSeconds)
+            .append("connectionTimeToLiveInSeconds='").append(connectionTimeToLiveInSeconds).append('\'')
+            .append(", connectionPoolMaxTotal='").append(connectionPoolMaxTotal).append('\'')
+            .append(", connectionPoolMaxPerRoute='").append(connectionPoolMaxPerRoute).append('\'')
+            .append(", retryPolicy=").append(retryPolicy)
+            .append(", responseCache=").append(responseCache)
+            .append(", requestCoalescingEnabled=").append(requestCoalescingEnabled)
+            .append(", responseCompressionEnabled=").append(responseCompressionEnabled)
+            .append(", requestCompressionThresholdInBytes=").append(requestCompressionThresholdInBytes)
+            .append(", virtualThreadsEnabled=").append(virtualThreadsEnabled)
+            .append(", lazyExpandedResponsesEnabled=").append(lazyExpandedResponsesEnabled);
         if (proxyHost != null) {
             stringBuilder
                 .append(", proxy='").append(proxyScheme).append("://");
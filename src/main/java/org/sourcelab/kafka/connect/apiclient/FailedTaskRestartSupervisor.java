@@ -0,0 +1,439 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds FAILED connectors and tasks using a single expanded status request, and restarts them.
+ *
+ * Restarts are issued in parallel, bounded by a maximum concurrency.  Each connector and task which stays FAILED is
+ * restarted again using exponential backoff, so an instance which fails immediately after every restart is not
+ * restarted in a tight loop.
+ *
+ * Against Kafka-Connect 3.0.0+ each connector with any FAILED instances is restarted with a single request using
+ * onlyFailed=true and includeTasks=true.  Against older servers, FAILED connectors and FAILED tasks are each restarted
+ * individually.
+ *
+ * Requires Kafka-Connect server 2.3.0+
+ *
+ * Example usage:
+ * <pre>
+ *     final FailedTaskRestartSupervisor supervisor = FailedTaskRestartSupervisor.newBuilder(kafkaConnectClient)
+ *         .withCheckIntervalInMillis(60_000)
+ *         .withBackoffInMillis(60_000, 3_600_000)
+ *         .build();
+ *     supervisor.start();
+ * </pre>
+ */
+public final class FailedTaskRestartSupervisor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FailedTaskRestartSupervisor.class);
+
+    /**
+     * Matches the major version and optional Confluent Platform suffix of a Kafka-Connect version string.
+     */
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^(\\d+)\\.\\d+.*?(-c(?:cs|e))?$");
+
+    private final KafkaConnectClient kafkaConnectClient;
+    private final long checkIntervalInMillis;
+    private final int concurrency;
+    private final long initialBackoffInMillis;
+    private final long maxBackoffInMillis;
+    private final Boolean useOnlyFailedRestarts;
+
+    /**
+     * Serializes checks.  Held while restarts are in flight, so not a monitor, which would pin a calling virtual thread.
+     */
+    private final ReentrantLock checkLock = new ReentrantLock();
+
+    /**
+     * Restart history of each restarted connector and task not yet observed RUNNING, keyed by target, guarded by checkLock.
+     */
+    private final Map<String, RestartState> restartStates = new HashMap<>();
+
+    /**
+     * Whether the server supports restarting only failed instances, determined on the first check.  Guarded by checkLock.
+     */
+    private Boolean supportsOnlyFailedRestarts;
+
+    // Counters.
+    private final AtomicLong restartAttemptCount = new AtomicLong(0);
+    private final AtomicLong failedRestartRequestCount = new AtomicLong(0);
+    private final AtomicLong successfulRestartCount = new AtomicLong(0);
+
+    /**
+     * Guards starting and closing the scheduler.
+     */
+    private final Object stateLock = new Object();
+    private ScheduledThreadPoolExecutor scheduler = null;
+    private boolean isClosed = false;
+
+    private FailedTaskRestartSupervisor(final Builder builder) {
+        this.kafkaConnectClient = builder.kafkaConnectClient;
+        this.checkIntervalInMillis = builder.checkIntervalInMillis;
+        this.concurrency = builder.concurrency;
+        this.initialBackoffInMillis = builder.initialBackoffInMillis;
+        this.maxBackoffInMillis = builder.maxBackoffInMillis;
+        this.useOnlyFailedRestarts = builder.useOnlyFailedRestarts;
+    }
+
+    /**
+     * Create a new Builder.
+     * @param kafkaConnectClient Client used to find and restart failed instances.  The supervisor does not close the client.
+     * @return Builder instance.
+     */
+    public static Builder newBuilder(final KafkaConnectClient kafkaConnectClient) {
+        return new Builder(kafkaConnectClient);
+    }
+
+    public long getCheckIntervalInMillis() {
+        return checkIntervalInMillis;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getInitialBackoffInMillis() {
+        return initialBackoffInMillis;
+    }
+
+    public long getMaxBackoffInMillis() {
+        return maxBackoffInMillis;
+    }
+
+    /**
+     * Snapshot of the supervisor's counters.
+     * @return Counters at the time of the call.
+     */
+    public RestartSupervisorStats getStats() {
+        final int pendingCount;
+        checkLock.lock();
+        try {
+            pendingCount = restartStates.size();
+        } finally {
+            checkLock.unlock();
+        }
+        return new RestartSupervisorStats(
+            restartAttemptCount.get(),
+            failedRestartRequestCount.get(),
+            successfulRestartCount.get(),
+            pendingCount
+        );
+    }
+
+    /**
+     * Begin checking for failed instances in the background, starting immediately.  Calling start() more than once has no effect.
+     */
+    public void start() {
+        synchronized (stateLock) {
+            if (isClosed) {
+                throw new IllegalStateException("Supervisor has been closed.");
+            }
+            if (scheduler != null) {
+                return;
+            }
+            scheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+                final Thread thread = new Thread(runnable, "kafka-connect-client-restart-supervisor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::checkQuietly, 0, checkIntervalInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Check for failed instances immediately, restarting any whose backoff has elapsed.
+     * @return Number of restart requests issued.
+     * @throws RuntimeException if the status of the cluster could not be retrieved.
+     */
+    public int check() {
+        checkLock.lock();
+        try {
+            final boolean onlyFailed = supportsOnlyFailedRestarts();
+            final ConnectorsWithExpandedStatus statuses = kafkaConnectClient.getConnectorsWithExpandedStatus();
+            final long nowMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+
+            final Set<String> observedTargets = new HashSet<>();
+            final Map<String, Supplier<Boolean>> restarts = new LinkedHashMap<>();
+            for (final ConnectorStatus status : statuses.getAllStatuses()) {
+                final String connectorName = status.getName();
+
+                // Find this connector's FAILED instances, recording any which recovered since being restarted.
+                final List<String> failed = new ArrayList<>();
+                observe(connectorTarget(connectorName), status.getConnectorState(), observedTargets, failed);
+                // Tasks may be omitted from the response, and are then treated as none. Null task entries are skipped.
+                final List<ConnectorStatus.TaskStatus> tasks = status.getTasks() == null ? Collections.emptyList() : status.getTasks();
+                for (final ConnectorStatus.TaskStatus task : tasks) {
+                    if (task == null) {
+                        continue;
+                    }
+                    observe(taskTarget(connectorName, task.getId()), task.getTaskState(), observedTargets, failed);
+                }
+
+                // Restart those whose backoff has elapsed.
+                final List<String> due = new ArrayList<>();
+                for (final String target : failed) {
+                    final RestartState restartState = restartStates.get(target);
+                    if (restartState == null || nowMillis >= restartState.nextRestartAtMillis) {
+                        due.add(target);
+                    }
+                }
+                if (due.isEmpty()) {
+                    continue;
+                }
+
+                if (onlyFailed) {
+                    // A single request restarts every FAILED instance of the connector.
+                    failed.forEach((target) -> recordRestart(target, nowMillis));
+                    restarts.put(connectorTarget(connectorName), () -> kafkaConnectClient.restartConnector(connectorName, true, true));
+                } else {
+                    for (final String target : due) {
+                        recordRestart(target, nowMillis);
+                        final Integer taskId = taskIdOf(target);
+                        if (taskId == null) {
+                            restarts.put(target, () -> kafkaConnectClient.restartConnector(connectorName));
+                        } else {
+                            restarts.put(target, () -> kafkaConnectClient.restartConnectorTask(connectorName, taskId));
+                        }
+                    }
+                }
+            }
+
+            // Forget instances which no longer exist.
+            restartStates.keySet().retainAll(observedTargets);
+
+            if (restarts.isEmpty()) {
+                return 0;
+            }
+            final BulkOperationResult<Boolean> result = new BulkOperationExecutor(concurrency, 0)
+                .execute(restarts.keySet(), (target) -> restarts.get(target).get());
+            restartAttemptCount.addAndGet(restarts.size());
+            failedRestartRequestCount.addAndGet(result.getFailures().size());
+            result.getFailures().forEach((target, exception) ->
+                logger.warn("Unable to restart {}: {}", target, exception.getMessage())
+            );
+            return restarts.size();
+        } finally {
+            checkLock.unlock();
+        }
+    }
+
+    /**
+     * Stop checking for failed instances.
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            isClosed = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+    }
+
+    /**
+     * Record the observed state of a connector or task.
+     * @param target The connector or task.
+     * @param state Its current state.
+     * @param observed Collects every target observed.
+     * @param failed Collects targets which are FAILED.
+     */
+    private void observe(final String target, final State state, final Set<String> observed, final List<String> failed) {
+        observed.add(target);
+        if (state == State.FAILED) {
+            failed.add(target);
+        } else if (state == State.RUNNING && restartStates.remove(target) != null) {
+            successfulRestartCount.incrementAndGet();
+        }
+    }
+
+    private void recordRestart(final String target, final long nowMillis) {
+        final RestartState restartState = restartStates.computeIfAbsent(target, (key) -> new RestartState());
+        restartState.attempts++;
+
+        // Exponential backoff, capped at the maximum.
+        final double backoff = Math.min(maxBackoffInMillis, initialBackoffInMillis * Math.pow(2, restartState.attempts - 1));
+        restartState.nextRestartAtMillis = nowMillis + (long) backoff;
+    }
+
+    private boolean supportsOnlyFailedRestarts() {
+        if (useOnlyFailedRestarts != null) {
+            return useOnlyFailedRestarts;
+        }
+        if (supportsOnlyFailedRestarts == null) {
+            supportsOnlyFailedRestarts = supportsOnlyFailedRestarts(kafkaConnectClient.getConnectServerVersion().getVersion());
+        }
+        return supportsOnlyFailedRestarts;
+    }
+
+    /**
+     * Determine if a Kafka-Connect version supports restarting only failed instances, added in Apache Kafka 3.0.0,
+     * which corresponds to Confluent Platform 7.0.0.
+     * @param version Version reported by Kafka-Connect, for example "3.1.0" or "7.0.1-ccs".
+     * @return true if supported.
+     */
+    static boolean supportsOnlyFailedRestarts(final String version) {
+        if (version == null) {
+            return false;
+        }
+        final Matcher matcher = VERSION_PATTERN.matcher(version.trim());
+        if (!matcher.matches()) {
+            return false;
+        }
+        final int majorVersion = Integer.parseInt(matcher.group(1));
+        return majorVersion >= (matcher.group(2) == null ? 3 : 7);
+    }
+
+    private void checkQuietly() {
+        try {
+            check();
+        } catch (final RuntimeException exception) {
+            logger.warn("Unable to check for failed connectors and tasks: {}", exception.getMessage());
+        }
+    }
+
+    private static String connectorTarget(final String connectorName) {
+        return "connector " + connectorName;
+    }
+
+    private static String taskTarget(final String connectorName, final int taskId) {
+        return "task " + taskId + " of connector " + connectorName;
+    }
+
+    private static Integer taskIdOf(final String target) {
+        if (!target.startsWith("task ")) {
+            return null;
+        }
+        return Integer.parseInt(target.substring("task ".length(), target.indexOf(' ', "task ".length())));
+    }
+
+    @Override
+    public String toString() {
+        return "FailedTaskRestartSupervisor{"
+            + "checkIntervalInMillis=" + checkIntervalInMillis
+            + ", concurrency=" + concurrency
+            + ", initialBackoffInMillis=" + initialBackoffInMillis
+            + ", maxBackoffInMillis=" + maxBackoffInMillis
+            + ", useOnlyFailedRestarts=" + useOnlyFailedRestarts
+            + '}';
+    }
+
+    /**
+     * Restart history of a single connector or task.
+     */
+    private static final class RestartState {
+        private int attempts = 0;
+        private long nextRestartAtMillis = 0;
+    }
+
+    /**
+     * Builder for FailedTaskRestartSupervisor.
+     */
+    public static final class Builder {
+        private final KafkaConnectClient kafkaConnectClient;
+        private long checkIntervalInMillis = 60_000;
+        private int concurrency = 4;
+        private long initialBackoffInMillis = 60_000;
+        private long maxBackoffInMillis = 3_600_000;
+        private Boolean useOnlyFailedRestarts = null;
+
+        private Builder(final KafkaConnectClient kafkaConnectClient) {
+            this.kafkaConnectClient = Objects.requireNonNull(kafkaConnectClient);
+        }
+
+        /**
+         * Delay between the end of one check and the start of the next, when started.  Defaults to 1 minute.
+         * @param checkIntervalInMillis Interval in milliseconds, must be at least 1.
+         * @return Builder instance.
+         */
+        public Builder withCheckIntervalInMillis(final long checkIntervalInMillis) {
+            if (checkIntervalInMillis < 1) {
+                throw new IllegalArgumentException("Check interval must be at least 1 millisecond.");
+            }
+            this.checkIntervalInMillis = checkIntervalInMillis;
+            return this;
+        }
+
+        /**
+         * Maximum number of restart requests in flight at once.  Defaults to 4.
+         * @param concurrency Maximum concurrent requests, must be at least 1.
+         * @return Builder instance.
+         */
+        public Builder withConcurrency(final int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1.");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Backoff before restarting an instance which is still FAILED after being restarted, doubling after every
+         * restart up to the maximum.  Defaults to 1 minute and 1 hour.
+         * @param initialBackoffInMillis Backoff after the first restart.
+         * @param maxBackoffInMillis Maximum backoff between restarts.
+         * @return Builder instance.
+         */
+        public Builder withBackoffInMillis(final long initialBackoffInMillis, final long maxBackoffInMillis) {
+            if (initialBackoffInMillis < 0 || maxBackoffInMillis < initialBackoffInMillis) {
+                throw new IllegalArgumentException("Backoff must be non-negative, with max backoff at least the initial backoff.");
+            }
+            this.initialBackoffInMillis = initialBackoffInMillis;
+            this.maxBackoffInMillis = maxBackoffInMillis;
+            return this;
+        }
+
+        /**
+         * Whether to restart connectors using onlyFailed=true, rather than restarting each FAILED instance individually.
+         * Defaults to detecting support from the server's version.
+         * @param useOnlyFailedRestarts true to always use, false to never use.
+         * @return Builder instance.
+         */
+        public Builder withOnlyFailedRestarts(final boolean useOnlyFailedRestarts) {
+            this.useOnlyFailedRestarts = useOnlyFailedRestarts;
+            return this;
+        }
+
+        public FailedTaskRestartSupervisor build() {
+            return new FailedTaskRestartSupervisor(this);
+        }
+    }
+}
@@ -17,14 +17,10 @@
 
 package org.sourcelab.kafka.connect.apiclient;
 
-import com.fasterxml.jackson.databind.exc.MismatchedInputException;
-import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
-import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
 import org.sourcelab.kafka.connect.apiclient.request.Request;
-import org.sourcelab.kafka.connect.apiclient.request.RequestErrorResponse;
 import org.sourcelab.kafka.connect.apiclient.request.delete.DeleteConnector;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectServerVersion;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
@@ -62,19 +58,22 @@ import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorTopicsReset
 import org.sourcelab.kafka.connect.apiclient.rest.HttpClientRestClient;
 import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
 import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
-import org.sourcelab.kafka.connect.apiclient.rest.exceptions.InvalidRequestException;
-import org.sourcelab.kafka.connect.apiclient.rest.exceptions.UnauthorizedRequestException;
+import org.sourcelab.kafka.connect.apiclient.rest.StreamingRestClient;
+import org.sourcelab.kafka.connect.apiclient.util.VirtualThreads;
 
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * API Client for interacting with the Kafka-Connect Rest Endpoint.
  * Official Rest Endpoint documentation can be found here:
  *   https://docs.confluent.io/current/connect/references/restapi.html
  */
-public class KafkaConnectClient {
+public class KafkaConnectClient implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(KafkaConnectClient.class);
 
     /**
@@ -88,9 +87,25 @@ public class KafkaConnectClient {
     private final RestClient restClient;
 
     /**
-     * Internal State flag.
+     * Translates responses into results or exceptions.
      */
-    private boolean isInitialized = false;
+    private final RestResponseParser responseParser;
+
+    /**
+     * Shares in flight GET requests between concurrent callers, or null if disabled.
+     */
+    private final RequestCoalescer requestCoalescer;
+
+    /**
+     * Guards initializing and closing the underlying RestClient.
+     */
+    private final Object stateLock = new Object();
+
+    /**
+     * Internal State flags.  isInitialized is volatile so that once set, callers can skip acquiring stateLock.
+     */
+    private volatile boolean isInitialized = false;
+    private boolean isClosed = false;
 
 
     /**
@@ -98,8 +113,7 @@ public class KafkaConnectClient {
      * @param configuration Api Client Configuration.
      */
     public KafkaConnectClient(final Configuration configuration) {
-        this.configuration = configuration;
-        this.restClient = new HttpClientRestClient();
+        this(configuration, new HttpClientRestClient());
     }
 
     /**
@@ -111,6 +125,12 @@ public class KafkaConnectClient {
     public KafkaConnectClient(final Configuration configuration, final RestClient restClient) {
         this.configuration = configuration;
         this.restClient = restClient;
+        this.responseParser = new RestResponseParser(configuration);
+        this.requestCoalescer = configuration.isRequestCoalescingEnabled() ? new RequestCoalescer() : null;
+
+        if (configuration.isVirtualThreadsEnabled() && !VirtualThreads.isAvailable()) {
+            logger.warn("Virtual threads require Java 21 or newer, bulk operations will use platform threads.");
+        }
     }
 
     /**
@@ -141,7 +161,7 @@ public class KafkaConnectClient {
      * @return All deployed connectors, and their respective statuses.
      */
     public ConnectorsWithExpandedStatus getConnectorsWithExpandedStatus() {
-        return submitRequest(new GetConnectorsExpandStatus());
+        return submitRequest(new GetConnectorsExpandStatus(configuration.isLazyExpandedResponsesEnabled()));
     }
 
     /**
@@ -153,7 +173,7 @@ public class KafkaConnectClient {
      * @return All deployed connectors, and their respective definition.
      */
     public ConnectorsWithExpandedInfo getConnectorsWithExpandedInfo() {
-        return submitRequest(new GetConnectorsExpandInfo());
+        return submitRequest(new GetConnectorsExpandInfo(configuration.isLazyExpandedResponsesEnabled()));
     }
 
     /**
@@ -167,7 +187,7 @@ public class KafkaConnectClient {
      * @return All deployed connectors, and their respective metadata.
      */
     public ConnectorsWithExpandedMetadata getConnectorsWithAllExpandedMetadata() {
-        return submitRequest(new GetConnectorsExpandAllDetails());
+        return submitRequest(new GetConnectorsExpandAllDetails(configuration.isLazyExpandedResponsesEnabled()));
     }
 
     /**
@@ -201,6 +221,16 @@ public class KafkaConnectClient {
         return submitRequest(new GetConnectorStatus(connectorName));
     }
 
+    /**
+     * Get the status of many connectors in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     *
+     * @param connectorNames Names of connectors.
+     * @return Status details of each connector, including any failures.
+     */
+    public BulkOperationResult<ConnectorStatus> getConnectorStatuses(final Collection<String> connectorNames) {
+        return executeBulkOperation(connectorNames, this::getConnectorStatus);
+    }
+
     /**
      * Get the set of topics that a specific connector is using since the connector was created or since a request
      * to reset its set of active topics was issued.
@@ -261,6 +291,23 @@ public class KafkaConnectClient {
         return submitRequest(new PostConnectorRestart(connectorName));
     }
 
+    /**
+     * Restart a connector, optionally including its tasks and only restarting failed instances.
+     * https://docs.confluent.io/current/connect/references/restapi.html#post--connectors-(string-name)-restart
+     * Requires Kafka-Connect server 3.0.0+
+     *
+     * @param connectorName Name of connector to restart.
+     * @param includeTasks Restart the connector's tasks as well as the connector instance.
+     * @param onlyFailed Only restart instances with a FAILED status.
+     * @return Boolean true if success.
+     */
+    public Boolean restartConnector(final String connectorName, final boolean includeTasks, final boolean onlyFailed) {
+        return submitRequest(new PostConnectorRestart(connectorName)
+            .withIncludeTasks(includeTasks)
+            .withOnlyFailed(onlyFailed)
+        );
+    }
+
     /**
      * Pause a connector.
      * https://docs.confluent.io/current/connect/references/restapi.html#put--connectors-(string-name)-pause
@@ -283,6 +330,69 @@ public class KafkaConnectClient {
         return submitRequest(new PutConnectorResume(connectorName));
     }
 
+    /**
+     * Restart many connectors in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     *
+     * @param connectorNames Names of connectors to restart.
+     * @return Result of restarting each connector, including any failures.
+     */
+    public BulkOperationResult<Boolean> restartConnectors(final Collection<String> connectorNames) {
+        return executeBulkOperation(connectorNames, this::restartConnector);
+    }
+
+    /**
+     * Restart every connector matching the filter, in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     * Requires Kafka-Connect server 2.3.0+
+     *
+     * @param filter Selects which connectors to restart based on their current status.
+     * @return Result of restarting each matching connector, including any failures.
+     */
+    public BulkOperationResult<Boolean> restartConnectors(final Predicate<ConnectorStatus> filter) {
+        return restartConnectors(selectConnectors(filter));
+    }
+
+    /**
+     * Pause many connectors in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     *
+     * @param connectorNames Names of connectors to pause.
+     * @return Result of pausing each connector, including any failures.
+     */
+    public BulkOperationResult<Boolean> pauseConnectors(final Collection<String> connectorNames) {
+        return executeBulkOperation(connectorNames, this::pauseConnector);
+    }
+
+    /**
+     * Pause every connector matching the filter, in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     * Requires Kafka-Connect server 2.3.0+
+     *
+     * @param filter Selects which connectors to pause based on their current status.
+     * @return Result of pausing each matching connector, including any failures.
+     */
+    public BulkOperationResult<Boolean> pauseConnectors(final Predicate<ConnectorStatus> filter) {
+        return pauseConnectors(selectConnectors(filter));
+    }
+
+    /**
+     * Resume many connectors in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     *
+     * @param connectorNames Names of connectors to resume.
+     * @return Result of resuming each connector, including any failures.
+     */
+    public BulkOperationResult<Boolean> resumeConnectors(final Collection<String> connectorNames) {
+        return executeBulkOperation(connectorNames, this::resumeConnector);
+    }
+
+    /**
+     * Resume every connector matching the filter, in parallel, bounded by the configured bulk operation concurrency and rate limit.
+     * Requires Kafka-Connect server 2.3.0+
+     *
+     * @param filter Selects which connectors to resume based on their current status.
+     * @return Result of resuming each matching connector, including any failures.
+     */
+    public BulkOperationResult<Boolean> resumeConnectors(final Predicate<ConnectorStatus> filter) {
+        return resumeConnectors(selectConnectors(filter));
+    }
+
     /**
      * Resume a connector.
      * https://docs.confluent.io/current/connect/references/restapi.html#put--connectors-(string-name)-resume
@@ -353,63 +463,145 @@ public class KafkaConnectClient {
         );
     }
 
-    private <T> T submitRequest(final Request<T> request) {
-        // Submit request
-        final RestResponse restResponse = getRestClient().submitRequest(request);
-        final int responseCode = restResponse.getHttpCode();
-        String responseStr = restResponse.getResponseStr();
-
-        // If we have a valid response
-        logger.debug("Response: {}", restResponse);
-
-        // Check for invalid http status codes
-        if (responseCode >= 200 && responseCode < 300) {
-            // These response codes have no values
-            if ((responseCode == 204 || responseCode == 205) && responseStr == null) {
-                // Avoid NPE
-                responseStr = "";
+    /**
+     * Release any resources held by the underlying RestClient, such as pooled connections.
+     * The client may not be used after being closed.
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            if (!isClosed) {
+                isClosed = true;
+                isInitialized = false;
+                restClient.close();
             }
+        }
+    }
+
+    private <T> T submitRequest(final Request<T> request) {
+        final ResponseCache responseCache = configuration.getResponseCache();
+        if (responseCache == null) {
+            return submitCoalescedRequest(request);
+        }
+        return responseCache.get(request, () -> submitCoalescedRequest(request));
+    }
+
+    private <T> T submitCoalescedRequest(final Request<T> request) {
+        if (requestCoalescer == null) {
+            return submitUncachedRequest(request);
+        }
+        return requestCoalescer.submit(request, () -> submitUncachedRequest(request));
+    }
+
+    private <T> T submitUncachedRequest(final Request<T> request) {
+        final RequestMetricsListener metricsListener = configuration.getRequestMetricsListener();
+        final long startNanos = System.nanoTime();
 
+        try {
+            // Submit request and parse the response.
+            final T result = responseParser.parse(request, submitWithRetries(request));
+            metricsListener.onRequestSuccess(request, System.nanoTime() - startNanos);
+            return result;
+        } catch (final RuntimeException exception) {
+            metricsListener.onRequestFailure(request, exception, System.nanoTime() - startNanos);
+            throw exception;
+        }
+    }
+
+    private <T> BulkOperationResult<T> executeBulkOperation(final Collection<String> connectorNames, final Function<String, T> operation) {
+        return new BulkOperationExecutor(
+            configuration.getBulkOperationConcurrency(),
+            configuration.getBulkOperationRateLimitPerSecond(),
+            configuration.isVirtualThreadsEnabled()
+        ).execute(connectorNames, operation);
+    }
+
+    private Collection<String> selectConnectors(final Predicate<ConnectorStatus> filter) {
+        return getConnectorsWithExpandedStatus()
+            .getAllStatuses()
+            .stream()
+            .filter(filter)
+            .map(ConnectorStatus::getName)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Submit the request, retrying failed attempts as allowed by the configured RetryPolicy.
+     * @param request The request to submit.
+     * @return The response to the final attempt.
+     */
+    private RestResponse submitWithRetries(final Request<?> request) {
+        final RetryPolicy retryPolicy = configuration.getRetryPolicy();
+        retryPolicy.onRequest();
+
+        for (int attempt = 1; ; attempt++) {
+            RestResponse restResponse = null;
+            RuntimeException error = null;
             try {
-                return request.parseResponse(responseStr);
-            } catch (final MismatchedInputException exception) {
-                throw new ResponseParseException(exception.getMessage(), exception);
-            } catch (final IOException exception) {
-                throw new RuntimeException(exception.getMessage(), exception);
+                final RestClient client = getRestClient();
+                restResponse = client instanceof StreamingRestClient
+                    ? ((StreamingRestClient) client).submitRequestAndParseResponse(request)
+                    : client.submitRequest(request);
+            } catch (final RuntimeException exception) {
+                error = exception;
+            }
+
+            final OptionalLong retryDelay = error == null
+                ? retryPolicy.getRetryDelay(request, attempt, restResponse.getHttpCode())
+                : retryPolicy.getRetryDelay(request, attempt, error);
+
+            if (retryDelay.isPresent()) {
+                configuration.getRequestMetricsListener().onRetry(
+                    request, attempt, error == null ? restResponse.getHttpCode() : 0, error, retryDelay.getAsLong()
+                );
+                if (sleep(retryDelay.getAsLong())) {
+                    continue;
+                }
             }
-        }
 
-        // Server reject's client's authentication.
-        if (responseCode == HttpStatus.SC_UNAUTHORIZED) {
-            // Throw contextual error msg based on if credentials are configured or not.
-            String errorMsg;
-            if (configuration.getBasicAuthUsername() == null) {
-                errorMsg = "Server required authentication credentials but none were provided in client configuration.";
-            } else {
-                errorMsg = "Client authentication credentials (username=" + configuration.getBasicAuthUsername() + ") was rejected by server.";
+            // Report the outcome of the final attempt.
+            if (error != null) {
+                throw error;
             }
-            errorMsg = errorMsg + " Server responded with: \"" + responseStr + "\"";
-            throw new UnauthorizedRequestException(errorMsg, responseCode);
+            return restResponse;
         }
+    }
 
-        // Attempt to parse error response
+    /**
+     * Wait before retrying a request.
+     * @param delayInMillis How long to wait.
+     * @return true if the full delay elapsed, false if interrupted.
+     */
+    private static boolean sleep(final long delayInMillis) {
         try {
-            final RequestErrorResponse errorResponse = JacksonFactory.newInstance().readValue(responseStr, RequestErrorResponse.class);
-            throw InvalidRequestException.factory(errorResponse);
-        } catch (final IOException e) {
-            // swallow
+            Thread.sleep(delayInMillis);
+            return true;
+        } catch (final InterruptedException exception) {
+            // Stop retrying, preserving the interrupt for the caller.
+            Thread.currentThread().interrupt();
+            return false;
         }
-        throw new InvalidRequestException("Invalid response from server: " + responseStr, restResponse.getHttpCode());
     }
 
     private RestClient getRestClient() {
-        // If we haven't initialized.
-        if (!isInitialized) {
-            // Call Init.
-            restClient.init(getConfiguration());
+        // Fast path, already initialized.
+        if (isInitialized) {
+            return restClient;
+        }
+
+        synchronized (stateLock) {
+            if (isClosed) {
+                throw new IllegalStateException("Client has been closed.");
+            }
 
-            // Flip state flag
-            isInitialized = true;
+            // If we haven't initialized.
+            if (!isInitialized) {
+                // Call Init.
+                restClient.init(getConfiguration());
+
+                // Flip state flag
+                isInitialized = true;
+            }
         }
 
         // return our rest client.
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical GET requests submitted concurrently, so that they share a single in flight request to
+ * Kafka-Connect and a single parsed result.
+ *
+ * Requests are identical if they have the same request method and end point.  Once the in flight request completes,
+ * the next identical request is submitted afresh.  Requests other than GET are never coalesced.  As results are shared
+ * between callers, Map and Collection results are returned as unmodifiable views.
+ */
+final class RequestCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Submit the request via the loader, unless an identical request is already in flight in which case wait for
+     * and share its result.
+     * @param request The request being submitted.
+     * @param loader Submits the request, returning the parsed response.
+     * @param <T> Return type of the request.
+     * @return Parsed response.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T submit(final Request<T> request, final Supplier<T> loader) {
+        if (request.getRequestMethod() != RequestMethod.GET) {
+            return loader.get();
+        }
+
+        final String key = keyOf(request);
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> inFlight = inFlightRequests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (final CompletionException exception) {
+                throw propagate(exception.getCause());
+            }
+        }
+
+        try {
+            final T result = SharedResults.readOnly(loader.get());
+            inFlightRequests.remove(key, future);
+            future.complete(result);
+            return result;
+        } catch (final RuntimeException | Error exception) {
+            inFlightRequests.remove(key, future);
+            future.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Asynchronous equivalent of {@link #submit(Request, Supplier)}.
+     * @param request The request being submitted.
+     * @param loader Submits the request, returning a future resolving to the parsed response.
+     * @param <T> Return type of the request.
+     * @return Future resolving to the parsed response.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> submitAsync(final Request<T> request, final Supplier<CompletableFuture<T>> loader) {
+        if (request.getRequestMethod() != RequestMethod.GET) {
+            return loader.get();
+        }
+
+        final String key = keyOf(request);
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> inFlight = inFlightRequests.putIfAbsent(key, future);
+        if (inFlight != null) {
+            // Return a dependent future, so one caller cancelling does not affect the others.
+            return inFlight.thenApply((result) -> (T) result);
+        }
+
+        try {
+            loader.get().whenComplete((result, error) -> {
+                inFlightRequests.remove(key, future);
+                if (error == null) {
+                    future.complete(SharedResults.readOnly(result));
+                } else {
+                    future.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                }
+            });
+        } catch (final RuntimeException exception) {
+            inFlightRequests.remove(key, future);
+            future.completeExceptionally(exception);
+        }
+        return future.thenApply((result) -> (T) result);
+    }
+
+    int getInFlightCount() {
+        return inFlightRequests.size();
+    }
+
+    private static RuntimeException propagate(final Throwable error) {
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return new CompletionException(error);
+    }
+
+    private static String keyOf(final Request<?> request) {
+        return request.getRequestMethod() + " " + request.getApiEndpoint();
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorPluginConfigValidate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches the parsed responses to GET requests for a short period, avoiding a round trip to Kafka-Connect when the
+ * same resource is requested repeatedly.
+ *
+ * Each request type is cached for its own TTL, falling back to a default TTL, and a TTL of 0 disables caching for that
+ * request type.  Once the cache holds its maximum number of entries, the least recently used entry is evicted.
+ *
+ * Any request other than a GET, for example updating a connector's config, pausing, resuming, restarting or deleting a
+ * connector, invalidates the entire cache both when it is submitted and when it completes.  Validating a connector
+ * plugin's config does not modify the cluster, so it neither invalidates nor is cached.  Responses to GET requests
+ * which were in flight during a write are not cached.  Changes made by other clients are only seen once the TTL expires.
+ *
+ * Cached responses are shared between callers, so Map and Collection results are returned as unmodifiable views.
+ *
+ * Example usage:
+ * <pre>
+ *     final ResponseCache responseCache = ResponseCache.newBuilder()
+ *         .withDefaultTtlInMillis(1_000)
+ *         .withTtlInMillis(GetConnectorPlugins.class, 60_000)
+ *         .withTtlInMillis(GetConnectorStatus.class, 0)
+ *         .build();
+ *     final Configuration configuration = new Configuration("http://localhost:8083")
+ *         .useResponseCache(responseCache);
+ * </pre>
+ */
+public final class ResponseCache {
+    private final long defaultTtlInMillis;
+    private final Map<Class<?>, Long> ttlInMillisByRequestType;
+    private final int maxEntries;
+
+    /**
+     * Cached responses in least recently used order, guarded by this.
+     */
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    /**
+     * Incremented on every invalidation, so responses to requests submitted before an invalidation are not cached.
+     * Guarded by this.
+     */
+    private long generation = 0;
+
+    // Counters, guarded by this.
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long invalidationCount = 0;
+
+    private ResponseCache(final Builder builder) {
+        this.defaultTtlInMillis = builder.defaultTtlInMillis;
+        this.ttlInMillisByRequestType = Collections.unmodifiableMap(new HashMap<>(builder.ttlInMillisByRequestType));
+        this.maxEntries = builder.maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public long getDefaultTtlInMillis() {
+        return defaultTtlInMillis;
+    }
+
+    public Map<Class<?>, Long> getTtlInMillisByRequestType() {
+        return ttlInMillisByRequestType;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Determine how long responses to the given request are cached for.
+     * @param request The request.
+     * @return TTL in milliseconds, or 0 if responses to the request are not cached.
+     */
+    public long getTtlInMillis(final Request<?> request) {
+        if (request.getRequestMethod() != RequestMethod.GET) {
+            return 0;
+        }
+        return ttlInMillisByRequestType.getOrDefault(request.getClass(), defaultTtlInMillis);
+    }
+
+    /**
+     * Remove every cached response.
+     */
+    public synchronized void invalidateAll() {
+        clear();
+        invalidationCount++;
+    }
+
+    /**
+     * Snapshot of the cache's counters.
+     * @return Counters at the time of the call.
+     */
+    public synchronized ResponseCacheStats getStats() {
+        return new ResponseCacheStats(hitCount, missCount, evictionCount, invalidationCount, entries.size());
+    }
+
+    /**
+     * Return the cached response to the request if present, otherwise submit the request via the loader, caching
+     * its response.  Requests which modify the cluster invalidate the cache.
+     * @param request The request being submitted.
+     * @param loader Submits the request, returning the parsed response.
+     * @param <T> Return type of the request.
+     * @return Parsed response.
+     */
+    <T> T get(final Request<T> request, final Supplier<T> loader) {
+        if (isWrite(request)) {
+            invalidateAll();
+            try {
+                return loader.get();
+            } finally {
+                invalidateOnWriteComplete();
+            }
+        }
+
+        final long ttlInMillis = getTtlInMillis(request);
+        if (ttlInMillis <= 0) {
+            return loader.get();
+        }
+
+        final String key = keyOf(request);
+        final Lookup<T> lookup = lookup(key);
+        if (lookup.isHit) {
+            return lookup.value;
+        }
+        final T value = SharedResults.readOnly(loader.get());
+        put(key, value, ttlInMillis, lookup.generation);
+        return value;
+    }
+
+    /**
+     * Asynchronous equivalent of {@link #get(Request, Supplier)}.
+     * @param request The request being submitted.
+     * @param loader Submits the request, returning a future resolving to the parsed response.
+     * @param <T> Return type of the request.
+     * @return Future resolving to the parsed response.
+     */
+    <T> CompletableFuture<T> getAsync(final Request<T> request, final Supplier<CompletableFuture<T>> loader) {
+        if (isWrite(request)) {
+            invalidateAll();
+            return loader.get()
+                .whenComplete((result, error) -> invalidateOnWriteComplete());
+        }
+
+        final long ttlInMillis = getTtlInMillis(request);
+        if (ttlInMillis <= 0) {
+            return loader.get();
+        }
+
+        final String key = keyOf(request);
+        final Lookup<T> lookup = lookup(key);
+        if (lookup.isHit) {
+            return CompletableFuture.completedFuture(lookup.value);
+        }
+        return loader.get()
+            .thenApply(SharedResults::readOnly)
+            .whenComplete((result, error) -> {
+                if (error == null) {
+                    put(key, result, ttlInMillis, lookup.generation);
+                }
+            });
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> Lookup<T> lookup(final String key) {
+        final CacheEntry entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos - System.nanoTime() > 0) {
+            hitCount++;
+            return new Lookup<>(true, (T) entry.value, generation);
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        missCount++;
+        return new Lookup<>(false, null, generation);
+    }
+
+    private synchronized void put(final String key, final Object value, final long ttlInMillis, final long requestGeneration) {
+        // Discard responses which may pre-date a write.
+        if (value == null || requestGeneration != generation) {
+            return;
+        }
+        entries.put(key, new CacheEntry(value, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlInMillis)));
+        while (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Invalidate again once a write completes, discarding any responses cached while it was in flight.
+     */
+    private synchronized void invalidateOnWriteComplete() {
+        clear();
+    }
+
+    private void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    /**
+     * Determine if the request modifies the cluster, and so invalidates cached responses.
+     */
+    private static boolean isWrite(final Request<?> request) {
+        return request.getRequestMethod() != RequestMethod.GET
+            && !(request instanceof PutConnectorPluginConfigValidate);
+    }
+
+    private static String keyOf(final Request<?> request) {
+        return request.getClass().getName() + ' ' + request.getApiEndpoint();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{"
+            + "defaultTtlInMillis=" + defaultTtlInMillis
+            + ", ttlInMillisByRequestType=" + ttlInMillisByRequestType
+            + ", maxEntries=" + maxEntries
+            + '}';
+    }
+
+    /**
+     * A cached response.
+     */
+    private static final class CacheEntry {
+        private final Object value;
+        private final long expiresAtNanos;
+
+        private CacheEntry(final Object value, final long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * Result of looking up a request in the cache.
+     */
+    private static final class Lookup<T> {
+        private final boolean isHit;
+        private final T value;
+        private final long generation;
+
+        private Lookup(final boolean isHit, final T value, final long generation) {
+            this.isHit = isHit;
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Builder for ResponseCache.
+     */
+    public static final class Builder {
+        private long defaultTtlInMillis = 1_000;
+        private final Map<Class<?>, Long> ttlInMillisByRequestType = new HashMap<>();
+        private int maxEntries = 1_000;
+
+        private Builder() {
+        }
+
+        /**
+         * How long responses are cached for, unless overridden for the request type.  Defaults to 1 second.
+         * @param defaultTtlInMillis TTL in milliseconds, or 0 to only cache request types with their own TTL.
+         * @return Builder instance.
+         */
+        public Builder withDefaultTtlInMillis(final long defaultTtlInMillis) {
+            if (defaultTtlInMillis < 0) {
+                throw new IllegalArgumentException("TTL must not be negative.");
+            }
+            this.defaultTtlInMillis = defaultTtlInMillis;
+            return this;
+        }
+
+        /**
+         * How long responses to a specific request type are cached for, for example GetConnectorPlugins.class.
+         * @param requestType The request type.
+         * @param ttlInMillis TTL in milliseconds, or 0 to never cache responses to this request type.
+         * @return Builder instance.
+         */
+        public Builder withTtlInMillis(final Class<? extends Request<?>> requestType, final long ttlInMillis) {
+            if (ttlInMillis < 0) {
+                throw new IllegalArgumentException("TTL must not be negative.");
+            }
+            this.ttlInMillisByRequestType.put(requestType, ttlInMillis);
+            return this;
+        }
+
+        /**
+         * Maximum number of responses cached, after which the least recently used response is evicted.  Defaults to 1000.
+         * @param maxEntries Maximum number of entries, must be at least 1.
+         * @return Builder instance.
+         */
+        public Builder withMaxEntries(final int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("Max entries must be at least 1.");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public ResponseCache build() {
+            return new ResponseCache(this);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+/**
+ * Point in time snapshot of a ResponseCache's counters.
+ */
+public final class ResponseCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+    private final int size;
+
+    /**
+     * Constructor.
+     * @param hitCount Number of requests answered from the cache.
+     * @param missCount Number of cacheable requests submitted to Kafka-Connect.
+     * @param evictionCount Number of responses evicted to stay within the size bound.
+     * @param invalidationCount Number of times the cache was invalidated.
+     * @param size Number of responses currently cached.
+     */
+    public ResponseCacheStats(
+        final long hitCount,
+        final long missCount,
+        final long evictionCount,
+        final long invalidationCount,
+        final int size
+    ) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Fraction of cacheable requests answered from the cache.
+     * @return Hit ratio between 0 and 1, or 0 if no cacheable requests have been made.
+     */
+    public double getHitRatio() {
+        final long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCacheStats{"
+            + "hitCount=" + hitCount
+            + ", missCount=" + missCount
+            + ", evictionCount=" + evictionCount
+            + ", invalidationCount=" + invalidationCount
+            + ", size=" + size
+            + '}';
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.apache.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
+import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestErrorResponse;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.InvalidRequestException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.UnauthorizedRequestException;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Translates a RestResponse into either the parsed result of a Request, or the appropriate exception.
+ *
+ * Shared between the blocking and asynchronous client implementations.
+ */
+final class RestResponseParser {
+    private static final Logger logger = LoggerFactory.getLogger(RestResponseParser.class);
+
+    /**
+     * Our API Configuration.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Constructor.
+     * @param configuration Api Client Configuration.
+     */
+    RestResponseParser(final Configuration configuration) {
+        this.configuration = Objects.requireNonNull(configuration);
+    }
+
+    /**
+     * Parse the response returned from the server for the given request.
+     * @param request The request that was submitted.
+     * @param restResponse The response returned by the RestClient.
+     * @param <T> return type of the request.
+     * @return Parsed result.
+     * @throws InvalidRequestException if the server returned an error response.
+     * @throws ResponseParseException if the response could not be parsed.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T parse(final Request<T> request, final RestResponse restResponse) {
+        final int responseCode = restResponse.getHttpCode();
+        String responseStr = restResponse.getResponseStr();
+
+        // If we have a valid response
+        logger.debug("Response: {}", restResponse);
+
+        // Check for invalid http status codes
+        if (responseCode >= 200 && responseCode < 300) {
+            // Response body has already been parsed from the response stream.
+            if (restResponse.hasParsedResponse()) {
+                return (T) restResponse.getParsedResponse();
+            }
+
+            // These response codes have no values
+            if ((responseCode == 204 || responseCode == 205) && responseStr == null) {
+                // Avoid NPE
+                responseStr = "";
+            }
+
+            try {
+                return request.parseResponse(responseStr);
+            } catch (final MismatchedInputException exception) {
+                throw new ResponseParseException(exception.getMessage(), exception);
+            } catch (final IOException exception) {
+                throw new RuntimeException(exception.getMessage(), exception);
+            }
+        }
+
+        // Server reject's client's authentication.
+        if (responseCode == HttpStatus.SC_UNAUTHORIZED) {
+            // Throw contextual error msg based on if credentials are configured or not.
+            String errorMsg;
+            if (configuration.getBasicAuthUsername() == null) {
+                errorMsg = "Server required authentication credentials but none were provided in client configuration.";
+            } else {
+                errorMsg = "Client authentication credentials (username=" + configuration.getBasicAuthUsername() + ") was rejected by server.";
+            }
+            errorMsg = errorMsg + " Server responded with: \"" + responseStr + "\"";
+            throw new UnauthorizedRequestException(errorMsg, responseCode);
+        }
+
+        // Attempt to parse error response
+        try {
+            final RequestErrorResponse errorResponse = JacksonFactory.readerFor(RequestErrorResponse.class).readValue(responseStr);
+            throw InvalidRequestException.factory(errorResponse);
+        } catch (final IOException e) {
+            // swallow
+        }
+        throw new InvalidRequestException("Invalid response from server: " + responseStr, restResponse.getHttpCode());
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+/**
+ * Point in time snapshot of a FailedTaskRestartSupervisor's counters.
+ */
+public final class RestartSupervisorStats {
+    private final long restartAttemptCount;
+    private final long failedRestartRequestCount;
+    private final long successfulRestartCount;
+    private final int pendingRestartCount;
+
+    /**
+     * Constructor.
+     * @param restartAttemptCount Number of restart requests issued.
+     * @param failedRestartRequestCount Number of restart requests which were rejected or could not be sent.
+     * @param successfulRestartCount Number of restarted connectors and tasks subsequently observed RUNNING.
+     * @param pendingRestartCount Number of connectors and tasks restarted but not yet observed RUNNING.
+     */
+    public RestartSupervisorStats(
+        final long restartAttemptCount,
+        final long failedRestartRequestCount,
+        final long successfulRestartCount,
+        final int pendingRestartCount
+    ) {
+        this.restartAttemptCount = restartAttemptCount;
+        this.failedRestartRequestCount = failedRestartRequestCount;
+        this.successfulRestartCount = successfulRestartCount;
+        this.pendingRestartCount = pendingRestartCount;
+    }
+
+    public long getRestartAttemptCount() {
+        return restartAttemptCount;
+    }
+
+    public long getFailedRestartRequestCount() {
+        return failedRestartRequestCount;
+    }
+
+    public long getSuccessfulRestartCount() {
+        return successfulRestartCount;
+    }
+
+    public int getPendingRestartCount() {
+        return pendingRestartCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RestartSupervisorStats{"
+            + "restartAttemptCount=" + restartAttemptCount
+            + ", failedRestartRequestCount=" + failedRestartRequestCount
+            + ", successfulRestartCount=" + successfulRestartCount
+            + ", pendingRestartCount=" + pendingRestartCount
+            + '}';
+    }
+}
@@ -0,0 +1,358 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Defines if, and when, failed requests are retried by the client.
+ *
+ * Kafka-Connect responds with 409 while the cluster is rebalancing, and with 5xx errors while a worker is restarting.
+ * Requests which fail for these reasons, or which fail to connect at all, are retried using exponential backoff with jitter,
+ * so that many clients failing at the same moment do not all retry at the same moment.
+ *
+ * By default only GET, PUT and DELETE requests are retried, as these are idempotent in the Kafka-Connect REST API.
+ *
+ * Retries are additionally limited by a retry budget, shared by all clients using the same RetryPolicy instance.  Every
+ * request deposits a fraction of a token in the budget, every retry withdraws a whole token.  This bounds retries to a
+ * fixed ratio of requests when Kafka-Connect is unavailable for an extended period, rather than multiplying the load on it.
+ *
+ * Example usage:
+ * <pre>
+ *     final Configuration configuration = new Configuration("http://localhost:8083")
+ *         .useRetryPolicy(RetryPolicy.newBuilder()
+ *             .withMaxAttempts(5)
+ *             .withBackoffInMillis(250, 10_000)
+ *             .build()
+ *         );
+ * </pre>
+ */
+public final class RetryPolicy {
+    /**
+     * Budget amounts are tracked in thousandths of a token.
+     */
+    private static final long TOKEN = 1_000;
+
+    private final int maxAttempts;
+    private final long initialBackoffInMillis;
+    private final long maxBackoffInMillis;
+    private final double backoffMultiplier;
+    private final double jitterFactor;
+    private final Set<RequestMethod> retryableMethods;
+    private final Set<Integer> retryableStatusCodes;
+    private final boolean retryOnConnectionErrors;
+    private final double retryBudgetRatio;
+    private final int retryBudgetBurst;
+
+    /**
+     * Available retry budget, in thousandths of a token.
+     */
+    private final AtomicLong retryBudget;
+
+    private RetryPolicy(final Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffInMillis = builder.initialBackoffInMillis;
+        this.maxBackoffInMillis = builder.maxBackoffInMillis;
+        this.backoffMultiplier = builder.backoffMultiplier;
+        this.jitterFactor = builder.jitterFactor;
+        this.retryableMethods = Collections.unmodifiableSet(EnumSet.copyOf(builder.retryableMethods));
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatusCodes));
+        this.retryOnConnectionErrors = builder.retryOnConnectionErrors;
+        this.retryBudgetRatio = builder.retryBudgetRatio;
+        this.retryBudgetBurst = builder.retryBudgetBurst;
+        this.retryBudget = new AtomicLong(retryBudgetBurst * TOKEN);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Policy which never retries requests.  This is the default policy.
+     * @return RetryPolicy instance.
+     */
+    public static RetryPolicy noRetries() {
+        return newBuilder()
+            .withMaxAttempts(1)
+            .build();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffInMillis() {
+        return initialBackoffInMillis;
+    }
+
+    public long getMaxBackoffInMillis() {
+        return maxBackoffInMillis;
+    }
+
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public double getJitterFactor() {
+        return jitterFactor;
+    }
+
+    public Set<RequestMethod> getRetryableMethods() {
+        return retryableMethods;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public boolean isRetryOnConnectionErrors() {
+        return retryOnConnectionErrors;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public int getRetryBudgetBurst() {
+        return retryBudgetBurst;
+    }
+
+    /**
+     * Whether this policy may ever retry a request.
+     * @return true if retries are enabled.
+     */
+    public boolean isEnabled() {
+        return maxAttempts > 1;
+    }
+
+    /**
+     * Called once for every request submitted, adding to the retry budget.
+     */
+    void onRequest() {
+        if (!isEnabled()) {
+            return;
+        }
+        final long deposit = (long) (retryBudgetRatio * TOKEN);
+        final long capacity = retryBudgetBurst * TOKEN;
+        retryBudget.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    /**
+     * Determine whether a request which received the given response should be retried.
+     * @param request The request that was submitted.
+     * @param attempt The attempt which received the response, starting at 1.
+     * @param httpStatus Http status code of the response.
+     * @return Delay in milliseconds before retrying, or empty if the request should not be retried.
+     */
+    OptionalLong getRetryDelay(final Request<?> request, final int attempt, final int httpStatus) {
+        if (!retryableStatusCodes.contains(httpStatus)) {
+            return OptionalLong.empty();
+        }
+        return getRetryDelay(request, attempt);
+    }
+
+    /**
+     * Determine whether a request which failed with the given error should be retried.
+     * @param request The request that was submitted.
+     * @param attempt The attempt which failed, starting at 1.
+     * @param error The error the attempt failed with.
+     * @return Delay in milliseconds before retrying, or empty if the request should not be retried.
+     */
+    OptionalLong getRetryDelay(final Request<?> request, final int attempt, final Throwable error) {
+        if (!retryOnConnectionErrors || !(error instanceof ConnectionException)) {
+            return OptionalLong.empty();
+        }
+        return getRetryDelay(request, attempt);
+    }
+
+    private OptionalLong getRetryDelay(final Request<?> request, final int attempt) {
+        if (attempt >= maxAttempts || !retryableMethods.contains(request.getRequestMethod()) || !tryWithdrawRetryBudget()) {
+            return OptionalLong.empty();
+        }
+
+        // Exponential backoff, capped at the maximum.
+        final double backoff = Math.min(maxBackoffInMillis, initialBackoffInMillis * Math.pow(backoffMultiplier, attempt - 1));
+
+        // Randomly reduce the backoff by up to the jitter factor, so concurrent failures do not retry in lock step.
+        final double jitter = backoff * jitterFactor * ThreadLocalRandom.current().nextDouble();
+        return OptionalLong.of(Math.round(backoff - jitter));
+    }
+
+    private boolean tryWithdrawRetryBudget() {
+        long current;
+        do {
+            current = retryBudget.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!retryBudget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{"
+            + "maxAttempts=" + maxAttempts
+            + ", initialBackoffInMillis=" + initialBackoffInMillis
+            + ", maxBackoffInMillis=" + maxBackoffInMillis
+            + ", backoffMultiplier=" + backoffMultiplier
+            + ", jitterFactor=" + jitterFactor
+            + ", retryableMethods=" + retryableMethods
+            + ", retryableStatusCodes=" + retryableStatusCodes
+            + ", retryOnConnectionErrors=" + retryOnConnectionErrors
+            + ", retryBudgetRatio=" + retryBudgetRatio
+            + ", retryBudgetBurst=" + retryBudgetBurst
+            + '}';
+    }
+
+    /**
+     * Builder for RetryPolicy.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private long initialBackoffInMillis = 200;
+        private long maxBackoffInMillis = 10_000;
+        private double backoffMultiplier = 2.0;
+        private double jitterFactor = 0.5;
+        private Set<RequestMethod> retryableMethods = EnumSet.of(RequestMethod.GET, RequestMethod.PUT, RequestMethod.DELETE);
+        private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(409, 500, 502, 503, 504));
+        private boolean retryOnConnectionErrors = true;
+        private double retryBudgetRatio = 0.2;
+        private int retryBudgetBurst = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * Maximum number of attempts for a single request, including the first.  Defaults to 3.
+         * @param maxAttempts Maximum attempts, must be at least 1.
+         * @return Builder instance.
+         */
+        public Builder withMaxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1.");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Backoff before the first retry, and the upper limit on backoff as it grows.  Defaults to 200ms and 10 seconds.
+         * @param initialBackoffInMillis Backoff before the first retry.
+         * @param maxBackoffInMillis Maximum backoff between any two attempts.
+         * @return Builder instance.
+         */
+        public Builder withBackoffInMillis(final long initialBackoffInMillis, final long maxBackoffInMillis) {
+            if (initialBackoffInMillis < 0 || maxBackoffInMillis < initialBackoffInMillis) {
+                throw new IllegalArgumentException("Backoff must be non-negative, with max backoff at least the initial backoff.");
+            }
+            this.initialBackoffInMillis = initialBackoffInMillis;
+            this.maxBackoffInMillis = maxBackoffInMillis;
+            return this;
+        }
+
+        /**
+         * Factor the backoff is multiplied by after each retry.  Defaults to 2.
+         * @param backoffMultiplier Multiplier, must be at least 1.
+         * @return Builder instance.
+         */
+        public Builder withBackoffMultiplier(final double backoffMultiplier) {
+            if (backoffMultiplier < 1) {
+                throw new IllegalArgumentException("Backoff multiplier must be at least 1.");
+            }
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        /**
+         * Fraction of each backoff which is randomized.  With a factor of 0.5, a backoff of 1 second results in a
+         * delay of between 0.5 and 1 second.  Defaults to 0.5.
+         * @param jitterFactor Jitter factor between 0 (no jitter) and 1 (full jitter).
+         * @return Builder instance.
+         */
+        public Builder withJitterFactor(final double jitterFactor) {
+            if (jitterFactor < 0 || jitterFactor > 1) {
+                throw new IllegalArgumentException("Jitter factor must be between 0 and 1.");
+            }
+            this.jitterFactor = jitterFactor;
+            return this;
+        }
+
+        /**
+         * Request methods which may be retried.  Defaults to GET, PUT and DELETE.
+         * @param retryableMethods Methods which may be retried.
+         * @return Builder instance.
+         */
+        public Builder withRetryableMethods(final RequestMethod... retryableMethods) {
+            this.retryableMethods = EnumSet.noneOf(RequestMethod.class);
+            this.retryableMethods.addAll(Arrays.asList(retryableMethods));
+            return this;
+        }
+
+        /**
+         * Http status codes which are retried.  Defaults to 409, 500, 502, 503 and 504.
+         * @param retryableStatusCodes Status codes which are retried.
+         * @return Builder instance.
+         */
+        public Builder withRetryableStatusCodes(final Collection<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = new HashSet<>(retryableStatusCodes);
+            return this;
+        }
+
+        /**
+         * Whether requests which fail to connect, or time out, are retried.  Defaults to true.
+         * @param retryOnConnectionErrors true to retry on connection errors.
+         * @return Builder instance.
+         */
+        public Builder withRetryOnConnectionErrors(final boolean retryOnConnectionErrors) {
+            this.retryOnConnectionErrors = retryOnConnectionErrors;
+            return this;
+        }
+
+        /**
+         * Limits retries to a ratio of requests submitted.  Defaults to a ratio of 0.2 with a burst of 10.
+         * @param retryBudgetRatio Retries allowed per request submitted, for example 0.2 allows 1 retry for every 5 requests.
+         * @param retryBudgetBurst Maximum retries which may accumulate in the budget, also the initial budget.
+         * @return Builder instance.
+         */
+        public Builder withRetryBudget(final double retryBudgetRatio, final int retryBudgetBurst) {
+            if (retryBudgetRatio < 0 || retryBudgetBurst < 0) {
+                throw new IllegalArgumentException("Retry budget ratio and burst must be non-negative.");
+            }
+            this.retryBudgetRatio = retryBudgetRatio;
+            this.retryBudgetBurst = retryBudgetBurst;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Guards results which are shared between callers, such as cached or coalesced responses, from modification.
+ */
+final class SharedResults {
+    /**
+     * Types returned by Collections.unmodifiableXXX(), which need not be wrapped again.
+     */
+    private static final Set<Class<?>> UNMODIFIABLE_TYPES = new HashSet<>(Arrays.asList(
+        Collections.unmodifiableMap(new HashMap<>()).getClass(),
+        Collections.unmodifiableList(new ArrayList<>()).getClass(),
+        Collections.unmodifiableList(new LinkedList<>()).getClass(),
+        Collections.unmodifiableSet(new HashSet<>()).getClass(),
+        Collections.unmodifiableCollection(new ArrayList<>()).getClass()
+    ));
+
+    private SharedResults() {
+    }
+
+    /**
+     * Wrap a Map or Collection result in an unmodifiable view.  Other results are returned as is, parsed DTOs
+     * exposing only unmodifiable collections themselves.
+     * @param result The result to share, may be null.
+     * @param <T> Type of the result.
+     * @return Unmodifiable view over the result.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T readOnly(final T result) {
+        if (result == null || UNMODIFIABLE_TYPES.contains(result.getClass())) {
+            return result;
+        }
+        if (result instanceof Map) {
+            return (T) Collections.unmodifiableMap((Map<?, ?>) result);
+        }
+        if (result instanceof List) {
+            return (T) Collections.unmodifiableList((List<?>) result);
+        }
+        if (result instanceof Set) {
+            return (T) Collections.unmodifiableSet((Set<?>) result);
+        }
+        if (result instanceof Collection) {
+            return (T) Collections.unmodifiableCollection((Collection<?>) result);
+        }
+        return result;
+    }
+}
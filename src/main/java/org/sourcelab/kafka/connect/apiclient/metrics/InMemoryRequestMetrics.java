@@ -0,0 +1,156 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RequestMetricsListener which aggregates metrics in memory, grouped by Request class.
+ *
+ * Example usage:
+ * <pre>
+ *     final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+ *     final KafkaConnectClient client = new KafkaConnectClient(
+ *         new Configuration("http://localhost:8083").useRequestMetricsListener(metrics)
+ *     );
+ *     ...
+ *     final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(GetConnectors.class);
+ * </pre>
+ */
+public final class InMemoryRequestMetrics implements RequestMetricsListener {
+    private final ConcurrentMap<Class<?>, RequestTypeMetrics> metricsByRequestType = new ConcurrentHashMap<>();
+
+    @Override
+    public void onHttpExchange(final Request<?> request, final int httpStatus, final long responseBytes, final long durationNanos) {
+        final RequestTypeMetrics metrics = getMetrics(request);
+        metrics.httpLatency.record(durationNanos);
+        metrics.responseBytes.add(responseBytes);
+        increment(metrics.httpStatusCounts, httpStatus);
+    }
+
+    @Override
+    public void onHttpTransfer(
+        final Request<?> request,
+        final long requestBytes,
+        final long requestWireBytes,
+        final long responseBytes,
+        final long responseWireBytes
+    ) {
+        final RequestTypeMetrics metrics = getMetrics(request);
+        metrics.requestBytes.add(requestBytes);
+        metrics.requestWireBytes.add(requestWireBytes);
+        metrics.responseWireBytes.add(responseWireBytes);
+    }
+
+    @Override
+    public void onHttpFailure(final Request<?> request, final Throwable error, final long durationNanos) {
+        final RequestTypeMetrics metrics = getMetrics(request);
+        metrics.httpLatency.record(durationNanos);
+        increment(metrics.httpExceptionCounts, error.getClass().getName());
+    }
+
+    @Override
+    public void onRetry(final Request<?> request, final int attempt, final int httpStatus, final Throwable error, final long delayInMillis) {
+        getMetrics(request).retryCount.increment();
+    }
+
+    @Override
+    public void onRequestSuccess(final Request<?> request, final long durationNanos) {
+        getMetrics(request).requestLatency.record(durationNanos);
+    }
+
+    @Override
+    public void onRequestFailure(final Request<?> request, final Throwable error, final long durationNanos) {
+        final RequestTypeMetrics metrics = getMetrics(request);
+        metrics.requestLatency.record(durationNanos);
+        metrics.failureCount.increment();
+        increment(metrics.exceptionCounts, error.getClass().getName());
+    }
+
+    /**
+     * Point in time copy of all metrics recorded so far.
+     * @return Snapshot of metrics, keyed by Request class.
+     */
+    public Map<Class<?>, RequestTypeMetricsSnapshot> getSnapshot() {
+        final Map<Class<?>, RequestTypeMetricsSnapshot> snapshot = new HashMap<>();
+        metricsByRequestType.forEach((requestType, metrics) -> snapshot.put(requestType, metrics.getSnapshot(requestType)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Discard all metrics recorded so far.
+     */
+    public void reset() {
+        metricsByRequestType.clear();
+    }
+
+    private RequestTypeMetrics getMetrics(final Request<?> request) {
+        return metricsByRequestType.computeIfAbsent(request.getClass(), (requestType) -> new RequestTypeMetrics());
+    }
+
+    private static <K> void increment(final ConcurrentMap<K, LongAdder> counters, final K key) {
+        counters.computeIfAbsent(key, (newKey) -> new LongAdder()).increment();
+    }
+
+    private static <K> Map<K, Long> sum(final ConcurrentMap<K, LongAdder> counters) {
+        final Map<K, Long> sums = new HashMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+
+    /**
+     * Metrics for a single Request class.
+     */
+    private static final class RequestTypeMetrics {
+        private final LatencyHistogram requestLatency = new LatencyHistogram();
+        private final LatencyHistogram httpLatency = new LatencyHistogram();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder responseWireBytes = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder requestWireBytes = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> httpStatusCounts = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> httpExceptionCounts = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> exceptionCounts = new ConcurrentHashMap<>();
+
+        private RequestTypeMetricsSnapshot getSnapshot(final Class<?> requestType) {
+            return new RequestTypeMetricsSnapshot(
+                requestType,
+                requestLatency.getSnapshot(),
+                failureCount.sum(),
+                exceptionCounts.isEmpty() ? Collections.emptyMap() : sum(exceptionCounts),
+                retryCount.sum(),
+                httpLatency.getSnapshot(),
+                responseBytes.sum(),
+                responseWireBytes.sum(),
+                requestBytes.sum(),
+                requestWireBytes.sum(),
+                sum(httpStatusCounts),
+                httpExceptionCounts.isEmpty() ? Collections.emptyMap() : sum(httpExceptionCounts)
+            );
+        }
+    }
+}
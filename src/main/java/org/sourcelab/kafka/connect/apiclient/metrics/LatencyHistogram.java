@@ -0,0 +1,131 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of non-negative values, typically latencies in nanoseconds.
+ *
+ * Uses the same log-linear bucketing scheme as HdrHistogram: values below {@link #SUB_BUCKET_COUNT} are counted exactly,
+ * larger values are grouped into buckets whose width grows with the magnitude of the value.  Every recorded value is
+ * therefore reported with a relative error of at most 1 / {@link #SUB_BUCKET_HALF_COUNT} (roughly 3%), using a fixed
+ * amount of memory and a constant time record operation regardless of the range of values seen.
+ */
+public final class LatencyHistogram {
+    /**
+     * Number of distinct buckets per power of two, once values exceed this count.
+     */
+    static final int SUB_BUCKET_COUNT = 64;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKET_COUNT);
+
+    /**
+     * Enough buckets to hold any non-negative long value.
+     */
+    static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong(0);
+
+    /**
+     * Record a value.  Negative values are recorded as 0.
+     * @param value The value to record.
+     */
+    public void record(final long value) {
+        final long boundedValue = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(boundedValue));
+        totalCount.increment();
+        totalSum.add(boundedValue);
+        minValue.accumulateAndGet(boundedValue, Math::min);
+        maxValue.accumulateAndGet(boundedValue, Math::max);
+    }
+
+    /**
+     * Point in time copy of the histogram.  Values recorded concurrently with taking the snapshot may or may not be included.
+     * @return Snapshot of the histogram.
+     */
+    public LatencyHistogramSnapshot getSnapshot() {
+        final long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            bucketCounts[index] = counts.get(index);
+            count += bucketCounts[index];
+        }
+        final long min = count == 0 ? 0 : minValue.get();
+        return new LatencyHistogramSnapshot(bucketCounts, count, totalSum.sum(), min, maxValue.get());
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts.set(index, 0);
+        }
+        totalCount.reset();
+        totalSum.reset();
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+
+    /**
+     * Number of values recorded.
+     * @return Number of values recorded.
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Determine which bucket a value is counted in.
+     * @param value Non-negative value.
+     * @return Bucket index.
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS bits of the value, the lowest bucket for each shift starts at SUB_BUCKET_HALF_COUNT.
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        final int subBucket = (int) (value >>> shift);
+        return (shift * SUB_BUCKET_HALF_COUNT) + subBucket;
+    }
+
+    /**
+     * Largest value which would be counted in the given bucket.
+     * @param index Bucket index.
+     * @return Largest value counted by the bucket.
+     */
+    static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index / SUB_BUCKET_HALF_COUNT) - 1;
+        final long subBucket = (index % SUB_BUCKET_HALF_COUNT) + SUB_BUCKET_HALF_COUNT;
+        final long upperBound = ((subBucket + 1) << shift) - 1;
+
+        // The final bucket would overflow.
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
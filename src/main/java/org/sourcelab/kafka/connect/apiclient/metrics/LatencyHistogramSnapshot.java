@@ -0,0 +1,112 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable point in time copy of a {@link LatencyHistogram}.
+ */
+public final class LatencyHistogramSnapshot {
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    /**
+     * Constructor.
+     * @param bucketCounts Number of values counted in each bucket.
+     * @param count Total number of values.
+     * @param sum Sum of all values.
+     * @param min Smallest value recorded, or 0 if no values were recorded.
+     * @param max Largest value recorded, or 0 if no values were recorded.
+     */
+    LatencyHistogramSnapshot(final long[] bucketCounts, final long count, final long sum, final long min, final long max) {
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Mean of all recorded values.
+     * @return Mean value, or 0 if no values were recorded.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Value at or below which the given percentage of recorded values fall.
+     * @param percentile Percentile between 0 and 100, for example 99.9.
+     * @return Value at the percentile, accurate to within the histogram's precision, or 0 if no values were recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long targetCount = Math.max(1, (long) Math.ceil((percentile / 100) * count));
+        long cumulativeCount = 0;
+        for (int index = 0; index < bucketCounts.length; index++) {
+            cumulativeCount += bucketCounts[index];
+            if (cumulativeCount >= targetCount) {
+                return Math.min(LatencyHistogram.bucketUpperBound(index), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Convenience method to retrieve the value at a percentile converted from nanoseconds.
+     * @param percentile Percentile between 0 and 100, for example 99.9.
+     * @param timeUnit Unit to convert to.
+     * @return Value at the percentile in the given unit.
+     */
+    public long getValueAtPercentile(final double percentile, final TimeUnit timeUnit) {
+        return timeUnit.convert(getValueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogramSnapshot{"
+            + "count=" + count
+            + ", min=" + min
+            + ", mean=" + getMean()
+            + ", p50=" + getValueAtPercentile(50)
+            + ", p99=" + getValueAtPercentile(99)
+            + ", max=" + max
+            + '}';
+    }
+}
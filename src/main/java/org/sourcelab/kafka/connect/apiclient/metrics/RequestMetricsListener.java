@@ -0,0 +1,98 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+
+/**
+ * Receives timing, size and outcome notifications for requests submitted through the client.
+ *
+ * Two levels are reported:
+ * - HTTP exchanges, reported by the RestClient for each round trip to Kafka-Connect.
+ * - Requests, reported by KafkaConnectClient once the response has been parsed, or the request has failed.
+ *
+ * Implementations are called from the threads executing requests, so must be thread safe and should return quickly.
+ * All methods default to no-ops, allowing implementations to override only what they need.
+ */
+public interface RequestMetricsListener {
+
+    /**
+     * Called when a response has been received from Kafka-Connect, regardless of its status code.
+     * @param request The request that was submitted.
+     * @param httpStatus The http status code of the response.
+     * @param responseBytes Number of response body bytes read, after decompression.
+     * @param durationNanos Time taken to send the request and consume the response, in nanoseconds.
+     */
+    default void onHttpExchange(final Request<?> request, final int httpStatus, final long responseBytes, final long durationNanos) {
+    }
+
+    /**
+     * Called alongside onHttpExchange(), with the size of the request and response bodies both as sent over the
+     * connection and uncompressed.  The sizes only differ when http compression is enabled.
+     * @param request The request that was submitted.
+     * @param requestBytes Number of request body bytes, prior to compression.
+     * @param requestWireBytes Number of request body bytes sent over the connection.
+     * @param responseBytes Number of response body bytes, after decompression.
+     * @param responseWireBytes Number of response body bytes read from the connection.
+     */
+    default void onHttpTransfer(
+        final Request<?> request,
+        final long requestBytes,
+        final long requestWireBytes,
+        final long responseBytes,
+        final long responseWireBytes
+    ) {
+    }
+
+    /**
+     * Called when no usable response was received from Kafka-Connect, for example on connection errors or timeouts.
+     * @param request The request that was submitted.
+     * @param error The error encountered.
+     * @param durationNanos Time taken before the error occurred, in nanoseconds.
+     */
+    default void onHttpFailure(final Request<?> request, final Throwable error, final long durationNanos) {
+    }
+
+    /**
+     * Called when an attempt failed and the request will be retried, as allowed by the configured RetryPolicy.
+     * @param request The request that was submitted.
+     * @param attempt The attempt which failed, starting at 1.
+     * @param httpStatus The http status code which caused the retry, or 0 if no response was received.
+     * @param error The error which caused the retry, or null if a response was received.
+     * @param delayInMillis Time the client will wait before the next attempt, in milliseconds.
+     */
+    default void onRetry(final Request<?> request, final int attempt, final int httpStatus, final Throwable error, final long delayInMillis) {
+    }
+
+    /**
+     * Called when a request completes successfully and its response has been parsed.
+     * @param request The request that was submitted.
+     * @param durationNanos Total time taken by the request, in nanoseconds.
+     */
+    default void onRequestSuccess(final Request<?> request, final long durationNanos) {
+    }
+
+    /**
+     * Called when a request fails, either because no response was received or the server returned an error.
+     * @param request The request that was submitted.
+     * @param error The exception thrown to the caller.
+     * @param durationNanos Total time taken by the request, in nanoseconds.
+     */
+    default void onRequestFailure(final Request<?> request, final Throwable error, final long durationNanos) {
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable point in time copy of the metrics recorded for a single Request class.
+ *
+ * All latencies are in nanoseconds.
+ */
+public final class RequestTypeMetricsSnapshot {
+    private final Class<?> requestType;
+    private final LatencyHistogramSnapshot requestLatency;
+    private final long failureCount;
+    private final Map<String, Long> exceptionCounts;
+    private final long retryCount;
+    private final LatencyHistogramSnapshot httpLatency;
+    private final long responseBytes;
+    private final long responseWireBytes;
+    private final long requestBytes;
+    private final long requestWireBytes;
+    private final Map<Integer, Long> httpStatusCounts;
+    private final Map<String, Long> httpExceptionCounts;
+
+    /**
+     * Constructor.
+     * @param requestType Request class the metrics were recorded for.
+     * @param requestLatency Latency of completed requests, both successful and failed.
+     * @param failureCount Number of failed requests.
+     * @param exceptionCounts Number of failed requests, keyed by exception class name.
+     * @param retryCount Number of retries.
+     * @param httpLatency Latency of individual http exchanges.
+     * @param responseBytes Total number of response body bytes read, after decompression.
+     * @param responseWireBytes Total number of response body bytes read from the connection, prior to decompression.
+     * @param requestBytes Total number of request body bytes, prior to compression.
+     * @param requestWireBytes Total number of request body bytes sent over the connection.
+     * @param httpStatusCounts Number of responses, keyed by http status code.
+     * @param httpExceptionCounts Number of http exchanges which failed without a response, keyed by exception class name.
+     */
+    RequestTypeMetricsSnapshot(
+        final Class<?> requestType,
+        final LatencyHistogramSnapshot requestLatency,
+        final long failureCount,
+        final Map<String, Long> exceptionCounts,
+        final long retryCount,
+        final LatencyHistogramSnapshot httpLatency,
+        final long responseBytes,
+        final long responseWireBytes,
+        final long requestBytes,
+        final long requestWireBytes,
+        final Map<Integer, Long> httpStatusCounts,
+        final Map<String, Long> httpExceptionCounts
+    ) {
+        this.requestType = requestType;
+        this.requestLatency = requestLatency;
+        this.failureCount = failureCount;
+        this.exceptionCounts = Collections.unmodifiableMap(exceptionCounts);
+        this.retryCount = retryCount;
+        this.httpLatency = httpLatency;
+        this.responseBytes = responseBytes;
+        this.responseWireBytes = responseWireBytes;
+        this.requestBytes = requestBytes;
+        this.requestWireBytes = requestWireBytes;
+        this.httpStatusCounts = Collections.unmodifiableMap(httpStatusCounts);
+        this.httpExceptionCounts = Collections.unmodifiableMap(httpExceptionCounts);
+    }
+
+    public Class<?> getRequestType() {
+        return requestType;
+    }
+
+    public LatencyHistogramSnapshot getRequestLatency() {
+        return requestLatency;
+    }
+
+    public long getRequestCount() {
+        return requestLatency.getCount();
+    }
+
+    public long getSuccessCount() {
+        return Math.max(0, requestLatency.getCount() - failureCount);
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public Map<String, Long> getExceptionCounts() {
+        return exceptionCounts;
+    }
+
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    public LatencyHistogramSnapshot getHttpLatency() {
+        return httpLatency;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public long getResponseWireBytes() {
+        return responseWireBytes;
+    }
+
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public long getRequestWireBytes() {
+        return requestWireBytes;
+    }
+
+    public Map<Integer, Long> getHttpStatusCounts() {
+        return httpStatusCounts;
+    }
+
+    public Map<String, Long> getHttpExceptionCounts() {
+        return httpExceptionCounts;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTypeMetricsSnapshot{"
+            + "requestType=" + requestType.getName()
+            + ", requestLatency=" + requestLatency
+            + ", failureCount=" + failureCount
+            + ", exceptionCounts=" + exceptionCounts
+            + ", retryCount=" + retryCount
+            + ", httpLatency=" + httpLatency
+            + ", responseBytes=" + responseBytes
+            + ", responseWireBytes=" + responseWireBytes
+            + ", requestBytes=" + requestBytes
+            + ", requestWireBytes=" + requestWireBytes
+            + ", httpStatusCounts=" + httpStatusCounts
+            + ", httpExceptionCounts=" + httpExceptionCounts
+            + '}';
+    }
+}
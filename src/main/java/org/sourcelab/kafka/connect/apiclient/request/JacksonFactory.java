@@ -17,17 +17,42 @@
 
 package org.sourcelab.kafka.connect.apiclient.request;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.type.MapType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Creates properly configured Jackson XML Mapper instances.
+ *
+ * Also holds a registry of ObjectReader and ObjectWriter instances per type.  These resolve their deserializer or
+ * serializer once, rather than on every call as ObjectMapper.readValue() and writeValueAsString() do, so Request
+ * implementations should hold the reader for their response type in a static field.  Readers leave streams they read
+ * from open, as required by {@link Request#parseResponse(java.io.InputStream)}.
+ *
+ * When the system property {@value #ACCELERATION_PROPERTY} is set to true, jackson-module-blackbird (Java 9+) or
+ * jackson-module-afterburner is registered if on the classpath, replacing reflection with generated bytecode.  This is
+ * off by default, as the mapper is shared with the rest of the application.
  */
 public final class JacksonFactory {
+    private static final Logger logger = LoggerFactory.getLogger(JacksonFactory.class);
+
+    /**
+     * System property which enables registering Blackbird or Afterburner when set to true.
+     */
+    public static final String ACCELERATION_PROPERTY = "kafka.connect.client.jackson.acceleration";
 
     /**
      * Holds our jackson singleton mapper.  ObjectMapper is defined as being
@@ -41,6 +66,17 @@ public final class JacksonFactory {
     public static final MapType mapTypeStringString = mapper.getTypeFactory()
         .constructMapType(Map.class, String.class, String.class);
 
+    /**
+     * ObjectReader and ObjectWriter instances, built on first use.
+     */
+    private static final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Name of the bytecode acceleration module registered, or null if none.
+     */
+    private static final String accelerationModule;
+
     /*
      * Statically configure the instance.
      */
@@ -49,6 +85,8 @@ public final class JacksonFactory {
         mapper
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
             .setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE);
+
+        accelerationModule = registerAccelerationModule();
     }
 
     /**
@@ -58,4 +96,82 @@ public final class JacksonFactory {
     public static ObjectMapper newInstance() {
         return mapper;
     }
+
+    /**
+     * Get the ObjectReader for a type.
+     * @param type Type to deserialize.
+     * @return ObjectReader instance, shared between callers.
+     */
+    public static ObjectReader readerFor(final Class<?> type) {
+        return readerFor(mapper.constructType(type));
+    }
+
+    /**
+     * Get the ObjectReader for a type, such as {@link #mapTypeStringString}.
+     * @param type Type to deserialize.
+     * @return ObjectReader instance, shared between callers.
+     */
+    public static ObjectReader readerFor(final JavaType type) {
+        return readers.computeIfAbsent(type, (javaType) -> mapper.readerFor(javaType).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
+    /**
+     * Get the ObjectWriter for a type.
+     * @param type Type to serialize.
+     * @return ObjectWriter instance, shared between callers.
+     */
+    public static ObjectWriter writerFor(final Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    /**
+     * Serialize a value to Json using the ObjectWriter for its type.
+     * @param value Value to serialize, may be null.
+     * @return Json representation.
+     * @throws JsonProcessingException if the value could not be serialized.
+     */
+    public static String writeValueAsString(final Object value) throws JsonProcessingException {
+        if (value == null) {
+            return mapper.writeValueAsString(null);
+        }
+        return writerFor(value.getClass()).writeValueAsString(value);
+    }
+
+    /**
+     * Name of the bytecode acceleration module in use.
+     * @return "blackbird", "afterburner", or null if neither is registered.
+     */
+    public static String getAccelerationModule() {
+        return accelerationModule;
+    }
+
+    /**
+     * Register Blackbird, or failing that Afterburner, if enabled and on the classpath.
+     * @return Name of the module registered, or null if none.
+     */
+    private static String registerAccelerationModule() {
+        if (!Boolean.parseBoolean(System.getProperty(ACCELERATION_PROPERTY))) {
+            return null;
+        }
+
+        // Blackbird relies on MethodHandles.privateLookupIn(), added in Java 9.
+        if (!System.getProperty("java.specification.version", "1.8").startsWith("1.")
+            && registerModule("com.fasterxml.jackson.module.blackbird.BlackbirdModule")) {
+            return "blackbird";
+        }
+        if (registerModule("com.fasterxml.jackson.module.afterburner.AfterburnerModule")) {
+            return "afterburner";
+        }
+        return null;
+    }
+
+    private static boolean registerModule(final String className) {
+        try {
+            mapper.registerModule((Module) Class.forName(className).getDeclaredConstructor().newInstance());
+            logger.debug("Registered Jackson module {}", className);
+            return true;
+        } catch (final ReflectiveOperationException | LinkageError | ClassCastException exception) {
+            return false;
+        }
+    }
 }
@@ -17,7 +17,10 @@
 
 package org.sourcelab.kafka.connect.apiclient.request;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interface for all Requests to implement.
@@ -43,6 +46,17 @@ public interface Request<T> {
      */
     Object getRequestBody();
 
+    /**
+     * Optional deadline for this request, in seconds.  If the request has not completed within this period it is
+     * aborted.  Requests against slow end points may override this to be given a different time budget than
+     * fast ones.  Deadlines may also be configured per request type via
+     * {@link org.sourcelab.kafka.connect.apiclient.Configuration#useRequestDeadlineInSeconds(Class, int)}.
+     * @return Deadline in seconds, or 0 for no request specific deadline.
+     */
+    default int getDeadlineInSeconds() {
+        return 0;
+    }
+
     /**
      * Parse the rest service's response into a concrete object.
      * @param responseStr The servers response in string format.
@@ -50,4 +64,26 @@ public interface Request<T> {
      * @throws IOException on parsing errors.
      */
     T parseResponse(final String responseStr) throws IOException;
+
+    /**
+     * Parse the rest service's response directly from the response body stream, avoiding materializing
+     * the body as a String first.  Implementations that parse JSON should override this.
+     *
+     * The default implementation reads the stream as UTF-8 and delegates to {@link #parseResponse(String)}.
+     * Implementations must not close the stream, it is closed by the caller once the response has been handled.
+     * Readers obtained from {@link JacksonFactory} leave the stream open.
+     *
+     * @param responseStream The servers response body.
+     * @return A concrete object representing the result.
+     * @throws IOException on parsing errors or errors reading from the stream.
+     */
+    default T parseResponse(final InputStream responseStream) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[4096];
+        int bytesRead;
+        while ((bytesRead = responseStream.read(chunk)) != -1) {
+            buffer.write(chunk, 0, bytesRead);
+        }
+        return parseResponse(new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,521 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, immutable snapshot of deployed Connectors and their expanded metadata, for holding the state of large
+ * clusters in memory.
+ *
+ * Rather than a map of nested objects per connector, values are stored column-wise in arrays indexed by connector,
+ * with configs and connector states flattened into key/value arrays and tasks flattened into primitive arrays.
+ * Repeated strings such as states, worker ids, connector classes and config keys are de-duplicated while the snapshot
+ * is built, so each distinct value is held once no matter how many connectors share it.
+ *
+ * The {@link ConnectorsWithExpandedInfo} and {@link ConnectorsWithExpandedStatus} methods create new ConnectorDefinition
+ * and ConnectorStatus instances on each call.  Prefer the direct accessors, such as {@link #getConnectorState(String)},
+ * on hot paths.  Counts of connectors and tasks in each {@link State}, and the FAILED connectors and tasks, are computed
+ * once when the snapshot is built so health checks do not need to walk the cluster.
+ *
+ * Connector names are ordered alphabetically, and null task lists are restored as empty lists.
+ *
+ * Create using {@link ConnectorsWithExpandedMetadata#toCompactSnapshot()}.
+ */
+public final class CompactConnectorsSnapshot implements ConnectorsWithExpandedInfo, ConnectorsWithExpandedStatus {
+    private static final String[] NO_VALUES = new String[0];
+    private static final State[] STATES = State.values();
+
+    /**
+     * Connector names, sorted so they can be binary searched.
+     */
+    private final String[] names;
+
+    /**
+     * Definition columns, indexed by connector.  hasDefinition is false where the response included no info for the connector.
+     */
+    private final boolean[] hasDefinition;
+    private final String[] definitionTypes;
+    private final String[][] configs;
+
+    /**
+     * Task definitions, flattened.  Connector i's tasks are at [definitionTaskOffsets[i], definitionTaskOffsets[i + 1]).
+     */
+    private final int[] definitionTaskOffsets;
+    private final String[] definitionTaskConnectors;
+    private final int[] definitionTaskIds;
+
+    /**
+     * Status columns, indexed by connector.  hasStatus is false where the response included no status for the connector.
+     */
+    private final boolean[] hasStatus;
+    private final String[] statusTypes;
+    private final String[][] connectorStates;
+    private final byte[] connectorStateOrdinals;
+
+    /**
+     * Task statuses, flattened.  Connector i's tasks are at [taskOffsets[i], taskOffsets[i + 1]).
+     */
+    private final int[] taskOffsets;
+    private final int[] taskIds;
+    private final String[] taskStates;
+    private final byte[] taskStateOrdinals;
+    private final String[] taskWorkerIds;
+    private final String[] taskTraces;
+
+    /**
+     * Aggregates, computed once when built.  Counts are indexed by State ordinal.
+     */
+    private final int[] connectorCountsByState = new int[STATES.length];
+    private final int[] taskCountsByState = new int[STATES.length];
+    private final Map<State, Integer> connectorCounts;
+    private final Map<State, Integer> taskCounts;
+    private final List<String> failedConnectorNames;
+    private final List<FailedTask> failedTasks;
+
+    /**
+     * Constructor.
+     * @param results Map of connector name to its expanded metadata.
+     */
+    CompactConnectorsSnapshot(final Map<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> results) {
+        // Shared by every string in the snapshot, discarded once built.
+        final Map<String, String> pool = new HashMap<>();
+
+        names = results.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        for (int index = 0; index < names.length; index++) {
+            names[index] = intern(pool, names[index]);
+        }
+
+        // Size the flattened task arrays up front.
+        int definitionTaskCount = 0;
+        int taskCount = 0;
+        for (final ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata metadata : results.values()) {
+            if (metadata == null) {
+                continue;
+            }
+            if (metadata.getInfo() != null) {
+                definitionTaskCount += countNonNull(metadata.getInfo().getTasks());
+            }
+            if (metadata.getStatus() != null) {
+                taskCount += countNonNull(metadata.getStatus().getTasks());
+            }
+        }
+
+        hasDefinition = new boolean[names.length];
+        definitionTypes = new String[names.length];
+        configs = new String[names.length][];
+        definitionTaskOffsets = new int[names.length + 1];
+        definitionTaskConnectors = new String[definitionTaskCount];
+        definitionTaskIds = new int[definitionTaskCount];
+
+        hasStatus = new boolean[names.length];
+        statusTypes = new String[names.length];
+        connectorStates = new String[names.length][];
+        connectorStateOrdinals = new byte[names.length];
+        taskOffsets = new int[names.length + 1];
+        taskIds = new int[taskCount];
+        taskStates = new String[taskCount];
+        taskStateOrdinals = new byte[taskCount];
+        taskWorkerIds = new String[taskCount];
+        taskTraces = new String[taskCount];
+
+        final List<String> failedConnectors = new ArrayList<>();
+        final List<FailedTask> failed = new ArrayList<>();
+        int definitionTaskIndex = 0;
+        int taskIndex = 0;
+        for (int index = 0; index < names.length; index++) {
+            final ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata metadata = results.get(names[index]);
+            final ConnectorDefinition definition = metadata == null ? null : metadata.getInfo();
+            final ConnectorStatus status = metadata == null ? null : metadata.getStatus();
+
+            definitionTaskOffsets[index] = definitionTaskIndex;
+            if (definition != null) {
+                hasDefinition[index] = true;
+                definitionTypes[index] = intern(pool, definition.getType());
+                configs[index] = flatten(pool, definition.getConfig());
+                if (definition.getTasks() != null) {
+                    for (final ConnectorDefinition.TaskDefinition task : definition.getTasks()) {
+                        // Json null entries are skipped.
+                        if (task == null) {
+                            continue;
+                        }
+                        definitionTaskConnectors[definitionTaskIndex] = intern(pool, task.getConnector());
+                        definitionTaskIds[definitionTaskIndex] = task.getTask();
+                        definitionTaskIndex++;
+                    }
+                }
+            }
+
+            taskOffsets[index] = taskIndex;
+            final State connectorState = status == null ? State.UNKNOWN : status.getConnectorState();
+            connectorStateOrdinals[index] = (byte) connectorState.ordinal();
+            connectorCountsByState[connectorState.ordinal()]++;
+            if (connectorState == State.FAILED) {
+                failedConnectors.add(names[index]);
+            }
+            if (status != null) {
+                hasStatus[index] = true;
+                statusTypes[index] = intern(pool, status.getType());
+                connectorStates[index] = flatten(pool, status.getConnector());
+                if (status.getTasks() != null) {
+                    for (final ConnectorStatus.TaskStatus task : status.getTasks()) {
+                        if (task == null) {
+                            continue;
+                        }
+                        taskIds[taskIndex] = task.getId();
+                        taskStates[taskIndex] = intern(pool, task.getState());
+                        taskStateOrdinals[taskIndex] = (byte) task.getTaskState().ordinal();
+                        taskWorkerIds[taskIndex] = intern(pool, task.getWorkerId());
+                        taskTraces[taskIndex] = intern(pool, task.getTrace());
+                        taskCountsByState[task.getTaskState().ordinal()]++;
+                        if (task.getTaskState() == State.FAILED) {
+                            failed.add(new FailedTask(names[index], task.getId(), taskWorkerIds[taskIndex], taskTraces[taskIndex]));
+                        }
+                        taskIndex++;
+                    }
+                }
+            }
+        }
+        definitionTaskOffsets[names.length] = definitionTaskIndex;
+        taskOffsets[names.length] = taskIndex;
+        failedConnectorNames = Collections.unmodifiableList(failedConnectors);
+        failedTasks = Collections.unmodifiableList(failed);
+        connectorCounts = countsByState(connectorCountsByState);
+        taskCounts = countsByState(taskCountsByState);
+    }
+
+    /**
+     * Number of connectors in the snapshot.
+     * @return Number of connectors.
+     */
+    public int getConnectorCount() {
+        return names.length;
+    }
+
+    @Override
+    public Collection<String> getConnectorNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Given a connector name, return the state of the connector, without creating a ConnectorStatus.
+     * @param connectorName name of connector to return state for.
+     * @return State of the connector, or UNKNOWN if the snapshot has no status for it.
+     * @throws IllegalArgumentException if passed a connector name not included in the results.
+     */
+    public State getConnectorState(final String connectorName) {
+        return STATES[connectorStateOrdinals[indexOf(connectorName)]];
+    }
+
+    /**
+     * Given a connector name, return the id of the worker running the connector, without creating a ConnectorStatus.
+     * @param connectorName name of connector to return worker id for.
+     * @return Worker id of the connector, or null if the snapshot has no status for it.
+     * @throws IllegalArgumentException if passed a connector name not included in the results.
+     */
+    public String getConnectorWorkerId(final String connectorName) {
+        return lookup(connectorStates[indexOf(connectorName)], "worker_id");
+    }
+
+    /**
+     * Given a connector name, return the number of tasks it has a status for.
+     * @param connectorName name of connector to count tasks for.
+     * @return Number of task statuses.
+     * @throws IllegalArgumentException if passed a connector name not included in the results.
+     */
+    public int getTaskCount(final String connectorName) {
+        final int index = indexOf(connectorName);
+        return taskOffsets[index + 1] - taskOffsets[index];
+    }
+
+    /**
+     * Given a connector name, return a single config value, without creating a ConnectorDefinition.
+     * @param connectorName name of connector to return config value for.
+     * @param key config key to look up.
+     * @return Config value, or null if not set or the snapshot has no info for the connector.
+     * @throws IllegalArgumentException if passed a connector name not included in the results.
+     */
+    public String getConfigValue(final String connectorName, final String key) {
+        return lookup(configs[indexOf(connectorName)], key);
+    }
+
+    /**
+     * Number of connectors in the given state.  Connectors the snapshot has no status for are counted as UNKNOWN.
+     * @param state State to count.
+     * @return Number of connectors in the state.
+     */
+    public int countConnectorsInState(final State state) {
+        return connectorCountsByState[state.ordinal()];
+    }
+
+    /**
+     * Number of tasks, across all connectors, in the given state.
+     * @param state State to count.
+     * @return Number of tasks in the state.
+     */
+    public int countTasksInState(final State state) {
+        return taskCountsByState[state.ordinal()];
+    }
+
+    /**
+     * Number of connectors in each state.
+     * @return Map of State to the number of connectors in that state, including states with none.
+     */
+    public Map<State, Integer> getConnectorCountsByState() {
+        return connectorCounts;
+    }
+
+    /**
+     * Number of tasks, across all connectors, in each state.
+     * @return Map of State to the number of tasks in that state, including states with none.
+     */
+    public Map<State, Integer> getTaskCountsByState() {
+        return taskCounts;
+    }
+
+    /**
+     * Names of connectors which are FAILED.
+     * @return Names of FAILED connectors, in alphabetical order.
+     */
+    public List<String> getFailedConnectorNames() {
+        return failedConnectorNames;
+    }
+
+    /**
+     * Tasks, across all connectors, which are FAILED.
+     * @return FAILED tasks, ordered by connector name.
+     */
+    public List<FailedTask> getFailedTasks() {
+        return failedTasks;
+    }
+
+    @Override
+    public ConnectorDefinition getDefinitionForConnector(final String connectorName) {
+        return createDefinition(indexOf(connectorName));
+    }
+
+    @Override
+    public Collection<ConnectorDefinition> getAllDefinitions() {
+        final List<ConnectorDefinition> definitions = new ArrayList<>(names.length);
+        for (int index = 0; index < names.length; index++) {
+            definitions.add(createDefinition(index));
+        }
+        return definitions;
+    }
+
+    @Override
+    public Map<String, ConnectorDefinition> getMappedDefinitions() {
+        final Map<String, ConnectorDefinition> definitions = new LinkedHashMap<>();
+        for (int index = 0; index < names.length; index++) {
+            definitions.put(names[index], createDefinition(index));
+        }
+        return Collections.unmodifiableMap(definitions);
+    }
+
+    @Override
+    public ConnectorStatus getStatusForConnector(final String connectorName) {
+        return createStatus(indexOf(connectorName));
+    }
+
+    @Override
+    public Collection<ConnectorStatus> getAllStatuses() {
+        final List<ConnectorStatus> statuses = new ArrayList<>(names.length);
+        for (int index = 0; index < names.length; index++) {
+            statuses.add(createStatus(index));
+        }
+        return statuses;
+    }
+
+    @Override
+    public Map<String, ConnectorStatus> getMappedStatuses() {
+        final Map<String, ConnectorStatus> statuses = new LinkedHashMap<>();
+        for (int index = 0; index < names.length; index++) {
+            statuses.put(names[index], createStatus(index));
+        }
+        return Collections.unmodifiableMap(statuses);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactConnectorsSnapshot{"
+            + "connectors=" + names.length
+            + ", tasks=" + taskIds.length
+            + '}';
+    }
+
+    private int indexOf(final String connectorName) {
+        final int index = connectorName == null ? -1 : Arrays.binarySearch(names, connectorName);
+        if (index < 0) {
+            throw new IllegalArgumentException("Results do not contain connector: " + connectorName);
+        }
+        return index;
+    }
+
+    private ConnectorDefinition createDefinition(final int index) {
+        if (!hasDefinition[index]) {
+            return null;
+        }
+        final int start = definitionTaskOffsets[index];
+        final int end = definitionTaskOffsets[index + 1];
+        final List<ConnectorDefinition.TaskDefinition> tasks = new ArrayList<>(end - start);
+        for (int taskIndex = start; taskIndex < end; taskIndex++) {
+            tasks.add(ConnectorDefinition.TaskDefinition.create(definitionTaskConnectors[taskIndex], definitionTaskIds[taskIndex]));
+        }
+        return ConnectorDefinition.create(names[index], definitionTypes[index], unflatten(configs[index]), tasks);
+    }
+
+    private ConnectorStatus createStatus(final int index) {
+        if (!hasStatus[index]) {
+            return null;
+        }
+        final int start = taskOffsets[index];
+        final int end = taskOffsets[index + 1];
+        final List<ConnectorStatus.TaskStatus> tasks = new ArrayList<>(end - start);
+        for (int taskIndex = start; taskIndex < end; taskIndex++) {
+            tasks.add(ConnectorStatus.TaskStatus.create(
+                taskIds[taskIndex], taskStates[taskIndex], taskWorkerIds[taskIndex], taskTraces[taskIndex]
+            ));
+        }
+        return ConnectorStatus.create(names[index], statusTypes[index], unflatten(connectorStates[index]), tasks);
+    }
+
+    private static Map<State, Integer> countsByState(final int[] counts) {
+        final Map<State, Integer> values = new EnumMap<>(State.class);
+        for (final State state : STATES) {
+            values.put(state, counts[state.ordinal()]);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Count the entries of a list which are not null, as Json null task entries are skipped.
+     */
+    private static int countNonNull(final List<?> values) {
+        if (values == null) {
+            return 0;
+        }
+        int count = 0;
+        for (final Object value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String intern(final Map<String, String> pool, final String value) {
+        if (value == null) {
+            return null;
+        }
+        final String existing = pool.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+    /**
+     * Flatten a map into alternating key and value entries.
+     */
+    private static String[] flatten(final Map<String, String> pool, final Map<String, String> values) {
+        if (values == null) {
+            return null;
+        }
+        if (values.isEmpty()) {
+            return NO_VALUES;
+        }
+        final String[] entries = new String[values.size() * 2];
+        int index = 0;
+        for (final Map.Entry<String, String> entry : values.entrySet()) {
+            entries[index++] = intern(pool, entry.getKey());
+            entries[index++] = intern(pool, entry.getValue());
+        }
+        return entries;
+    }
+
+    private static Map<String, String> unflatten(final String[] entries) {
+        if (entries == null) {
+            return null;
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (int index = 0; index < entries.length; index += 2) {
+            values.put(entries[index], entries[index + 1]);
+        }
+        return values;
+    }
+
+    private static String lookup(final String[] entries, final String key) {
+        if (entries == null) {
+            return null;
+        }
+        for (int index = 0; index < entries.length; index += 2) {
+            if (entries[index].equals(key)) {
+                return entries[index + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A FAILED task within the snapshot.
+     */
+    public static final class FailedTask {
+        private final String connectorName;
+        private final int taskId;
+        private final String workerId;
+        private final String trace;
+
+        FailedTask(final String connectorName, final int taskId, final String workerId, final String trace) {
+            this.connectorName = connectorName;
+            this.taskId = taskId;
+            this.workerId = workerId;
+            this.trace = trace;
+        }
+
+        public String getConnectorName() {
+            return connectorName;
+        }
+
+        public int getTaskId() {
+            return taskId;
+        }
+
+        public String getWorkerId() {
+            return workerId;
+        }
+
+        public String getTrace() {
+            return trace;
+        }
+
+        @Override
+        public String toString() {
+            return "FailedTask{"
+                + "connectorName='" + connectorName + '\''
+                + ", taskId=" + taskId
+                + ", workerId='" + workerId + '\''
+                + '}';
+        }
+    }
+}
@@ -17,12 +17,22 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.dto;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Represents a Connector.
+ * Represents a Connector.  Its config and tasks are unmodifiable, as instances may be shared between callers.
  */
+@JsonDeserialize(using = ConnectorDefinition.Deserializer.class)
 public final class ConnectorDefinition {
     private String name;
     private String type;
@@ -55,6 +65,117 @@ public final class ConnectorDefinition {
             + '}';
     }
 
+    /**
+     * Create a ConnectorDefinition from already parsed values.
+     */
+    static ConnectorDefinition create(final String name, final String type, final Map<String, String> config, final List<TaskDefinition> tasks) {
+        final ConnectorDefinition definition = new ConnectorDefinition();
+        definition.name = name;
+        definition.type = type;
+        definition.config = config == null ? null : Collections.unmodifiableMap(config);
+        definition.tasks = tasks == null ? null : Collections.unmodifiableList(tasks);
+        return definition;
+    }
+
+    /**
+     * Deserializer for ConnectorDefinition, reading straight from the token stream.
+     */
+    public static class Deserializer extends StdDeserializer<ConnectorDefinition> {
+
+        /**
+         * Constructor.
+         */
+        public Deserializer() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         */
+        public Deserializer(final Class<?> vc) {
+            super(vc);
+        }
+
+        @Override
+        public ConnectorDefinition deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            return read(jsonParser, ctxt);
+        }
+
+        /**
+         * Read a ConnectorDefinition.
+         * @param jsonParser Parser positioned on the value.
+         * @param ctxt Deserialization context.
+         * @return ConnectorDefinition, or null for a Json null.
+         * @throws IOException on parse errors.
+         */
+        static ConnectorDefinition read(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            final ConnectorDefinition definition = new ConnectorDefinition();
+            for (String fieldName = JsonTokens.firstField(jsonParser, ctxt, ConnectorDefinition.class);
+                fieldName != null;
+                fieldName = JsonTokens.nextField(jsonParser)) {
+                switch (fieldName) {
+                    case "name":
+                        definition.name = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    case "type":
+                        definition.type = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    case "config":
+                        definition.config = JsonTokens.readStringMap(jsonParser, ctxt);
+                        break;
+                    case "tasks":
+                        definition.tasks = readTasks(jsonParser, ctxt);
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                        break;
+                }
+            }
+            return definition;
+        }
+
+        private static List<TaskDefinition> readTasks(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (jsonParser.currentToken() != JsonToken.START_ARRAY) {
+                ctxt.handleUnexpectedToken(List.class, jsonParser);
+                return null;
+            }
+            final List<TaskDefinition> tasks = new ArrayList<>();
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                tasks.add(readTask(jsonParser, ctxt));
+            }
+            return Collections.unmodifiableList(tasks);
+        }
+
+        private static TaskDefinition readTask(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            final TaskDefinition task = new TaskDefinition();
+            for (String fieldName = JsonTokens.firstField(jsonParser, ctxt, TaskDefinition.class);
+                fieldName != null;
+                fieldName = JsonTokens.nextField(jsonParser)) {
+                switch (fieldName) {
+                    case "connector":
+                        task.connector = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    case "task":
+                        task.task = JsonTokens.readInt(jsonParser, ctxt, task.task);
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                        break;
+                }
+            }
+            return task;
+        }
+    }
+
     /**
      * Represents a Task.
      */
@@ -77,5 +198,15 @@ public final class ConnectorDefinition {
                 + ", task=" + task
                 + '}';
         }
+
+        /**
+         * Create a TaskDefinition from already parsed values.
+         */
+        static TaskDefinition create(final String connector, final int task) {
+            final TaskDefinition taskDefinition = new TaskDefinition();
+            taskDefinition.connector = connector;
+            taskDefinition.task = task;
+            return taskDefinition;
+        }
     }
 }
@@ -17,6 +17,14 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.dto;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -24,22 +32,32 @@ import java.util.Map;
 /**
  * Represents the status of a deployed connector.
  */
+@JsonDeserialize(using = ConnectorStatus.Deserializer.class)
 public class ConnectorStatus {
     private String name;
     private String type;
     private Map<String, String> connector;
     private List<TaskStatus> tasks;
+    private State connectorState = State.UNKNOWN;
 
     public String getName() {
         return name;
     }
 
     public Map<String, String> getConnector() {
-        return Collections.unmodifiableMap(connector);
+        return connector == null ? null : Collections.unmodifiableMap(connector);
+    }
+
+    /**
+     * State of the connector, resolved from the 'state' entry of {@link #getConnector()} when parsed.
+     * @return State of the connector, UNKNOWN if not reported.
+     */
+    public State getConnectorState() {
+        return connectorState;
     }
 
     public List<TaskStatus> getTasks() {
-        return Collections.unmodifiableList(tasks);
+        return tasks == null ? null : Collections.unmodifiableList(tasks);
     }
 
     public String getType() {
@@ -56,12 +74,104 @@ public class ConnectorStatus {
             + '}';
     }
 
+    /**
+     * Create a ConnectorStatus from already parsed values.
+     */
+    static ConnectorStatus create(final String name, final String type, final Map<String, String> connector, final List<TaskStatus> tasks) {
+        final ConnectorStatus status = new ConnectorStatus();
+        status.name = name;
+        status.type = type;
+        status.connector = connector == null ? null : Collections.unmodifiableMap(connector);
+        status.connectorState = connector == null ? State.UNKNOWN : State.of(connector.get("state"));
+        status.tasks = tasks == null ? null : Collections.unmodifiableList(tasks);
+        return status;
+    }
+
+    /**
+     * Deserializer for ConnectorStatus, reading straight from the token stream.
+     */
+    public static class Deserializer extends StdDeserializer<ConnectorStatus> {
+
+        /**
+         * Constructor.
+         */
+        public Deserializer() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         */
+        public Deserializer(final Class<?> vc) {
+            super(vc);
+        }
+
+        @Override
+        public ConnectorStatus deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            return read(jsonParser, ctxt);
+        }
+
+        /**
+         * Read a ConnectorStatus.
+         * @param jsonParser Parser positioned on the value.
+         * @param ctxt Deserialization context.
+         * @return ConnectorStatus, or null for a Json null.
+         * @throws IOException on parse errors.
+         */
+        static ConnectorStatus read(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            final ConnectorStatus status = new ConnectorStatus();
+            for (String fieldName = JsonTokens.firstField(jsonParser, ctxt, ConnectorStatus.class);
+                fieldName != null;
+                fieldName = JsonTokens.nextField(jsonParser)) {
+                switch (fieldName) {
+                    case "name":
+                        status.name = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    case "type":
+                        status.type = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    case "connector":
+                        status.connector = JsonTokens.readStringMap(jsonParser, ctxt);
+                        status.connectorState = status.connector == null ? State.UNKNOWN : State.of(status.connector.get("state"));
+                        break;
+                    case "tasks":
+                        status.tasks = readTasks(jsonParser, ctxt);
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                        break;
+                }
+            }
+            return status;
+        }
+
+        private static List<TaskStatus> readTasks(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (jsonParser.currentToken() != JsonToken.START_ARRAY) {
+                ctxt.handleUnexpectedToken(List.class, jsonParser);
+                return null;
+            }
+            final List<TaskStatus> tasks = new ArrayList<>();
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                tasks.add(TaskStatus.Deserializer.read(jsonParser, ctxt));
+            }
+            return Collections.unmodifiableList(tasks);
+        }
+    }
+
     /**
      * Defines the status of a Task.
      */
+    @JsonDeserialize(using = ConnectorStatus.TaskStatus.Deserializer.class)
     public static class TaskStatus {
         private int id;
         private String state;
+        private State taskState = State.UNKNOWN;
         private String workerId;
         private String trace;
 
@@ -73,6 +183,14 @@ public class ConnectorStatus {
             return state;
         }
 
+        /**
+         * State of the task, resolved from {@link #getState()} when parsed.
+         * @return State of the task, UNKNOWN if not reported.
+         */
+        public State getTaskState() {
+            return taskState;
+        }
+
         public String getWorkerId() {
             return workerId;
         }
@@ -90,5 +208,80 @@ public class ConnectorStatus {
                 + ", trace='" + trace + '\''
                 + '}';
         }
+
+        /**
+         * Create a TaskStatus from already parsed values.
+         */
+        static TaskStatus create(final int id, final String state, final String workerId, final String trace) {
+            final TaskStatus taskStatus = new TaskStatus();
+            taskStatus.id = id;
+            taskStatus.state = state;
+            taskStatus.taskState = State.of(state);
+            taskStatus.workerId = workerId;
+            taskStatus.trace = trace;
+            return taskStatus;
+        }
+
+        /**
+         * Deserializer for TaskStatus, reading straight from the token stream.
+         */
+        public static class Deserializer extends StdDeserializer<TaskStatus> {
+
+            /**
+             * Constructor.
+             */
+            public Deserializer() {
+                this(null);
+            }
+
+            /**
+             * Constructor.
+             */
+            public Deserializer(final Class<?> vc) {
+                super(vc);
+            }
+
+            @Override
+            public TaskStatus deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+                return read(jsonParser, ctxt);
+            }
+
+            /**
+             * Read a TaskStatus.
+             * @param jsonParser Parser positioned on the value.
+             * @param ctxt Deserialization context.
+             * @return TaskStatus, or null for a Json null.
+             * @throws IOException on parse errors.
+             */
+            static TaskStatus read(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+                if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                final TaskStatus taskStatus = new TaskStatus();
+                for (String fieldName = JsonTokens.firstField(jsonParser, ctxt, TaskStatus.class);
+                    fieldName != null;
+                    fieldName = JsonTokens.nextField(jsonParser)) {
+                    switch (fieldName) {
+                        case "id":
+                            taskStatus.id = JsonTokens.readInt(jsonParser, ctxt, taskStatus.id);
+                            break;
+                        case "state":
+                            taskStatus.state = JsonTokens.readString(jsonParser, ctxt);
+                            taskStatus.taskState = State.of(taskStatus.state);
+                            break;
+                        case "worker_id":
+                            taskStatus.workerId = JsonTokens.readString(jsonParser, ctxt);
+                            break;
+                        case "trace":
+                            taskStatus.trace = JsonTokens.readString(jsonParser, ctxt);
+                            break;
+                        default:
+                            jsonParser.skipChildren();
+                            break;
+                    }
+                }
+                return taskStatus;
+            }
+        }
     }
 }
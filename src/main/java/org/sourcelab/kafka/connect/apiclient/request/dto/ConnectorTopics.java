@@ -20,18 +20,15 @@ package org.sourcelab.kafka.connect.apiclient.request.dto;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.JsonNodeType;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -91,32 +88,46 @@ public class ConnectorTopics {
 
         @Override
         public ConnectorTopics deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException, JsonProcessingException {
-            final JsonNode node = jsonParser.getCodec().readTree(jsonParser);
-            final Iterator<Map.Entry<String, JsonNode>> children = node.fields();
-
-            while (children.hasNext()) {
-                final Map.Entry<String, JsonNode> child = children.next();
-                final String name = child.getKey();
-                final JsonNode childNode = child.getValue();
-
-                // Skip unknown entries
-                if (JsonNodeType.OBJECT != childNode.getNodeType()) {
+            ConnectorTopics result = null;
+            for (String name = JsonTokens.firstField(jsonParser, ctxt, ConnectorTopics.class);
+                name != null;
+                name = JsonTokens.nextField(jsonParser)) {
+                // Skip unknown entries, and any entries after the first match.
+                if (result != null || JsonToken.START_OBJECT != jsonParser.currentToken()) {
+                    jsonParser.skipChildren();
                     continue;
                 }
+                final List<String> topicNames = readTopics(jsonParser);
+                if (topicNames != null) {
+                    result = new ConnectorTopics(name, topicNames);
+                }
+            }
+            if (result == null) {
+                throw new JsonParseException(jsonParser, "Unable to parse response JSON");
+            }
+            return result;
+        }
 
-                // If has no topics key
-                if (!childNode.has("topics") || JsonNodeType.ARRAY != childNode.get("topics").getNodeType()) {
-                    // Skip?
+        /**
+         * Read the 'topics' array out of a connector's entry.
+         * @return Topic names, or null if the entry has no 'topics' array.
+         */
+        private static List<String> readTopics(final JsonParser jsonParser) throws IOException {
+            List<String> topicNames = null;
+            for (String fieldName = jsonParser.nextFieldName(); fieldName != null; fieldName = jsonParser.nextFieldName()) {
+                final JsonToken token = jsonParser.nextToken();
+                if (!"topics".equals(fieldName) || JsonToken.START_ARRAY != token) {
+                    jsonParser.skipChildren();
                     continue;
                 }
-                final List<String> topicNames = new ArrayList<>();
-                if (!childNode.get("topics").isEmpty()) {
-                    // Parse topic name values out
-                    childNode.get("topics").forEach((entry) -> topicNames.add(entry.textValue()));
+                // Parse topic name values out
+                topicNames = new ArrayList<>();
+                while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                    topicNames.add(jsonParser.currentToken() == JsonToken.VALUE_STRING ? jsonParser.getText() : null);
+                    jsonParser.skipChildren();
                 }
-                return new ConnectorTopics(name, topicNames);
             }
-            throw new JsonParseException(jsonParser, "Unable to parse response JSON");
+            return topicNames;
         }
     }
 }
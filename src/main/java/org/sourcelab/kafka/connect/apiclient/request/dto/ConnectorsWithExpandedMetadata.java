@@ -17,13 +17,24 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.dto;
 
-import com.fasterxml.jackson.annotation.JsonAnySetter;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -33,13 +44,72 @@ import java.util.stream.Collectors;
  *
  * Requires Kafka-Connect server 2.3.0+
  */
+@JsonDeserialize(using = ConnectorsWithExpandedMetadata.Deserializer.class)
 public class ConnectorsWithExpandedMetadata implements ConnectorsWithExpandedInfo, ConnectorsWithExpandedStatus {
-    @JsonAnySetter
-    private Map<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> results = new HashMap<>();
+    private final Map<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> results;
+
+    /**
+     * Read-only views over results, created once rather than copied on each call.
+     */
+    private final Map<String, ConnectorDefinition> mappedDefinitions;
+    private final Map<String, ConnectorStatus> mappedStatuses;
+
+    /**
+     * Constructor.
+     */
+    public ConnectorsWithExpandedMetadata() {
+        this(new HashMap<>());
+    }
+
+    private ConnectorsWithExpandedMetadata(final Map<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> results) {
+        this.results = results;
+        this.mappedDefinitions = new MappedValues<>(results, ConnectorWithExpandedMetadata::getInfo);
+        this.mappedStatuses = new MappedValues<>(results, ConnectorWithExpandedMetadata::getStatus);
+    }
+
+    /**
+     * Parse a response lazily.  The response is scanned once to find each connector's entry, and each entry is only
+     * decoded the first time it is accessed.  The response is retained for the life of the returned instance.
+     * @param response Response body as UTF-8 encoded Json.
+     * @return ConnectorsWithExpandedMetadata over the response.
+     * @throws IOException if the response is not a Json object of connectors.
+     */
+    public static ConnectorsWithExpandedMetadata parseLazily(final byte[] response) throws IOException {
+        return new ConnectorsWithExpandedMetadata(LazyConnectorMetadataMap.index(response));
+    }
+
+    /**
+     * Parse a response lazily, reading the stream fully.  Does not close the stream.
+     *
+     * The stream is read into a single buffer, sized up front when the stream reports how many bytes are available,
+     * which is indexed and retained as is rather than copied.
+     * @param responseStream Response body as UTF-8 encoded Json.
+     * @return ConnectorsWithExpandedMetadata over the response.
+     * @throws IOException if the stream could not be read, or the response is not a Json object of connectors.
+     * @see #parseLazily(byte[])
+     */
+    public static ConnectorsWithExpandedMetadata parseLazily(final InputStream responseStream) throws IOException {
+        // Read one byte beyond what is available, so a stream which reports its full length is never re-sized.
+        byte[] buffer = new byte[Math.max(responseStream.available() + 1, 8192)];
+        int length = 0;
+        int bytesRead;
+        while ((bytesRead = responseStream.read(buffer, length, buffer.length - length)) != -1) {
+            length += bytesRead;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        // The buffer is retained for the life of the result, so trim it if mostly unused.
+        if (buffer.length - length > length / 4) {
+            buffer = Arrays.copyOf(buffer, length);
+        }
+        return new ConnectorsWithExpandedMetadata(LazyConnectorMetadataMap.index(buffer, length));
+    }
 
     @Override
     public Collection<String> getConnectorNames() {
-        return results.keySet();
+        return Collections.unmodifiableSet(results.keySet());
     }
 
     @Override
@@ -61,12 +131,7 @@ public class ConnectorsWithExpandedMetadata implements ConnectorsWithExpandedInf
 
     @Override
     public Map<String, ConnectorDefinition> getMappedDefinitions() {
-        return Collections.unmodifiableMap(
-            results
-                .entrySet()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, (entry) -> entry.getValue().getInfo()))
-        );
+        return mappedDefinitions;
     }
 
     @Override
@@ -88,12 +153,16 @@ public class ConnectorsWithExpandedMetadata implements ConnectorsWithExpandedInf
 
     @Override
     public Map<String, ConnectorStatus> getMappedStatuses() {
-        return Collections.unmodifiableMap(
-            results
-                .entrySet()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, (entry) -> entry.getValue().getStatus()))
-        );
+        return mappedStatuses;
+    }
+
+    /**
+     * Copy these results into a compact, immutable snapshot, which holds the same values in a fraction of the heap.
+     * Useful when results for a large cluster are retained between polls.
+     * @return Compact snapshot of these results.
+     */
+    public CompactConnectorsSnapshot toCompactSnapshot() {
+        return new CompactConnectorsSnapshot(results);
     }
 
     @Override
@@ -103,15 +172,110 @@ public class ConnectorsWithExpandedMetadata implements ConnectorsWithExpandedInf
             + '}';
     }
 
+    /**
+     * Deserializer for ConnectorsWithExpandedMetadata, reading straight from the token stream.
+     */
+    public static class Deserializer extends StdDeserializer<ConnectorsWithExpandedMetadata> {
+
+        /**
+         * Constructor.
+         */
+        public Deserializer() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         */
+        public Deserializer(final Class<?> vc) {
+            super(vc);
+        }
+
+        @Override
+        public ConnectorsWithExpandedMetadata deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            final ConnectorsWithExpandedMetadata metadata = new ConnectorsWithExpandedMetadata();
+            for (String connectorName = JsonTokens.firstField(jsonParser, ctxt, ConnectorsWithExpandedMetadata.class);
+                connectorName != null;
+                connectorName = JsonTokens.nextField(jsonParser)) {
+                metadata.results.put(connectorName, ConnectorWithExpandedMetadata.Deserializer.read(jsonParser, ctxt));
+            }
+            return metadata;
+        }
+    }
+
+    /**
+     * Read-only view of results, mapping each connector's metadata to one of its values on access.
+     * @param <V> Value type.
+     */
+    private static final class MappedValues<V> extends AbstractMap<String, V> {
+        private final Map<String, ConnectorWithExpandedMetadata> source;
+        private final Function<ConnectorWithExpandedMetadata, V> mapper;
+        private final Set<Map.Entry<String, V>> entrySet = new AbstractSet<Map.Entry<String, V>>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                final Iterator<Map.Entry<String, ConnectorWithExpandedMetadata>> entries = source.entrySet().iterator();
+                return new Iterator<Map.Entry<String, V>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, V> next() {
+                        final Map.Entry<String, ConnectorWithExpandedMetadata> entry = entries.next();
+                        return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), map(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return source.size();
+            }
+        };
+
+        private MappedValues(final Map<String, ConnectorWithExpandedMetadata> source, final Function<ConnectorWithExpandedMetadata, V> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public V get(final Object key) {
+            return map(source.get(key));
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return source.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(source.keySet());
+        }
+
+        @Override
+        public Set<Map.Entry<String, V>> entrySet() {
+            return entrySet;
+        }
+
+        private V map(final ConnectorWithExpandedMetadata metadata) {
+            return metadata == null ? null : mapper.apply(metadata);
+        }
+    }
+
     /**
      * Expanded metadata included with the connector response.
      */
+    @JsonDeserialize(using = ConnectorWithExpandedMetadata.Deserializer.class)
     public static class ConnectorWithExpandedMetadata {
 
-        @JsonProperty("info")
         private ConnectorDefinition info;
-
-        @JsonProperty("status")
         private ConnectorStatus status;
 
         public ConnectorStatus getStatus() {
@@ -137,5 +301,60 @@ public class ConnectorsWithExpandedMetadata implements ConnectorsWithExpandedInf
             value += '}';
             return value;
         }
+
+        /**
+         * Deserializer for ConnectorWithExpandedMetadata, reading straight from the token stream.
+         */
+        public static class Deserializer extends StdDeserializer<ConnectorWithExpandedMetadata> {
+
+            /**
+             * Constructor.
+             */
+            public Deserializer() {
+                this(null);
+            }
+
+            /**
+             * Constructor.
+             */
+            public Deserializer(final Class<?> vc) {
+                super(vc);
+            }
+
+            @Override
+            public ConnectorWithExpandedMetadata deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+                return read(jsonParser, ctxt);
+            }
+
+            /**
+             * Read a ConnectorWithExpandedMetadata.
+             * @param jsonParser Parser positioned on the value.
+             * @param ctxt Deserialization context.
+             * @return ConnectorWithExpandedMetadata, or null for a Json null.
+             * @throws IOException on parse errors.
+             */
+            static ConnectorWithExpandedMetadata read(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+                if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                final ConnectorWithExpandedMetadata connector = new ConnectorWithExpandedMetadata();
+                for (String fieldName = JsonTokens.firstField(jsonParser, ctxt, ConnectorWithExpandedMetadata.class);
+                    fieldName != null;
+                    fieldName = JsonTokens.nextField(jsonParser)) {
+                    switch (fieldName) {
+                        case "info":
+                            connector.info = ConnectorDefinition.Deserializer.read(jsonParser, ctxt);
+                            break;
+                        case "status":
+                            connector.status = ConnectorStatus.Deserializer.read(jsonParser, ctxt);
+                            break;
+                        default:
+                            jsonParser.skipChildren();
+                            break;
+                    }
+                }
+                return connector;
+            }
+        }
     }
 }
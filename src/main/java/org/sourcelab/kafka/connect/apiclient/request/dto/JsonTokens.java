@@ -0,0 +1,168 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers shared by the DTO Deserializers, which read values straight off the JsonParser's token stream rather than
+ * binding through an intermediate JsonNode tree.
+ *
+ * Each read method expects the parser to be positioned on the value's first token, and leaves it on the value's
+ * last token.  Type mismatches are reported via the DeserializationContext, raising MismatchedInputException just
+ * as databind would.
+ */
+final class JsonTokens {
+    private JsonTokens() {
+    }
+
+    /**
+     * Begin reading an object's fields.
+     * @param jsonParser Parser positioned on START_OBJECT, or on the first FIELD_NAME.
+     * @param ctxt Deserialization context.
+     * @param type Type being deserialized, used when reporting a mismatch.
+     * @return Name of the first field, with the parser positioned on its value, or null if the object is empty.
+     * @throws IOException if the parser is not positioned on an object.
+     */
+    static String firstField(final JsonParser jsonParser, final DeserializationContext ctxt, final Class<?> type) throws IOException {
+        final String fieldName;
+        if (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+            fieldName = jsonParser.nextFieldName();
+        } else if (jsonParser.currentToken() == JsonToken.FIELD_NAME) {
+            fieldName = jsonParser.currentName();
+        } else {
+            ctxt.handleUnexpectedToken(type, jsonParser);
+            return null;
+        }
+        if (fieldName != null) {
+            jsonParser.nextToken();
+        }
+        return fieldName;
+    }
+
+    /**
+     * Advance to the object's next field.
+     * @param jsonParser Parser positioned on the last token of the previous field's value.
+     * @return Name of the next field, with the parser positioned on its value, or null at the end of the object.
+     * @throws IOException on errors reading from the parser.
+     */
+    static String nextField(final JsonParser jsonParser) throws IOException {
+        final String fieldName = jsonParser.nextFieldName();
+        if (fieldName != null) {
+            jsonParser.nextToken();
+        }
+        return fieldName;
+    }
+
+    /**
+     * Read a scalar value as a String.
+     * @param jsonParser Parser positioned on the value.
+     * @param ctxt Deserialization context.
+     * @return Value, or null for a Json null.
+     * @throws IOException if the value is an object or array.
+     */
+    static String readString(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+        final JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return jsonParser.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != null && token.isScalarValue()) {
+            return jsonParser.getValueAsString();
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, jsonParser);
+    }
+
+    /**
+     * Read an integer value, accepting numeric Strings as databind does.
+     * @param jsonParser Parser positioned on the value.
+     * @param ctxt Deserialization context.
+     * @param nullValue Value to return for a Json null.
+     * @return Value.
+     * @throws IOException if the value is not an integer.
+     */
+    static int readInt(final JsonParser jsonParser, final DeserializationContext ctxt, final int nullValue) throws IOException {
+        final JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return jsonParser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return nullValue;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            final String text = jsonParser.getText().trim();
+            try {
+                return Integer.parseInt(text);
+            } catch (final NumberFormatException exception) {
+                return (Integer) ctxt.handleWeirdStringValue(int.class, text, "not a valid int value");
+            }
+        }
+        return (Integer) ctxt.handleUnexpectedToken(int.class, jsonParser);
+    }
+
+    /**
+     * Read an object of scalar values as a Map of Strings.
+     * @param jsonParser Parser positioned on the value.
+     * @param ctxt Deserialization context.
+     * @return Unmodifiable entries in the order received, or null for a Json null.
+     * @throws IOException if the value is not an object of scalars.
+     */
+    static Map<String, String> readStringMap(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+        if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (String fieldName = firstField(jsonParser, ctxt, Map.class); fieldName != null; fieldName = nextField(jsonParser)) {
+            values.put(fieldName, readString(jsonParser, ctxt));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Read an array of scalar values as a List of Strings.
+     * @param jsonParser Parser positioned on the value.
+     * @param ctxt Deserialization context.
+     * @return Values, or null for a Json null.
+     * @throws IOException if the value is not an array of scalars.
+     */
+    static List<String> readStringList(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+        if (jsonParser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (jsonParser.currentToken() != JsonToken.START_ARRAY) {
+            ctxt.handleUnexpectedToken(List.class, jsonParser);
+            return null;
+        }
+        final List<String> values = new ArrayList<>();
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readString(jsonParser, ctxt));
+        }
+        return values;
+    }
+}
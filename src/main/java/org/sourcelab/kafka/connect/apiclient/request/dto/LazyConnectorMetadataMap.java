@@ -0,0 +1,217 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
+import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Read-only map of connector name to its expanded metadata, decoding each connector's entry from the raw response
+ * the first time it is accessed.
+ *
+ * Built by a single pass over the response which records the byte range of each connector's object without binding
+ * it.  Each entry is decoded at most once, and entries may be accessed from multiple threads.  Iterating over the
+ * entries or values decodes every entry, while {@link #keySet()}, {@link #containsKey(Object)} and {@link #size()}
+ * decode nothing.
+ */
+final class LazyConnectorMetadataMap extends AbstractMap<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> {
+    private static final ObjectReader ENTRY_READER = JacksonFactory.readerFor(ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata.class);
+
+    private final byte[] response;
+
+    /**
+     * Connector name to its slot, in the order received.
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * Byte range of each slot's entry within the response.  Offset is -1 where the entry is a Json null.
+     */
+    private final int[] offsets;
+    private final int[] lengths;
+    private final AtomicReferenceArray<ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> decoded;
+
+    private final Set<Map.Entry<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata>> entrySet = new EntrySet();
+
+    private LazyConnectorMetadataMap(final byte[] response, final Map<String, Integer> slots, final int[] offsets, final int[] lengths) {
+        this.response = response;
+        this.slots = slots;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.decoded = new AtomicReferenceArray<>(offsets.length);
+    }
+
+    /**
+     * Index the connectors in a response.
+     * @param response Response body as UTF-8 encoded Json.
+     * @return Map over the response.
+     * @throws MismatchedInputException if the response is not a Json object of connector objects.
+     * @throws IOException if the response is not valid Json.
+     */
+    static LazyConnectorMetadataMap index(final byte[] response) throws IOException {
+        return index(response, response.length);
+    }
+
+    /**
+     * Index the connectors in a response held at the start of a buffer, which is retained rather than copied.
+     * @param response Buffer holding the response body as UTF-8 encoded Json.
+     * @param responseLength Length of the response body, any further bytes in the buffer are ignored.
+     * @return Map over the response.
+     * @throws MismatchedInputException if the response is not a Json object of connector objects.
+     * @throws IOException if the response is not valid Json.
+     */
+    static LazyConnectorMetadataMap index(final byte[] response, final int responseLength) throws IOException {
+        final Map<String, Integer> slots = new LinkedHashMap<>();
+        int[] offsets = new int[16];
+        int[] lengths = new int[16];
+
+        try (JsonParser jsonParser = ENTRY_READER.getFactory().createParser(response, 0, responseLength)) {
+            if (jsonParser.nextToken() != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(
+                    jsonParser, ConnectorsWithExpandedMetadata.class, "Expected an object of connectors, found " + jsonParser.currentToken()
+                );
+            }
+            for (String connectorName = jsonParser.nextFieldName(); connectorName != null; connectorName = jsonParser.nextFieldName()) {
+                final int offset;
+                final int length;
+                final JsonToken token = jsonParser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    offset = -1;
+                    length = 0;
+                } else if (token == JsonToken.START_OBJECT) {
+                    offset = (int) jsonParser.getTokenLocation().getByteOffset();
+                    jsonParser.skipChildren();
+                    length = (int) jsonParser.getCurrentLocation().getByteOffset() - offset;
+                } else {
+                    throw MismatchedInputException.from(
+                        jsonParser, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata.class,
+                        "Expected an object for connector " + connectorName + ", found " + token
+                    );
+                }
+
+                // Later duplicates replace earlier entries, as when binding to a Map.
+                Integer slot = slots.get(connectorName);
+                if (slot == null) {
+                    slot = slots.size();
+                    slots.put(connectorName, slot);
+                    if (slot == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, slot * 2);
+                        lengths = Arrays.copyOf(lengths, slot * 2);
+                    }
+                }
+                offsets[slot] = offset;
+                lengths[slot] = length;
+            }
+        }
+        return new LazyConnectorMetadataMap(
+            response, slots, Arrays.copyOf(offsets, slots.size()), Arrays.copyOf(lengths, slots.size())
+        );
+    }
+
+    @Override
+    public ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata get(final Object key) {
+        final Integer slot = slots.get(key);
+        return slot == null ? null : decode((String) key, slot);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return slots.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(slots.keySet());
+    }
+
+    @Override
+    public Set<Map.Entry<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata>> entrySet() {
+        return entrySet;
+    }
+
+    private ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata decode(final String connectorName, final int slot) {
+        final ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata existing = decoded.get(slot);
+        if (existing != null || offsets[slot] < 0) {
+            return existing;
+        }
+
+        final ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata value;
+        try {
+            value = ENTRY_READER.readValue(response, offsets[slot], lengths[slot]);
+        } catch (final MismatchedInputException exception) {
+            throw new ResponseParseException("Failed to parse response for connector: " + connectorName, exception);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        // Another thread may have decoded the same entry concurrently, keep whichever was stored first.
+        return decoded.compareAndSet(slot, null, value) ? value : decoded.get(slot);
+    }
+
+    /**
+     * Entries in the order received, decoding each as it is iterated.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata>> {
+        @Override
+        public Iterator<Map.Entry<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata>> iterator() {
+            final Iterator<Map.Entry<String, Integer>> entries = slots.entrySet().iterator();
+            return new Iterator<Map.Entry<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata>>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, ConnectorsWithExpandedMetadata.ConnectorWithExpandedMetadata> next() {
+                    if (!entries.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Map.Entry<String, Integer> entry = entries.next();
+                    return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), decode(entry.getKey(), entry.getValue()));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return slots.size();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request.dto;
+
+/**
+ * State of a Connector or Task, as reported by Kafka-Connect.
+ *
+ * States are resolved once when a response is parsed, so consumers can compare them by identity or switch on them
+ * rather than comparing strings.  The raw value reported by the server remains available from the String getters.
+ */
+public enum State {
+    RUNNING,
+    PAUSED,
+    FAILED,
+    UNASSIGNED,
+    RESTARTING,
+    STOPPED,
+
+    /**
+     * The server reported no state, or a state not known to this client.
+     */
+    UNKNOWN;
+
+    private static final State[] VALUES = values();
+
+    /**
+     * Resolve a state reported by Kafka-Connect, ignoring case.
+     * @param value State as reported by the server, may be null.
+     * @return Matching State, or UNKNOWN if the value is null or not recognised.
+     */
+    public static State of(final String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+
+        // Kafka-Connect reports states in upper case, so an exact match is the common case.
+        switch (value) {
+            case "RUNNING":
+                return RUNNING;
+            case "PAUSED":
+                return PAUSED;
+            case "FAILED":
+                return FAILED;
+            case "UNASSIGNED":
+                return UNASSIGNED;
+            case "RESTARTING":
+                return RESTARTING;
+            case "STOPPED":
+                return STOPPED;
+            default:
+                break;
+        }
+        for (final State state : VALUES) {
+            if (state.name().equalsIgnoreCase(value)) {
+                return state;
+            }
+        }
+        return UNKNOWN;
+    }
+}
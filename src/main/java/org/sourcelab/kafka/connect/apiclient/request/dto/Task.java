@@ -17,6 +17,7 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.dto;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -31,7 +32,7 @@ public final class Task {
     }
 
     public Map<String, String> getConfig() {
-        return config;
+        return config == null ? null : Collections.unmodifiableMap(config);
     }
 
     @Override
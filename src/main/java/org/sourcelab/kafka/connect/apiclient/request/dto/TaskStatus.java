@@ -17,12 +17,21 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.dto;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
 /**
  * Represents the Status of a Task.
  */
+@JsonDeserialize(using = TaskStatus.Deserializer.class)
 public final class TaskStatus {
     private int id = -1;
     private String state;
+    private State taskState = State.UNKNOWN;
     private String trace;
     private String workerId;
 
@@ -34,6 +43,14 @@ public final class TaskStatus {
         return state;
     }
 
+    /**
+     * State of the task, resolved from {@link #getState()} when parsed.
+     * @return State of the task, UNKNOWN if not reported.
+     */
+    public State getTaskState() {
+        return taskState;
+    }
+
     public String getTrace() {
         return trace;
     }
@@ -51,4 +68,52 @@ public final class TaskStatus {
             + ", workerId='" + workerId + '\''
             + '}';
     }
+
+    /**
+     * Deserializer for TaskStatus, reading straight from the token stream.
+     */
+    public static class Deserializer extends StdDeserializer<TaskStatus> {
+
+        /**
+         * Constructor.
+         */
+        public Deserializer() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         */
+        public Deserializer(final Class<?> vc) {
+            super(vc);
+        }
+
+        @Override
+        public TaskStatus deserialize(final JsonParser jsonParser, final DeserializationContext ctxt) throws IOException {
+            final TaskStatus taskStatus = new TaskStatus();
+            for (String fieldName = JsonTokens.firstField(jsonParser, ctxt, TaskStatus.class);
+                fieldName != null;
+                fieldName = JsonTokens.nextField(jsonParser)) {
+                switch (fieldName) {
+                    case "id":
+                        taskStatus.id = JsonTokens.readInt(jsonParser, ctxt, taskStatus.id);
+                        break;
+                    case "state":
+                        taskStatus.state = JsonTokens.readString(jsonParser, ctxt);
+                        taskStatus.taskState = State.of(taskStatus.state);
+                        break;
+                    case "trace":
+                        taskStatus.trace = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    case "worker_id":
+                        taskStatus.workerId = JsonTokens.readString(jsonParser, ctxt);
+                        break;
+                    default:
+                        jsonParser.skipChildren();
+                        break;
+                }
+            }
+            return taskStatus;
+        }
+    }
 }
@@ -17,15 +17,20 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectServerVersion;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Defines a request for getting details about the Kafka-Connect service being queried.
  */
 public class GetConnectServerVersion implements GetRequest<ConnectServerVersion> {
+
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectServerVersion.class);
+
     @Override
     public String getApiEndpoint() {
         return "/";
@@ -33,6 +38,11 @@ public class GetConnectServerVersion implements GetRequest<ConnectServerVersion>
 
     @Override
     public ConnectServerVersion parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectServerVersion.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectServerVersion parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
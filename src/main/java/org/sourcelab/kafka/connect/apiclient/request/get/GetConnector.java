@@ -17,17 +17,20 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
  * Defines request to get details about a deployed connector.
  */
 public final class GetConnector implements GetRequest<ConnectorDefinition> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorDefinition.class);
 
     private final String connectorName;
 
@@ -47,6 +50,11 @@ public final class GetConnector implements GetRequest<ConnectorDefinition> {
 
     @Override
     public ConnectorDefinition parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectorDefinition.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectorDefinition parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
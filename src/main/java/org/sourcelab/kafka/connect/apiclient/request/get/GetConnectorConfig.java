@@ -17,10 +17,12 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Objects;
 
@@ -28,6 +30,7 @@ import java.util.Objects;
  * Defines a request for getting the configuration for a connector.
  */
 public final class GetConnectorConfig implements GetRequest<Map<String, String>> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(JacksonFactory.mapTypeStringString);
 
     private final String connectorName;
 
@@ -47,6 +50,11 @@ public final class GetConnectorConfig implements GetRequest<Map<String, String>>
 
     @Override
     public Map<String, String> parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, JacksonFactory.mapTypeStringString);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public Map<String, String> parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
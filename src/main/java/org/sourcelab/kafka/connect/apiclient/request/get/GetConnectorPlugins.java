@@ -17,10 +17,12 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorPlugin;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -28,6 +30,7 @@ import java.util.Collection;
  * Defines request to get a list of connector plugins.
  */
 public final class GetConnectorPlugins implements GetRequest<Collection<ConnectorPlugin>> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorPlugin[].class);
 
     @Override
     public String getApiEndpoint() {
@@ -36,6 +39,11 @@ public final class GetConnectorPlugins implements GetRequest<Collection<Connecto
 
     @Override
     public Collection<ConnectorPlugin> parseResponse(final String responseStr) throws IOException {
-        return Arrays.asList(JacksonFactory.newInstance().readValue(responseStr, ConnectorPlugin[].class));
+        return Arrays.asList(RESPONSE_READER.<ConnectorPlugin[]>readValue(responseStr));
+    }
+
+    @Override
+    public Collection<ConnectorPlugin> parseResponse(final InputStream responseStream) throws IOException {
+        return Arrays.asList(RESPONSE_READER.<ConnectorPlugin[]>readValue(responseStream));
     }
 }
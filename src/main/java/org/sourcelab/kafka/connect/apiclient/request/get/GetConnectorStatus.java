@@ -17,17 +17,20 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
  * Defines request to get the status of a connector.
  */
 public final class GetConnectorStatus implements GetRequest<ConnectorStatus> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorStatus.class);
 
     private final String connectorName;
 
@@ -47,6 +50,11 @@ public final class GetConnectorStatus implements GetRequest<ConnectorStatus> {
 
     @Override
     public ConnectorStatus parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectorStatus.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectorStatus parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
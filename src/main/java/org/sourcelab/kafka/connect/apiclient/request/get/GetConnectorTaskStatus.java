@@ -17,17 +17,20 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.TaskStatus;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
  * Defines a request to get the status of a connector's task.
  */
 public final class GetConnectorTaskStatus implements GetRequest<TaskStatus> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(TaskStatus.class);
 
     private final String connectorName;
     private final int taskId;
@@ -50,6 +53,11 @@ public final class GetConnectorTaskStatus implements GetRequest<TaskStatus> {
 
     @Override
     public TaskStatus parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, TaskStatus.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public TaskStatus parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
\ No newline at end of file
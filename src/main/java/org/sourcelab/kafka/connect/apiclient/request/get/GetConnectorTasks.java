@@ -17,11 +17,13 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.Task;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
@@ -30,6 +32,7 @@ import java.util.Objects;
  * Defines request to get tasks for a connector.
  */
 public final class GetConnectorTasks implements GetRequest<Collection<Task>> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(Task[].class);
 
     private final String connectorName;
 
@@ -49,6 +52,11 @@ public final class GetConnectorTasks implements GetRequest<Collection<Task>> {
 
     @Override
     public Collection<Task> parseResponse(final String responseStr) throws IOException {
-        return Arrays.asList(JacksonFactory.newInstance().readValue(responseStr, Task[].class));
+        return Arrays.asList(RESPONSE_READER.<Task[]>readValue(responseStr));
+    }
+
+    @Override
+    public Collection<Task> parseResponse(final InputStream responseStream) throws IOException {
+        return Arrays.asList(RESPONSE_READER.<Task[]>readValue(responseStream));
     }
 }
@@ -17,11 +17,13 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorTopics;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
@@ -33,6 +35,9 @@ import java.util.Objects;
  * https://docs.confluent.io/current/connect/references/restapi.html#get--connectors-(string-name)-topics
  */
 public class GetConnectorTopics implements GetRequest<ConnectorTopics> {
+
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorTopics.class);
+
     private final String connectorName;
 
     /**
@@ -51,6 +56,11 @@ public class GetConnectorTopics implements GetRequest<ConnectorTopics> {
 
     @Override
     public ConnectorTopics parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectorTopics.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectorTopics parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
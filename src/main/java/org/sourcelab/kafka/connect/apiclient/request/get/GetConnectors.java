@@ -17,9 +17,11 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -27,6 +29,9 @@ import java.util.Collection;
  * Defines request to get list of deployed connectors.
  */
 public final class GetConnectors implements GetRequest<Collection<String>> {
+
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(String[].class);
+
     @Override
     public String getApiEndpoint() {
         return "/connectors";
@@ -34,6 +39,11 @@ public final class GetConnectors implements GetRequest<Collection<String>> {
 
     @Override
     public Collection<String> parseResponse(final String responseStr) throws IOException {
-        return Arrays.asList(JacksonFactory.newInstance().readValue(responseStr, String[].class));
+        return Arrays.asList(RESPONSE_READER.<String[]>readValue(responseStr));
+    }
+
+    @Override
+    public Collection<String> parseResponse(final InputStream responseStream) throws IOException {
+        return Arrays.asList(RESPONSE_READER.<String[]>readValue(responseStream));
     }
 }
@@ -17,12 +17,15 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Defines a request to retrieve all deployed Connectors extended with all available associated metadata.
@@ -32,6 +35,24 @@ import java.io.IOException;
  * Requires Kafka-Connect server 2.3.0+
  */
 public class GetConnectorsExpandAllDetails implements GetRequest<ConnectorsWithExpandedMetadata> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorsWithExpandedMetadata.class);
+
+    private final boolean lazy;
+
+    /**
+     * Constructor.
+     */
+    public GetConnectorsExpandAllDetails() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * @param lazy Whether to decode each connector's entry on first access, rather than all up front.
+     */
+    public GetConnectorsExpandAllDetails(final boolean lazy) {
+        this.lazy = lazy;
+    }
 
     @Override
     public String getApiEndpoint() {
@@ -41,7 +62,26 @@ public class GetConnectorsExpandAllDetails implements GetRequest<ConnectorsWithE
     @Override
     public ConnectorsWithExpandedMetadata parseResponse(final String responseStr) throws IOException {
         try {
-            return JacksonFactory.newInstance().readValue(responseStr, ConnectorsWithExpandedMetadata.class);
+            if (lazy) {
+                return ConnectorsWithExpandedMetadata.parseLazily(responseStr.getBytes(StandardCharsets.UTF_8));
+            }
+            return RESPONSE_READER.readValue(responseStr);
+        } catch (final MismatchedInputException exception) {
+            throw new ResponseParseException(
+                "Failed to parse response. The end point you requested requires Kafka-Connect 2.3.0+..."
+                + "are you sure you're querying against the right version?",
+                exception
+            );
+        }
+    }
+
+    @Override
+    public ConnectorsWithExpandedMetadata parseResponse(final InputStream responseStream) throws IOException {
+        try {
+            if (lazy) {
+                return ConnectorsWithExpandedMetadata.parseLazily(responseStream);
+            }
+            return RESPONSE_READER.readValue(responseStream);
         } catch (final MismatchedInputException exception) {
             throw new ResponseParseException(
                 "Failed to parse response. The end point you requested requires Kafka-Connect 2.3.0+..."
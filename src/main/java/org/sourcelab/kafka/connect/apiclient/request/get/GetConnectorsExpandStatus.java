@@ -17,6 +17,7 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
@@ -24,6 +25,8 @@ import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedM
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedStatus;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Defines a request to retrieve all deployed Connectors extended 'status' metadata.
@@ -31,6 +34,24 @@ import java.io.IOException;
  * Requires Kafka-Connect server 2.3.0+
  */
 public class GetConnectorsExpandStatus implements GetRequest<ConnectorsWithExpandedStatus> {
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorsWithExpandedMetadata.class);
+
+    private final boolean lazy;
+
+    /**
+     * Constructor.
+     */
+    public GetConnectorsExpandStatus() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * @param lazy Whether to decode each connector's entry on first access, rather than all up front.
+     */
+    public GetConnectorsExpandStatus(final boolean lazy) {
+        this.lazy = lazy;
+    }
 
     @Override
     public String getApiEndpoint() {
@@ -40,7 +61,26 @@ public class GetConnectorsExpandStatus implements GetRequest<ConnectorsWithExpan
     @Override
     public ConnectorsWithExpandedStatus parseResponse(final String responseStr) throws IOException {
         try {
-            return JacksonFactory.newInstance().readValue(responseStr, ConnectorsWithExpandedMetadata.class);
+            if (lazy) {
+                return ConnectorsWithExpandedMetadata.parseLazily(responseStr.getBytes(StandardCharsets.UTF_8));
+            }
+            return RESPONSE_READER.readValue(responseStr);
+        } catch (final MismatchedInputException exception) {
+            throw new ResponseParseException(
+                "Failed to parse response. The end point you requested requires Kafka-Connect 2.3.0+..."
+                + "are you sure you're querying against the right version?",
+                exception
+            );
+        }
+    }
+
+    @Override
+    public ConnectorsWithExpandedStatus parseResponse(final InputStream responseStream) throws IOException {
+        try {
+            if (lazy) {
+                return ConnectorsWithExpandedMetadata.parseLazily(responseStream);
+            }
+            return RESPONSE_READER.readValue(responseStream);
         } catch (final MismatchedInputException exception) {
             throw new ResponseParseException(
                 "Failed to parse response. The end point you requested requires Kafka-Connect 2.3.0+..."
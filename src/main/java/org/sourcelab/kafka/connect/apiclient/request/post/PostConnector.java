@@ -17,17 +17,22 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.post;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
 import org.sourcelab.kafka.connect.apiclient.request.dto.NewConnectorDefinition;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
  * Defines request to deploy a new connector.
  */
 public final class PostConnector implements PostRequest<ConnectorDefinition> {
+
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorDefinition.class);
+
     private final NewConnectorDefinition connectorDefinition;
 
     /**
@@ -51,6 +56,11 @@ public final class PostConnector implements PostRequest<ConnectorDefinition> {
 
     @Override
     public ConnectorDefinition parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectorDefinition.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectorDefinition parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
@@ -17,11 +17,13 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.put;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,6 +33,9 @@ import java.util.Objects;
  * Defines request to update a connectors configuration.
  */
 public final class PutConnectorConfig implements PutRequest<ConnectorDefinition> {
+
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorDefinition.class);
+
     private final String connectorName;
     private final Map<String, String> config;
 
@@ -58,6 +63,11 @@ public final class PutConnectorConfig implements PutRequest<ConnectorDefinition>
 
     @Override
     public ConnectorDefinition parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectorDefinition.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectorDefinition parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
@@ -17,11 +17,13 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.put;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorPluginConfigValidationResults;
 import org.sourcelab.kafka.connect.apiclient.util.UrlEscapingUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,6 +33,9 @@ import java.util.Objects;
  * Defines request to validate a connector plugin's configuration.
  */
 public final class PutConnectorPluginConfigValidate implements PutRequest<ConnectorPluginConfigValidationResults> {
+
+    private static final ObjectReader RESPONSE_READER = JacksonFactory.readerFor(ConnectorPluginConfigValidationResults.class);
+
     private final String connectorPluginName;
     private final Map<String, String> config;
 
@@ -58,6 +63,11 @@ public final class PutConnectorPluginConfigValidate implements PutRequest<Connec
 
     @Override
     public ConnectorPluginConfigValidationResults parseResponse(final String responseStr) throws IOException {
-        return JacksonFactory.newInstance().readValue(responseStr, ConnectorPluginConfigValidationResults.class);
+        return RESPONSE_READER.readValue(responseStr);
+    }
+
+    @Override
+    public ConnectorPluginConfigValidationResults parseResponse(final InputStream responseStream) throws IOException {
+        return RESPONSE_READER.readValue(responseStream);
     }
 }
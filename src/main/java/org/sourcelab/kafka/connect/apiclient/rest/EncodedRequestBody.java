@@ -0,0 +1,109 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResultParsingException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Request body encoded to bytes, as sent by RestClient implementations which do not encode request bodies themselves.
+ */
+final class EncodedRequestBody {
+    /**
+     * Sent with requests which have no body.
+     */
+    static final EncodedRequestBody EMPTY = new EncodedRequestBody(new byte[0], 0, false);
+
+    private final byte[] content;
+    private final long uncompressedLength;
+    private final boolean compressed;
+
+    private EncodedRequestBody(final byte[] content, final long uncompressedLength, final boolean compressed) {
+        this.content = content;
+        this.uncompressedLength = uncompressedLength;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Encode the body of a POST or PUT request to Json, gzip compressing it if it is at least the configured
+     * threshold in size.
+     * @param request The request to submit.
+     * @param configuration Client configuration.
+     * @return Encoded request body, or EMPTY if the request has no body.
+     * @throws ResultParsingException if the body could not be encoded.
+     */
+    static EncodedRequestBody encode(final Request<?> request, final Configuration configuration) {
+        if (request.getRequestMethod() != RequestMethod.POST && request.getRequestMethod() != RequestMethod.PUT) {
+            return EMPTY;
+        }
+
+        try {
+            final String jsonPayloadStr = JacksonFactory.writeValueAsString(request.getRequestBody());
+            final Charset charset = configuration.getEncoding() == null
+                ? StandardCharsets.ISO_8859_1
+                : Charset.forName(configuration.getEncoding());
+            final byte[] payload = jsonPayloadStr.getBytes(charset);
+
+            final int threshold = configuration.getRequestCompressionThresholdInBytes();
+            if (threshold <= 0 || payload.length < threshold) {
+                return new EncodedRequestBody(payload, payload.length, false);
+            }
+
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4);
+            try (final GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+                gzipStream.write(payload);
+            }
+            return new EncodedRequestBody(compressed.toByteArray(), payload.length, true);
+        } catch (final IOException exception) {
+            throw new ResultParsingException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * The body as sent.
+     * @return Encoded, and possibly compressed, body.
+     */
+    byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * Size of the body prior to compression.
+     * @return number of bytes.
+     */
+    long getUncompressedLength() {
+        return uncompressedLength;
+    }
+
+    /**
+     * Whether the body is gzip compressed, and should be sent with a "Content-Encoding: gzip" header.
+     * @return true if compressed.
+     */
+    boolean isCompressed() {
+        return compressed;
+    }
+}
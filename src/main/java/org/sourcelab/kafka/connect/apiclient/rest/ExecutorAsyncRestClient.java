@@ -0,0 +1,143 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.util.VirtualThreads;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncRestClient implementation which adapts a blocking RestClient by running each request on an ExecutorService.
+ *
+ * Callers are never blocked, but each in-flight request still occupies one of the executor's threads while it waits
+ * on the underlying RestClient.  When {@link Configuration#useVirtualThreads()} is set and running on Java 21+, each
+ * request is instead run on a new virtual thread, which is released while it waits.
+ */
+public class ExecutorAsyncRestClient implements AsyncRestClient {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorAsyncRestClient.class);
+
+    /**
+     * Underlying blocking RestClient.
+     */
+    private final RestClient restClient;
+
+    /**
+     * Executor supplied at construction time, or null if one should be created during init().
+     */
+    private final ExecutorService suppliedExecutor;
+
+    /**
+     * Executor requests are submitted to.
+     */
+    private ExecutorService executorService;
+
+    /**
+     * Constructor.  An executor will be created during init() sized using
+     * {@link Configuration#getAsyncThreadPoolSize()}, or starting a virtual thread per request if
+     * {@link Configuration#isVirtualThreadsEnabled()}, and shutdown on close().
+     * @param restClient Underlying blocking RestClient to adapt.
+     */
+    public ExecutorAsyncRestClient(final RestClient restClient) {
+        this(restClient, null);
+    }
+
+    /**
+     * Constructor allowing for injecting the executor to run requests on.
+     * A supplied executor is NOT shutdown on close().
+     * @param restClient Underlying blocking RestClient to adapt.
+     * @param executorService Executor to run requests on.
+     */
+    public ExecutorAsyncRestClient(final RestClient restClient, final ExecutorService executorService) {
+        this.restClient = Objects.requireNonNull(restClient);
+        this.suppliedExecutor = executorService;
+    }
+
+    @Override
+    public void init(final Configuration configuration) {
+        restClient.init(configuration);
+
+        if (suppliedExecutor != null) {
+            executorService = suppliedExecutor;
+        } else if (configuration.isVirtualThreadsEnabled() && VirtualThreads.isAvailable()) {
+            // HttpClientRestClient bounds how many requests reach its connection pool, so these never pin while waiting.
+            executorService = VirtualThreads.newThreadPerTaskExecutor("kafka-connect-client-async-");
+        } else {
+            if (configuration.isVirtualThreadsEnabled()) {
+                logger.warn("Virtual threads require Java 21 or newer, falling back to a pool of {} threads.", configuration.getAsyncThreadPoolSize());
+            }
+            executorService = Executors.newFixedThreadPool(
+                configuration.getAsyncThreadPoolSize(),
+                new NamedDaemonThreadFactory("kafka-connect-client-async-")
+            );
+        }
+    }
+
+    /**
+     * Submit a request on the executor.  If the underlying RestClient is a StreamingRestClient, successful
+     * response bodies are parsed straight from the response stream.
+     * @param request The request to submit.
+     * @return Future completed with the response.
+     */
+    @Override
+    public CompletableFuture<RestResponse> submitRequestAsync(final Request request) {
+        if (restClient instanceof StreamingRestClient) {
+            final StreamingRestClient streamingRestClient = (StreamingRestClient) restClient;
+            return CompletableFuture.supplyAsync(() -> streamingRestClient.submitRequestAndParseResponse(request), executorService);
+        }
+        return CompletableFuture.supplyAsync(() -> restClient.submitRequest(request), executorService);
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null && suppliedExecutor == null) {
+            executorService.shutdown();
+        }
+        executorService = null;
+        restClient.close();
+    }
+
+    /**
+     * Creates named daemon threads so an un-closed client never prevents JVM shutdown.
+     */
+    private static final class NamedDaemonThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+        private final AtomicInteger threadCount = new AtomicInteger(0);
+        private final String prefix;
+
+        NamedDaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = delegate.newThread(runnable);
+            thread.setName(prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.apache.hc.client5.http.auth.CredentialsStore;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+
+/**
+ * HttpClient 5 configuration hooks, the equivalent of HttpClientConfigHooks for HttpClient5RestClient.
+ *
+ * Provides an interface for modifying how the underlying CloseableHttpAsyncClient instance is created.
+ *
+ * Usage of this would look like:
+ *
+ * final HttpClient5RestClient restClient = new HttpClient5RestClient(new HttpClient5ConfigHooks {
+ *    // Override methods as needed to modify behavior.
+ * });
+ *
+ * // Create client, passing configuration and RestClient implementation
+ * final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, restClient);
+ *
+ * // Use client as normal...
+ *
+ */
+public interface HttpClient5ConfigHooks {
+    /**
+     * Create HttpAsyncClientBuilder instance.
+     * @param configuration KafkaConnectClient configuration.
+     * @return HttpAsyncClientBuilder instance.
+     */
+    default HttpAsyncClientBuilder createHttpAsyncClientBuilder(final Configuration configuration) {
+        return HttpAsyncClients.custom();
+    }
+
+    /**
+     * Create HttpsContextBuilder instance.
+     * @param configuration KafkaConnectClient configuration.
+     * @return HttpsContextBuilder instance.
+     */
+    default HttpsContextBuilder createHttpsContextBuilder(final Configuration configuration) {
+        return new HttpsContextBuilder(configuration);
+    }
+
+    /**
+     * Create RequestConfig.Builder instance.
+     * @param configuration KafkaConnectClient configuration.
+     * @return RequestConfig.Builder instance.
+     */
+    default RequestConfig.Builder createRequestConfigBuilder(final Configuration configuration) {
+        return RequestConfig.custom();
+    }
+
+    /**
+     * Create CredentialsStore instance.
+     * @param configuration KafkaConnectClient configuration.
+     * @return CredentialsStore instance.
+     */
+    default CredentialsStore createCredentialsStore(final Configuration configuration) {
+        return new BasicCredentialsProvider();
+    }
+
+    /**
+     * Create HttpClientContext instance.
+     * @param configuration KafkaConnectClient configuration.
+     * @return HttpClientContext instance.
+     */
+    default HttpClientContext createHttpClientContext(final Configuration configuration) {
+        return HttpClientContext.create();
+    }
+
+    /**
+     * Ability to modify or replace the CredentialsStore instance after initial configuration has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return CredentialsStore instance.
+     */
+    default CredentialsStore modifyCredentialsStore(final Configuration configuration, final CredentialsStore credentialsStore) {
+        return credentialsStore;
+    }
+
+    /**
+     * Ability to modify or replace the RequestConfig.Builder instance after initial configuration has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return RequestConfig.Builder instance.
+     */
+    default RequestConfig.Builder modifyRequestConfig(final Configuration configuration, final RequestConfig.Builder builder) {
+        return builder;
+    }
+
+    /**
+     * Ability to modify or replace the IOReactorConfig.Builder instance after initial configuration has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return IOReactorConfig.Builder instance.
+     */
+    default IOReactorConfig.Builder modifyIoReactorConfig(final Configuration configuration, final IOReactorConfig.Builder builder) {
+        return builder;
+    }
+
+    /**
+     * Ability to modify or replace the PoolingAsyncClientConnectionManagerBuilder instance after initial configuration
+     * has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return PoolingAsyncClientConnectionManagerBuilder instance.
+     */
+    default PoolingAsyncClientConnectionManagerBuilder modifyConnectionManager(
+        final Configuration configuration,
+        final PoolingAsyncClientConnectionManagerBuilder builder
+    ) {
+        return builder;
+    }
+
+    /**
+     * Ability to modify or replace the HttpAsyncClientBuilder instance after initial configuration has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return HttpAsyncClientBuilder instance.
+     */
+    default HttpAsyncClientBuilder modifyHttpAsyncClientBuilder(final Configuration configuration, final HttpAsyncClientBuilder builder) {
+        return builder;
+    }
+
+    /**
+     * Ability to modify or replace the HttpClientContext instance after initial configuration has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return HttpClientContext instance.
+     */
+    default HttpClientContext modifyHttpClientContext(final Configuration configuration, final HttpClientContext context) {
+        return context;
+    }
+}
@@ -0,0 +1,578 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.auth.AuthScope;
+import org.apache.hc.client5.http.auth.CredentialsStore;
+import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.RequestTimeoutException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResultParsingException;
+import org.sourcelab.kafka.connect.apiclient.util.VirtualThreads;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RestClient and AsyncRestClient implementation using HttpClient 5's CloseableHttpAsyncClient.
+ *
+ * All requests are executed by a small, fixed number of non-blocking I/O reactor threads, configured using
+ * {@link Configuration#useIoReactorThreadCount(int)}, rather than a thread per in-flight request.
+ * Requires the optional org.apache.httpcomponents.client5:httpclient5 dependency.
+ *
+ * Example usage:
+ * <pre>
+ *     final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new HttpClient5RestClient());
+ * </pre>
+ *
+ * SSL, proxy, BasicAuth, connection pool, compression, timeout and worker failover settings are taken from the
+ * Configuration.  Responses are decompressed and parsed on a separate pool of threads, sized using
+ * {@link Configuration#useAsyncThreadPoolSize(int)}, so that large responses never stall the I/O reactor threads.
+ * Callbacks registered on the returned futures run on that pool, and should not block.
+ */
+public class HttpClient5RestClient implements StreamingRestClient, AsyncRestClient {
+    private static final Logger logger = LoggerFactory.getLogger(HttpClient5RestClient.class);
+
+    /**
+     * Save a copy of the configuration.
+     */
+    private Configuration configuration;
+
+    /**
+     * Our underlying Http Client.
+     */
+    private CloseableHttpAsyncClient httpClient;
+
+    /**
+     * Default configuration applied to every request.
+     */
+    private RequestConfig defaultRequestConfig;
+
+    /**
+     * Used to cancel requests which exceed their deadline.
+     */
+    private ScheduledThreadPoolExecutor deadlineScheduler;
+
+    /**
+     * Reads and parses responses, keeping that work off the I/O reactor threads.
+     */
+    private ExecutorService responseExecutor;
+
+    /**
+     * Kafka-Connect workers requests may be sent to.
+     */
+    private WorkerPool workerPool;
+
+    /**
+     * Preemptive BasicAuth header value, or null if BasicAuth is not configured.
+     */
+    private String authorizationHeader;
+
+    /**
+     * Provides an interface for modifying how the underlying HttpClient instance is created.
+     */
+    private final HttpClient5ConfigHooks configHooks;
+
+    /**
+     * Constructor.
+     */
+    public HttpClient5RestClient() {
+        this(new DefaultHttpClient5ConfigHooks());
+    }
+
+    /**
+     * Constructor allowing for injecting configuration hooks.
+     * @param configHooks Hooks for modifying how the underlying HttpClient instance is created.
+     */
+    public HttpClient5RestClient(final HttpClient5ConfigHooks configHooks) {
+        this.configHooks = Objects.requireNonNull(configHooks);
+    }
+
+    @Override
+    public void init(final Configuration configuration) {
+        this.configuration = Objects.requireNonNull(configuration);
+
+        // Create https context builder utility.
+        final HttpsContextBuilder httpsContextBuilder = configHooks.createHttpsContextBuilder(configuration);
+        if (configuration.getIgnoreInvalidSslCertificates()) {
+            logger.warn("Using insecure configuration, skipping server-side certificate validation checks.");
+        }
+
+        // Create and setup client builder
+        HttpAsyncClientBuilder clientBuilder = Objects.requireNonNull(
+            configHooks.createHttpAsyncClientBuilder(configuration),
+            "HttpClient5ConfigHooks::createHttpAsyncClientBuilder() must return non-null instance."
+        );
+
+        // Define our pooled connection manager.
+        final PoolingAsyncClientConnectionManagerBuilder connectionManagerBuilder = Objects.requireNonNull(
+            configHooks.modifyConnectionManager(configuration, PoolingAsyncClientConnectionManagerBuilder.create()
+                .setTlsStrategy(ClientTlsStrategyBuilder.create()
+                    .setSslContext(httpsContextBuilder.getSslContext())
+                    .setTlsVersions(httpsContextBuilder.getSslProtocols())
+                    .setHostnameVerifier(httpsContextBuilder.getHostnameVerifier())
+                    .build()
+                )
+                .setMaxConnTotal(configuration.getConnectionPoolMaxTotal())
+                .setMaxConnPerRoute(configuration.getConnectionPoolMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.ofSeconds(configuration.getRequestTimeoutInSeconds()))
+                    .setSocketTimeout(Timeout.ofSeconds(configuration.getSocketTimeoutInSeconds()))
+                    .setTimeToLive(TimeValue.ofSeconds(configuration.getConnectionTimeToLiveInSeconds()))
+                    .setValidateAfterInactivity(TimeValue.ofMilliseconds(configuration.getValidateAfterInactivityInMillis()))
+                    .build()
+                )
+            ),
+            "HttpClient5ConfigHooks::modifyConnectionManager() must return non-null instance."
+        );
+        clientBuilder.setConnectionManager(connectionManagerBuilder.build());
+
+        // Define our I/O reactor, whose threads execute every request.
+        final IOReactorConfig.Builder ioReactorConfigBuilder = IOReactorConfig.custom()
+            .setSoTimeout(Timeout.ofSeconds(configuration.getSocketTimeoutInSeconds()));
+        if (configuration.getIoReactorThreadCount() > 0) {
+            ioReactorConfigBuilder.setIoThreadCount(configuration.getIoReactorThreadCount());
+        }
+        clientBuilder.setIOReactorConfig(Objects.requireNonNull(
+            configHooks.modifyIoReactorConfig(configuration, ioReactorConfigBuilder),
+            "HttpClient5ConfigHooks::modifyIoReactorConfig() must return non-null instance."
+        ).build());
+
+        final AtomicInteger threadCount = new AtomicInteger(0);
+        clientBuilder.setThreadFactory((runnable) -> {
+            final Thread thread = new Thread(runnable, "kafka-connect-client-reactor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Optionally evict idle connections in the background.
+        if (configuration.getIdleConnectionEvictionInSeconds() > 0) {
+            clientBuilder
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(configuration.getIdleConnectionEvictionInSeconds()));
+        }
+
+        // Define our RequestConfigBuilder
+        RequestConfig.Builder requestConfigBuilder = Objects.requireNonNull(
+            configHooks.createRequestConfigBuilder(configuration),
+            "HttpClient5ConfigHooks::createRequestConfigBuilder() must return non-null instance."
+        );
+        requestConfigBuilder
+            .setResponseTimeout(Timeout.ofSeconds(configuration.getSocketTimeoutInSeconds()))
+            .setConnectionRequestTimeout(Timeout.ofSeconds(configuration.getConnectionRequestTimeoutInSeconds()));
+
+        // Define our Credentials Store
+        CredentialsStore credentialsStore = Objects.requireNonNull(
+            configHooks.createCredentialsStore(configuration),
+            "HttpClient5ConfigHooks::createCredentialsStore() must return non-null instance."
+        );
+
+        // If we have a configured proxy host
+        if (configuration.getProxyHost() != null) {
+            clientBuilder.setProxy(new HttpHost(configuration.getProxyScheme(), configuration.getProxyHost(), configuration.getProxyPort()));
+
+            // If we have proxy auth enabled
+            if (configuration.getProxyUsername() != null) {
+                credentialsStore.setCredentials(
+                    new AuthScope(configuration.getProxyHost(), configuration.getProxyPort()),
+                    new UsernamePasswordCredentials(
+                        configuration.getProxyUsername(),
+                        configuration.getProxyPassword() == null ? new char[0] : configuration.getProxyPassword().toCharArray()
+                    )
+                );
+            }
+        }
+
+        // If BasicAuth credentials are configured, authenticate preemptively as HttpClientRestClient does.
+        if (configuration.getBasicAuthUsername() != null) {
+            final String credentials = configuration.getBasicAuthUsername() + ":"
+                + (configuration.getBasicAuthPassword() == null ? "" : configuration.getBasicAuthPassword());
+            authorizationHeader = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Call Modify hooks
+        credentialsStore = Objects.requireNonNull(
+            configHooks.modifyCredentialsStore(configuration, credentialsStore),
+            "HttpClient5ConfigHooks::modifyCredentialsStore() must return non-null instance."
+        );
+        requestConfigBuilder = Objects.requireNonNull(
+            configHooks.modifyRequestConfig(configuration, requestConfigBuilder),
+            "HttpClient5ConfigHooks::modifyRequestConfig() must return non-null instance."
+        );
+
+        clientBuilder.setDefaultCredentialsProvider(credentialsStore);
+        defaultRequestConfig = requestConfigBuilder.build();
+        clientBuilder.setDefaultRequestConfig(defaultRequestConfig);
+
+        // build http client
+        clientBuilder = Objects.requireNonNull(
+            configHooks.modifyHttpAsyncClientBuilder(configuration, clientBuilder),
+            "HttpClient5ConfigHooks::modifyHttpAsyncClientBuilder() must return non-null instance."
+        );
+        httpClient = clientBuilder.build();
+        httpClient.start();
+
+        // Scheduler thread is only started once a request with a deadline is submitted.
+        deadlineScheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+            final Thread thread = new Thread(runnable, "kafka-connect-client-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlineScheduler.setRemoveOnCancelPolicy(true);
+
+        if (configuration.isVirtualThreadsEnabled() && VirtualThreads.isAvailable()) {
+            responseExecutor = VirtualThreads.newThreadPerTaskExecutor("kafka-connect-client-response-");
+        } else {
+            final AtomicInteger responseThreadCount = new AtomicInteger(0);
+            responseExecutor = Executors.newFixedThreadPool(configuration.getAsyncThreadPoolSize(), (runnable) -> {
+                final Thread thread = new Thread(runnable, "kafka-connect-client-response-" + responseThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        workerPool = new WorkerPool(configuration.getApiHosts());
+    }
+
+    /**
+     * Make a request against the Kafka-Connect API, blocking until the response has been read.
+     * @param request The request to submit.
+     * @return The response.
+     * @throws RestException if something goes wrong.
+     */
+    @Override
+    public RestResponse submitRequest(final Request request) throws RestException {
+        return join(submitRequestAsync(request, false));
+    }
+
+    @Override
+    public RestResponse submitRequestAndParseResponse(final Request request) throws RestException {
+        return join(submitRequestAsync(request, true));
+    }
+
+    /**
+     * Wait for a response, rethrowing any failure.
+     * @param responseFuture Future completed with the response.
+     * @return The response.
+     */
+    private static RestResponse join(final CompletableFuture<RestResponse> responseFuture) {
+        try {
+            return responseFuture.join();
+        } catch (final CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new RestException(exception.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<RestResponse> submitRequestAsync(final Request request) {
+        return submitRequestAsync(request, true);
+    }
+
+    /**
+     * Submit a request against the Kafka-Connect API.
+     * @param request The request to submit.
+     * @param parseResponse Whether to parse a successful response body using the Request.
+     * @return Future completed with the response.
+     */
+    private CompletableFuture<RestResponse> submitRequestAsync(final Request request, final boolean parseResponse) {
+        final long startNanos = System.nanoTime();
+        final EncodedRequestBody requestBody;
+        try {
+            requestBody = EncodedRequestBody.encode(request, configuration);
+        } catch (final RuntimeException exception) {
+            final CompletableFuture<RestResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(exception);
+            return failed;
+        }
+        return submitToWorker(request, requestBody, parseResponse, selectWorkers(request), 0, startNanos);
+    }
+
+    /**
+     * Submit the request to a worker, failing over to the next worker if it cannot be connected to.
+     * @param request The request to submit.
+     * @param requestBody The encoded request body.
+     * @param parseResponse Whether to parse a successful response body using the Request.
+     * @param workers Workers to submit the request to, in order of preference.
+     * @param workerIndex Index of the worker to submit the request to.
+     * @param startNanos When the request was submitted.
+     * @return Future completed with the response.
+     */
+    private CompletableFuture<RestResponse> submitToWorker(
+        final Request request,
+        final EncodedRequestBody requestBody,
+        final boolean parseResponse,
+        final List<WorkerPool.Worker> workers,
+        final int workerIndex,
+        final long startNanos
+    ) {
+        final WorkerPool.Worker worker = workers.get(workerIndex);
+        worker.onRequestStart();
+        return execute(request, worker.getHost(), requestBody)
+            .handleAsync((response, error) -> {
+                worker.onRequestEnd();
+                if (error == null) {
+                    return CompletableFuture.completedFuture(handleResponse(request, requestBody, response, parseResponse, startNanos));
+                }
+
+                final RuntimeException exception = toRuntimeException(error);
+                if (isConnectFailure(error)) {
+                    onConnectFailure(worker, error);
+                    if (workerIndex + 1 < workers.size()) {
+                        return submitToWorker(request, requestBody, parseResponse, workers, workerIndex + 1, startNanos);
+                    }
+                }
+                configuration.getRequestMetricsListener().onHttpFailure(request, exception, System.nanoTime() - startNanos);
+                throw exception;
+            }, responseExecutor)
+            .thenCompose((future) -> future);
+    }
+
+    /**
+     * Select workers for the request, preferring the leader for writes when it is known.
+     * @param request The request to submit.
+     * @return Workers in order of preference.
+     */
+    private List<WorkerPool.Worker> selectWorkers(final Request request) {
+        final LeaderResolver leaderResolver = configuration.getLeaderResolver();
+        return request.getRequestMethod() == RequestMethod.GET
+            ? workerPool.selectForRead()
+            : workerPool.selectForWrite(leaderResolver == null ? null : leaderResolver.getLeaderHost());
+    }
+
+    /**
+     * Record that a worker could not be connected to.
+     * @param worker The worker.
+     * @param exception The connection error.
+     */
+    private void onConnectFailure(final WorkerPool.Worker worker, final Throwable exception) {
+        logger.warn("Unable to connect to Kafka-Connect worker {}: {}", worker.getHost(), exception.toString());
+        workerPool.onConnectFailure(worker);
+
+        final LeaderResolver leaderResolver = configuration.getLeaderResolver();
+        if (leaderResolver != null && worker.getHost().equals(leaderResolver.getLeaderHost())) {
+            leaderResolver.onLeaderUnavailable(worker.getHost());
+        }
+    }
+
+    /**
+     * Execute the request against a worker, cancelling it if it is still running once its deadline passes.
+     * @param request The request to submit.
+     * @param apiHost The worker to submit the request to.
+     * @param requestBody The encoded request body.
+     * @return Future completed with the response.
+     */
+    private CompletableFuture<SimpleHttpResponse> execute(final Request request, final String apiHost, final EncodedRequestBody requestBody) {
+        final SimpleHttpRequest httpRequest = SimpleHttpRequest.create(request.getRequestMethod().name(), apiHost + request.getApiEndpoint());
+        httpRequest.setHeader("Accept", "application/json");
+        httpRequest.setHeader("Content-Type", "application/json");
+        if (authorizationHeader != null) {
+            httpRequest.setHeader("Authorization", authorizationHeader);
+        }
+        if (configuration.isResponseCompressionEnabled()) {
+            httpRequest.setHeader("Accept-Encoding", "gzip, deflate");
+        }
+        if (requestBody != EncodedRequestBody.EMPTY) {
+            httpRequest.setBody(requestBody.getContent(), ContentType.APPLICATION_JSON);
+            if (requestBody.isCompressed()) {
+                httpRequest.setHeader("Content-Encoding", "gzip");
+            }
+        }
+
+        // Never wait on the socket or pool longer than the deadline itself.
+        final int deadlineInSeconds = configuration.getRequestDeadlineInSeconds(request);
+        if (deadlineInSeconds > 0) {
+            final Timeout deadline = Timeout.ofSeconds(deadlineInSeconds);
+            httpRequest.setConfig(RequestConfig.copy(defaultRequestConfig)
+                .setResponseTimeout(boundTimeout(defaultRequestConfig.getResponseTimeout(), deadline))
+                .setConnectionRequestTimeout(boundTimeout(defaultRequestConfig.getConnectionRequestTimeout(), deadline))
+                .build()
+            );
+        }
+
+        final CompletableFuture<SimpleHttpResponse> responseFuture = new CompletableFuture<>();
+        final HttpClientContext context = configHooks.modifyHttpClientContext(configuration, configHooks.createHttpClientContext(configuration));
+        final Future<SimpleHttpResponse> exchange = httpClient.execute(httpRequest, context, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(final SimpleHttpResponse response) {
+                responseFuture.complete(response);
+            }
+
+            @Override
+            public void failed(final Exception exception) {
+                responseFuture.completeExceptionally(exception);
+            }
+
+            @Override
+            public void cancelled() {
+                responseFuture.completeExceptionally(
+                    new RequestTimeoutException("Request exceeded its deadline of " + deadlineInSeconds + " seconds.", null)
+                );
+            }
+        });
+
+        // Cancel the request if it is still running once the deadline passes.
+        if (deadlineInSeconds > 0) {
+            final ScheduledFuture<?> cancelTask = deadlineScheduler.schedule(() -> exchange.cancel(true), deadlineInSeconds, TimeUnit.SECONDS);
+            responseFuture.whenComplete((response, error) -> cancelTask.cancel(false));
+        }
+        return responseFuture;
+    }
+
+    /**
+     * Read the response, notifying the metrics listener of the exchange.
+     * @param request The request that was submitted.
+     * @param requestBody The encoded request body.
+     * @param response The response received.
+     * @param parseResponse Whether to parse a successful response body using the Request.
+     * @param startNanos When the request was submitted.
+     * @return The response.
+     */
+    private RestResponse handleResponse(
+        final Request request,
+        final EncodedRequestBody requestBody,
+        final SimpleHttpResponse response,
+        final boolean parseResponse,
+        final long startNanos
+    ) {
+        final RequestMetricsListener metricsListener = configuration.getRequestMetricsListener();
+        final byte[] responseBody = response.getBodyBytes() == null ? new byte[0] : response.getBodyBytes();
+        final Header contentEncoding = response.getFirstHeader("Content-Encoding");
+        final ResponseBodyReader responseBodyReader = new ResponseBodyReader(
+            new ByteArrayInputStream(responseBody),
+            contentEncoding == null ? null : contentEncoding.getValue()
+        );
+
+        try {
+            return responseBodyReader.read(parseResponse ? request : null, response.getCode());
+        } catch (final IOException exception) {
+            throw new ResultParsingException(exception.getMessage(), exception);
+        } finally {
+            metricsListener.onHttpExchange(request, response.getCode(), responseBodyReader.getResponseBytes(), System.nanoTime() - startNanos);
+            metricsListener.onHttpTransfer(
+                request,
+                requestBody.getUncompressedLength(),
+                requestBody.getContent().length,
+                responseBodyReader.getResponseBytes(),
+                responseBodyReader.getResponseWireBytes()
+            );
+        }
+    }
+
+    /**
+     * Map an error raised executing a request to the equivalent RuntimeException.
+     * @param error The error raised.
+     * @return Equivalent RuntimeException.
+     */
+    private static RuntimeException toRuntimeException(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        final String message = cause.getMessage() == null ? cause.toString() : cause.getMessage();
+        if (cause instanceof SocketTimeoutException && !(cause instanceof ConnectTimeoutException)) {
+            return new RequestTimeoutException(message, cause);
+        }
+        return new ConnectionException(message, cause);
+    }
+
+    /**
+     * Determine if an exception was caused by failing to establish a connection.
+     * @param exception The exception to inspect.
+     * @return true if the connection was never established.
+     */
+    private static boolean isConnectFailure(final Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bound a timeout by a deadline.
+     * @param timeout The configured timeout, which may be disabled.
+     * @param deadline The deadline.
+     * @return The shorter of the two.
+     */
+    private static Timeout boundTimeout(final Timeout timeout, final Timeout deadline) {
+        if (timeout == null || timeout.isDisabled() || timeout.compareTo(deadline) > 0) {
+            return deadline;
+        }
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        if (httpClient != null) {
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+        httpClient = null;
+        if (deadlineScheduler != null) {
+            deadlineScheduler.shutdownNow();
+        }
+        deadlineScheduler = null;
+        if (responseExecutor != null) {
+            responseExecutor.shutdown();
+        }
+        responseExecutor = null;
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.sourcelab.kafka.connect.apiclient.Configuration;
 
 /**
@@ -125,6 +126,18 @@ public interface HttpClientConfigHooks {
         return builder;
     }
 
+    /**
+     * Ability to modify or replace the PoolingHttpClientConnectionManager instance after initial configuration has been performed on it.
+     * @param configuration KafkaConnectClient configuration.
+     * @return PoolingHttpClientConnectionManager instance.
+     */
+    default PoolingHttpClientConnectionManager modifyConnectionManager(
+        final Configuration configuration,
+        final PoolingHttpClientConnectionManager connectionManager
+    ) {
+        return connectionManager;
+    }
+
     /**
      * Ability to modify or replace the HttpClientBuilder instance after initial configuration has been performed on it.
      * @param configuration KafkaConnectClient configuration.
@@ -18,6 +18,7 @@
 package org.sourcelab.kafka.connect.apiclient.rest;
 
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -30,41 +31,70 @@ import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
-import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
 import org.sourcelab.kafka.connect.apiclient.request.JacksonFactory;
 import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
 import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.RequestTimeoutException;
 import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResultParsingException;
+import org.sourcelab.kafka.connect.apiclient.rest.handlers.ByteCountingResponseHandler;
 import org.sourcelab.kafka.connect.apiclient.rest.handlers.RestResponseHandler;
+import org.sourcelab.kafka.connect.apiclient.util.VirtualThreads;
 
 import javax.net.ssl.SSLHandshakeException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
 import java.net.MalformedURLException;
+import java.net.NoRouteToHostException;
 import java.net.SocketException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * RestClient implementation using HTTPClient.
+ *
+ * HttpCore 4.4's connection pool waits for a free connection inside a synchronized block, which pins a virtual thread
+ * to its carrier thread.  So when {@link Configuration#useVirtualThreads()} is set, or the caller is a virtual thread,
+ * requests first wait for one of {@link Configuration#getConnectionPoolMaxPerRoute()} permits, leaving the pool with
+ * a free connection for every request which reaches it.
  */
-public class HttpClientRestClient implements RestClient {
+public class HttpClientRestClient implements StreamingRestClient {
     private static final Logger logger = LoggerFactory.getLogger(HttpClientRestClient.class);
 
     /**
@@ -74,6 +104,11 @@ public class HttpClientRestClient implements RestClient {
         new BasicHeader("Accept", "application/json"),
         new BasicHeader("Content-Type", "application/json")
     ));
+
+    /**
+     * Included with every request when response compression is enabled.
+     */
+    private static final Header ACCEPT_ENCODING_HEADER = new BasicHeader("Accept-Encoding", "gzip, deflate");
     
     /**
      * Save a copy of the configuration.
@@ -85,6 +120,36 @@ public class HttpClientRestClient implements RestClient {
      */
     private CloseableHttpClient httpClient;
 
+    /**
+     * Pool of connections used by our Http Client.
+     */
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * Default configuration applied to every request.
+     */
+    private RequestConfig defaultRequestConfig;
+
+    /**
+     * Used to abort requests which exceed their deadline.
+     */
+    private ScheduledThreadPoolExecutor deadlineScheduler;
+
+    /**
+     * Kafka-Connect workers requests may be sent to.
+     */
+    private WorkerPool workerPool;
+
+    /**
+     * Periodically probes each worker when multiple workers are configured, otherwise null.
+     */
+    private ScheduledThreadPoolExecutor healthCheckScheduler;
+
+    /**
+     * Bounds requests reaching the connection pool when virtual threads are used, so they never wait within it.
+     */
+    private Semaphore connectionPermits;
+
     /**
      * The AuthCache used when creating the HttpClientContext.
      */
@@ -133,12 +198,36 @@ public class HttpClientRestClient implements RestClient {
             configHooks.createHttpClientBuilder(configuration),
             "HttpClientConfigHook::createHttpClientBuilder() must return non-null instance."
         );
-        clientBuilder
-            // Define timeout
-            .setConnectionTimeToLive(configuration.getConnectionTimeToLiveInSeconds(), TimeUnit.SECONDS)
+        // Define socket factories, using our SSL Socket Factory instance for https.
+        final Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", httpsContextBuilder.createSslSocketFactory())
+            .build();
+
+        // Define our pooled connection manager.
+        connectionManager = new PoolingHttpClientConnectionManager(
+            socketFactoryRegistry,
+            null,
+            null,
+            null,
+            configuration.getConnectionTimeToLiveInSeconds(),
+            TimeUnit.SECONDS
+        );
+        connectionManager.setMaxTotal(configuration.getConnectionPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(configuration.getConnectionPoolMaxPerRoute());
+        connectionManager.setValidateAfterInactivity(configuration.getValidateAfterInactivityInMillis());
+        connectionManager = Objects.requireNonNull(
+            configHooks.modifyConnectionManager(configuration, connectionManager),
+            "HttpClientConfigHook::modifyConnectionManager() must return non-null instance."
+        );
+        clientBuilder.setConnectionManager(connectionManager);
 
-            // Define SSL Socket Factory instance.
-            .setSSLSocketFactory(httpsContextBuilder.createSslSocketFactory());
+        // Optionally evict idle connections in the background.
+        if (configuration.getIdleConnectionEvictionInSeconds() > 0) {
+            clientBuilder
+                .evictExpiredConnections()
+                .evictIdleConnections(configuration.getIdleConnectionEvictionInSeconds(), TimeUnit.SECONDS);
+        }
 
         // Define our RequestConfigBuilder
         RequestConfig.Builder requestConfigBuilder = Objects.requireNonNull(
@@ -146,7 +235,10 @@ public class HttpClientRestClient implements RestClient {
             "HttpClientConfigHook::createRequestConfigBuilder() must return non-null instance."
         );
 
-        requestConfigBuilder.setConnectTimeout(configuration.getRequestTimeoutInSeconds() * 1_000);
+        requestConfigBuilder
+            .setConnectTimeout(configuration.getRequestTimeoutInSeconds() * 1_000)
+            .setSocketTimeout(configuration.getSocketTimeoutInSeconds() * 1_000)
+            .setConnectionRequestTimeout(configuration.getConnectionRequestTimeoutInSeconds() * 1_000);
 
         // Define our Credentials Provider
         credsProvider = Objects.requireNonNull(
@@ -189,25 +281,28 @@ public class HttpClientRestClient implements RestClient {
 
         // If BasicAuth credentials are configured.
         if (configuration.getBasicAuthUsername() != null) {
-            try {
-                // parse ApiHost for Hostname and port.
-                final URL apiUrl = new URL(configuration.getApiHost());
-
-                // Add Kafka-Connect credentials
-                credsProvider.setCredentials(
-                    new AuthScope(apiUrl.getHost(), apiUrl.getPort()),
-                    new UsernamePasswordCredentials(
-                        configuration.getBasicAuthUsername(),
-                        configuration.getBasicAuthPassword()
-                    )
-                );
-
-                // Preemptive load context with authentication.
-                authCache.put(
-                    new HttpHost(apiUrl.getHost(), apiUrl.getPort(), apiUrl.getProtocol()), new BasicScheme()
-                );
-            } catch (final MalformedURLException exception) {
-                throw new RuntimeException(exception.getMessage(), exception);
+            // Every worker accepts the same credentials.
+            for (final String apiHost : configuration.getApiHosts()) {
+                try {
+                    // parse ApiHost for Hostname and port.
+                    final URL apiUrl = new URL(apiHost);
+
+                    // Add Kafka-Connect credentials
+                    credsProvider.setCredentials(
+                        new AuthScope(apiUrl.getHost(), apiUrl.getPort()),
+                        new UsernamePasswordCredentials(
+                            configuration.getBasicAuthUsername(),
+                            configuration.getBasicAuthPassword()
+                        )
+                    );
+
+                    // Preemptive load context with authentication.
+                    authCache.put(
+                        new HttpHost(apiUrl.getHost(), apiUrl.getPort(), apiUrl.getProtocol()), new BasicScheme()
+                    );
+                } catch (final MalformedURLException exception) {
+                    throw new RuntimeException(exception.getMessage(), exception);
+                }
             }
         }
 
@@ -229,7 +324,12 @@ public class HttpClientRestClient implements RestClient {
         clientBuilder.setDefaultCredentialsProvider(credsProvider);
 
         // Attach default request config
-        clientBuilder.setDefaultRequestConfig(requestConfigBuilder.build());
+        defaultRequestConfig = requestConfigBuilder.build();
+        clientBuilder.setDefaultRequestConfig(defaultRequestConfig);
+
+        // Compression is negotiated explicitly, and responses decompressed by ByteCountingResponseHandler,
+        // so both compressed and decompressed sizes can be measured.
+        clientBuilder.disableContentCompression();
 
         // build http client
         clientBuilder = Objects.requireNonNull(
@@ -237,11 +337,41 @@ public class HttpClientRestClient implements RestClient {
             "HttpClientConfigHook::modifyHttpClientBuilder() must return non-null instance."
         );
         httpClient = clientBuilder.build();
-        
+
+        // Scheduler thread is only started once a request with a deadline is submitted.
+        deadlineScheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+            final Thread thread = new Thread(runnable, "kafka-connect-client-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlineScheduler.setRemoveOnCancelPolicy(true);
+
+        // A request to any single worker may use at most the per route limit.
+        connectionPermits = new Semaphore(
+            Math.min(configuration.getConnectionPoolMaxPerRoute(), configuration.getConnectionPoolMaxTotal()),
+            true
+        );
+
+        // Take unresponsive workers out of rotation, and bring them back once they recover.
+        workerPool = new WorkerPool(configuration.getApiHosts());
+        if (workerPool.getWorkers().size() > 1) {
+            healthCheckScheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+                final Thread thread = new Thread(runnable, "kafka-connect-client-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final int interval = configuration.getWorkerHealthCheckIntervalInSeconds();
+            healthCheckScheduler.scheduleWithFixedDelay(this::checkWorkerHealth, interval, interval, TimeUnit.SECONDS);
+        }
     }
 
     @Override
     public void close() {
+        if (healthCheckScheduler != null) {
+            healthCheckScheduler.shutdownNow();
+        }
+        healthCheckScheduler = null;
+
         if (httpClient != null) {
             try {
                 httpClient.close();
@@ -250,6 +380,38 @@ public class HttpClientRestClient implements RestClient {
             }
         }
         httpClient = null;
+        connectionManager = null;
+
+        if (deadlineScheduler != null) {
+            deadlineScheduler.shutdownNow();
+        }
+        deadlineScheduler = null;
+    }
+
+    /**
+     * Snapshot of the underlying connection pool's current usage, useful for sizing the pool limits
+     * defined in {@link Configuration}.
+     * @return Connection pool statistics.
+     * @throws IllegalStateException if called before init() or after close().
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        if (connectionManager == null) {
+            throw new IllegalStateException("RestClient has not been initialized.");
+        }
+        final PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    /**
+     * The Kafka-Connect workers requests are sent to, along with their current health and load.
+     * @return Worker pool.
+     * @throws IllegalStateException if called before init().
+     */
+    public WorkerPool getWorkerPool() {
+        if (workerPool == null) {
+            throw new IllegalStateException("RestClient has not been initialized.");
+        }
+        return workerPool;
     }
 
     /**
@@ -269,19 +431,187 @@ public class HttpClientRestClient implements RestClient {
      */
     @Override
     public RestResponse submitRequest(final Request request) throws RestException {
-        final String url = constructApiUrl(request.getApiEndpoint());
-        final ResponseHandler<RestResponse> responseHandler = new RestResponseHandler();
+        return submitRequest(request, new RestResponseHandler());
+    }
+
+    /**
+     * Make a request against the Kafka-Connect API, parsing a successful response body straight from the response stream.
+     * @param request The request to submit.
+     * @return The response.
+     * @throws RestException if something goes wrong.
+     */
+    @Override
+    public RestResponse submitRequestAndParseResponse(final Request request) throws RestException {
+        return submitRequest(request, new RestResponseHandler(request));
+    }
+
+    /**
+     * Make a request against the Kafka-Connect API, recording the exchange.
+     * @param request The request to submit.
+     * @param restResponseHandler Handler to read the response with.
+     * @return The response.
+     */
+    private RestResponse submitRequest(final Request request, final RestResponseHandler restResponseHandler) {
+        final ByteCountingResponseHandler<RestResponse> responseHandler = new ByteCountingResponseHandler<>(restResponseHandler);
+        final RequestMetricsListener metricsListener = configuration.getRequestMetricsListener();
+        final long startNanos = System.nanoTime();
+
+        try {
+            final RestResponse restResponse = submitToWorkers(request, responseHandler);
+            metricsListener.onHttpExchange(request, restResponse.getHttpCode(), responseHandler.getResponseBytes(), System.nanoTime() - startNanos);
+            onHttpTransfer(metricsListener, request, responseHandler);
+            return restResponse;
+        } catch (final RuntimeException exception) {
+            // A response was received, but could not be handled.
+            if (responseHandler.getHttpStatus() != 0) {
+                metricsListener.onHttpExchange(request, responseHandler.getHttpStatus(), responseHandler.getResponseBytes(), System.nanoTime() - startNanos);
+                onHttpTransfer(metricsListener, request, responseHandler);
+            } else {
+                metricsListener.onHttpFailure(request, exception, System.nanoTime() - startNanos);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Notify the metrics listener of the compressed and uncompressed body sizes of an exchange.
+     * @param metricsListener Listener to notify.
+     * @param request The request that was submitted.
+     * @param responseHandler Handler which recorded the exchange.
+     */
+    private static void onHttpTransfer(
+        final RequestMetricsListener metricsListener,
+        final Request request,
+        final ByteCountingResponseHandler<RestResponse> responseHandler
+    ) {
+        metricsListener.onHttpTransfer(
+            request,
+            responseHandler.getRequestBytes(),
+            responseHandler.getRequestWireBytes(),
+            responseHandler.getResponseBytes(),
+            responseHandler.getResponseWireBytes()
+        );
+    }
+
+    /**
+     * Submit the request to the preferred worker, failing over to the next worker if it cannot be connected to.
+     * @param request The request to submit.
+     * @param responseHandler The response Handler to use to parse the response
+     * @return The response.
+     */
+    private RestResponse submitToWorkers(final Request request, final ByteCountingResponseHandler<RestResponse> responseHandler) {
+        final LeaderResolver leaderResolver = configuration.getLeaderResolver();
+        final String leaderHost = leaderResolver == null ? null : leaderResolver.getLeaderHost();
+        final List<WorkerPool.Worker> workers = request.getRequestMethod() == RequestMethod.GET
+            ? workerPool.selectForRead()
+            : workerPool.selectForWrite(leaderHost);
+
+        ConnectionException connectFailure = null;
+        for (final WorkerPool.Worker worker : workers) {
+            worker.onRequestStart();
+            try {
+                return dispatchRequest(request, constructApiUrl(worker.getHost(), request.getApiEndpoint()), responseHandler);
+            } catch (final ConnectionException exception) {
+                // The request may have reached the worker, so only fail over if the connection was never established.
+                if (!isConnectFailure(exception)) {
+                    throw exception;
+                }
+                logger.warn("Unable to connect to Kafka-Connect worker {}: {}", worker.getHost(), exception.getMessage());
+                workerPool.onConnectFailure(worker);
+                if (leaderResolver != null && worker.getHost().equals(leaderHost)) {
+                    leaderResolver.onLeaderUnavailable(leaderHost);
+                }
+                connectFailure = exception;
+            } finally {
+                worker.onRequestEnd();
+            }
+        }
+        throw connectFailure;
+    }
+
+    /**
+     * Determine if an exception was caused by failing to establish a connection.
+     * @param exception The exception to inspect.
+     * @return true if the connection was never established.
+     */
+    private static boolean isConnectFailure(final ConnectionException exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Probe each worker, taking those which do not respond out of rotation.
+     */
+    private void checkWorkerHealth() {
+        for (final WorkerPool.Worker worker : workerPool.getWorkers()) {
+            final boolean healthy = isWorkerHealthy(worker);
+            if (healthy != worker.isHealthy()) {
+                logger.info("Kafka-Connect worker {} is now {}", worker.getHost(), healthy ? "healthy" : "unhealthy");
+            }
+            worker.setHealthy(healthy);
+        }
+    }
+
+    /**
+     * Probe a worker with a request to "/", bounded by the health check interval.
+     * @param worker The worker to probe.
+     * @return true if the worker responded without a server error.
+     */
+    private boolean isWorkerHealthy(final WorkerPool.Worker worker) {
+        final int timeoutInMillis = configuration.getWorkerHealthCheckIntervalInSeconds() * 1_000;
+        final HttpGet get = new HttpGet(constructApiUrl(worker.getHost(), "/"));
+        DEFAULT_HEADERS.forEach(get::addHeader);
+        get.setConfig(RequestConfig.copy(defaultRequestConfig)
+            .setConnectTimeout(boundTimeout(defaultRequestConfig.getConnectTimeout(), timeoutInMillis))
+            .setSocketTimeout(boundTimeout(defaultRequestConfig.getSocketTimeout(), timeoutInMillis))
+            .setConnectionRequestTimeout(boundTimeout(defaultRequestConfig.getConnectionRequestTimeout(), timeoutInMillis))
+            .build()
+        );
 
+        final boolean permitAcquired;
+        try {
+            permitAcquired = acquireConnectionPermit(get.getConfig().getConnectionRequestTimeout());
+        } catch (final RuntimeException exception) {
+            logger.debug("Health check of Kafka-Connect worker {} failed: {}", worker.getHost(), exception.getMessage());
+            return false;
+        }
+
+        try {
+            final int statusCode = httpClient.execute(get, (response) -> response.getStatusLine().getStatusCode(), createHttpClientContext());
+            return statusCode < 500;
+        } catch (final IOException | RuntimeException exception) {
+            logger.debug("Health check of Kafka-Connect worker {} failed: {}", worker.getHost(), exception.getMessage());
+            return false;
+        } finally {
+            if (permitAcquired) {
+                connectionPermits.release();
+            }
+        }
+    }
+
+    /**
+     * Submit the request using the appropriate http method.
+     * @param request The request to submit.
+     * @param url Url to submit the request to.
+     * @param responseHandler The response Handler to use to parse the response
+     * @return The response.
+     */
+    private RestResponse dispatchRequest(final Request request, final String url, final ByteCountingResponseHandler<RestResponse> responseHandler) {
+        final int deadlineInSeconds = configuration.getRequestDeadlineInSeconds(request);
         try {
             switch (request.getRequestMethod()) {
                 case GET:
-                    return submitGetRequest(url, Collections.emptyMap(), responseHandler);
+                    return submitGetRequest(url, Collections.emptyMap(), deadlineInSeconds, responseHandler);
                 case POST:
-                    return submitPostRequest(url, request.getRequestBody(), responseHandler);
+                    return submitPostRequest(url, request.getRequestBody(), deadlineInSeconds, responseHandler);
                 case PUT:
-                    return submitPutRequest(url, request.getRequestBody(), responseHandler);
+                    return submitPutRequest(url, request.getRequestBody(), deadlineInSeconds, responseHandler);
                 case DELETE:
-                    return submitDeleteRequest(url, request.getRequestBody(), responseHandler);
+                    return submitDeleteRequest(url, request.getRequestBody(), deadlineInSeconds, responseHandler);
                 default:
                     throw new IllegalArgumentException("Unknown Request Method: " + request.getRequestMethod());
             }
@@ -294,11 +624,17 @@ public class HttpClientRestClient implements RestClient {
      * Internal GET method.
      * @param url Url to GET to.
      * @param getParams GET parameters to include in the request
+     * @param deadlineInSeconds Deadline for the request in seconds, or 0 for no deadline.
      * @param responseHandler The response Handler to use to parse the response
      * @param <T> The type that ResponseHandler returns.
      * @return Parsed response.
      */
-    private <T> T submitGetRequest(final String url, final Map<String, String> getParams, final ResponseHandler<T> responseHandler) throws IOException {
+    private <T> T submitGetRequest(
+        final String url,
+        final Map<String, String> getParams,
+        final int deadlineInSeconds,
+        final ResponseHandler<T> responseHandler
+    ) throws IOException {
         try {
             // Construct URI including our request parameters.
             final URIBuilder uriBuilder = new URIBuilder(url)
@@ -318,7 +654,7 @@ public class HttpClientRestClient implements RestClient {
             logger.debug("Executing request {}", get.getRequestLine());
 
             // Execute and return
-            return execute(get, responseHandler);
+            return execute(get, deadlineInSeconds, responseHandler);
         } catch (final ClientProtocolException | SocketException | URISyntaxException | SSLHandshakeException connectionException) {
             // Typically this is a connection or certificate issue.
             throw new ConnectionException(connectionException.getMessage(), connectionException);
@@ -332,11 +668,17 @@ public class HttpClientRestClient implements RestClient {
      * Internal POST method.
      * @param url Url to POST to.
      * @param requestBody POST entity include in the request body
+     * @param deadlineInSeconds Deadline for the request in seconds, or 0 for no deadline.
      * @param responseHandler The response Handler to use to parse the response
      * @param <T> The type that ResponseHandler returns.
      * @return Parsed response.
      */
-    private <T> T submitPostRequest(final String url, final Object requestBody, final ResponseHandler<T> responseHandler) throws IOException {
+    private <T> T submitPostRequest(
+        final String url,
+        final Object requestBody,
+        final int deadlineInSeconds,
+        final ByteCountingResponseHandler<T> responseHandler
+    ) throws IOException {
         try {
             final HttpPost post = new HttpPost(url);
 
@@ -344,14 +686,14 @@ public class HttpClientRestClient implements RestClient {
             DEFAULT_HEADERS.forEach(post::addHeader);
 
             // Convert to Json
-            final String jsonPayloadStr = JacksonFactory.newInstance().writeValueAsString(requestBody);
+            final String jsonPayloadStr = JacksonFactory.writeValueAsString(requestBody);
             
-            post.setEntity(new StringEntity(jsonPayloadStr, configuration.getEncoding()));
+            post.setEntity(createRequestEntity(jsonPayloadStr, responseHandler));
 
             logger.debug("Executing request {} with {}", post.getRequestLine(), jsonPayloadStr);
 
             // Execute and return
-            return execute(post, responseHandler);
+            return execute(post, deadlineInSeconds, responseHandler);
         } catch (final ClientProtocolException | SocketException | SSLHandshakeException connectionException) {
             // Typically this is a connection issue.
             throw new ConnectionException(connectionException.getMessage(), connectionException);
@@ -365,11 +707,17 @@ public class HttpClientRestClient implements RestClient {
      * Internal PUT method.
      * @param url Url to POST to.
      * @param requestBody POST entity include in the request body
+     * @param deadlineInSeconds Deadline for the request in seconds, or 0 for no deadline.
      * @param responseHandler The response Handler to use to parse the response
      * @param <T> The type that ResponseHandler returns.
      * @return Parsed response.
      */
-    private <T> T submitPutRequest(final String url, final Object requestBody, final ResponseHandler<T> responseHandler) throws IOException {
+    private <T> T submitPutRequest(
+        final String url,
+        final Object requestBody,
+        final int deadlineInSeconds,
+        final ByteCountingResponseHandler<T> responseHandler
+    ) throws IOException {
         try {
             final HttpPut put = new HttpPut(url);
 
@@ -377,13 +725,13 @@ public class HttpClientRestClient implements RestClient {
             DEFAULT_HEADERS.forEach(put::addHeader);
 
             // Convert to Json and submit as payload.
-            final String jsonPayloadStr = JacksonFactory.newInstance().writeValueAsString(requestBody);
-            put.setEntity(new StringEntity(jsonPayloadStr, configuration.getEncoding()));
+            final String jsonPayloadStr = JacksonFactory.writeValueAsString(requestBody);
+            put.setEntity(createRequestEntity(jsonPayloadStr, responseHandler));
 
             logger.debug("Executing request {} with {}", put.getRequestLine(), jsonPayloadStr);
 
             // Execute and return
-            return execute(put, responseHandler);
+            return execute(put, deadlineInSeconds, responseHandler);
         } catch (final ClientProtocolException | SocketException | SSLHandshakeException connectionException) {
             // Typically this is a connection issue.
             throw new ConnectionException(connectionException.getMessage(), connectionException);
@@ -397,11 +745,17 @@ public class HttpClientRestClient implements RestClient {
      * Internal DELETE method.
      * @param url Url to DELETE to.
      * @param requestBody POST entity include in the request body
+     * @param deadlineInSeconds Deadline for the request in seconds, or 0 for no deadline.
      * @param responseHandler The response Handler to use to parse the response
      * @param <T> The type that ResponseHandler returns.
      * @return Parsed response.
      */
-    private <T> T submitDeleteRequest(final String url, final Object requestBody, final ResponseHandler<T> responseHandler) throws IOException {
+    private <T> T submitDeleteRequest(
+        final String url,
+        final Object requestBody,
+        final int deadlineInSeconds,
+        final ResponseHandler<T> responseHandler
+    ) throws IOException {
         try {
             final HttpDelete delete = new HttpDelete(url);
 
@@ -409,12 +763,12 @@ public class HttpClientRestClient implements RestClient {
             DEFAULT_HEADERS.forEach(delete::addHeader);
 
             // Convert to Json
-            final String jsonPayloadStr = JacksonFactory.newInstance().writeValueAsString(requestBody);
+            final String jsonPayloadStr = JacksonFactory.writeValueAsString(requestBody);
 
             logger.debug("Executing request {} with {}", delete.getRequestLine(), jsonPayloadStr);
 
             // Execute and return
-            return execute(delete, responseHandler);
+            return execute(delete, deadlineInSeconds, responseHandler);
         } catch (final ClientProtocolException | SocketException | SSLHandshakeException connectionException) {
             // Typically this is a connection issue.
             throw new ConnectionException(connectionException.getMessage(), connectionException);
@@ -425,24 +779,161 @@ public class HttpClientRestClient implements RestClient {
     }
 
     /**
-     * Creates an HttpClientContext and executes the HTTP request.
+     * Create the entity for a request body, gzip compressing it if it is at least the configured threshold in size.
+     * @param jsonPayloadStr Request body.
+     * @param responseHandler Handler to record the size of the request body with.
+     * @return Entity to send.
+     */
+    private HttpEntity createRequestEntity(final String jsonPayloadStr, final ByteCountingResponseHandler<?> responseHandler) throws IOException {
+        final Charset charset = configuration.getEncoding() == null
+            ? StandardCharsets.ISO_8859_1
+            : Charset.forName(configuration.getEncoding());
+        final byte[] payload = jsonPayloadStr.getBytes(charset);
+        final ContentType contentType = ContentType.create("application/json", charset);
+
+        final int threshold = configuration.getRequestCompressionThresholdInBytes();
+        if (threshold <= 0 || payload.length < threshold) {
+            responseHandler.recordRequestBody(payload.length, payload.length);
+            return new ByteArrayEntity(payload, contentType);
+        }
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4);
+        try (final GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(payload);
+        }
+        final ByteArrayEntity entity = new ByteArrayEntity(compressed.toByteArray(), contentType);
+        entity.setContentEncoding("gzip");
+        responseHandler.recordRequestBody(payload.length, entity.getContentLength());
+        return entity;
+    }
+
+    /**
+     * Executes the HTTP request, first waiting for a connection permit when virtual threads are in use.
      *
      * @param request The request to execute
+     * @param deadlineInSeconds Deadline for the request in seconds, or 0 for no deadline.
      * @param responseHandler The response Handler to use to parse the response
      * @param <T> The type that ResponseHandler returns.
      * @return Parsed response.
      */
-    private <T> T execute(final HttpUriRequest request, final ResponseHandler<T> responseHandler) throws IOException {
-        return httpClient.execute(request, responseHandler, createHttpClientContext());
+    private <T> T execute(final HttpRequestBase request, final int deadlineInSeconds, final ResponseHandler<T> responseHandler) throws IOException {
+        final int connectionRequestTimeoutInMillis = deadlineInSeconds > 0
+            ? boundTimeout(defaultRequestConfig.getConnectionRequestTimeout(), deadlineInSeconds * 1_000)
+            : defaultRequestConfig.getConnectionRequestTimeout();
+        final boolean permitAcquired = acquireConnectionPermit(connectionRequestTimeoutInMillis);
+        try {
+            return executeWithDeadline(request, deadlineInSeconds, responseHandler);
+        } finally {
+            if (permitAcquired) {
+                connectionPermits.release();
+            }
+        }
+    }
+
+    /**
+     * When virtual threads are in use, wait for a permit to use the connection pool.  Unlike waiting within the pool,
+     * waiting on the Semaphore does not pin a virtual thread to its carrier thread.
+     * @param timeoutInMillis How long to wait, where 0 or less means no timeout.
+     * @return true if a permit was acquired and must be released, false if virtual threads are not in use.
+     * @throws RequestTimeoutException if no permit became available in time, or the thread was interrupted.
+     */
+    private boolean acquireConnectionPermit(final int timeoutInMillis) {
+        if (!configuration.isVirtualThreadsEnabled() && !VirtualThreads.isVirtual(Thread.currentThread())) {
+            return false;
+        }
+        try {
+            if (timeoutInMillis <= 0) {
+                connectionPermits.acquire();
+                return true;
+            }
+            if (connectionPermits.tryAcquire(timeoutInMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RequestTimeoutException("Interrupted waiting for connection from pool", exception);
+        }
+        throw new RequestTimeoutException("Timeout waiting for connection from pool", null);
+    }
+
+    /**
+     * Executes the HTTP request, aborting it if it exceeds its deadline.
+     *
+     * @param request The request to execute
+     * @param deadlineInSeconds Deadline for the request in seconds, or 0 for no deadline.
+     * @param responseHandler The response Handler to use to parse the response
+     * @param <T> The type that ResponseHandler returns.
+     * @return Parsed response.
+     */
+    private <T> T executeWithDeadline(
+        final HttpRequestBase request,
+        final int deadlineInSeconds,
+        final ResponseHandler<T> responseHandler
+    ) throws IOException {
+        if (configuration.isResponseCompressionEnabled()) {
+            request.addHeader(ACCEPT_ENCODING_HEADER);
+        }
+
+        // No request specific deadline
+        if (deadlineInSeconds <= 0) {
+            try {
+                return httpClient.execute(request, responseHandler, createHttpClientContext());
+            } catch (final InterruptedIOException timeoutException) {
+                throw new RequestTimeoutException(timeoutException.getMessage(), timeoutException);
+            }
+        }
+
+        // Never wait on the socket or pool longer than the deadline itself.
+        final int deadlineInMillis = deadlineInSeconds * 1_000;
+        request.setConfig(RequestConfig.copy(defaultRequestConfig)
+            .setSocketTimeout(boundTimeout(defaultRequestConfig.getSocketTimeout(), deadlineInMillis))
+            .setConnectionRequestTimeout(boundTimeout(defaultRequestConfig.getConnectionRequestTimeout(), deadlineInMillis))
+            .build()
+        );
+
+        // Abort the request if it is still running once the deadline passes.
+        final AtomicBoolean deadlineExceeded = new AtomicBoolean(false);
+        final ScheduledFuture<?> abortTask = deadlineScheduler.schedule(() -> {
+            deadlineExceeded.set(true);
+            request.abort();
+        }, deadlineInSeconds, TimeUnit.SECONDS);
+
+        try {
+            return httpClient.execute(request, responseHandler, createHttpClientContext());
+        } catch (final IOException exception) {
+            if (deadlineExceeded.get() || exception instanceof InterruptedIOException) {
+                throw new RequestTimeoutException(
+                    "Request " + request.getRequestLine() + " exceeded deadline of " + deadlineInSeconds + " seconds",
+                    exception
+                );
+            }
+            throw exception;
+        } finally {
+            abortTask.cancel(false);
+        }
+    }
+
+    /**
+     * Bound a configured timeout to a deadline.
+     * @param configuredTimeoutInMillis configured timeout, where 0 or less means no timeout.
+     * @param deadlineInMillis deadline to bound to.
+     * @return the smaller of the two values.
+     */
+    private static int boundTimeout(final int configuredTimeoutInMillis, final int deadlineInMillis) {
+        if (configuredTimeoutInMillis <= 0) {
+            return deadlineInMillis;
+        }
+        return Math.min(configuredTimeoutInMillis, deadlineInMillis);
     }
 
     /**
      * Internal helper method for generating URLs w/ the appropriate API host and API version.
+     * @param apiHost The worker to send the request to.
      * @param endPoint The end point you want to hit.
      * @return Constructed URL for the end point.
      */
-    private String constructApiUrl(final String endPoint) {
-        return configuration.getApiHost() + endPoint;
+    private String constructApiUrl(final String apiHost, final String endPoint) {
+        return apiHost + endPoint;
     }
 
     /**
@@ -205,7 +205,7 @@ class HttpsContextBuilder {
      * Get allowed SSL Protocols.
      * @return allowed SslProtocols.
      */
-    private String[] getSslProtocols() {
+    String[] getSslProtocols() {
         return sslProtocols;
     }
 }
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+/**
+ * Identifies the current leader of the Kafka-Connect cluster, allowing write requests to be sent straight to it.
+ *
+ * Kafka-Connect workers forward requests which modify connectors to the leader, adding an extra http round trip
+ * which may fail while the cluster is rebalancing.  When a leader is known, write requests are sent directly to it,
+ * otherwise they are sent to any healthy worker as usual.
+ *
+ * The Kafka-Connect REST API does not expose which worker is the leader, so implementations must learn it from
+ * elsewhere, for example deployment tooling or the workers' own metrics.  See {@link SettableLeaderResolver}.
+ *
+ * Implementations must be thread safe.
+ */
+public interface LeaderResolver {
+
+    /**
+     * The URL of the current leader, which must match one of the configured worker hosts, for example "http://worker1:8083".
+     * @return URL of the leader, or null if the leader is unknown.
+     */
+    String getLeaderHost();
+
+    /**
+     * Called when the leader returned by {@link #getLeaderHost()} could not be connected to, so the request
+     * was sent to another worker instead.  Implementations may use this to forget a stale leader.
+     * @param leaderHost URL of the leader which could not be connected to.
+     */
+    default void onLeaderUnavailable(final String leaderHost) {
+    }
+}
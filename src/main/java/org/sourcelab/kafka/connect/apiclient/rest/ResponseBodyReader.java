@@ -0,0 +1,166 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a response body into a RestResponse, decompressing gzip and deflate encoded bodies, and recording both the
+ * number of bytes received and the number of decompressed bytes.
+ *
+ * Used by RestClient implementations which do not decode response bodies themselves.  Instances read a single
+ * response body.
+ */
+final class ResponseBodyReader {
+    private final CountingInputStream wireStream;
+    private final String contentEncoding;
+    private CountingInputStream decodedStream = null;
+
+    /**
+     * Constructor.
+     * @param responseStream The response body, as received.
+     * @param contentEncoding Value of the response's Content-Encoding header, or null if it has none.
+     */
+    ResponseBodyReader(final InputStream responseStream, final String contentEncoding) {
+        this.wireStream = new CountingInputStream(responseStream);
+        this.contentEncoding = contentEncoding == null ? "" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Read the response body.  When given the Request, successful responses are parsed straight from the response
+     * stream using it, others are returned in String format.
+     * @param request The request that was submitted, or null to return all response bodies in String format.
+     * @param statusCode The http status code of the response.
+     * @return The response.
+     * @throws IOException on errors reading from the stream.
+     */
+    RestResponse read(final Request<?> request, final int statusCode) throws IOException {
+        decodedStream = new CountingInputStream(decode());
+        if (request != null && statusCode >= 200 && statusCode < 300) {
+            return RestResponse.withParsedResponse(parse(request, decodedStream), statusCode);
+        }
+
+        final ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int bytesRead;
+        while ((bytesRead = decodedStream.read(buffer)) != -1) {
+            responseBytes.write(buffer, 0, bytesRead);
+        }
+        return new RestResponse(new String(responseBytes.toByteArray(), StandardCharsets.UTF_8), statusCode);
+    }
+
+    /**
+     * Number of response body bytes read, after decompression.
+     * @return number of bytes.
+     */
+    long getResponseBytes() {
+        return decodedStream == null ? 0 : decodedStream.getCount();
+    }
+
+    /**
+     * Number of response body bytes received, prior to decompression.
+     * @return number of bytes.
+     */
+    long getResponseWireBytes() {
+        return wireStream.getCount();
+    }
+
+    /**
+     * Wrap the response body to decompress it, if it has a supported content encoding.
+     * @return Decompressed response body.
+     * @throws IOException on errors reading a gzip header.
+     */
+    private InputStream decode() throws IOException {
+        if ("gzip".equals(contentEncoding) || "x-gzip".equals(contentEncoding)) {
+            return new GZIPInputStream(wireStream);
+        }
+        if ("deflate".equals(contentEncoding)) {
+            return new InflaterInputStream(wireStream);
+        }
+        return wireStream;
+    }
+
+    /**
+     * Parse the response stream using the Request.
+     * @param request The request that was submitted.
+     * @param responseStream The response body.
+     * @return Parsed result.
+     * @throws IOException on errors reading from the stream.
+     */
+    private static Object parse(final Request<?> request, final InputStream responseStream) throws IOException {
+        try {
+            return request.parseResponse(responseStream);
+        } catch (final MismatchedInputException exception) {
+            throw new ResponseParseException(exception.getMessage(), exception);
+        } catch (final JsonProcessingException exception) {
+            throw new RuntimeException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Counts bytes as they are read from the wrapped stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        private CountingInputStream(final InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value != -1) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int bytesRead = super.read(buffer, offset, length);
+            if (bytesRead > 0) {
+                count += bytesRead;
+            }
+            return bytesRead;
+        }
+
+        @Override
+        public long skip(final long bytes) throws IOException {
+            final long bytesSkipped = super.skip(bytes);
+            count += bytesSkipped;
+            return bytesSkipped;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
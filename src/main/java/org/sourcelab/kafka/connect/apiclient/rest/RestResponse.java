@@ -22,6 +22,8 @@ package org.sourcelab.kafka.connect.apiclient.rest;
  */
 public final class RestResponse {
     private final String responseStr;
+    private final Object parsedResponse;
+    private final boolean hasParsedResponse;
     private final int httpCode;
 
     /**
@@ -30,14 +32,46 @@ public final class RestResponse {
      * @param httpCode The http status code from the response.
      */
     public RestResponse(final String responseStr, final int httpCode) {
+        this(responseStr, null, false, httpCode);
+    }
+
+    private RestResponse(final String responseStr, final Object parsedResponse, final boolean hasParsedResponse, final int httpCode) {
         this.responseStr = responseStr;
+        this.parsedResponse = parsedResponse;
+        this.hasParsedResponse = hasParsedResponse;
         this.httpCode = httpCode;
     }
 
+    /**
+     * Factory method for responses whose body was parsed directly from the response stream.
+     * @param parsedResponse The result of parsing the http response body.
+     * @param httpCode The http status code from the response.
+     * @return RestResponse instance.
+     */
+    public static RestResponse withParsedResponse(final Object parsedResponse, final int httpCode) {
+        return new RestResponse(null, parsedResponse, true, httpCode);
+    }
+
+    /**
+     * The http response body, in string format.
+     * @return The response body, or null if no body was returned or it was parsed directly from the response stream.
+     */
     public String getResponseStr() {
         return responseStr;
     }
 
+    /**
+     * Whether the response body was parsed directly from the response stream.
+     * @return true if {@link #getParsedResponse()} holds the parsed result.
+     */
+    public boolean hasParsedResponse() {
+        return hasParsedResponse;
+    }
+
+    public Object getParsedResponse() {
+        return parsedResponse;
+    }
+
     public int getHttpCode() {
         return httpCode;
     }
@@ -46,6 +80,7 @@ public final class RestResponse {
     public String toString() {
         return "RestResponse{"
             + "responseStr='" + responseStr + '\''
+            + (hasParsedResponse ? ", parsedResponse=" + parsedResponse : "")
             + ", httpCode=" + httpCode
             + '}';
     }
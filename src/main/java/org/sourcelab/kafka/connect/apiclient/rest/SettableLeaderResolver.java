@@ -0,0 +1,70 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LeaderResolver whose leader is set by the application, for example after a rebalance is observed.
+ *
+ * The leader is forgotten if it cannot be connected to, until it is set again.
+ */
+public final class SettableLeaderResolver implements LeaderResolver {
+    private final AtomicReference<String> leaderHost;
+
+    /**
+     * Constructor, with the leader initially unknown.
+     */
+    public SettableLeaderResolver() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     * @param leaderHost URL of the current leader, or null if unknown.
+     */
+    public SettableLeaderResolver(final String leaderHost) {
+        this.leaderHost = new AtomicReference<>(leaderHost);
+    }
+
+    /**
+     * Update the current leader.
+     * @param leaderHost URL of the current leader, or null if unknown.
+     */
+    public void setLeaderHost(final String leaderHost) {
+        this.leaderHost.set(leaderHost);
+    }
+
+    @Override
+    public String getLeaderHost() {
+        return leaderHost.get();
+    }
+
+    @Override
+    public void onLeaderUnavailable(final String unavailableHost) {
+        // Only forget the leader if it has not been updated in the meantime.
+        leaderHost.compareAndSet(unavailableHost, null);
+    }
+
+    @Override
+    public String toString() {
+        return "SettableLeaderResolver{"
+            + "leaderHost='" + leaderHost.get() + '\''
+            + '}';
+    }
+}
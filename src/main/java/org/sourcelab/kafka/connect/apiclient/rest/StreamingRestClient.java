@@ -0,0 +1,40 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+
+/**
+ * RestClient which can parse successful response bodies straight from the response stream, rather than first
+ * reading them into a String.
+ *
+ * KafkaConnectClient and AsyncKafkaConnectClient submit requests via {@link #submitRequestAndParseResponse(Request)}
+ * when their RestClient implements this interface.  {@link RestClient#submitRequest(Request)} continues to return
+ * every response body in String format.
+ */
+public interface StreamingRestClient extends RestClient {
+    /**
+     * Make a request against the Kafka-Connect API, parsing a successful response body using the Request straight
+     * from the response stream.
+     * @param request The request to submit.
+     * @return The response.  For successful responses with a body, the parsed result is available via
+     *         {@link RestResponse#getParsedResponse()} and {@link RestResponse#getResponseStr()} returns null.
+     * @throws RestException When something goes wrong in an underlying implementation.
+     */
+    RestResponse submitRequestAndParseResponse(final Request request) throws RestException;
+}
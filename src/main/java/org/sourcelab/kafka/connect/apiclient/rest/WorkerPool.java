@@ -0,0 +1,212 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the health and load of each Kafka-Connect worker, and selects which worker(s) a request is sent to.
+ *
+ * Every worker in a Kafka-Connect cluster serves the full REST API, forwarding requests to the leader when required.
+ * Read requests are sent to the healthy worker with the fewest outstanding requests, ties broken round-robin, so that
+ * a single slow worker does not become a bottleneck.  Write requests are sent to the first healthy worker in configured
+ * order, so that successive writes from one client are applied via the same worker, unless the leader is known
+ * in which case writes are sent directly to it.
+ *
+ * Selection returns every worker in order of preference, allowing callers to fail over to the next worker if one
+ * cannot be connected to.  Unhealthy workers are returned last, so requests are still attempted if every worker is unhealthy.
+ */
+public final class WorkerPool {
+    private final List<Worker> workers;
+    private final AtomicInteger nextReadIndex = new AtomicInteger(0);
+
+    /**
+     * Constructor.
+     * @param hosts URL of each worker, for example "http://localhost:8083".
+     */
+    public WorkerPool(final Collection<String> hosts) {
+        final List<Worker> workerList = new ArrayList<>();
+        for (final String host : hosts) {
+            workerList.add(new Worker(host));
+        }
+        if (workerList.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker must be provided.");
+        }
+        this.workers = Collections.unmodifiableList(workerList);
+    }
+
+    public List<Worker> getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Select workers for a read request.
+     * @return Every worker, in order of preference.
+     */
+    public List<Worker> selectForRead() {
+        if (workers.size() == 1) {
+            return workers;
+        }
+
+        // Rotate the starting point, so ties are broken round-robin.
+        final int start = Math.floorMod(nextReadIndex.getAndIncrement(), workers.size());
+        final List<Worker> selected = new ArrayList<>(workers.size());
+        for (int offset = 0; offset < workers.size(); offset++) {
+            selected.add(workers.get((start + offset) % workers.size()));
+        }
+
+        // Prefer the least loaded healthy worker, keeping the remaining workers in rotated order.
+        Worker preferred = null;
+        for (final Worker worker : selected) {
+            if (worker.isHealthy() && (preferred == null || worker.getOutstandingRequests() < preferred.getOutstandingRequests())) {
+                preferred = worker;
+            }
+        }
+        if (preferred != null) {
+            selected.remove(preferred);
+            selected.add(0, preferred);
+        }
+        return healthyFirst(selected);
+    }
+
+    /**
+     * Select workers for a write request.
+     * @return Every worker, in order of preference.
+     */
+    public List<Worker> selectForWrite() {
+        return selectForWrite(null);
+    }
+
+    /**
+     * Select workers for a write request, preferring the leader when it is known and healthy.
+     * @param leaderHost URL of the leader, or null if unknown.
+     * @return Every worker, in order of preference.
+     */
+    public List<Worker> selectForWrite(final String leaderHost) {
+        if (workers.size() == 1) {
+            return workers;
+        }
+        final List<Worker> selected = healthyFirst(new ArrayList<>(workers));
+        if (leaderHost != null) {
+            for (final Worker worker : selected) {
+                if (worker.isHealthy() && worker.getHost().equals(leaderHost)) {
+                    selected.remove(worker);
+                    selected.add(0, worker);
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Record that a worker could not be connected to, taking it out of rotation until it passes a health check.
+     * A lone worker is never taken out of rotation.
+     * @param worker The worker which could not be connected to.
+     */
+    public void onConnectFailure(final Worker worker) {
+        if (workers.size() > 1) {
+            worker.setHealthy(false);
+        }
+    }
+
+    /**
+     * Stable sort placing healthy workers before unhealthy workers.
+     */
+    private static List<Worker> healthyFirst(final List<Worker> candidates) {
+        final List<Worker> ordered = new ArrayList<>(candidates.size());
+        for (final Worker worker : candidates) {
+            if (worker.isHealthy()) {
+                ordered.add(worker);
+            }
+        }
+        for (final Worker worker : candidates) {
+            if (!worker.isHealthy()) {
+                ordered.add(worker);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerPool{"
+            + "workers=" + workers
+            + '}';
+    }
+
+    /**
+     * State of a single Kafka-Connect worker.
+     */
+    public static final class Worker {
+        private final String host;
+        private final AtomicInteger outstandingRequests = new AtomicInteger(0);
+        private volatile boolean healthy = true;
+
+        private Worker(final String host) {
+            this.host = host;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public int getOutstandingRequests() {
+            return outstandingRequests.get();
+        }
+
+        /**
+         * Update the worker's health, typically following a health check.
+         * @param healthy true if the worker should be in rotation.
+         */
+        void setHealthy(final boolean healthy) {
+            this.healthy = healthy;
+        }
+
+        /**
+         * Record a request being sent to this worker.
+         */
+        void onRequestStart() {
+            outstandingRequests.incrementAndGet();
+        }
+
+        /**
+         * Record a request sent to this worker having completed.
+         */
+        void onRequestEnd() {
+            outstandingRequests.decrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            return "Worker{"
+                + "host='" + host + '\''
+                + ", healthy=" + healthy
+                + ", outstandingRequests=" + outstandingRequests
+                + '}';
+        }
+    }
+}
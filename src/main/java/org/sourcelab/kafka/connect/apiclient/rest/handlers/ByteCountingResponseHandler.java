@@ -0,0 +1,184 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest.handlers;
+
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorates a ResponseHandler, recording the http status code and the number of response body bytes
+ * the decorated handler read.
+ *
+ * Gzip and deflate encoded responses are decompressed as the decorated handler reads them, recording both the
+ * number of bytes received and the number of decompressed bytes.  The size of the request body may also be recorded,
+ * so the sizes of a complete exchange are available from a single instance.
+ *
+ * Instances track a single response, so a new instance should be created for each request.
+ */
+public final class ByteCountingResponseHandler<T> implements ResponseHandler<T> {
+    private final ResponseHandler<T> responseHandler;
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseWireBytes = new AtomicLong();
+    private int httpStatus = 0;
+    private long requestBytes = 0;
+    private long requestWireBytes = 0;
+
+    /**
+     * Constructor.
+     * @param responseHandler Handler to decorate.
+     */
+    public ByteCountingResponseHandler(final ResponseHandler<T> responseHandler) {
+        this.responseHandler = Objects.requireNonNull(responseHandler);
+    }
+
+    @Override
+    public T handleResponse(final HttpResponse response) throws IOException {
+        httpStatus = response.getStatusLine().getStatusCode();
+        final HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            final HttpEntity wireEntity = new CountingEntity(entity, responseWireBytes);
+            final HttpEntity decodedEntity = decode(wireEntity);
+            if (decodedEntity != wireEntity) {
+                response.removeHeaders("Content-Encoding");
+                response.removeHeaders("Content-Length");
+                response.removeHeaders("Content-MD5");
+            }
+            response.setEntity(new CountingEntity(decodedEntity, responseBytes));
+        }
+        return responseHandler.handleResponse(response);
+    }
+
+    /**
+     * Record the size of the request body sent with this exchange.
+     * @param requestBytes Size of the request body prior to compression.
+     * @param requestWireBytes Size of the request body as sent, after compression.
+     */
+    public void recordRequestBody(final long requestBytes, final long requestWireBytes) {
+        this.requestBytes = requestBytes;
+        this.requestWireBytes = requestWireBytes;
+    }
+
+    /**
+     * The http status code of the response.
+     * @return status code, or 0 if no response has been handled.
+     */
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * Number of response body bytes read by the decorated handler, after decompression.
+     * @return number of bytes.
+     */
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    /**
+     * Number of response body bytes received, prior to decompression.
+     * @return number of bytes.
+     */
+    public long getResponseWireBytes() {
+        return responseWireBytes.get();
+    }
+
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public long getRequestWireBytes() {
+        return requestWireBytes;
+    }
+
+    /**
+     * Wrap the entity to decompress its content, if it has a supported content encoding.
+     * @param entity Entity as received.
+     * @return Decompressing entity, or the original entity if it is not compressed.
+     */
+    private static HttpEntity decode(final HttpEntity entity) {
+        final Header contentEncoding = entity.getContentEncoding();
+        if (contentEncoding == null) {
+            return entity;
+        }
+        for (final HeaderElement element : contentEncoding.getElements()) {
+            final String encoding = element.getName().toLowerCase(Locale.ROOT);
+            if ("gzip".equals(encoding) || "x-gzip".equals(encoding)) {
+                return new GzipDecompressingEntity(entity);
+            }
+            if ("deflate".equals(encoding)) {
+                return new DeflateDecompressingEntity(entity);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Counts bytes as they are read from the wrapped entity's content.
+     */
+    private static final class CountingEntity extends HttpEntityWrapper {
+        private final AtomicLong counter;
+
+        private CountingEntity(final HttpEntity wrappedEntity, final AtomicLong counter) {
+            super(wrappedEntity);
+            this.counter = counter;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    final int value = super.read();
+                    if (value != -1) {
+                        counter.incrementAndGet();
+                    }
+                    return value;
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                    final int bytesRead = super.read(buffer, offset, length);
+                    if (bytesRead > 0) {
+                        counter.addAndGet(bytesRead);
+                    }
+                    return bytesRead;
+                }
+
+                @Override
+                public long skip(final long count) throws IOException {
+                    final long bytesSkipped = super.skip(count);
+                    counter.addAndGet(bytesSkipped);
+                    return bytesSkipped;
+                }
+            };
+        }
+    }
+}
@@ -17,39 +17,84 @@
 
 package org.sourcelab.kafka.connect.apiclient.rest.handlers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.util.EntityUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
 import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles parsing a response to RestResponse object.
+ *
+ * When constructed with the Request being executed, successful response bodies are parsed by the Request directly
+ * from the response stream.  Error responses are always returned in String format.
  */
 public final class RestResponseHandler implements ResponseHandler<RestResponse> {
-    private static final Logger logger = LoggerFactory.getLogger(RestResponseHandler.class);
+
+    /**
+     * Request being executed, or null to return all response bodies in String format.
+     */
+    private final Request<?> request;
+
+    /**
+     * Constructor.  All response bodies are returned in String format.
+     */
+    public RestResponseHandler() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     * @param request Request being executed, used to parse successful responses directly from the response stream.
+     */
+    public RestResponseHandler(final Request<?> request) {
+        this.request = request;
+    }
 
     @Override
-    public RestResponse handleResponse(final HttpResponse response) {
+    public RestResponse handleResponse(final HttpResponse response) throws IOException {
         final int statusCode = response.getStatusLine().getStatusCode();
+        final HttpEntity entity = response.getEntity();
 
         try {
-            final HttpEntity entity = response.getEntity();
+            // Parse successful responses straight from the response stream.
+            if (request != null && entity != null && statusCode >= 200 && statusCode < 300) {
+                try (final InputStream responseStream = entity.getContent()) {
+                    return RestResponse.withParsedResponse(parse(responseStream), statusCode);
+                }
+            }
+
+            // Otherwise read the response in String format.
             final String responseStr = entity != null ? EntityUtils.toString(entity) : null;
 
+            // Construct return object
+            return new RestResponse(responseStr, statusCode);
+        } finally {
             // Fully consume entity.
             EntityUtils.consume(entity);
+        }
+    }
 
-            // Construct return object
-            return new RestResponse(responseStr, statusCode);
-        } catch (final IOException exception) {
-            logger.error("Failed to read entity: {}", exception.getMessage(), exception);
-            // TODO throw exceptions
-            return null;
+    /**
+     * Parse the response stream using the Request.
+     * @param responseStream The response body.
+     * @return Parsed result.
+     * @throws IOException on errors reading from the stream.
+     */
+    private Object parse(final InputStream responseStream) throws IOException {
+        try {
+            return request.parseResponse(responseStream);
+        } catch (final MismatchedInputException exception) {
+            throw new ResponseParseException(exception.getMessage(), exception);
+        } catch (final JsonProcessingException exception) {
+            throw new RuntimeException(exception.getMessage(), exception);
         }
     }
 }
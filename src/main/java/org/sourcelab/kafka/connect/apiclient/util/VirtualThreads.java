@@ -0,0 +1,135 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates executors which run each task on a new virtual thread, when running on Java 21+.
+ *
+ * The library is compiled for Java 8, so the virtual thread API is looked up reflectively once, on first use.
+ * On older runtimes {@link #isAvailable()} returns false and callers should fall back to platform threads.
+ */
+public class VirtualThreads {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    /**
+     * Thread.ofVirtual(), or null if virtual threads are not supported by this runtime.
+     */
+    private static final Method OF_VIRTUAL;
+
+    /**
+     * Thread.Builder.name(String, long).
+     */
+    private static final Method BUILDER_NAME;
+
+    /**
+     * Thread.Builder.factory().
+     */
+    private static final Method BUILDER_FACTORY;
+
+    /**
+     * Executors.newThreadPerTaskExecutor(ThreadFactory).
+     */
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    /**
+     * Thread.isVirtual().
+     */
+    private static final Method IS_VIRTUAL;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        Method isVirtual = null;
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            isVirtual = Thread.class.getMethod("isVirtual");
+
+            // Virtual threads are a preview feature on Java 19 and 20, where calling ofVirtual() throws unless enabled.
+            ofVirtual.invoke(null);
+        } catch (final ReflectiveOperationException | LinkageError exception) {
+            logger.debug("Virtual threads are not available on this runtime: {}", exception.toString());
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    /**
+     * Whether the runtime supports virtual threads.
+     * @return true on Java 21+.
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Whether the given thread is a virtual thread.
+     * @param thread The thread to inspect.
+     * @return true if the thread is virtual, always false on runtimes which do not support virtual threads.
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (!isAvailable()) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (final ReflectiveOperationException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Create an executor which starts a new virtual thread for each task.
+     * Virtual threads are always daemon threads, and are named using the prefix followed by an incrementing number.
+     *
+     * @param namePrefix Prefix of thread names.
+     * @return Executor which should be shutdown once no longer needed.
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String namePrefix) {
+        Objects.requireNonNull(namePrefix);
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer.");
+        }
+        try {
+            final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 1L);
+            final ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (final ReflectiveOperationException exception) {
+            throw new UnsupportedOperationException("Unable to create virtual thread executor: " + exception.getMessage(), exception);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.watcher;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A single change to the Kafka-Connect cluster, observed between two successive snapshots.
+ */
+public final class ClusterChangeEvent {
+
+    /**
+     * Kinds of change.
+     */
+    public enum Type {
+        /**
+         * Connector was deployed.
+         */
+        CONNECTOR_ADDED,
+
+        /**
+         * Connector was deleted.
+         */
+        CONNECTOR_REMOVED,
+
+        /**
+         * Connector's configuration was modified, see getChangedConfigKeys().
+         */
+        CONFIG_CHANGED,
+
+        /**
+         * Connector transitioned between states, for example from RUNNING to PAUSED.
+         */
+        CONNECTOR_STATE_CHANGED,
+
+        /**
+         * Connector was moved to a different worker.
+         */
+        CONNECTOR_WORKER_CHANGED,
+
+        /**
+         * Task was started for a connector.
+         */
+        TASK_ADDED,
+
+        /**
+         * Task was stopped, for example when a connector's tasks.max is reduced.
+         */
+        TASK_REMOVED,
+
+        /**
+         * Task transitioned between states, for example from RUNNING to FAILED.
+         */
+        TASK_STATE_CHANGED,
+
+        /**
+         * Task was moved to a different worker.
+         */
+        TASK_WORKER_CHANGED
+    }
+
+    private final Type type;
+    private final String connectorName;
+    private final Integer taskId;
+    private final String previousValue;
+    private final String newValue;
+    private final Set<String> changedConfigKeys;
+
+    /**
+     * Constructor.
+     * @param type Kind of change.
+     * @param connectorName Connector which changed.
+     * @param taskId Task which changed, or null for changes to the connector itself.
+     * @param previousValue State or worker id prior to the change, if applicable.
+     * @param newValue State or worker id after the change, if applicable.
+     * @param changedConfigKeys Configuration keys added, removed or modified, for CONFIG_CHANGED events.
+     */
+    public ClusterChangeEvent(
+        final Type type,
+        final String connectorName,
+        final Integer taskId,
+        final String previousValue,
+        final String newValue,
+        final Set<String> changedConfigKeys
+    ) {
+        this.type = Objects.requireNonNull(type);
+        this.connectorName = Objects.requireNonNull(connectorName);
+        this.taskId = taskId;
+        this.previousValue = previousValue;
+        this.newValue = newValue;
+        this.changedConfigKeys = changedConfigKeys == null ? Collections.emptySet() : Collections.unmodifiableSet(changedConfigKeys);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getConnectorName() {
+        return connectorName;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public String getPreviousValue() {
+        return previousValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    public Set<String> getChangedConfigKeys() {
+        return changedConfigKeys;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        final ClusterChangeEvent that = (ClusterChangeEvent) other;
+        return type == that.type
+            && connectorName.equals(that.connectorName)
+            && Objects.equals(taskId, that.taskId)
+            && Objects.equals(previousValue, that.previousValue)
+            && Objects.equals(newValue, that.newValue)
+            && changedConfigKeys.equals(that.changedConfigKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, connectorName, taskId, previousValue, newValue, changedConfigKeys);
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterChangeEvent{"
+            + "type=" + type
+            + ", connectorName='" + connectorName + '\''
+            + (taskId == null ? "" : ", taskId=" + taskId)
+            + (previousValue == null ? "" : ", previousValue='" + previousValue + '\'')
+            + (newValue == null ? "" : ", newValue='" + newValue + '\'')
+            + (changedConfigKeys.isEmpty() ? "" : ", changedConfigKeys=" + changedConfigKeys)
+            + '}';
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.watcher;
+
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+
+import java.util.List;
+
+/**
+ * Notified by a ConnectClusterWatcher of changes to the Kafka-Connect cluster.
+ *
+ * Listeners are called from the watcher's polling thread, and should hand off any slow work to avoid delaying the next poll.
+ */
+public interface ClusterChangeListener {
+
+    /**
+     * Called after a poll which observed one or more changes.  The first poll reports every connector as added.
+     * @param changes Changes since the previous snapshot, grouped by connector.
+     * @param snapshot The latest snapshot of the cluster.
+     */
+    void onChanges(final List<ClusterChangeEvent> changes, final ConnectorsWithExpandedMetadata snapshot);
+
+    /**
+     * Called when polling the cluster fails.  The previous snapshot is retained, and changes are reported by the next
+     * successful poll.
+     * @param exception The reason polling failed.
+     */
+    default void onPollFailure(final Exception exception) {
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.watcher;
+
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Computes the changes between two snapshots of the Kafka-Connect cluster.
+ */
+final class ClusterSnapshotDiff {
+    private ClusterSnapshotDiff() {
+    }
+
+    /**
+     * Compute the changes between two snapshots.
+     * @param previous The earlier snapshot, or null if there is none.
+     * @param current The later snapshot.
+     * @return Changes, ordered by connector name then task id.
+     */
+    static List<ClusterChangeEvent> diff(final ConnectorsWithExpandedMetadata previous, final ConnectorsWithExpandedMetadata current) {
+        final Set<String> previousNames = previous == null ? Collections.emptySet() : new HashSet<>(previous.getConnectorNames());
+        final Set<String> currentNames = new HashSet<>(current.getConnectorNames());
+        final Set<String> allNames = new TreeSet<>(previousNames);
+        allNames.addAll(currentNames);
+
+        final List<ClusterChangeEvent> changes = new ArrayList<>();
+        for (final String connectorName : allNames) {
+            if (!previousNames.contains(connectorName)) {
+                changes.add(event(ClusterChangeEvent.Type.CONNECTOR_ADDED, connectorName, null, null, null));
+            } else if (!currentNames.contains(connectorName)) {
+                changes.add(event(ClusterChangeEvent.Type.CONNECTOR_REMOVED, connectorName, null, null, null));
+            } else {
+                diffDefinition(
+                    connectorName,
+                    previous.getDefinitionForConnector(connectorName),
+                    current.getDefinitionForConnector(connectorName),
+                    changes
+                );
+                diffStatus(
+                    connectorName,
+                    previous.getStatusForConnector(connectorName),
+                    current.getStatusForConnector(connectorName),
+                    changes
+                );
+            }
+        }
+        return changes;
+    }
+
+    private static void diffDefinition(
+        final String connectorName,
+        final ConnectorDefinition previous,
+        final ConnectorDefinition current,
+        final List<ClusterChangeEvent> changes
+    ) {
+        final Map<String, String> previousConfig = previous == null || previous.getConfig() == null
+            ? Collections.emptyMap() : previous.getConfig();
+        final Map<String, String> currentConfig = current == null || current.getConfig() == null
+            ? Collections.emptyMap() : current.getConfig();
+        if (previousConfig.equals(currentConfig)) {
+            return;
+        }
+
+        final Set<String> changedKeys = new TreeSet<>();
+        for (final String key : previousConfig.keySet()) {
+            if (!Objects.equals(previousConfig.get(key), currentConfig.get(key))) {
+                changedKeys.add(key);
+            }
+        }
+        for (final String key : currentConfig.keySet()) {
+            if (!previousConfig.containsKey(key)) {
+                changedKeys.add(key);
+            }
+        }
+        changes.add(new ClusterChangeEvent(ClusterChangeEvent.Type.CONFIG_CHANGED, connectorName, null, null, null, changedKeys));
+    }
+
+    private static void diffStatus(
+        final String connectorName,
+        final ConnectorStatus previous,
+        final ConnectorStatus current,
+        final List<ClusterChangeEvent> changes
+    ) {
+        // Connector level changes.
+        // A status, or its connector and tasks, may be omitted from the response, and is then treated as empty.
+        final Map<String, String> previousConnector = connectorOf(previous);
+        final Map<String, String> currentConnector = connectorOf(current);
+        final String previousState = previousConnector.get("state");
+        final String currentState = currentConnector.get("state");
+        if (!Objects.equals(previousState, currentState)) {
+            changes.add(event(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, connectorName, null, previousState, currentState));
+        }
+        final String previousWorker = previousConnector.get("worker_id");
+        final String currentWorker = currentConnector.get("worker_id");
+        if (!Objects.equals(previousWorker, currentWorker)) {
+            changes.add(event(ClusterChangeEvent.Type.CONNECTOR_WORKER_CHANGED, connectorName, null, previousWorker, currentWorker));
+        }
+
+        // Task level changes.
+        final Map<Integer, ConnectorStatus.TaskStatus> previousTasks = tasksById(previous);
+        final Map<Integer, ConnectorStatus.TaskStatus> currentTasks = tasksById(current);
+        final Set<Integer> allTaskIds = new TreeSet<>(previousTasks.keySet());
+        allTaskIds.addAll(currentTasks.keySet());
+
+        for (final Integer taskId : allTaskIds) {
+            final ConnectorStatus.TaskStatus previousTask = previousTasks.get(taskId);
+            final ConnectorStatus.TaskStatus currentTask = currentTasks.get(taskId);
+            if (previousTask == null) {
+                changes.add(event(ClusterChangeEvent.Type.TASK_ADDED, connectorName, taskId, null, currentTask.getState()));
+            } else if (currentTask == null) {
+                changes.add(event(ClusterChangeEvent.Type.TASK_REMOVED, connectorName, taskId, previousTask.getState(), null));
+            } else {
+                if (!Objects.equals(previousTask.getState(), currentTask.getState())) {
+                    changes.add(event(
+                        ClusterChangeEvent.Type.TASK_STATE_CHANGED, connectorName, taskId, previousTask.getState(), currentTask.getState()
+                    ));
+                }
+                if (!Objects.equals(previousTask.getWorkerId(), currentTask.getWorkerId())) {
+                    changes.add(event(
+                        ClusterChangeEvent.Type.TASK_WORKER_CHANGED, connectorName, taskId, previousTask.getWorkerId(), currentTask.getWorkerId()
+                    ));
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> connectorOf(final ConnectorStatus status) {
+        return status == null || status.getConnector() == null ? Collections.emptyMap() : status.getConnector();
+    }
+
+    private static Map<Integer, ConnectorStatus.TaskStatus> tasksById(final ConnectorStatus status) {
+        final Map<Integer, ConnectorStatus.TaskStatus> tasks = new TreeMap<>();
+        if (status == null || status.getTasks() == null) {
+            return tasks;
+        }
+        for (final ConnectorStatus.TaskStatus task : status.getTasks()) {
+            // Json null entries are skipped.
+            if (task != null) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        return tasks;
+    }
+
+    private static ClusterChangeEvent event(
+        final ClusterChangeEvent.Type type,
+        final String connectorName,
+        final Integer taskId,
+        final String previousValue,
+        final String newValue
+    ) {
+        return new ClusterChangeEvent(type, connectorName, taskId, previousValue, newValue, null);
+    }
+}
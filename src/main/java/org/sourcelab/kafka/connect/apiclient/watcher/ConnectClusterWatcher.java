@@ -0,0 +1,202 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.watcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.KafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Polls a Kafka-Connect cluster on a schedule, keeping the latest snapshot of every connector's definition and status,
+ * and notifying listeners of the changes between successive snapshots.
+ *
+ * Requires Kafka-Connect server 2.3.0+
+ *
+ * Example usage:
+ * <pre>
+ *     final ConnectClusterWatcher watcher = new ConnectClusterWatcher(kafkaConnectClient, 5_000);
+ *     watcher.addListener((changes, snapshot) -&gt; changes.forEach(System.out::println));
+ *     watcher.start();
+ * </pre>
+ */
+public final class ConnectClusterWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectClusterWatcher.class);
+
+    private final KafkaConnectClient kafkaConnectClient;
+    private final long pollIntervalInMillis;
+    private final List<ClusterChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Serializes polls, so changes are computed and delivered in order.  A lock rather than a monitor, as it is held
+     * while waiting on requests, which would pin a virtual thread to its carrier.
+     */
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    /**
+     * Latest snapshot, or null prior to the first successful poll.
+     */
+    private volatile ConnectorsWithExpandedMetadata snapshot = null;
+
+    /**
+     * Guards starting and closing the scheduler.
+     */
+    private final Object stateLock = new Object();
+    private ScheduledThreadPoolExecutor scheduler = null;
+    private boolean isClosed = false;
+
+    /**
+     * Constructor.
+     * @param kafkaConnectClient Client used to poll the cluster.  The watcher does not close the client.
+     * @param pollIntervalInMillis Delay between the end of one poll and the start of the next.
+     */
+    public ConnectClusterWatcher(final KafkaConnectClient kafkaConnectClient, final long pollIntervalInMillis) {
+        if (pollIntervalInMillis < 1) {
+            throw new IllegalArgumentException("Poll interval must be at least 1 millisecond.");
+        }
+        this.kafkaConnectClient = Objects.requireNonNull(kafkaConnectClient);
+        this.pollIntervalInMillis = pollIntervalInMillis;
+    }
+
+    /**
+     * Register a listener to be notified of changes.
+     * @param listener Listener to notify.
+     */
+    public void addListener(final ClusterChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Stop notifying a previously registered listener.
+     * @param listener Listener to remove.
+     */
+    public void removeListener(final ClusterChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public long getPollIntervalInMillis() {
+        return pollIntervalInMillis;
+    }
+
+    /**
+     * The latest snapshot of the cluster.
+     * @return Latest snapshot, or null if the cluster has not yet been polled successfully.
+     */
+    public ConnectorsWithExpandedMetadata getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Begin polling the cluster in the background, starting immediately.  Calling start() more than once has no effect.
+     */
+    public void start() {
+        synchronized (stateLock) {
+            if (isClosed) {
+                throw new IllegalStateException("Watcher has been closed.");
+            }
+            if (scheduler != null) {
+                return;
+            }
+            scheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+                final Thread thread = new Thread(runnable, "kafka-connect-client-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::pollQuietly, 0, pollIntervalInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Poll the cluster immediately, notifying listeners of any changes.
+     * @return Changes since the previous snapshot.
+     * @throws RuntimeException if the cluster could not be polled, after notifying listeners.
+     */
+    public List<ClusterChangeEvent> poll() {
+        pollLock.lock();
+        try {
+            final ConnectorsWithExpandedMetadata current;
+            try {
+                current = kafkaConnectClient.getConnectorsWithAllExpandedMetadata();
+            } catch (final RuntimeException exception) {
+                for (final ClusterChangeListener listener : listeners) {
+                    try {
+                        listener.onPollFailure(exception);
+                    } catch (final RuntimeException listenerException) {
+                        logger.error("Cluster change listener failed: {}", listenerException.getMessage(), listenerException);
+                    }
+                }
+                throw exception;
+            }
+
+            final List<ClusterChangeEvent> changes = ClusterSnapshotDiff.diff(snapshot, current);
+            snapshot = current;
+            if (!changes.isEmpty()) {
+                for (final ClusterChangeListener listener : listeners) {
+                    try {
+                        listener.onChanges(changes, current);
+                    } catch (final RuntimeException listenerException) {
+                        logger.error("Cluster change listener failed: {}", listenerException.getMessage(), listenerException);
+                    }
+                }
+            }
+            return changes;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Stop polling the cluster.
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            isClosed = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+    }
+
+    /**
+     * Poll from the scheduler, which stops running a task once it throws.
+     */
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (final RuntimeException exception) {
+            logger.warn("Unable to poll Kafka-Connect cluster: {}", exception.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectClusterWatcher{"
+            + "pollIntervalInMillis=" + pollIntervalInMillis
+            + ", listeners=" + listeners.size()
+            + '}';
+    }
+}
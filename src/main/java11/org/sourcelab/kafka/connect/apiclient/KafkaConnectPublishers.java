@@ -0,0 +1,282 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResourceNotFoundException;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publishes the details of every connector in the cluster as a {@link Flow.Publisher}.  Requires Java 11+.
+ *
+ * Each subscription lists the cluster's connectors, then requests the details of each connector individually, emitting
+ * each result as soon as its response has been parsed.  Back-pressure from the subscriber bounds how many requests are
+ * in flight: no more are started than the subscriber has requested items, up to the configured maximum.  The cluster
+ * state is therefore never held in memory all at once, and downstream stages can start before the last response arrives.
+ *
+ * Items are emitted in the order their responses arrive, not the order connectors are listed.  Connectors which are
+ * deleted after being listed are skipped.  Any other failure terminates the subscription with onError.
+ *
+ * Example usage:
+ * <pre>
+ *     final KafkaConnectPublishers publishers = new KafkaConnectPublishers(asyncClient, 16);
+ *     publishers.publishConnectorStatuses().subscribe(subscriber);
+ * </pre>
+ */
+public class KafkaConnectPublishers {
+    /**
+     * Default maximum number of requests in flight per subscription, matching the default bulk operation concurrency.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+    private final AsyncKafkaConnectClient client;
+    private final int maxInFlight;
+
+    /**
+     * Constructor, allowing up to {@link #DEFAULT_MAX_IN_FLIGHT} requests in flight per subscription.
+     * @param client Client to submit requests with.
+     */
+    public KafkaConnectPublishers(final AsyncKafkaConnectClient client) {
+        this(client, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Constructor.
+     * @param client Client to submit requests with.
+     * @param maxInFlight Maximum number of requests in flight per subscription, must be at least 1.
+     */
+    public KafkaConnectPublishers(final AsyncKafkaConnectClient client, final int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in flight must be at least 1.");
+        }
+        this.client = Objects.requireNonNull(client);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Publish the status of every connector in the cluster.
+     * @return Publisher of connector statuses.
+     */
+    public Flow.Publisher<ConnectorStatus> publishConnectorStatuses() {
+        return publish(client::getConnectorStatus);
+    }
+
+    /**
+     * Publish the definition, including config, of every connector in the cluster.
+     * @return Publisher of connector definitions.
+     */
+    public Flow.Publisher<ConnectorDefinition> publishConnectorDefinitions() {
+        return publish(client::getConnector);
+    }
+
+    /**
+     * Publish the result of an operation applied to every connector in the cluster.
+     * @param operation Operation to apply to each connector name.
+     * @param <T> Result type of the operation.
+     * @return Publisher of results.
+     */
+    public <T> Flow.Publisher<T> publish(final Function<String, CompletableFuture<T>> operation) {
+        Objects.requireNonNull(operation);
+        return (subscriber) -> {
+            Objects.requireNonNull(subscriber);
+            final ConnectorSubscription<T> subscription = new ConnectorSubscription<>(subscriber, operation);
+            subscriber.onSubscribe(subscription);
+        };
+    }
+
+    /**
+     * Requests connectors as demand allows, delivering signals to the subscriber serially from a single drain loop.
+     * @param <T> Item type.
+     */
+    private final class ConnectorSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Function<String, CompletableFuture<T>> operation;
+
+        /**
+         * Names of connectors not yet requested, populated once the cluster has been listed.
+         */
+        private final Queue<String> pendingNames = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Results received but not yet emitted.
+         */
+        private final Queue<T> results = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean started = new AtomicBoolean(false);
+        private final AtomicLong requested = new AtomicLong(0);
+        private final AtomicInteger inFlight = new AtomicInteger(0);
+
+        /**
+         * Number of outstanding calls to drain(), only the caller which increments it from zero drains.
+         */
+        private final AtomicInteger drainCount = new AtomicInteger(0);
+
+        private volatile boolean listed = false;
+        private volatile boolean cancelled = false;
+        private volatile Throwable error = null;
+        private boolean done = false;
+
+        private ConnectorSubscription(final Flow.Subscriber<? super T> subscriber, final Function<String, CompletableFuture<T>> operation) {
+            this.subscriber = subscriber;
+            this.operation = operation;
+        }
+
+        @Override
+        public void request(final long count) {
+            if (count <= 0) {
+                onFailure(new IllegalArgumentException("Subscribers must request a positive number of items, requested " + count + "."));
+                return;
+            }
+            requested.accumulateAndGet(count, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+
+            // List the cluster's connectors lazily, once there is demand.
+            if (started.compareAndSet(false, true)) {
+                listConnectors();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void listConnectors() {
+            final CompletableFuture<Collection<String>> connectors;
+            try {
+                connectors = client.getConnectors();
+            } catch (final RuntimeException exception) {
+                onFailure(exception);
+                return;
+            }
+            connectors.whenComplete((names, exception) -> {
+                if (exception != null) {
+                    onFailure(exception);
+                    return;
+                }
+                pendingNames.addAll(names);
+                listed = true;
+                drain();
+            });
+        }
+
+        private void submit(final String connectorName) {
+            final CompletableFuture<T> result;
+            try {
+                result = operation.apply(connectorName);
+            } catch (final RuntimeException exception) {
+                inFlight.decrementAndGet();
+                onFailure(exception);
+                return;
+            }
+            result.whenComplete((value, exception) -> {
+                if (exception == null) {
+                    results.add(value);
+                } else if (!(unwrap(exception) instanceof ResourceNotFoundException)) {
+                    onFailure(exception);
+                }
+                inFlight.decrementAndGet();
+                drain();
+            });
+        }
+
+        private void onFailure(final Throwable exception) {
+            if (error == null) {
+                error = unwrap(exception);
+            }
+            drain();
+        }
+
+        /**
+         * Emit results as demand allows, start further requests, and signal completion or failure.
+         */
+        private void drain() {
+            if (drainCount.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (done) {
+                    return;
+                }
+                if (cancelled) {
+                    done = true;
+                    pendingNames.clear();
+                    results.clear();
+                    return;
+                }
+                if (error != null) {
+                    done = true;
+                    pendingNames.clear();
+                    results.clear();
+                    subscriber.onError(error);
+                    return;
+                }
+
+                // Emit results the subscriber has requested.
+                T result;
+                while (requested.get() > 0 && (result = results.poll()) != null) {
+                    if (requested.get() != Long.MAX_VALUE) {
+                        requested.decrementAndGet();
+                    }
+                    subscriber.onNext(result);
+                    if (cancelled) {
+                        break;
+                    }
+                }
+
+                // Start requests for demand not already covered by buffered results or requests in flight.
+                while (!cancelled && error == null
+                    && inFlight.get() < maxInFlight
+                    && inFlight.get() + results.size() < requested.get()) {
+                    final String connectorName = pendingNames.poll();
+                    if (connectorName == null) {
+                        break;
+                    }
+                    inFlight.incrementAndGet();
+                    submit(connectorName);
+                }
+
+                if (listed && pendingNames.isEmpty() && inFlight.get() == 0 && results.isEmpty() && error == null && !cancelled) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = drainCount.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    private static Throwable unwrap(final Throwable exception) {
+        return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+    }
+}
@@ -0,0 +1,431 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.RequestTimeoutException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResultParsingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Authenticator;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RestClient and AsyncRestClient implementation using the JDK's java.net.http.HttpClient.  Requires Java 11+.
+ *
+ * Requests are multiplexed over a single HTTP/2 connection per worker where the worker supports it, falling back to
+ * HTTP/1.1 otherwise.  Asynchronous requests do not occupy a thread while waiting on Kafka-Connect.
+ *
+ * Example usage:
+ * <pre>
+ *     final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new JdkHttpRestClient());
+ * </pre>
+ *
+ * SSL, proxy, BasicAuth, compression, timeout and worker failover settings are taken from the Configuration.
+ * Unlike HttpClientRestClient, HttpClientConfigHooks, connection pool limits and background worker health checks
+ * are not supported.  When ignoring invalid SSL certificates, host name verification can only be disabled for the
+ * whole JVM, using the "jdk.internal.httpclient.disableHostnameVerification" system property.
+ */
+public class JdkHttpRestClient implements StreamingRestClient, AsyncRestClient {
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpRestClient.class);
+
+    /**
+     * Preferred http protocol version.
+     */
+    private final HttpClient.Version version;
+
+    /**
+     * Save a copy of the configuration.
+     */
+    private Configuration configuration;
+
+    /**
+     * Our underlying Http Client.
+     */
+    private HttpClient httpClient;
+
+    /**
+     * Runs the underlying Http Client's I/O and response handling, shutdown on close().
+     */
+    private ExecutorService executorService;
+
+    /**
+     * Kafka-Connect workers requests may be sent to.
+     */
+    private WorkerPool workerPool;
+
+    /**
+     * Preemptive BasicAuth header value, or null if BasicAuth is not configured.
+     */
+    private String authorizationHeader;
+
+    /**
+     * Constructor, preferring HTTP/2.
+     */
+    public JdkHttpRestClient() {
+        this(HttpClient.Version.HTTP_2);
+    }
+
+    /**
+     * Constructor.
+     * @param version Preferred http protocol version.
+     */
+    public JdkHttpRestClient(final HttpClient.Version version) {
+        this.version = Objects.requireNonNull(version);
+    }
+
+    @Override
+    public void init(final Configuration configuration) {
+        this.configuration = Objects.requireNonNull(configuration);
+
+        final AtomicInteger threadCount = new AtomicInteger(0);
+        executorService = Executors.newCachedThreadPool((runnable) -> {
+            final Thread thread = new Thread(runnable, "kafka-connect-client-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (configuration.getIgnoreInvalidSslCertificates()) {
+            logger.warn("Using insecure configuration, skipping server-side certificate validation checks.");
+        }
+
+        final HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+            .version(version)
+            .executor(executorService)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(configuration.getRequestTimeoutInSeconds()))
+            .sslContext(new HttpsContextBuilder(configuration).getSslContext());
+
+        // If we have a configured proxy host
+        if (configuration.getProxyHost() != null) {
+            clientBuilder.proxy(ProxySelector.of(new InetSocketAddress(configuration.getProxyHost(), configuration.getProxyPort())));
+
+            // If we have proxy auth enabled
+            if (configuration.getProxyUsername() != null) {
+                final String proxyUsername = configuration.getProxyUsername();
+                final char[] proxyPassword = configuration.getProxyPassword() == null
+                    ? new char[0]
+                    : configuration.getProxyPassword().toCharArray();
+                clientBuilder.authenticator(new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        if (getRequestorType() != RequestorType.PROXY) {
+                            return null;
+                        }
+                        return new PasswordAuthentication(proxyUsername, proxyPassword);
+                    }
+                });
+            }
+        }
+
+        // If BasicAuth credentials are configured, authenticate preemptively as HttpClientRestClient does.
+        if (configuration.getBasicAuthUsername() != null) {
+            final String credentials = configuration.getBasicAuthUsername() + ":"
+                + (configuration.getBasicAuthPassword() == null ? "" : configuration.getBasicAuthPassword());
+            authorizationHeader = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        }
+
+        httpClient = clientBuilder.build();
+        workerPool = new WorkerPool(configuration.getApiHosts());
+    }
+
+    /**
+     * Make a request against the Kafka-Connect API.
+     * @param request The request to submit.
+     * @return The response.
+     * @throws RestException if something goes wrong.
+     */
+    @Override
+    public RestResponse submitRequest(final Request request) throws RestException {
+        return submitRequest(request, false);
+    }
+
+    @Override
+    public RestResponse submitRequestAndParseResponse(final Request request) throws RestException {
+        return submitRequest(request, true);
+    }
+
+    /**
+     * Make a request against the Kafka-Connect API, blocking until the response has been read.
+     * @param request The request to submit.
+     * @param parseResponse Whether to parse a successful response body straight from the response stream.
+     * @return The response.
+     */
+    private RestResponse submitRequest(final Request request, final boolean parseResponse) {
+        final RequestMetricsListener metricsListener = configuration.getRequestMetricsListener();
+        final long startNanos = System.nanoTime();
+        final EncodedRequestBody requestBody = EncodedRequestBody.encode(request, configuration);
+
+        ConnectionException connectFailure = null;
+        for (final WorkerPool.Worker worker : selectWorkers(request)) {
+            final HttpResponse<InputStream> response;
+            worker.onRequestStart();
+            try {
+                response = httpClient.send(createHttpRequest(request, worker.getHost(), requestBody), HttpResponse.BodyHandlers.ofInputStream());
+            } catch (final IOException exception) {
+                final ConnectionException connectionException = toConnectionException(exception);
+                if (isConnectFailure(exception)) {
+                    onConnectFailure(worker, exception);
+                    connectFailure = connectionException;
+                    continue;
+                }
+                metricsListener.onHttpFailure(request, connectionException, System.nanoTime() - startNanos);
+                throw connectionException;
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                final RequestTimeoutException timeoutException = new RequestTimeoutException("Interrupted while waiting for response.", exception);
+                metricsListener.onHttpFailure(request, timeoutException, System.nanoTime() - startNanos);
+                throw timeoutException;
+            } finally {
+                worker.onRequestEnd();
+            }
+
+            try (final InputStream responseStream = response.body()) {
+                return handleResponse(request, requestBody, response, responseStream, parseResponse, startNanos);
+            } catch (final IOException exception) {
+                // Raised closing the response stream after it was handled.
+                throw new ResultParsingException(exception.getMessage(), exception);
+            }
+        }
+        metricsListener.onHttpFailure(request, connectFailure, System.nanoTime() - startNanos);
+        throw connectFailure;
+    }
+
+    @Override
+    public CompletableFuture<RestResponse> submitRequestAsync(final Request request) {
+        final long startNanos = System.nanoTime();
+        final EncodedRequestBody requestBody;
+        try {
+            requestBody = EncodedRequestBody.encode(request, configuration);
+        } catch (final RuntimeException exception) {
+            final CompletableFuture<RestResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(exception);
+            return failed;
+        }
+        return submitToWorkerAsync(request, requestBody, selectWorkers(request), 0, startNanos);
+    }
+
+    /**
+     * Submit the request to a worker, failing over to the next worker if it cannot be connected to.
+     * @param request The request to submit.
+     * @param requestBody The encoded request body.
+     * @param workers Workers to submit the request to, in order of preference.
+     * @param workerIndex Index of the worker to submit the request to.
+     * @param startNanos When the request was submitted.
+     * @return Future completed with the response.
+     */
+    private CompletableFuture<RestResponse> submitToWorkerAsync(
+        final Request request,
+        final EncodedRequestBody requestBody,
+        final List<WorkerPool.Worker> workers,
+        final int workerIndex,
+        final long startNanos
+    ) {
+        final WorkerPool.Worker worker = workers.get(workerIndex);
+        worker.onRequestStart();
+        return httpClient.sendAsync(createHttpRequest(request, worker.getHost(), requestBody), HttpResponse.BodyHandlers.ofByteArray())
+            .handle((response, error) -> {
+                worker.onRequestEnd();
+                if (error == null) {
+                    return CompletableFuture.completedFuture(
+                        handleResponse(request, requestBody, response, new ByteArrayInputStream(response.body()), true, startNanos)
+                    );
+                }
+
+                final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                final RuntimeException exception = cause instanceof RuntimeException ? (RuntimeException) cause : toConnectionException(cause);
+                if (isConnectFailure(cause)) {
+                    onConnectFailure(worker, cause);
+                    if (workerIndex + 1 < workers.size()) {
+                        return submitToWorkerAsync(request, requestBody, workers, workerIndex + 1, startNanos);
+                    }
+                }
+                configuration.getRequestMetricsListener().onHttpFailure(request, exception, System.nanoTime() - startNanos);
+                throw exception;
+            })
+            .thenCompose((future) -> future);
+    }
+
+    /**
+     * Select workers for the request, preferring the leader for writes when it is known.
+     * @param request The request to submit.
+     * @return Workers in order of preference.
+     */
+    private List<WorkerPool.Worker> selectWorkers(final Request request) {
+        final LeaderResolver leaderResolver = configuration.getLeaderResolver();
+        return request.getRequestMethod() == RequestMethod.GET
+            ? workerPool.selectForRead()
+            : workerPool.selectForWrite(leaderResolver == null ? null : leaderResolver.getLeaderHost());
+    }
+
+    /**
+     * Record that a worker could not be connected to.
+     * @param worker The worker.
+     * @param exception The connection error.
+     */
+    private void onConnectFailure(final WorkerPool.Worker worker, final Throwable exception) {
+        logger.warn("Unable to connect to Kafka-Connect worker {}: {}", worker.getHost(), exception.toString());
+        workerPool.onConnectFailure(worker);
+
+        final LeaderResolver leaderResolver = configuration.getLeaderResolver();
+        if (leaderResolver != null && worker.getHost().equals(leaderResolver.getLeaderHost())) {
+            leaderResolver.onLeaderUnavailable(worker.getHost());
+        }
+    }
+
+    /**
+     * Build the http request to send to a worker.
+     * @param request The request to submit.
+     * @param apiHost The worker to submit the request to.
+     * @param requestBody The encoded request body.
+     * @return Http request.
+     */
+    private HttpRequest createHttpRequest(final Request request, final String apiHost, final EncodedRequestBody requestBody) {
+        int timeoutInSeconds = configuration.getSocketTimeoutInSeconds();
+        final int deadlineInSeconds = configuration.getRequestDeadlineInSeconds(request);
+        if (deadlineInSeconds > 0) {
+            timeoutInSeconds = timeoutInSeconds > 0 ? Math.min(timeoutInSeconds, deadlineInSeconds) : deadlineInSeconds;
+        }
+
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiHost + request.getApiEndpoint()))
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/json");
+        if (timeoutInSeconds > 0) {
+            builder.timeout(Duration.ofSeconds(timeoutInSeconds));
+        }
+        if (authorizationHeader != null) {
+            builder.header("Authorization", authorizationHeader);
+        }
+        if (configuration.isResponseCompressionEnabled()) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+        if (requestBody.isCompressed()) {
+            builder.header("Content-Encoding", "gzip");
+        }
+
+        final HttpRequest.BodyPublisher bodyPublisher = requestBody == EncodedRequestBody.EMPTY
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofByteArray(requestBody.getContent());
+        return builder.method(request.getRequestMethod().name(), bodyPublisher).build();
+    }
+
+    /**
+     * Read the response, notifying the metrics listener of the exchange.
+     * @param request The request that was submitted.
+     * @param requestBody The encoded request body.
+     * @param response The response received.
+     * @param responseStream The response body, as received.
+     * @param parseResponse Whether to parse a successful response body straight from the response stream.
+     * @param startNanos When the request was submitted.
+     * @return The response.
+     */
+    private RestResponse handleResponse(
+        final Request request,
+        final EncodedRequestBody requestBody,
+        final HttpResponse<?> response,
+        final InputStream responseStream,
+        final boolean parseResponse,
+        final long startNanos
+    ) {
+        final RequestMetricsListener metricsListener = configuration.getRequestMetricsListener();
+        final ResponseBodyReader responseBodyReader = new ResponseBodyReader(
+            responseStream,
+            response.headers().firstValue("Content-Encoding").orElse(null)
+        );
+
+        try {
+            return responseBodyReader.read(parseResponse ? request : null, response.statusCode());
+        } catch (final IOException exception) {
+            throw new ResultParsingException(exception.getMessage(), exception);
+        } finally {
+            metricsListener.onHttpExchange(request, response.statusCode(), responseBodyReader.getResponseBytes(), System.nanoTime() - startNanos);
+            metricsListener.onHttpTransfer(
+                request,
+                requestBody.getUncompressedLength(),
+                requestBody.getContent().length,
+                responseBodyReader.getResponseBytes(),
+                responseBodyReader.getResponseWireBytes()
+            );
+        }
+    }
+
+    /**
+     * Map an error raised sending a request to the equivalent ConnectionException.
+     * @param exception The error raised.
+     * @return Equivalent ConnectionException.
+     */
+    private static ConnectionException toConnectionException(final Throwable exception) {
+        // The JDK's connection errors frequently have no message.
+        final String message = exception.getMessage() == null ? exception.toString() : exception.getMessage();
+        if (exception instanceof HttpTimeoutException && !(exception instanceof HttpConnectTimeoutException)) {
+            return new RequestTimeoutException(message, exception);
+        }
+        return new ConnectionException(message, exception);
+    }
+
+    /**
+     * Determine if an exception was caused by failing to establish a connection.
+     * @param exception The exception to inspect.
+     * @return true if the connection was never established.
+     */
+    private static boolean isConnectFailure(final Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+        executorService = null;
+        httpClient = null;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.rest.ExecutorAsyncRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResourceNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests over AsyncKafkaConnectClient.
+ */
+public class AsyncKafkaConnectClientUnitTest {
+
+    private final Configuration configuration = new Configuration("http://localhost:9092");
+
+    /**
+     * Verifies a successful response is parsed and used to complete the returned future.
+     */
+    @Test
+    public void successfulResponse_completesFuture() throws Exception {
+        // Create mock RestClient
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("[\"Connector1\",\"Connector2\"]", HttpStatus.SC_OK));
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            final Collection<String> result = client.getConnectors().get(5, TimeUnit.SECONDS);
+            assertEquals(2, result.size());
+            assertTrue(result.contains("Connector1"));
+            assertTrue(result.contains("Connector2"));
+        }
+
+        // RestClient should have been initialized once and closed.
+        verify(mockRestClient, times(1)).init(configuration);
+        verify(mockRestClient, times(1)).close();
+    }
+
+    /**
+     * This test verifies that if the underlying RestClient returns a response with Http Status Code 404,
+     * then the returned future completes exceptionally with a ResourceNotFoundException.
+     */
+    @Test
+    public void on404_futureCompletesWithResourceNotFoundException() throws Exception {
+        // Create mock RestResponse
+        final String result = "{\"error_code\":404,\"message\":\"Connector DoesNotExist not found\"}";
+
+        // Create mock RestClient
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(result, HttpStatus.SC_NOT_FOUND));
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            client.getConnector("DoesNotExist").get(5, TimeUnit.SECONDS);
+            fail("Should have thrown an exception");
+        } catch (final ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof ResourceNotFoundException);
+        }
+    }
+
+    /**
+     * Verifies that requests are executed concurrently, without blocking the calling thread.
+     */
+    @Test
+    public void requestsAreExecutedConcurrently() throws Exception {
+        final int numberOfRequests = 4;
+        final CountDownLatch allStarted = new CountDownLatch(numberOfRequests);
+
+        // Each request blocks until every request has started.
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any())).thenAnswer((invocation) -> {
+            allStarted.countDown();
+            allStarted.await(5, TimeUnit.SECONDS);
+            return new RestResponse("", HttpStatus.SC_NO_CONTENT);
+        });
+
+        configuration.useAsyncThreadPoolSize(numberOfRequests);
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int index = 0; index < numberOfRequests; index++) {
+                futures.add(client.restartConnector("Connector" + index));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            for (final CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        }
+    }
+
+    /**
+     * Verifies that failed attempts are retried per the configured RetryPolicy without blocking the caller.
+     */
+    @Test
+    public void retryPolicy_retriesFailedAttempts() throws Exception {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("{\"error_code\":503,\"message\":\"Unavailable\"}", HttpStatus.SC_SERVICE_UNAVAILABLE))
+            .thenThrow(new ConnectionException("Connection refused", null))
+            .thenReturn(new RestResponse("[\"Connector1\"]", HttpStatus.SC_OK));
+
+        final Configuration retryConfiguration = new Configuration("http://localhost:9092")
+            .useRetryPolicy(RetryPolicy.newBuilder().withBackoffInMillis(10, 10).build());
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(retryConfiguration, new ExecutorAsyncRestClient(mockRestClient))) {
+            final Collection<String> result = client.getConnectors().get(5, TimeUnit.SECONDS);
+            assertEquals(1, result.size());
+            assertTrue(result.contains("Connector1"));
+        }
+        verify(mockRestClient, times(3)).submitRequest(any());
+    }
+
+    /**
+     * Verifies that once retries are exhausted the future completes with the final attempt's error.
+     */
+    @Test
+    public void retryPolicy_completesWithFinalError() throws Exception {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenThrow(new ConnectionException("Connection refused", null));
+
+        final Configuration retryConfiguration = new Configuration("http://localhost:9092")
+            .useRetryPolicy(RetryPolicy.newBuilder().withMaxAttempts(2).withBackoffInMillis(10, 10).build());
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(retryConfiguration, new ExecutorAsyncRestClient(mockRestClient))) {
+            client.getConnectors().get(5, TimeUnit.SECONDS);
+            fail("Should have thrown an exception");
+        } catch (final ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof ConnectionException);
+        }
+        verify(mockRestClient, times(2)).submitRequest(any());
+    }
+
+    /**
+     * Verifies that calls made after the client has been closed return a failed future, rather than throwing,
+     * and are reported to the RequestMetricsListener.
+     */
+    @Test
+    public void closedClient_returnsFailedFuture() throws Exception {
+        final AtomicReference<Throwable> reportedError = new AtomicReference<>();
+        final Configuration closedConfiguration = new Configuration("http://localhost:9092")
+            .useRequestMetricsListener(new RequestMetricsListener() {
+                @Override
+                public void onRequestFailure(final Request<?> request, final Throwable error, final long durationNanos) {
+                    reportedError.set(error);
+                }
+            });
+
+        final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(closedConfiguration, new ExecutorAsyncRestClient(mock(RestClient.class)));
+        client.close();
+
+        final CompletableFuture<Collection<String>> future = client.getConnectors();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Should have thrown an exception");
+        } catch (final ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+        assertTrue(reportedError.get() instanceof IllegalStateException);
+    }
+}
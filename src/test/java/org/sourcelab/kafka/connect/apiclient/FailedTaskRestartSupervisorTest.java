@@ -0,0 +1,219 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectServerVersion;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
+import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests over FailedTaskRestartSupervisor.
+ */
+public class FailedTaskRestartSupervisorTest {
+
+    private final Configuration configuration = new Configuration("http://localhost:9092");
+    private final AtomicReference<String> expandedStatus = new AtomicReference<>("{}");
+    private final List<String> restartEndpoints = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Verifies support for onlyFailed restarts is detected from the server's version.
+     */
+    @Test
+    public void supportsOnlyFailedRestarts() {
+        assertFalse(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("2.8.1"));
+        assertTrue(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("3.0.0"));
+        assertTrue(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("3.4.1"));
+        assertFalse(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("6.2.0-ccs"));
+        assertTrue(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("7.0.1-ccs"));
+        assertTrue(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("7.3.0-ce"));
+        assertFalse(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts("unknown"));
+        assertFalse(FailedTaskRestartSupervisor.supportsOnlyFailedRestarts(null));
+    }
+
+    /**
+     * Verifies that against older servers each failed connector and task is restarted individually, and that
+     * instances are not restarted again until their backoff elapses.
+     */
+    @Test
+    public void restartsEachFailedInstance_withBackoff() {
+        final RestClient mockRestClient = mockRestClient("2.8.1");
+        expandedStatus.set("{"
+            + connector("Alpha", "FAILED", task(0, "RUNNING") + "," + task(1, "FAILED"))
+            + "," + connector("Beta", "RUNNING", task(0, "FAILED"))
+            + "," + connector("Gamma", "RUNNING", task(0, "RUNNING"))
+            + "}");
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final FailedTaskRestartSupervisor supervisor = FailedTaskRestartSupervisor.newBuilder(client).build()) {
+            assertEquals(3, supervisor.check());
+            restartEndpoints.sort(null);
+            assertEquals(Arrays.asList(
+                "/connectors/Alpha/restart",
+                "/connectors/Alpha/tasks/1/restart",
+                "/connectors/Beta/tasks/0/restart"
+            ), restartEndpoints);
+
+            // Still failed, but within the backoff.
+            assertEquals(0, supervisor.check());
+
+            // Beta recovers, Alpha is still failed.
+            expandedStatus.set("{"
+                + connector("Alpha", "RUNNING", task(0, "RUNNING") + "," + task(1, "FAILED"))
+                + "," + connector("Beta", "RUNNING", task(0, "RUNNING"))
+                + "}");
+            assertEquals(0, supervisor.check());
+
+            final RestartSupervisorStats stats = supervisor.getStats();
+            assertEquals(3, stats.getRestartAttemptCount());
+            assertEquals(0, stats.getFailedRestartRequestCount());
+            assertEquals(2, stats.getSuccessfulRestartCount());
+            assertEquals(1, stats.getPendingRestartCount());
+        }
+    }
+
+    /**
+     * Verifies that against 3.0.0+ servers each connector is restarted with a single onlyFailed request.
+     */
+    @Test
+    public void restartsConnectorWithOnlyFailed() {
+        final RestClient mockRestClient = mockRestClient("3.1.0");
+        expandedStatus.set("{"
+            + connector("Alpha", "RUNNING", task(0, "FAILED") + "," + task(1, "FAILED") + "," + task(2, "RUNNING"))
+            + "}");
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final FailedTaskRestartSupervisor supervisor = FailedTaskRestartSupervisor.newBuilder(client)
+                 .withBackoffInMillis(0, 0)
+                 .build()) {
+            assertEquals(1, supervisor.check());
+            assertEquals(1, restartEndpoints.size());
+            assertTrue(restartEndpoints.get(0).startsWith("/connectors/Alpha/restart?"));
+            assertTrue(restartEndpoints.get(0).contains("onlyFailed=true"));
+            assertTrue(restartEndpoints.get(0).contains("includeTasks=true"));
+
+            // With no backoff, restarted again on every check.
+            assertEquals(1, supervisor.check());
+            assertEquals(2, supervisor.getStats().getRestartAttemptCount());
+            assertEquals(2, supervisor.getStats().getPendingRestartCount());
+        }
+    }
+
+    /**
+     * Verifies restart requests which fail are counted, without preventing other restarts.
+     */
+    @Test
+    public void failedRestartRequests_areCounted() {
+        final RestClient mockRestClient = mockRestClient("2.8.1");
+        expandedStatus.set("{"
+            + connector("Missing", "FAILED", "")
+            + "," + connector("Beta", "FAILED", "")
+            + "}");
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final FailedTaskRestartSupervisor supervisor = FailedTaskRestartSupervisor.newBuilder(client).build()) {
+            assertEquals(2, supervisor.check());
+
+            final RestartSupervisorStats stats = supervisor.getStats();
+            assertEquals(2, stats.getRestartAttemptCount());
+            assertEquals(1, stats.getFailedRestartRequestCount());
+        }
+    }
+
+    /**
+     * Verifies a status missing its tasks is treated as having none, without preventing the connector's restart.
+     */
+    @Test
+    public void missingTasks_areTreatedAsNone() {
+        final RestClient mockRestClient = mockRestClient("2.8.1");
+        expandedStatus.set("{"
+            + "\"Alpha\":{\"status\":{\"name\":\"Alpha\",\"connector\":{\"state\":\"FAILED\",\"worker_id\":\"w1\"},\"type\":\"sink\"}}"
+            + "," + connector("Beta", "RUNNING", task(0, "FAILED"))
+            + "}");
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final FailedTaskRestartSupervisor supervisor = FailedTaskRestartSupervisor.newBuilder(client).build()) {
+            assertEquals(2, supervisor.check());
+            restartEndpoints.sort(null);
+            assertEquals(Arrays.asList(
+                "/connectors/Alpha/restart",
+                "/connectors/Beta/tasks/0/restart"
+            ), restartEndpoints);
+        }
+    }
+
+    /**
+     * Verifies null task entries are skipped, without preventing other tasks' restarts.
+     */
+    @Test
+    public void nullTaskEntries_areSkipped() {
+        final RestClient mockRestClient = mockRestClient("2.8.1");
+        expandedStatus.set("{" + connector("Alpha", "RUNNING", "null," + task(1, "FAILED")) + "}");
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final FailedTaskRestartSupervisor supervisor = FailedTaskRestartSupervisor.newBuilder(client).build()) {
+            assertEquals(1, supervisor.check());
+            assertEquals(Collections.singletonList("/connectors/Alpha/tasks/1/restart"), restartEndpoints);
+        }
+    }
+
+    private RestClient mockRestClient(final String serverVersion) {
+        final RestClient mockRestClient = mock(RestClient.class);
+        doAnswer((invocation) -> {
+            final Request<?> request = invocation.getArgument(0);
+            if (request instanceof GetConnectServerVersion) {
+                return new RestResponse("{\"version\":\"" + serverVersion + "\",\"commit\":\"abc\"}", HttpStatus.SC_OK);
+            }
+            if (request instanceof GetConnectorsExpandStatus) {
+                return new RestResponse(expandedStatus.get(), HttpStatus.SC_OK);
+            }
+            if (request.getApiEndpoint().contains("Missing")) {
+                return new RestResponse("{\"error_code\":404,\"message\":\"Connector Missing not found\"}", HttpStatus.SC_NOT_FOUND);
+            }
+            restartEndpoints.add(request.getApiEndpoint());
+            return new RestResponse("", HttpStatus.SC_NO_CONTENT);
+        }).when(mockRestClient).submitRequest(any());
+        return mockRestClient;
+    }
+
+    private static String connector(final String name, final String state, final String tasks) {
+        return "\"" + name + "\":{\"status\":{\"name\":\"" + name + "\","
+            + "\"connector\":{\"state\":\"" + state + "\",\"worker_id\":\"w1\"},"
+            + "\"tasks\":[" + tasks + "],\"type\":\"sink\"}}";
+    }
+
+    private static String task(final int id, final String state) {
+        return "{\"id\":" + id + ",\"state\":\"" + state + "\",\"worker_id\":\"w1\"}";
+    }
+}
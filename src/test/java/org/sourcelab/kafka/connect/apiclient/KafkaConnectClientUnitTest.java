@@ -19,14 +19,41 @@ package org.sourcelab.kafka.connect.apiclient;
 
 import org.apache.http.HttpStatus;
 import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.metrics.InMemoryRequestMetrics;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestTypeMetricsSnapshot;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
 import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
 import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
 import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConcurrentConfigModificationException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
 import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResourceNotFoundException;
 import org.sourcelab.kafka.connect.apiclient.rest.exceptions.UnauthorizedRequestException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -104,4 +131,328 @@ public class KafkaConnectClientUnitTest {
         // Call any method that makes a request via RestClient.
         client.getConnector(connectorName);
     }
-}
\ No newline at end of file
+
+    /**
+     * This test verifies that if the underlying RestClient has already parsed the response body from the
+     * response stream, KafkaConnectClient returns that result as is.
+     */
+    @Test
+    public void onParsedResponse_returnsParsedResult() {
+        final Collection<String> parsedResult = Arrays.asList("Connector1", "Connector2");
+
+        // Create mock RestClient
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(RestResponse.withParsedResponse(parsedResult, HttpStatus.SC_OK));
+
+        // Create client
+        final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+
+        assertSame(parsedResult, client.getConnectors());
+    }
+
+    /**
+     * This test verifies that when many threads use a newly created client at the same time,
+     * the underlying RestClient is only initialized once.
+     */
+    @Test
+    public void concurrentRequests_initializeRestClientOnce() throws Exception {
+        final int numberOfThreads = 16;
+
+        // Create mock RestClient, with a slow init() to widen any race window.
+        final RestClient mockRestClient = mock(RestClient.class);
+        doAnswer((invocation) -> {
+            Thread.sleep(50);
+            return null;
+        }).when(mockRestClient).init(configuration);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("[]", HttpStatus.SC_OK));
+
+        final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+
+        // Release all threads at once
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            final List<Future<Collection<String>>> futures = new ArrayList<>();
+            for (int index = 0; index < numberOfThreads; index++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return client.getConnectors();
+                }));
+            }
+            startLatch.countDown();
+
+            for (final Future<Collection<String>> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).isEmpty());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(mockRestClient, times(1)).init(configuration);
+    }
+
+    /**
+     * This test verifies that closing the client closes the underlying RestClient, and that the
+     * client may not be used afterwards.
+     */
+    @Test
+    public void close_closesRestClient() {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("[]", HttpStatus.SC_OK));
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            client.getConnectors();
+            client.close();
+            verify(mockRestClient, times(1)).close();
+
+            try {
+                client.getConnectors();
+                fail("Expected IllegalStateException");
+            } catch (final IllegalStateException exception) {
+                // Expected.
+            }
+        }
+
+        // Closing more than once is a no-op.
+        verify(mockRestClient, times(1)).close();
+    }
+
+    /**
+     * This test verifies that the configured RequestMetricsListener is notified of request outcomes.
+     */
+    @Test
+    public void requestMetrics_recordsSuccessAndFailure() {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("[]", HttpStatus.SC_OK))
+            .thenReturn(new RestResponse("{\"error_code\":409,\"message\":\"Rebalance in progress.\"}", HttpStatus.SC_CONFLICT));
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(
+            new Configuration("http://localhost:9092").useRequestMetricsListener(metrics),
+            mockRestClient
+        )) {
+            client.getConnectors();
+            try {
+                client.getConnectors();
+                fail("Expected ConcurrentConfigModificationException");
+            } catch (final ConcurrentConfigModificationException exception) {
+                // Expected.
+            }
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(GetConnectors.class);
+        assertEquals(2, snapshot.getRequestCount());
+        assertEquals(1, snapshot.getSuccessCount());
+        assertEquals(1, snapshot.getFailureCount());
+        assertEquals(1L, (long) snapshot.getExceptionCounts().get(ConcurrentConfigModificationException.class.getName()));
+    }
+
+    /**
+     * This test verifies that requests rejected during a rebalance are retried per the configured RetryPolicy.
+     */
+    @Test
+    public void retryPolicy_retriesRebalanceConflicts() {
+        final String conflict = "{\"error_code\":409,\"message\":\"Rebalance in progress.\"}";
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(conflict, HttpStatus.SC_CONFLICT))
+            .thenThrow(new ConnectionException("Connection refused", null))
+            .thenReturn(new RestResponse("[\"Connector1\"]", HttpStatus.SC_OK));
+
+        final Configuration retryConfiguration = new Configuration("http://localhost:9092")
+            .useRetryPolicy(RetryPolicy.newBuilder().withBackoffInMillis(1, 1).build())
+            .useRequestMetricsListener(metrics);
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(retryConfiguration, mockRestClient)) {
+            assertEquals(Arrays.asList("Connector1"), client.getConnectors());
+        }
+        verify(mockRestClient, times(3)).submitRequest(any());
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(GetConnectors.class);
+        assertEquals(2, snapshot.getRetryCount());
+        assertEquals(1, snapshot.getSuccessCount());
+    }
+
+    /**
+     * This test verifies that retries give up after max attempts, and that non-idempotent requests are not retried.
+     */
+    @Test
+    public void retryPolicy_givesUpAfterMaxAttempts() {
+        final String conflict = "{\"error_code\":409,\"message\":\"Rebalance in progress.\"}";
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(conflict, HttpStatus.SC_CONFLICT));
+
+        final Configuration retryConfiguration = new Configuration("http://localhost:9092")
+            .useRetryPolicy(RetryPolicy.newBuilder().withMaxAttempts(2).withBackoffInMillis(1, 1).build());
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(retryConfiguration, mockRestClient)) {
+            try {
+                client.getConnectors();
+                fail("Expected ConcurrentConfigModificationException");
+            } catch (final ConcurrentConfigModificationException exception) {
+                // Expected.
+            }
+            verify(mockRestClient, times(2)).submitRequest(any());
+
+            try {
+                client.restartConnector("MyConnector");
+                fail("Expected ConcurrentConfigModificationException");
+            } catch (final ConcurrentConfigModificationException exception) {
+                // Expected.
+            }
+            verify(mockRestClient, times(3)).submitRequest(any());
+        }
+    }
+
+    /**
+     * This test verifies that bulk operations apply to every connector without failing fast,
+     * and never exceed the configured concurrency.
+     */
+    @Test
+    public void pauseConnectors_reportsEachConnectorAndBoundsConcurrency() {
+        final String notFound = "{\"error_code\":404,\"message\":\"Connector Missing not found\"}";
+        final AtomicInteger inFlight = new AtomicInteger(0);
+        final AtomicInteger maxInFlight = new AtomicInteger(0);
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        doAnswer((invocation) -> {
+            final Request<?> request = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (request.getApiEndpoint().contains("Missing")) {
+                return new RestResponse(notFound, HttpStatus.SC_NOT_FOUND);
+            }
+            return new RestResponse("", HttpStatus.SC_ACCEPTED);
+        }).when(mockRestClient).submitRequest(any());
+
+        final Configuration bulkConfiguration = new Configuration("http://localhost:9092")
+            .useBulkOperationConcurrency(2);
+
+        final BulkOperationResult<Boolean> result;
+        try (final KafkaConnectClient client = new KafkaConnectClient(bulkConfiguration, mockRestClient)) {
+            result = client.pauseConnectors(Arrays.asList("Connector1", "Missing", "Connector2", "Connector3", "Connector1"));
+        }
+
+        assertFalse(result.isSuccessful());
+        assertEquals(Arrays.asList("Connector1", "Connector2", "Connector3"), new ArrayList<>(result.getSuccesses().keySet()));
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get("Missing") instanceof ResourceNotFoundException);
+        verify(mockRestClient, times(4)).submitRequest(any());
+        assertTrue("Expected at most 2 concurrent requests, saw " + maxInFlight.get(), maxInFlight.get() <= 2);
+    }
+
+    /**
+     * This test verifies that bulk operations are spaced out according to the configured rate limit.
+     */
+    @Test
+    public void resumeConnectors_respectsRateLimit() {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("", HttpStatus.SC_ACCEPTED));
+
+        final Configuration bulkConfiguration = new Configuration("http://localhost:9092")
+            .useBulkOperationConcurrency(4)
+            .useBulkOperationRateLimitPerSecond(20);
+
+        final long start = System.nanoTime();
+        final BulkOperationResult<Boolean> result;
+        try (final KafkaConnectClient client = new KafkaConnectClient(bulkConfiguration, mockRestClient)) {
+            result = client.resumeConnectors(Arrays.asList("Connector1", "Connector2", "Connector3", "Connector4", "Connector5"));
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(5, result.getSuccesses().size());
+
+        // 5 requests at 20 per second start no sooner than 4 * 50ms after the first.
+        assertTrue("Expected at least 200ms, took " + elapsedMillis, elapsedMillis >= 195);
+    }
+
+    /**
+     * This test verifies that statuses can be retrieved in bulk with virtual threads enabled, falling back to
+     * platform threads on runtimes without them.
+     */
+    @Test
+    public void getConnectorStatuses_withVirtualThreads() {
+        final AtomicInteger inFlight = new AtomicInteger(0);
+        final AtomicInteger maxInFlight = new AtomicInteger(0);
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        doAnswer((invocation) -> {
+            final Request<?> request = invocation.getArgument(0);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            final String name = request.getApiEndpoint().split("/")[2];
+            return new RestResponse(
+                "{\"name\":\"" + name + "\",\"connector\":{\"state\":\"RUNNING\",\"worker_id\":\"w1\"},\"tasks\":[],\"type\":\"sink\"}",
+                HttpStatus.SC_OK
+            );
+        }).when(mockRestClient).submitRequest(any());
+
+        final Configuration bulkConfiguration = new Configuration("http://localhost:9092")
+            .useVirtualThreads()
+            .useBulkOperationConcurrency(16);
+
+        final List<String> connectorNames = new ArrayList<>();
+        for (int index = 0; index < 200; index++) {
+            connectorNames.add("Connector" + index);
+        }
+
+        final BulkOperationResult<ConnectorStatus> result;
+        try (final KafkaConnectClient client = new KafkaConnectClient(bulkConfiguration, mockRestClient)) {
+            result = client.getConnectorStatuses(connectorNames);
+        }
+
+        assertTrue(result.isSuccessful());
+        assertEquals(connectorNames, new ArrayList<>(result.getSuccesses().keySet()));
+        assertEquals("Connector42", result.getSuccesses().get("Connector42").getName());
+        assertTrue("Expected at most 16 concurrent requests, saw " + maxInFlight.get(), maxInFlight.get() <= 16);
+    }
+
+    /**
+     * This test verifies that bulk operations can select connectors based on their current status.
+     */
+    @Test
+    public void restartConnectors_selectsByStatus() {
+        final String expandedStatus = "{"
+            + "\"Running\":{\"status\":{\"name\":\"Running\",\"connector\":{\"state\":\"RUNNING\",\"worker_id\":\"w1\"},"
+            + "\"tasks\":[],\"type\":\"sink\"}},"
+            + "\"Failed\":{\"status\":{\"name\":\"Failed\",\"connector\":{\"state\":\"FAILED\",\"worker_id\":\"w1\"},"
+            + "\"tasks\":[],\"type\":\"sink\"}}"
+            + "}";
+
+        final List<String> endpoints = Collections.synchronizedList(new ArrayList<>());
+        final RestClient mockRestClient = mock(RestClient.class);
+        doAnswer((invocation) -> {
+            final Request<?> request = invocation.getArgument(0);
+            endpoints.add(request.getApiEndpoint());
+            if (request instanceof GetConnectorsExpandStatus) {
+                return new RestResponse(expandedStatus, HttpStatus.SC_OK);
+            }
+            return new RestResponse("", HttpStatus.SC_NO_CONTENT);
+        }).when(mockRestClient).submitRequest(any());
+
+        final BulkOperationResult<Boolean> result;
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            result = client.restartConnectors((status) -> "FAILED".equals(status.getConnector().get("state")));
+        }
+
+        assertTrue(result.isSuccessful());
+        assertEquals(Collections.singleton("Failed"), result.getSuccesses().keySet());
+        assertEquals(Arrays.asList("/connectors?expand=status", "/connectors/Failed/restart"), endpoints);
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.rest.ExecutorAsyncRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConcurrentConfigModificationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests over RequestCoalescer.
+ */
+public class RequestCoalescerTest {
+
+    /**
+     * Verifies concurrent identical GET requests share a single request and parsed result.
+     */
+    @Test
+    public void concurrentIdenticalReads_shareOneRequest() throws Exception {
+        final int numberOfCallers = 10;
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any())).thenAnswer((invocation) -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new RestResponse("[\"Connector1\"]", HttpStatus.SC_OK);
+        });
+
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useRequestCoalescing();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(numberOfCallers);
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            final List<Future<Collection<String>>> futures = new ArrayList<>();
+            for (int index = 0; index < numberOfCallers; index++) {
+                futures.add(executorService.submit(client::getConnectors));
+            }
+
+            // Give every caller a chance to join the in flight request before releasing it.
+            Thread.sleep(200);
+            release.countDown();
+
+            final Collection<String> first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (final Future<Collection<String>> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(mockRestClient, times(1)).submitRequest(any());
+    }
+
+    /**
+     * Verifies callers waiting on a failed request receive the same exception, and the next request is submitted afresh.
+     */
+    @Test
+    public void failure_isSharedThenCleared() {
+        final RequestCoalescer requestCoalescer = new RequestCoalescer();
+        final GetConnectors request = new GetConnectors();
+        final AtomicInteger waiterResult = new AtomicInteger(0);
+
+        try {
+            requestCoalescer.submit(request, () -> {
+                // Identical request made while the first is in flight.
+                requestCoalescer.submitAsync(request, () -> {
+                    fail("Should not be submitted");
+                    return null;
+                }).whenComplete((result, error) -> {
+                    if (error != null && error.getCause() instanceof ConcurrentConfigModificationException) {
+                        waiterResult.set(1);
+                    }
+                });
+                throw new ConcurrentConfigModificationException("Rebalance in progress.");
+            });
+            fail("Should have thrown an exception");
+        } catch (final ConcurrentConfigModificationException exception) {
+            // Expected.
+        }
+        assertEquals(1, waiterResult.get());
+        assertEquals(0, requestCoalescer.getInFlightCount());
+
+        assertEquals(Collections.singletonList("Fresh"), requestCoalescer.submit(request, () -> Collections.singletonList("Fresh")));
+    }
+
+    /**
+     * Verifies requests other than GET are never coalesced.
+     */
+    @Test
+    public void writes_areNotCoalesced() throws Exception {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any())).thenAnswer((invocation) -> {
+            bothStarted.countDown();
+            bothStarted.await(5, TimeUnit.SECONDS);
+            return new RestResponse("", HttpStatus.SC_ACCEPTED);
+        });
+
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useRequestCoalescing();
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            final CompletableFuture<Boolean> first = client.pauseConnector("MyConnector");
+            final CompletableFuture<Boolean> second = client.pauseConnector("MyConnector");
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+        }
+        verify(mockRestClient, times(2)).submitRequest(any());
+    }
+
+    /**
+     * Verifies AsyncKafkaConnectClient coalesces identical GET requests.
+     */
+    @Test
+    public void asyncClient_sharesOneRequest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any())).thenAnswer((invocation) -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new RestResponse("{\"error_code\":409,\"message\":\"Rebalance in progress.\"}", HttpStatus.SC_CONFLICT);
+        });
+
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useRequestCoalescing();
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            final CompletableFuture<Collection<String>> first = client.getConnectors();
+            final CompletableFuture<Collection<String>> second = client.getConnectors();
+            release.countDown();
+
+            for (final CompletableFuture<Collection<String>> future : Arrays.asList(first, second)) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    fail("Should have thrown an exception");
+                } catch (final ExecutionException exception) {
+                    assertTrue(exception.getCause() instanceof ConcurrentConfigModificationException);
+                }
+            }
+        }
+        verify(mockRestClient, times(1)).submitRequest(any());
+    }
+
+    /**
+     * Verifies coalesced results are shared as unmodifiable views, for the caller which submitted the request too.
+     */
+    @Test
+    public void sharedResults_areUnmodifiable() throws Exception {
+        final RequestCoalescer requestCoalescer = new RequestCoalescer();
+        final GetConnectors request = new GetConnectors();
+
+        final Collection<String> result = requestCoalescer.submit(request, () -> new ArrayList<>(Arrays.asList("Connector1")));
+        final Collection<String> asyncResult = requestCoalescer.submitAsync(
+            request, () -> CompletableFuture.completedFuture(new ArrayList<>(Arrays.asList("Connector1")))
+        ).get(5, TimeUnit.SECONDS);
+
+        for (final Collection<String> connectors : Arrays.asList(result, asyncResult)) {
+            try {
+                connectors.add("Connector2");
+                fail("Should be unmodifiable");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected
+            }
+        }
+    }
+}
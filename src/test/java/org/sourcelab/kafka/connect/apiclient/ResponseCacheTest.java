@@ -0,0 +1,304 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnector;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorPlugins;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorPluginConfigValidate;
+import org.sourcelab.kafka.connect.apiclient.rest.ExecutorAsyncRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests over ResponseCache.
+ */
+public class ResponseCacheTest {
+
+    /**
+     * Verifies repeated GET requests are answered from the cache, and counted as hits and misses.
+     */
+    @Test
+    public void repeatedReads_areServedFromCache() {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("[\"Connector1\"]", HttpStatus.SC_OK));
+
+        final ResponseCache responseCache = ResponseCache.newBuilder().build();
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useResponseCache(responseCache);
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            final Collection<String> first = client.getConnectors();
+            final Collection<String> second = client.getConnectors();
+            assertEquals(Arrays.asList("Connector1"), first);
+            assertSame(first, second);
+        }
+        verify(mockRestClient, times(1)).submitRequest(any());
+
+        final ResponseCacheStats stats = responseCache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(0.5, stats.getHitRatio(), 0.0001);
+    }
+
+    /**
+     * Verifies cached responses expire after their request type's TTL, and that a TTL of 0 disables caching.
+     */
+    @Test
+    public void perRequestTypeTtl() throws InterruptedException {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(isA(GetConnectors.class)))
+            .thenReturn(new RestResponse("[\"Connector1\"]", HttpStatus.SC_OK));
+        when(mockRestClient.submitRequest(isA(GetConnectorPlugins.class)))
+            .thenReturn(new RestResponse("[]", HttpStatus.SC_OK));
+
+        final ResponseCache responseCache = ResponseCache.newBuilder()
+            .withDefaultTtlInMillis(60_000)
+            .withTtlInMillis(GetConnectors.class, 50)
+            .withTtlInMillis(GetConnectorPlugins.class, 0)
+            .build();
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useResponseCache(responseCache);
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            client.getConnectors();
+            client.getConnectors();
+            verify(mockRestClient, times(1)).submitRequest(isA(GetConnectors.class));
+
+            // Expires after its TTL.
+            Thread.sleep(100);
+            client.getConnectors();
+            verify(mockRestClient, times(2)).submitRequest(isA(GetConnectors.class));
+
+            // Never cached.
+            client.getConnectorPlugins();
+            client.getConnectorPlugins();
+            verify(mockRestClient, times(2)).submitRequest(isA(GetConnectorPlugins.class));
+        }
+        assertEquals(1, responseCache.getStats().getHitCount());
+        assertEquals(2, responseCache.getStats().getMissCount());
+    }
+
+    /**
+     * Verifies that requests which modify a connector invalidate cached responses.
+     */
+    @Test
+    public void writes_invalidateCache() {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(isA(GetConnectorConfig.class)))
+            .thenReturn(new RestResponse("{\"key\":\"value1\"}", HttpStatus.SC_OK))
+            .thenReturn(new RestResponse("{\"key\":\"value2\"}", HttpStatus.SC_OK));
+
+        final ResponseCache responseCache = ResponseCache.newBuilder().build();
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useResponseCache(responseCache);
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            assertEquals("value1", client.getConnectorConfig("MyConnector").get("key"));
+            assertEquals("value1", client.getConnectorConfig("MyConnector").get("key"));
+
+            when(mockRestClient.submitRequest(any()))
+                .thenReturn(new RestResponse("", HttpStatus.SC_ACCEPTED))
+                .thenReturn(new RestResponse("{\"key\":\"value2\"}", HttpStatus.SC_OK));
+            client.pauseConnector("MyConnector");
+
+            assertEquals("value2", client.getConnectorConfig("MyConnector").get("key"));
+        }
+        assertEquals(1, responseCache.getStats().getInvalidationCount());
+        assertEquals(2, responseCache.getStats().getMissCount());
+    }
+
+    /**
+     * Verifies validating a connector plugin's config, which does not modify the cluster, leaves cached responses in place.
+     */
+    @Test
+    public void configValidation_doesNotInvalidateCache() {
+        final ResponseCache responseCache = ResponseCache.newBuilder().build();
+        final GetConnectors request = new GetConnectors();
+        responseCache.get(request, () -> Collections.singletonList("Connector1"));
+
+        final PutConnectorPluginConfigValidate validateRequest = new PutConnectorPluginConfigValidate(
+            "FileStreamSinkConnector", Collections.singletonMap("topics", "test")
+        );
+        responseCache.get(validateRequest, () -> null);
+        responseCache.getAsync(validateRequest, () -> CompletableFuture.completedFuture(null)).join();
+
+        assertEquals(0, responseCache.getStats().getInvalidationCount());
+        assertEquals(Collections.singletonList("Connector1"), responseCache.get(request, () -> Collections.singletonList("Unused")));
+    }
+
+    /**
+     * Verifies responses to requests in flight during an invalidation are not cached.
+     */
+    @Test
+    public void invalidationDuringRead_doesNotCacheResponse() {
+        final ResponseCache responseCache = ResponseCache.newBuilder().build();
+        final GetConnectors request = new GetConnectors();
+
+        responseCache.get(request, () -> {
+            responseCache.invalidateAll();
+            return Collections.singletonList("Stale");
+        });
+        assertEquals(0, responseCache.getStats().getSize());
+
+        responseCache.get(request, () -> Collections.singletonList("Fresh"));
+        assertEquals(Collections.singletonList("Fresh"), responseCache.get(request, () -> Collections.singletonList("Unused")));
+    }
+
+    /**
+     * Verifies the least recently used response is evicted once the cache is full.
+     */
+    @Test
+    public void leastRecentlyUsed_isEvicted() {
+        final ResponseCache responseCache = ResponseCache.newBuilder()
+            .withMaxEntries(2)
+            .build();
+
+        responseCache.get(new GetConnectorConfig("A"), () -> Collections.singletonMap("name", "A"));
+        responseCache.get(new GetConnectorConfig("B"), () -> Collections.singletonMap("name", "B"));
+
+        // Touch A, so B is least recently used.
+        responseCache.get(new GetConnectorConfig("A"), () -> Collections.singletonMap("name", "Reloaded"));
+        responseCache.get(new GetConnectorConfig("C"), () -> Collections.singletonMap("name", "C"));
+
+        assertEquals("A", responseCache.get(new GetConnectorConfig("A"), () -> Collections.singletonMap("name", "Reloaded")).get("name"));
+        assertEquals("Reloaded", responseCache.get(new GetConnectorConfig("B"), () -> Collections.singletonMap("name", "Reloaded")).get("name"));
+
+        final ResponseCacheStats stats = responseCache.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getEvictionCount());
+    }
+
+    /**
+     * Verifies AsyncKafkaConnectClient shares the same caching behavior.
+     */
+    @Test
+    public void asyncClient_servesFromCache() throws Exception {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse("[\"Connector1\"]", HttpStatus.SC_OK));
+
+        final ResponseCache responseCache = ResponseCache.newBuilder().build();
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useResponseCache(responseCache);
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            assertEquals(Arrays.asList("Connector1"), client.getConnectors().get(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("Connector1"), client.getConnectors().get(5, TimeUnit.SECONDS));
+        }
+        verify(mockRestClient, times(1)).submitRequest(any());
+        assertEquals(1, responseCache.getStats().getHitCount());
+    }
+
+    /**
+     * Verifies cached results are shared as unmodifiable views, so callers cannot modify the cached entry.
+     */
+    @Test
+    public void cachedResults_areUnmodifiable() {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(isA(GetConnectorConfig.class)))
+            .thenReturn(new RestResponse("{\"tasks.max\":\"1\"}", HttpStatus.SC_OK));
+        when(mockRestClient.submitRequest(isA(GetConnector.class)))
+            .thenReturn(new RestResponse("{\"name\":\"A\",\"config\":{\"tasks.max\":\"1\"},\"tasks\":[]}", HttpStatus.SC_OK));
+
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useResponseCache(ResponseCache.newBuilder().build());
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            final Map<String, String> config = client.getConnectorConfig("A");
+            try {
+                config.put("tasks.max", "2");
+                fail("Should be unmodifiable");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected
+            }
+
+            try {
+                client.getConnector("A").getConfig().put("tasks.max", "2");
+                fail("Should be unmodifiable");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected
+            }
+
+            // Read-modify-write callers copy the config first.
+            final Map<String, String> updated = new HashMap<>(client.getConnectorConfig("A"));
+            updated.put("tasks.max", "2");
+            assertEquals("1", client.getConnectorConfig("A").get("tasks.max"));
+        }
+    }
+
+    /**
+     * Verifies cached expanded results can not be modified by one caller for every other caller.
+     */
+    @Test
+    public void cachedExpandedResults_areUnmodifiable() {
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(isA(GetConnectorsExpandStatus.class))).thenReturn(new RestResponse(
+            "{\"A\":{\"status\":{\"name\":\"A\",\"connector\":{\"state\":\"RUNNING\"},\"tasks\":[]}}}", HttpStatus.SC_OK
+        ));
+
+        final Configuration configuration = new Configuration("http://localhost:9092")
+            .useResponseCache(ResponseCache.newBuilder().build());
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient)) {
+            final ConnectorsWithExpandedStatus statuses = client.getConnectorsWithExpandedStatus();
+            try {
+                statuses.getConnectorNames().remove("A");
+                fail("Should be unmodifiable");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected
+            }
+            try {
+                statuses.getStatusForConnector("A").getTasks().clear();
+                fail("Should be unmodifiable");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected
+            }
+
+            final ConnectorsWithExpandedStatus cached = client.getConnectorsWithExpandedStatus();
+            assertSame(statuses, cached);
+            assertEquals(Collections.singleton("A"), new HashSet<>(cached.getConnectorNames()));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnectorRestart;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorPause;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.RequestTimeoutException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ResultParsingException;
+
+import java.util.OptionalLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests over RetryPolicy.
+ */
+public class RetryPolicyTest {
+
+    /**
+     * Verifies which responses and errors are retried by default.
+     */
+    @Test
+    public void testDefaultRetryConditions() {
+        final RetryPolicy retryPolicy = RetryPolicy.newBuilder().build();
+        final GetConnectors request = new GetConnectors();
+
+        assertTrue(retryPolicy.isEnabled());
+        assertTrue(retryPolicy.getRetryDelay(request, 1, 409).isPresent());
+        assertTrue(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+        assertFalse(retryPolicy.getRetryDelay(request, 1, 404).isPresent());
+        assertFalse(retryPolicy.getRetryDelay(request, 1, 200).isPresent());
+
+        assertTrue(retryPolicy.getRetryDelay(request, 1, new ConnectionException("Refused", null)).isPresent());
+        assertTrue(retryPolicy.getRetryDelay(request, 1, new RequestTimeoutException("Timeout", null)).isPresent());
+        assertFalse(retryPolicy.getRetryDelay(request, 1, new ResultParsingException("Invalid", null)).isPresent());
+
+        // PUT and DELETE are idempotent, POST is not.
+        assertTrue(retryPolicy.getRetryDelay(new PutConnectorPause("MyConnector"), 1, 409).isPresent());
+        assertFalse(retryPolicy.getRetryDelay(new PostConnectorRestart("MyConnector"), 1, 409).isPresent());
+
+        // Never exceed max attempts.
+        assertFalse(retryPolicy.getRetryDelay(request, 3, 409).isPresent());
+    }
+
+    /**
+     * Verifies the default policy never retries.
+     */
+    @Test
+    public void testNoRetries() {
+        final RetryPolicy retryPolicy = RetryPolicy.noRetries();
+        assertFalse(retryPolicy.isEnabled());
+        assertFalse(retryPolicy.getRetryDelay(new GetConnectors(), 1, 409).isPresent());
+        assertFalse(new Configuration("http://localhost:8083").getRetryPolicy().isEnabled());
+    }
+
+    /**
+     * Verifies backoff grows exponentially up to the maximum, reduced by at most the jitter factor.
+     */
+    @Test
+    public void testBackoffWithJitter() {
+        final RetryPolicy retryPolicy = RetryPolicy.newBuilder()
+            .withMaxAttempts(10)
+            .withBackoffInMillis(100, 1_000)
+            .withJitterFactor(0.5)
+            .withRetryBudget(0, 1_000)
+            .build();
+        final GetConnectors request = new GetConnectors();
+
+        final long[] expectedBackoffs = {100, 200, 400, 800, 1_000, 1_000};
+        for (int attempt = 1; attempt <= expectedBackoffs.length; attempt++) {
+            final long delay = retryPolicy.getRetryDelay(request, attempt, 503).getAsLong();
+            final long expectedBackoff = expectedBackoffs[attempt - 1];
+            assertTrue("Attempt " + attempt + " delay " + delay, delay >= expectedBackoff / 2 && delay <= expectedBackoff);
+        }
+
+        // Without jitter, backoff is exact.
+        final RetryPolicy noJitter = RetryPolicy.newBuilder()
+            .withBackoffInMillis(100, 1_000)
+            .withJitterFactor(0)
+            .build();
+        assertEquals(OptionalLong.of(100), noJitter.getRetryDelay(request, 1, 503));
+        assertEquals(OptionalLong.of(200), noJitter.getRetryDelay(request, 2, 503));
+    }
+
+    /**
+     * Verifies retries stop once the retry budget is exhausted, and resume as requests refill it.
+     */
+    @Test
+    public void testRetryBudget() {
+        final RetryPolicy retryPolicy = RetryPolicy.newBuilder()
+            .withRetryBudget(0.5, 2)
+            .build();
+        final GetConnectors request = new GetConnectors();
+
+        // Initial burst.
+        assertTrue(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+        assertTrue(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+        assertFalse(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+
+        // Each request adds half a retry.
+        retryPolicy.onRequest();
+        assertFalse(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+        retryPolicy.onRequest();
+        assertTrue(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+        assertFalse(retryPolicy.getRetryDelay(request, 1, 503).isPresent());
+    }
+
+    /**
+     * Verifies invalid settings are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidJitterFactor() {
+        RetryPolicy.newBuilder().withJitterFactor(1.5);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.post.PostConnectorRestart;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.InvalidRequestException;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryRequestMetricsTest {
+
+    /**
+     * Verifies metrics are aggregated by Request class.
+     */
+    @Test
+    public void testAggregatesByRequestType() {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+
+        metrics.onHttpExchange(new GetConnectors(), 200, 100, 1_000);
+        metrics.onRequestSuccess(new GetConnectors(), 2_000);
+        metrics.onHttpExchange(new GetConnectors(), 200, 150, 3_000);
+        metrics.onRequestSuccess(new GetConnectors(), 4_000);
+
+        metrics.onHttpExchange(new PostConnectorRestart("MyConnector"), 404, 50, 5_000);
+        metrics.onRequestFailure(new PostConnectorRestart("MyConnector"), new InvalidRequestException("Not found", 404), 6_000);
+        metrics.onHttpFailure(new PostConnectorRestart("MyConnector"), new ConnectionException("Refused", null), 7_000);
+        metrics.onRequestFailure(new PostConnectorRestart("MyConnector"), new ConnectionException("Refused", null), 8_000);
+
+        final Map<Class<?>, RequestTypeMetricsSnapshot> snapshot = metrics.getSnapshot();
+        assertEquals(2, snapshot.size());
+
+        final RequestTypeMetricsSnapshot getConnectors = snapshot.get(GetConnectors.class);
+        assertEquals(GetConnectors.class, getConnectors.getRequestType());
+        assertEquals(2, getConnectors.getRequestCount());
+        assertEquals(2, getConnectors.getSuccessCount());
+        assertEquals(0, getConnectors.getFailureCount());
+        assertEquals(250, getConnectors.getResponseBytes());
+        assertEquals(2L, (long) getConnectors.getHttpStatusCounts().get(200));
+        assertEquals(2_000, getConnectors.getRequestLatency().getMin());
+        assertEquals(4_000, getConnectors.getRequestLatency().getMax());
+        assertEquals(3_000, getConnectors.getHttpLatency().getMax());
+        assertTrue(getConnectors.getExceptionCounts().isEmpty());
+
+        final RequestTypeMetricsSnapshot restart = snapshot.get(PostConnectorRestart.class);
+        assertEquals(2, restart.getRequestCount());
+        assertEquals(0, restart.getSuccessCount());
+        assertEquals(2, restart.getFailureCount());
+        assertEquals(2, restart.getHttpLatency().getCount());
+        assertEquals(1L, (long) restart.getHttpStatusCounts().get(404));
+        assertEquals(1L, (long) restart.getHttpExceptionCounts().get(ConnectionException.class.getName()));
+        assertEquals(1L, (long) restart.getExceptionCounts().get(ConnectionException.class.getName()));
+        assertEquals(1L, (long) restart.getExceptionCounts().get(InvalidRequestException.class.getName()));
+
+        metrics.reset();
+        assertTrue(metrics.getSnapshot().isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    /**
+     * Verifies every bucket covers a contiguous range of values.
+     */
+    @Test
+    public void testBucketBoundaries() {
+        long expectedLowerBound = 0;
+        for (int index = 0; index < LatencyHistogram.BUCKET_COUNT; index++) {
+            final long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertEquals("Lower bound of bucket " + index, index, LatencyHistogram.bucketIndex(expectedLowerBound));
+            assertEquals("Upper bound of bucket " + index, index, LatencyHistogram.bucketIndex(upperBound));
+            expectedLowerBound = upperBound + 1;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    /**
+     * Verifies percentiles are reported within the histogram's precision.
+     */
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(value));
+        }
+
+        final LatencyHistogramSnapshot snapshot = histogram.getSnapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1), snapshot.getMin());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(10_000), snapshot.getMax());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(10_001) / 2.0, snapshot.getMean(), 0.001);
+
+        assertWithinPrecision(5_000, snapshot.getValueAtPercentile(50, TimeUnit.MICROSECONDS));
+        assertWithinPrecision(9_900, snapshot.getValueAtPercentile(99, TimeUnit.MICROSECONDS));
+        assertWithinPrecision(9_990, snapshot.getValueAtPercentile(99.9, TimeUnit.MICROSECONDS));
+        assertEquals(snapshot.getMax(), snapshot.getValueAtPercentile(100));
+    }
+
+    /**
+     * Verifies behavior of an empty histogram, and of reset().
+     */
+    @Test
+    public void testEmptyAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getSnapshot().getValueAtPercentile(99));
+        assertEquals(0, histogram.getSnapshot().getMin());
+
+        histogram.record(-5);
+        histogram.record(42);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getSnapshot().getMin());
+        assertEquals(42, histogram.getSnapshot().getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSnapshot().getMax());
+    }
+
+    private static void assertWithinPrecision(final long expected, final long actual) {
+        final double relativeError = Math.abs(actual - expected) / (double) expected;
+        assertTrue("Expected " + expected + " but was " + actual, relativeError <= 1.0 / LatencyHistogram.SUB_BUCKET_HALF_COUNT);
+    }
+}
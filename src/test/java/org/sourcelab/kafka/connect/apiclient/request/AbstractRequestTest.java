@@ -21,6 +21,7 @@ import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 
@@ -52,4 +53,13 @@ abstract public class AbstractRequestTest {
         final URL inputFile = getClass().getClassLoader().getResource("mockResponses/" + fileName);
         return IOUtils.toString(inputFile, StandardCharsets.UTF_8);
     }
+
+    /**
+     * Utility method to help load mock responses from resources as a stream.
+     * @param fileName file name to load from resources
+     * @return Stream over the contents of the file.
+     */
+    protected InputStream readFileAsStream(final String fileName) {
+        return getClass().getClassLoader().getResourceAsStream("mockResponses/" + fileName);
+    }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request;
+
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.dto.NewConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.dto.TaskStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+public class JacksonFactoryTest {
+
+    /**
+     * Readers and writers should be built once per type, and configured like the shared mapper.
+     */
+    @Test
+    public void readersAndWritersAreCachedPerType() throws Exception {
+        assertSame(JacksonFactory.readerFor(TaskStatus.class), JacksonFactory.readerFor(TaskStatus.class));
+        assertSame(JacksonFactory.readerFor(JacksonFactory.mapTypeStringString), JacksonFactory.readerFor(JacksonFactory.mapTypeStringString));
+        assertSame(JacksonFactory.writerFor(NewConnectorDefinition.class), JacksonFactory.writerFor(NewConnectorDefinition.class));
+
+        // Unknown properties are ignored, and snake case names are mapped.
+        final TaskStatus taskStatus = JacksonFactory.readerFor(TaskStatus.class)
+            .readValue("{\"id\":1,\"state\":\"RUNNING\",\"worker_id\":\"w1\",\"unknown\":true}");
+        assertEquals("w1", taskStatus.getWorkerId());
+
+        final Map<String, String> config = JacksonFactory.readerFor(JacksonFactory.mapTypeStringString).readValue("{\"tasks.max\":\"1\"}");
+        assertEquals(Collections.singletonMap("tasks.max", "1"), config);
+    }
+
+    /**
+     * Readers, and Requests parsing via them, should leave the response stream open for the caller to close.
+     */
+    @Test
+    public void readersDoNotCloseStreams() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final ByteArrayInputStream responseStream = new ByteArrayInputStream("[\"Connector1\"]".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        assertEquals(Arrays.asList("Connector1"), new GetConnectors().parseResponse(responseStream));
+        assertFalse(closed.get());
+    }
+
+    /**
+     * Values should serialize identically via their cached writer and the shared mapper, including null.
+     */
+    @Test
+    public void writeValueAsString() throws Exception {
+        final NewConnectorDefinition definition = new NewConnectorDefinition("MyConnector", Collections.singletonMap("tasks.max", "1"));
+        assertEquals(JacksonFactory.newInstance().writeValueAsString(definition), JacksonFactory.writeValueAsString(definition));
+        assertEquals("null", JacksonFactory.writeValueAsString(null));
+        assertEquals("\"\"", JacksonFactory.writeValueAsString(""));
+    }
+
+    /**
+     * Bytecode acceleration modules are only registered when enabled via the system property, even if on the classpath.
+     */
+    @Test
+    public void accelerationIsOffByDefault() {
+        assumeTrue(System.getProperty(JacksonFactory.ACCELERATION_PROPERTY) == null);
+        assertNull(JacksonFactory.getAccelerationModule());
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request.dto;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandAllDetails;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactConnectorsSnapshotTest {
+
+    /**
+     * The snapshot should hold the same values as the results it was created from.
+     */
+    @Test
+    public void testSnapshotMatchesResults() throws IOException {
+        final ConnectorsWithExpandedMetadata results = parse(readFile("getConnectorsWithAllExpandedMetadata.json"));
+        final CompactConnectorsSnapshot snapshot = results.toCompactSnapshot();
+
+        assertEquals(2, snapshot.getConnectorCount());
+        assertEquals(Arrays.asList("MyTestConnector", "MyTestConnector2"), snapshot.getConnectorNames());
+        assertEquals(new TreeMap<>(results.getMappedDefinitions()).toString(), snapshot.getMappedDefinitions().toString());
+        assertEquals(new TreeMap<>(results.getMappedStatuses()).toString(), snapshot.getMappedStatuses().toString());
+        assertEquals(2, snapshot.getAllDefinitions().size());
+        assertEquals(2, snapshot.getAllStatuses().size());
+
+        final ConnectorStatus status = snapshot.getStatusForConnector("MyTestConnector");
+        assertEquals("MyTestConnector", status.getName());
+        assertEquals("source", status.getType());
+        assertEquals(3, status.getTasks().size());
+        assertEquals(2, status.getTasks().get(2).getId());
+        assertEquals("PAUSED", status.getTasks().get(2).getState());
+        assertEquals("trace2", status.getTasks().get(2).getTrace());
+
+        final ConnectorDefinition definition = snapshot.getDefinitionForConnector("MyTestConnector2");
+        assertEquals("another-topic", definition.getConfig().get("topics"));
+        assertEquals(1, definition.getTasks().size());
+        assertEquals("MyTestConnector2", definition.getTasks().get(0).getConnector());
+
+        // Direct accessors
+        assertEquals(State.RUNNING, snapshot.getConnectorState("MyTestConnector"));
+        assertEquals("127.0.0.1:8083", snapshot.getConnectorWorkerId("MyTestConnector"));
+        assertEquals(3, snapshot.getTaskCount("MyTestConnector"));
+        assertEquals(1, snapshot.getTaskCount("MyTestConnector2"));
+        assertEquals("3", snapshot.getConfigValue("MyTestConnector", "tasks.max"));
+        assertNull(snapshot.getConfigValue("MyTestConnector", "unknown"));
+    }
+
+    /**
+     * Repeated values should be held once across the whole snapshot.
+     */
+    @Test
+    public void testRepeatedValuesAreShared() throws IOException {
+        final CompactConnectorsSnapshot snapshot = parse(readFile("getConnectorsWithAllExpandedMetadata.json")).toCompactSnapshot();
+
+        final ConnectorStatus status1 = snapshot.getStatusForConnector("MyTestConnector");
+        final ConnectorStatus status2 = snapshot.getStatusForConnector("MyTestConnector2");
+        assertSame(status1.getConnector().get("worker_id"), status2.getConnector().get("worker_id"));
+        assertSame(status1.getTasks().get(0).getWorkerId(), status2.getTasks().get(0).getWorkerId());
+        assertSame(status1.getTasks().get(1).getState(), status2.getTasks().get(0).getState());
+
+        final Map<String, String> config1 = snapshot.getDefinitionForConnector("MyTestConnector").getConfig();
+        final Map<String, String> config2 = snapshot.getDefinitionForConnector("MyTestConnector2").getConfig();
+        final String key1 = config1.keySet().stream().filter("tasks.max"::equals).findFirst().get();
+        final String key2 = config2.keySet().stream().filter("tasks.max"::equals).findFirst().get();
+        assertSame(key1, key2);
+    }
+
+    /**
+     * Connectors missing info or status, or with null collections, should be restored as they were parsed.
+     */
+    @Test
+    public void testPartialResults() throws IOException {
+        final CompactConnectorsSnapshot snapshot = parse(
+            "{\"StatusOnly\":{\"status\":{\"name\":\"StatusOnly\",\"connector\":{\"state\":\"FAILED\",\"trace\":\"boom\"},\"tasks\":[]}},"
+            + "\"InfoOnly\":{\"info\":{\"name\":\"InfoOnly\",\"type\":\"sink\",\"config\":null,\"tasks\":[]}},"
+            + "\"Empty\":{}}"
+        ).toCompactSnapshot();
+
+        assertEquals(Arrays.asList("Empty", "InfoOnly", "StatusOnly"), snapshot.getConnectorNames());
+
+        assertNull(snapshot.getDefinitionForConnector("StatusOnly"));
+        assertEquals(State.FAILED, snapshot.getConnectorState("StatusOnly"));
+        assertNull(snapshot.getConnectorWorkerId("StatusOnly"));
+        assertEquals("boom", snapshot.getStatusForConnector("StatusOnly").getConnector().get("trace"));
+        assertTrue(snapshot.getStatusForConnector("StatusOnly").getTasks().isEmpty());
+
+        assertNull(snapshot.getStatusForConnector("InfoOnly"));
+        assertEquals(State.UNKNOWN, snapshot.getConnectorState("InfoOnly"));
+        assertEquals(0, snapshot.getTaskCount("InfoOnly"));
+        assertEquals("sink", snapshot.getDefinitionForConnector("InfoOnly").getType());
+        assertNull(snapshot.getDefinitionForConnector("InfoOnly").getConfig());
+        assertNull(snapshot.getConfigValue("InfoOnly", "name"));
+
+        assertNull(snapshot.getDefinitionForConnector("Empty"));
+        assertNull(snapshot.getStatusForConnector("Empty"));
+        assertNotNull(snapshot.getMappedStatuses());
+        assertEquals(3, snapshot.getMappedStatuses().size());
+    }
+
+    /**
+     * Json null task entries, which the DTOs parse as null elements, should be skipped.
+     */
+    @Test
+    public void testNullTaskEntries() throws IOException {
+        final CompactConnectorsSnapshot snapshot = parse(
+            "{\"Alpha\":{"
+            + "\"info\":{\"name\":\"Alpha\",\"type\":\"sink\",\"tasks\":[null,{\"connector\":\"Alpha\",\"task\":1}]},"
+            + "\"status\":{\"name\":\"Alpha\",\"connector\":{\"state\":\"RUNNING\"},"
+            + "\"tasks\":[{\"id\":0,\"state\":\"FAILED\",\"worker_id\":\"w1\"},null]}}}"
+        ).toCompactSnapshot();
+
+        assertEquals(1, snapshot.getTaskCount("Alpha"));
+        assertEquals(1, snapshot.countTasksInState(State.FAILED));
+        assertEquals(1, snapshot.getFailedTasks().size());
+        assertEquals(0, snapshot.getStatusForConnector("Alpha").getTasks().get(0).getId());
+        assertEquals(1, snapshot.getDefinitionForConnector("Alpha").getTasks().size());
+        assertEquals(1, snapshot.getDefinitionForConnector("Alpha").getTasks().get(0).getTask());
+    }
+
+    /**
+     * Counts by state and FAILED instances should be computed when the snapshot is built.
+     */
+    @Test
+    public void testAggregates() throws IOException {
+        final CompactConnectorsSnapshot snapshot = parse(readFile("getConnectorsWithAllExpandedMetadata.json")).toCompactSnapshot();
+
+        assertEquals(2, snapshot.countConnectorsInState(State.RUNNING));
+        assertEquals(0, snapshot.countConnectorsInState(State.FAILED));
+        assertEquals(2, snapshot.countTasksInState(State.RUNNING));
+        assertEquals(1, snapshot.countTasksInState(State.FAILED));
+        assertEquals(1, snapshot.countTasksInState(State.PAUSED));
+        assertEquals(0, snapshot.countTasksInState(State.UNKNOWN));
+        assertEquals(State.values().length, snapshot.getTaskCountsByState().size());
+        assertEquals(Integer.valueOf(1), snapshot.getTaskCountsByState().get(State.FAILED));
+        assertEquals(Integer.valueOf(2), snapshot.getConnectorCountsByState().get(State.RUNNING));
+
+        assertTrue(snapshot.getFailedConnectorNames().isEmpty());
+        assertEquals(1, snapshot.getFailedTasks().size());
+        assertEquals("MyTestConnector", snapshot.getFailedTasks().get(0).getConnectorName());
+        assertEquals(0, snapshot.getFailedTasks().get(0).getTaskId());
+        assertEquals("127.0.0.1:8083", snapshot.getFailedTasks().get(0).getWorkerId());
+        assertEquals("trace0", snapshot.getFailedTasks().get(0).getTrace());
+
+        // States which are missing or not known to the client resolve to UNKNOWN.
+        final CompactConnectorsSnapshot unknown = parse(
+            "{\"A\":{\"status\":{\"name\":\"A\",\"connector\":{\"state\":\"failed\"},"
+            + "\"tasks\":[{\"id\":0,\"state\":\"SOMETHING_NEW\"},{\"id\":1}]}}}"
+        ).toCompactSnapshot();
+        assertEquals(State.FAILED, unknown.getConnectorState("A"));
+        assertEquals("failed", unknown.getStatusForConnector("A").getConnector().get("state"));
+        assertEquals(Collections.singletonList("A"), unknown.getFailedConnectorNames());
+        assertEquals(2, unknown.countTasksInState(State.UNKNOWN));
+        assertEquals("SOMETHING_NEW", unknown.getStatusForConnector("A").getTasks().get(0).getState());
+        assertEquals(State.UNKNOWN, unknown.getStatusForConnector("A").getTasks().get(0).getTaskState());
+    }
+
+    /**
+     * Unknown connector names should be rejected, matching ConnectorsWithExpandedMetadata.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownConnector() throws IOException {
+        parse(readFile("getConnectorsWithAllExpandedMetadata.json")).toCompactSnapshot().getStatusForConnector("DoesNotExist");
+    }
+
+    private ConnectorsWithExpandedMetadata parse(final String response) throws IOException {
+        return new GetConnectorsExpandAllDetails().parseResponse(response);
+    }
+
+    private String readFile(final String fileName) throws IOException {
+        return IOUtils.toString(getClass().getClassLoader().getResource("mockResponses/" + fileName), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.request.dto;
+
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandAllDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConnectorsWithExpandedMetadataTest {
+    private static final String RESPONSE = "{"
+        + "\"Café\":{\"status\":{\"name\":\"Café\",\"connector\":{\"state\":\"RUNNING\"},\"tasks\":[]},"
+        + "\"info\":{\"name\":\"Café\",\"config\":{\"topics\":\"測試 🚀\"},\"tasks\":[]}},"
+        + "\"Broken\":{\"status\":{\"name\":\"Broken\",\"tasks\":\"not-an-array\"}},"
+        + "\"Removed\":null,"
+        + "\"Duplicate\":{\"status\":{\"name\":\"First\"}},"
+        + "\"Duplicate\":{\"status\":{\"name\":\"Second\",\"connector\":{\"state\":\"PAUSED\"}}}"
+        + "}";
+
+    /**
+     * Entries should be found by a single scan, and decoded only when accessed.
+     */
+    @Test
+    public void testParseLazily() throws IOException {
+        final ConnectorsWithExpandedMetadata results = ConnectorsWithExpandedMetadata.parseLazily(RESPONSE.getBytes(StandardCharsets.UTF_8));
+
+        // Names are available without decoding any entry, including the malformed one.
+        assertEquals(Arrays.asList("Café", "Broken", "Removed", "Duplicate"), Arrays.asList(results.getConnectorNames().toArray()));
+
+        // Byte offsets should account for multi-byte characters.
+        final ConnectorStatus status = results.getStatusForConnector("Café");
+        assertEquals(State.RUNNING, status.getConnectorState());
+        assertEquals("測試 🚀", results.getDefinitionForConnector("Café").getConfig().get("topics"));
+
+        // Each entry is decoded once.
+        assertSame(status, results.getStatusForConnector("Café"));
+        assertSame(status, results.getMappedStatuses().get("Café"));
+
+        // Later duplicates replace earlier ones.
+        assertEquals("Second", results.getStatusForConnector("Duplicate").getName());
+        assertEquals(State.PAUSED, results.getStatusForConnector("Duplicate").getConnectorState());
+
+        // Null entries.
+        assertTrue(results.getMappedStatuses().containsKey("Removed"));
+        assertNull(results.getMappedStatuses().get("Removed"));
+
+        // Malformed entries only fail once accessed.
+        try {
+            results.getStatusForConnector("Broken");
+            fail("Should have thrown ResponseParseException");
+        } catch (final ResponseParseException exception) {
+            assertTrue(exception.getMessage().contains("Broken"));
+        }
+    }
+
+    /**
+     * Responses which are not an object of connector objects should be rejected up front.
+     */
+    @Test
+    public void testParseLazilyRejectsUnexpectedShapes() throws IOException {
+        for (final String response : new String[] { "[\"MyConnector\"]", "{\"name\":\"MyConnector\"}", "{\"MyConnector\":{\"status\":[}" }) {
+            try {
+                ConnectorsWithExpandedMetadata.parseLazily(response.getBytes(StandardCharsets.UTF_8));
+                fail("Should have rejected: " + response);
+            } catch (final IOException exception) {
+                // Expected
+            }
+        }
+    }
+
+    /**
+     * Mapped views should be created once, reflect both eager and lazy results, and be read-only.
+     */
+    @Test
+    public void testMappedViews() throws IOException {
+        final String response = "{\"A\":{\"info\":{\"name\":\"A\",\"type\":\"sink\"}},\"B\":{\"info\":{\"name\":\"B\",\"type\":\"source\"}}}";
+        final ConnectorsWithExpandedMetadata eager = new GetConnectorsExpandAllDetails().parseResponse(response);
+        final ConnectorsWithExpandedMetadata lazy = ConnectorsWithExpandedMetadata.parseLazily(response.getBytes(StandardCharsets.UTF_8));
+
+        for (final ConnectorsWithExpandedMetadata results : new ConnectorsWithExpandedMetadata[] { eager, lazy }) {
+            final Map<String, ConnectorDefinition> definitions = results.getMappedDefinitions();
+            assertSame(definitions, results.getMappedDefinitions());
+            assertSame(results.getMappedStatuses(), results.getMappedStatuses());
+            assertEquals(2, definitions.size());
+            assertEquals("sink", definitions.get("A").getType());
+            assertEquals("source", definitions.get("B").getType());
+            assertFalse(definitions.containsKey("C"));
+
+            // Info only responses have no statuses.
+            assertEquals(2, results.getMappedStatuses().size());
+            assertNull(results.getMappedStatuses().get("A"));
+
+            try {
+                definitions.remove("A");
+                fail("Should be read-only");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected
+            }
+        }
+        assertEquals(eager.getMappedDefinitions().keySet(), lazy.getMappedDefinitions().keySet());
+    }
+
+    /**
+     * Streams should be parsed identically whether or not they report their length, including when larger than the
+     * initial buffer.
+     */
+    @Test
+    public void testParseLazilyFromStream() throws IOException {
+        final StringBuilder response = new StringBuilder("{");
+        for (int index = 0; index < 500; index++) {
+            response.append(index == 0 ? "" : ",")
+                .append("\"Connector").append(index).append("\":{\"status\":{\"name\":\"Connector").append(index)
+                .append("\",\"connector\":{\"state\":\"RUNNING\"},\"tasks\":[]}}");
+        }
+        final byte[] bytes = response.append("}").toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(bytes.length > 8192);
+
+        final InputStream reportsLength = new ByteArrayInputStream(bytes);
+        final InputStream reportsNothing = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+        for (final InputStream stream : new InputStream[] { reportsLength, reportsNothing }) {
+            final ConnectorsWithExpandedMetadata results = ConnectorsWithExpandedMetadata.parseLazily(stream);
+            assertEquals(500, results.getConnectorNames().size());
+            assertEquals("Connector499", results.getStatusForConnector("Connector499").getName());
+            assertEquals(State.RUNNING, results.getStatusForConnector("Connector0").getConnectorState());
+        }
+
+        // Small responses, read into a larger buffer.
+        final ConnectorsWithExpandedMetadata small = ConnectorsWithExpandedMetadata.parseLazily(
+            new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8))
+        );
+        assertEquals("Second", small.getStatusForConnector("Duplicate").getName());
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.sourcelab.kafka.connect.apiclient.request.get.connector;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import org.junit.Test;
 import org.sourcelab.kafka.connect.apiclient.request.AbstractRequestTest;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorTopics;
@@ -60,4 +61,27 @@ public class GetConnectorTopicsTest extends AbstractRequestTest {
         assertNotNull(result.getTopics());
         assertTrue("Should be empty", result.getTopics().isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Entries which are not objects, or have no topics array, should be skipped.
+     */
+    @Test
+    public void testParseResponse_skipsUnknownEntries() throws Exception {
+        final String mockResponse = "{\"version\":1,\"Other\":{\"topics\":\"none\"},"
+            + "\"MyTestConnector\":{\"extra\":{\"topics\":[\"nested\"]},\"topics\":[\"b\",\"a\"]},"
+            + "\"Later\":{\"topics\":[\"c\"]}}";
+        final ConnectorTopics result =  new GetConnectorTopics("MyTestConnector").parseResponse(mockResponse);
+        assertEquals("MyTestConnector", result.getName());
+        assertEquals(2, result.getTopics().size());
+        assertEquals("a", result.getTopics().get(0));
+        assertEquals("b", result.getTopics().get(1));
+    }
+
+    /**
+     * A response without any topics array should fail to parse.
+     */
+    @Test(expected = JsonParseException.class)
+    public void testParseResponse_noTopics() throws Exception {
+        new GetConnectorTopics("MyTestConnector").parseResponse("{\"MyTestConnector\":{}}");
+    }
+}
@@ -26,6 +26,7 @@ import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedM
 import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandAllDetails;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -76,6 +77,27 @@ public class GetConnectorsExpandAllDetailsTest extends AbstractRequestTest {
         validateTestConnectorDefinition2(result.getMappedDefinitions().get("MyTestConnector2"));
     }
 
+    /**
+     * Test Parsing GET /connectors response with all known metadata directly from the response stream.
+     */
+    @Test
+    public void testParseResponseFromStream() throws IOException {
+        final ConnectorsWithExpandedMetadata result;
+        try (final InputStream mockResponse = readFileAsStream("getConnectorsWithAllExpandedMetadata.json")) {
+            result = new GetConnectorsExpandAllDetails().parseResponse(mockResponse);
+        }
+
+        // High level count checks
+        assertNotNull("Should not be null", result);
+        assertEquals(2, result.getConnectorNames().size());
+
+        // Validate each connector
+        validateTestConnectorStatus(result.getStatusForConnector("MyTestConnector"));
+        validateTestConnectorDefinition(result.getDefinitionForConnector("MyTestConnector"));
+        validateTestConnectorStatus2(result.getStatusForConnector("MyTestConnector2"));
+        validateTestConnectorDefinition2(result.getDefinitionForConnector("MyTestConnector2"));
+    }
+
     /**
      * Test what happens if we get back a pre 2.3.0 response for this request.
      *
@@ -87,6 +109,37 @@ public class GetConnectorsExpandAllDetailsTest extends AbstractRequestTest {
         final ConnectorsWithExpandedMetadata result = new GetConnectorsExpandAllDetails().parseResponse(mockResponse);
     }
 
+    /**
+     * Test Parsing GET /connectors response with all known metadata lazily, from both a String and the response stream.
+     */
+    @Test
+    public void testParseResponseLazily() throws IOException {
+        final ConnectorsWithExpandedMetadata fromString = new GetConnectorsExpandAllDetails(true)
+            .parseResponse(readFile("getConnectorsWithAllExpandedMetadata.json"));
+        final ConnectorsWithExpandedMetadata fromStream;
+        try (final InputStream mockResponse = readFileAsStream("getConnectorsWithAllExpandedMetadata.json")) {
+            fromStream = new GetConnectorsExpandAllDetails(true).parseResponse(mockResponse);
+        }
+
+        for (final ConnectorsWithExpandedMetadata result : new ConnectorsWithExpandedMetadata[] { fromString, fromStream }) {
+            assertEquals(2, result.getConnectorNames().size());
+            validateTestConnectorStatus(result.getStatusForConnector("MyTestConnector"));
+            validateTestConnectorDefinition(result.getDefinitionForConnector("MyTestConnector"));
+            validateTestConnectorStatus2(result.getMappedStatuses().get("MyTestConnector2"));
+            validateTestConnectorDefinition2(result.getMappedDefinitions().get("MyTestConnector2"));
+            assertEquals(2, result.getAllStatuses().size());
+            assertEquals(2, result.getAllDefinitions().size());
+        }
+    }
+
+    /**
+     * A pre 2.3.0 response should also throw a ResponseParseException when parsed lazily.
+     */
+    @Test(expected = ResponseParseException.class)
+    public void testParseResponseLazilyForKafkaConnectVersionEarlierThan2_3_0() throws IOException {
+        new GetConnectorsExpandAllDetails(true).parseResponse(readFile("getConnector.json"));
+    }
+
     private void validateTestConnectorDefinition(final ConnectorDefinition connector) {
         final String expectedConnectorName = "MyTestConnector";
 
@@ -22,12 +22,14 @@ import org.sourcelab.kafka.connect.apiclient.exception.ResponseParseException;
 import org.sourcelab.kafka.connect.apiclient.request.AbstractRequestTest;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
 import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedStatus;
+import org.sourcelab.kafka.connect.apiclient.request.dto.State;
 import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
 
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class GetConnectorsWithExpandStatusTest extends AbstractRequestTest {
@@ -75,6 +77,36 @@ public class GetConnectorsWithExpandStatusTest extends AbstractRequestTest {
         final ConnectorsWithExpandedStatus result = new GetConnectorsExpandStatus().parseResponse(mockResponse);
     }
 
+    /**
+     * Unknown fields should be skipped, Json nulls left as null, and numeric Strings accepted as task ids.
+     */
+    @Test
+    public void testParseResponse_unknownFieldsAndNulls() throws IOException {
+        final String mockResponse = "{\"MyTestConnector\":{\"unknown\":{\"nested\":[1,{\"a\":2}]},"
+            + "\"status\":{\"name\":\"MyTestConnector\",\"type\":null,\"extra\":[\"x\"],"
+            + "\"connector\":{\"state\":\"RUNNING\",\"worker_id\":null},"
+            + "\"tasks\":[{\"id\":\"3\",\"state\":\"FAILED\",\"worker_id\":\"127.0.0.1:8083\",\"extra\":{}}]}},"
+            + "\"MyTestConnector2\":{\"status\":null}}";
+        final ConnectorsWithExpandedStatus result = new GetConnectorsExpandStatus().parseResponse(mockResponse);
+
+        final ConnectorStatus connectorStatus = result.getStatusForConnector("MyTestConnector");
+        assertEquals("MyTestConnector", connectorStatus.getName());
+        assertNull(connectorStatus.getType());
+        assertEquals("RUNNING", connectorStatus.getConnector().get("state"));
+        assertEquals(State.RUNNING, connectorStatus.getConnectorState());
+        assertTrue(connectorStatus.getConnector().containsKey("worker_id"));
+        assertNull(connectorStatus.getConnector().get("worker_id"));
+        assertEquals(1, connectorStatus.getTasks().size());
+        assertEquals(3, connectorStatus.getTasks().get(0).getId());
+        assertEquals("FAILED", connectorStatus.getTasks().get(0).getState());
+        assertEquals(State.FAILED, connectorStatus.getTasks().get(0).getTaskState());
+        assertEquals("127.0.0.1:8083", connectorStatus.getTasks().get(0).getWorkerId());
+        assertNull(connectorStatus.getTasks().get(0).getTrace());
+
+        assertTrue(result.getConnectorNames().contains("MyTestConnector2"));
+        assertNull(result.getStatusForConnector("MyTestConnector2"));
+    }
+
     private void validateTestConnectorStatus(final ConnectorStatus connectorStatus) {
         final String expectedConnectorName = "MyTestConnector";
 
@@ -86,6 +118,7 @@ public class GetConnectorsWithExpandStatusTest extends AbstractRequestTest {
 
         // Validate connector
         assertEquals("RUNNING", connectorStatus.getConnector().get("state"));
+        assertEquals(State.RUNNING, connectorStatus.getConnectorState());
         assertEquals("127.0.0.1:8083", connectorStatus.getConnector().get("worker_id"));
 
         // Validate tasks
@@ -93,6 +126,7 @@ public class GetConnectorsWithExpandStatusTest extends AbstractRequestTest {
 
         assertEquals(0, connectorStatus.getTasks().get(0).getId());
         assertEquals("FAILED", connectorStatus.getTasks().get(0).getState());
+        assertEquals(State.FAILED, connectorStatus.getTasks().get(0).getTaskState());
         assertEquals("trace0", connectorStatus.getTasks().get(0).getTrace());
         assertEquals("127.0.0.1:8083", connectorStatus.getTasks().get(0).getWorkerId());
 
@@ -103,6 +137,7 @@ public class GetConnectorsWithExpandStatusTest extends AbstractRequestTest {
 
         assertEquals(2, connectorStatus.getTasks().get(2).getId());
         assertEquals("PAUSED", connectorStatus.getTasks().get(2).getState());
+        assertEquals(State.PAUSED, connectorStatus.getTasks().get(2).getTaskState());
         assertEquals("trace2", connectorStatus.getTasks().get(2).getTrace());
         assertEquals("127.0.0.1:8083", connectorStatus.getTasks().get(2).getWorkerId());
     }
@@ -118,6 +153,7 @@ public class GetConnectorsWithExpandStatusTest extends AbstractRequestTest {
 
         // Validate connector
         assertEquals("RUNNING", connectorStatus.getConnector().get("state"));
+        assertEquals(State.RUNNING, connectorStatus.getConnectorState());
         assertEquals("127.0.0.1:8083", connectorStatus.getConnector().get("worker_id"));
 
         // Validate tasks
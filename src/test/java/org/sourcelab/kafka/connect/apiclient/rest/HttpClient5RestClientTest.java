@@ -0,0 +1,207 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.AsyncKafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.KafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.metrics.InMemoryRequestMetrics;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestMetricsListener;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestTypeMetricsSnapshot;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import testserver.TestHttpServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests HttpClient5RestClient against a test http server.
+ */
+public class HttpClient5RestClientTest {
+
+    private static final int HTTP_PORT = 10887;
+    private static final int UNUSED_HTTP_PORT = 10888;
+
+    /**
+     * Verifies requests can be submitted both synchronously and asynchronously, and metrics recorded.
+     */
+    @Test
+    public void submitRequest_syncAndAsync() throws Exception {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useIoReactorThreadCount(1)
+            .useRequestMetricsListener(metrics);
+        final HttpClient5ConfigHooks hooks = spy(new DefaultHttpClient5ConfigHooks());
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("[\"Alpha\",\"Beta\"]")
+            .start()
+        ) {
+            try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new HttpClient5RestClient())) {
+                assertEquals(Arrays.asList("Alpha", "Beta"), client.getConnectors());
+            }
+            try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new HttpClient5RestClient(hooks))) {
+                assertEquals(Arrays.asList("Alpha", "Beta"), client.getConnectors().get(5, TimeUnit.SECONDS));
+            }
+            assertEquals("/connectors", httpServer.getLastRequest().getUrl());
+        }
+        verify(hooks).modifyIoReactorConfig(eq(configuration), any(IOReactorConfig.Builder.class));
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(GetConnectors.class);
+        assertEquals(2, snapshot.getHttpLatency().getCount());
+        assertEquals(2L, (long) snapshot.getHttpStatusCounts().get(200));
+        assertEquals(2L * "[\"Alpha\",\"Beta\"]".length(), snapshot.getResponseBytes());
+    }
+
+    /**
+     * Verifies responses are read and parsed off the I/O reactor threads.
+     */
+    @Test
+    public void submitRequest_parsesOffReactorThreads() throws Exception {
+        final List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useIoReactorThreadCount(1)
+            .useRequestMetricsListener(new RequestMetricsListener() {
+                @Override
+                public void onHttpExchange(final Request<?> request, final int httpStatus, final long responseBytes, final long durationNanos) {
+                    threadNames.add(Thread.currentThread().getName());
+                }
+            });
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("[\"Alpha\"]")
+            .start()
+        ) {
+            try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new HttpClient5RestClient())) {
+                assertEquals(Collections.singletonList("Alpha"), client.getConnectors());
+            }
+            try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new HttpClient5RestClient())) {
+                assertEquals(Collections.singletonList("Alpha"), client.getConnectors().get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(2, threadNames.size());
+        for (final String threadName : threadNames) {
+            assertTrue(threadName, threadName.startsWith("kafka-connect-client-response-"));
+        }
+    }
+
+    /**
+     * Verifies large request bodies are compressed, and compressed responses decompressed.
+     */
+    @Test
+    public void submitRequest_withCompression() throws Exception {
+        final Map<String, String> config = new LinkedHashMap<>();
+        for (int index = 0; index < 50; index++) {
+            config.put("transforms.route" + index + ".type", "org.apache.kafka.connect.transforms.RegexRouter");
+        }
+        final String definition = "{\"name\":\"Alpha\",\"type\":\"sink\",\"tasks\":[],\"config\":"
+            + config.toString().replace("=", "\":\"").replace(", ", "\",\"").replace("{", "{\"").replace("}", "\"}")
+            + "}";
+
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useResponseCompression()
+            .useRequestCompressionThresholdInBytes(512)
+            .useRequestMetricsListener(metrics);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withGzip()
+            .withMockData(definition)
+            .start();
+             final KafkaConnectClient client = new KafkaConnectClient(configuration, new HttpClient5RestClient())
+        ) {
+            final ConnectorDefinition connectorDefinition = client.updateConnectorConfig("Alpha", config);
+            assertEquals(config, connectorDefinition.getConfig());
+            assertTrue(httpServer.getLastRequest().getRequestBody().contains("transforms.route49.type"));
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(PutConnectorConfig.class);
+        assertEquals(definition.length(), snapshot.getResponseBytes());
+        assertTrue(snapshot.getResponseWireBytes() < definition.length() / 2);
+        assertTrue(snapshot.getRequestWireBytes() < snapshot.getRequestBytes() / 2);
+    }
+
+    /**
+     * Verifies requests fail over to the next worker when a worker cannot be connected to.
+     */
+    @Test
+    public void submitRequest_failsOver() throws Exception {
+        final Configuration configuration = new Configuration(Arrays.asList(
+            "http://localhost:" + UNUSED_HTTP_PORT,
+            "http://localhost:" + HTTP_PORT
+        ));
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("[\"Alpha\"]")
+            .start()
+        ) {
+            try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new HttpClient5RestClient())) {
+                assertEquals(Collections.singletonList("Alpha"), client.getConnectors());
+            }
+            try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new HttpClient5RestClient())) {
+                assertEquals(Collections.singletonList("Alpha"), client.getConnectors().get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Verifies a ConnectionException is raised when no worker can be connected to.
+     */
+    @Test
+    public void submitRequest_connectionFailure() throws Exception {
+        final Configuration configuration = new Configuration("http://localhost:" + UNUSED_HTTP_PORT);
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new HttpClient5RestClient())) {
+            client.getConnectors();
+            fail("Should have thrown an exception");
+        } catch (final ConnectionException exception) {
+            // Expected.
+        }
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new HttpClient5RestClient())) {
+            client.getConnectors().get(5, TimeUnit.SECONDS);
+            fail("Should have thrown an exception");
+        } catch (final ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof ConnectionException);
+        }
+    }
+}
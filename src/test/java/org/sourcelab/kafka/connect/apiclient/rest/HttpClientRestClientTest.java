@@ -22,17 +22,35 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.sourcelab.kafka.connect.apiclient.BulkOperationResult;
 import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.KafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.metrics.InMemoryRequestMetrics;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestTypeMetricsSnapshot;
 import org.sourcelab.kafka.connect.apiclient.request.Request;
 import org.sourcelab.kafka.connect.apiclient.request.RequestMethod;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectorsExpandStatus;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.RequestTimeoutException;
 import testserver.TestHttpServer;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.spy;
@@ -44,6 +62,9 @@ public class HttpClientRestClientTest {
 
     private static final int HTTP_PORT = 10880;
     private static final int HTTPS_PORT = 10881;
+    private static final int SECOND_HTTP_PORT = 10882;
+    private static final int THIRD_HTTP_PORT = 10883;
+    private static final int GZIP_HTTP_PORT = 10884;
     private static final String RESPONSE_DATA = "My Test Response";
 
     private static String KEYSTORE_PATH;
@@ -216,6 +237,11 @@ public class HttpClientRestClientTest {
             .verify(mockHooks, times(1))
             .modifyCredentialsProvider(eq(configuration), any(CredentialsProvider.class));
 
+        // Connection Manager
+        Mockito
+            .verify(mockHooks, times(1))
+            .modifyConnectionManager(eq(configuration), any(PoolingHttpClientConnectionManager.class));
+
         // Verify we had no other odd interactions.
         verifyNoMoreInteractions(mockHooks);
     }
@@ -257,6 +283,419 @@ public class HttpClientRestClientTest {
             .modifyHttpClientContext(eq(configuration), any(HttpClientContext.class));
     }
 
+    /**
+     * Verifies the connection pool is sized from configuration, and connections are returned to the pool
+     * after each request.
+     */
+    @Test
+    public void verifyConnectionPoolConfigurationAndStats() throws Exception {
+        // Define configuration
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useConnectionPoolLimits(7, 3);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        // Nothing has been leased or created yet.
+        ConnectionPoolStats stats = restClient.getConnectionPoolStats();
+        assertEquals(7, stats.getMax());
+        assertEquals(0, stats.getLeased());
+        assertEquals(0, stats.getPending());
+        assertEquals(0, stats.getAvailable());
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(RESPONSE_DATA)
+            .start()
+        ) {
+            final RestResponse result = restClient.submitRequest(new DummyRequest());
+            assertEquals(RESPONSE_DATA, result.getResponseStr());
+        }
+
+        // Connection should have been released back into the pool for re-use.
+        stats = restClient.getConnectionPoolStats();
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+
+        restClient.close();
+    }
+
+    /**
+     * Verifies that when virtual threads are used, callers beyond the connection pool's size wait for a permit
+     * rather than within the connection pool, where waiting would pin a virtual thread's carrier thread.
+     */
+    @Test
+    public void verifyVirtualThreadsNeverWaitWithinConnectionPool() throws Exception {
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useVirtualThreads()
+            .useConnectionPoolLimits(2, 2)
+            .useBulkOperationConcurrency(8);
+        final List<String> connectorNames = Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H");
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicInteger maxPending = new AtomicInteger(0);
+        final AtomicInteger maxLeased = new AtomicInteger(0);
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("{\"name\":\"A\",\"connector\":{\"state\":\"RUNNING\",\"worker_id\":\"w1\"},\"tasks\":[],\"type\":\"sink\"}")
+            .withResponseDelay(200)
+            .start();
+            final KafkaConnectClient client = new KafkaConnectClient(configuration, restClient)
+        ) {
+            // Initialize the RestClient before sampling its pool.
+            client.getConnectorStatus("A");
+            final Thread sampler = new Thread(() -> {
+                while (!done.get()) {
+                    final ConnectionPoolStats stats = restClient.getConnectionPoolStats();
+                    maxPending.accumulateAndGet(stats.getPending(), Math::max);
+                    maxLeased.accumulateAndGet(stats.getLeased(), Math::max);
+                }
+            });
+            sampler.start();
+            try {
+                final BulkOperationResult<ConnectorStatus> result = client.getConnectorStatuses(connectorNames);
+                assertTrue(result.getFailures().toString(), result.isSuccessful());
+                assertEquals(connectorNames.size(), result.getSuccesses().size());
+            } finally {
+                done.set(true);
+                sampler.join();
+            }
+        }
+        assertEquals(0, maxPending.get());
+        assertTrue(maxLeased.get() <= 2);
+    }
+
+    /**
+     * Verifies that a server which accepts the connection but does not respond within the configured
+     * socket timeout results in a RequestTimeoutException.
+     */
+    @Test(expected = RequestTimeoutException.class)
+    public void verifySocketTimeout() throws Exception {
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useSocketTimeoutInSeconds(1);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(RESPONSE_DATA)
+            .withResponseDelay(3_000)
+            .start()
+        ) {
+            restClient.submitRequest(new DummyRequest());
+        } finally {
+            restClient.close();
+        }
+    }
+
+    /**
+     * Verifies that a request specific deadline takes precedence over the configured socket timeout.
+     */
+    @Test
+    public void verifyRequestDeadline() throws Exception {
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useSocketTimeoutInSeconds(30);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(RESPONSE_DATA)
+            .withResponseDelay(3_000)
+            .start()
+        ) {
+            final long start = System.currentTimeMillis();
+            try {
+                restClient.submitRequest(new DummyRequest("/", RequestMethod.GET, null, 1));
+                fail("Expected RequestTimeoutException");
+            } catch (final RequestTimeoutException exception) {
+                // Should have been aborted well before the server responded.
+                assertTrue(System.currentTimeMillis() - start < 2_500);
+            }
+
+            // Requests without a deadline wait on the server.
+            final RestResponse result = restClient.submitRequest(new DummyRequest());
+            assertEquals(RESPONSE_DATA, result.getResponseStr());
+        } finally {
+            restClient.close();
+        }
+    }
+
+    /**
+     * Verifies that submitRequest() returns successful response bodies in String format, while
+     * submitRequestAndParseResponse() parses them straight from the response stream.
+     */
+    @Test
+    public void verifySubmitRequestAndParseResponse() throws Exception {
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(RESPONSE_DATA)
+            .start()
+        ) {
+            final HttpClientRestClient restClient = new HttpClientRestClient();
+            restClient.init(new Configuration("http://localhost:" + HTTP_PORT));
+            try {
+                final RestResponse stringResponse = restClient.submitRequest(new DummyRequest());
+                assertEquals(RESPONSE_DATA, stringResponse.getResponseStr());
+                assertFalse(stringResponse.hasParsedResponse());
+
+                final RestResponse parsedResponse = restClient.submitRequestAndParseResponse(new DummyRequest());
+                assertTrue(parsedResponse.hasParsedResponse());
+                assertEquals(RESPONSE_DATA, parsedResponse.getParsedResponse());
+                assertNull(parsedResponse.getResponseStr());
+            } finally {
+                restClient.close();
+            }
+        }
+    }
+
+    /**
+     * Verifies that a deadline configured for a request type is applied to requests made via KafkaConnectClient,
+     * without affecting other request types.
+     */
+    @Test
+    public void verifyConfiguredRequestDeadline() throws Exception {
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useSocketTimeoutInSeconds(30)
+            .useRequestDeadlineInSeconds(GetConnectorsExpandStatus.class, 1);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("[\"Connector1\"]")
+            .withResponseDelay(3_000)
+            .start();
+            final KafkaConnectClient client = new KafkaConnectClient(configuration)
+        ) {
+            final long start = System.currentTimeMillis();
+            try {
+                client.getConnectorsWithExpandedStatus();
+                fail("Expected RequestTimeoutException");
+            } catch (final RequestTimeoutException exception) {
+                // Should have been aborted well before the server responded.
+                assertTrue(System.currentTimeMillis() - start < 2_500);
+            }
+
+            // Other request types wait on the server.
+            assertEquals(Collections.singletonList("Connector1"), client.getConnectors());
+        }
+    }
+
+    /**
+     * Verifies that compressed responses are decompressed, large request bodies are compressed, and both
+     * compressed and uncompressed sizes are recorded.
+     */
+    @Test
+    public void verifyCompression() throws Exception {
+        final StringBuilder responseData = new StringBuilder();
+        for (int index = 0; index < 100; index++) {
+            responseData.append("{\"state\":\"RUNNING\",\"worker_id\":\"connect-worker:8083\"}");
+        }
+        final String requestBody = String.join(",", Collections.nCopies(50, "connector.class=FileStreamSink"));
+
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + GZIP_HTTP_PORT)
+            .useResponseCompression()
+            .useRequestCompressionThresholdInBytes(512)
+            .useRequestMetricsListener(metrics);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(GZIP_HTTP_PORT)
+            .withGzip()
+            .withMockData(responseData.toString())
+            .start()
+        ) {
+            restClient.submitRequest(new DummyRequest());
+
+            restClient.submitRequest(new DummyRequest("/put", RequestMethod.PUT, requestBody));
+            assertEquals("\"" + requestBody + "\"", httpServer.getLastRequest().getRequestBody());
+
+            // Bodies smaller than the threshold are sent uncompressed.
+            restClient.submitRequest(new DummyRequest("/post", RequestMethod.POST, "small"));
+            assertEquals("\"small\"", httpServer.getLastRequest().getRequestBody());
+        } finally {
+            restClient.close();
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(DummyRequest.class);
+        assertEquals(3L * responseData.length(), snapshot.getResponseBytes());
+        assertTrue(snapshot.getResponseWireBytes() < responseData.length());
+        assertEquals(requestBody.length() + 2 + "\"small\"".length(), snapshot.getRequestBytes());
+        assertTrue(snapshot.getRequestWireBytes() < snapshot.getRequestBytes() / 2);
+    }
+
+    /**
+     * Verifies responses are not compressed unless response compression is enabled.
+     */
+    @Test
+    public void verifyCompressionDisabledByDefault() throws Exception {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + GZIP_HTTP_PORT)
+            .useRequestMetricsListener(metrics);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        final String responseData = String.join("", Collections.nCopies(100, RESPONSE_DATA));
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(GZIP_HTTP_PORT)
+            .withGzip()
+            .withMockData(responseData)
+            .start()
+        ) {
+            restClient.submitRequest(new DummyRequest());
+        } finally {
+            restClient.close();
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(DummyRequest.class);
+        assertEquals(responseData.length(), snapshot.getResponseBytes());
+        assertEquals(responseData.length(), snapshot.getResponseWireBytes());
+    }
+
+    /**
+     * Verifies that the configured RequestMetricsListener is notified of each http exchange.
+     */
+    @Test
+    public void verifyRequestMetrics() throws Exception {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useRequestMetricsListener(metrics);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(RESPONSE_DATA)
+            .start()
+        ) {
+            restClient.submitRequest(new DummyRequest());
+            restClient.submitRequest(new DummyRequest());
+        } finally {
+            restClient.close();
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(DummyRequest.class);
+        assertEquals(2, snapshot.getHttpLatency().getCount());
+        assertEquals(2L, (long) snapshot.getHttpStatusCounts().get(200));
+        assertEquals(2L * RESPONSE_DATA.length(), snapshot.getResponseBytes());
+        assertTrue(snapshot.getHttpExceptionCounts().isEmpty());
+
+        // Request level metrics are recorded by KafkaConnectClient.
+        assertEquals(0, snapshot.getRequestCount());
+    }
+
+    /**
+     * Verifies that connection failures are reported to the configured RequestMetricsListener.
+     */
+    @Test
+    public void verifyRequestMetricsOnConnectionFailure() {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useRequestMetricsListener(metrics);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try {
+            // Nothing is listening.
+            restClient.submitRequest(new DummyRequest());
+            fail("Expected ConnectionException");
+        } catch (final ConnectionException exception) {
+            // Expected.
+        } finally {
+            restClient.close();
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(DummyRequest.class);
+        assertEquals(1, snapshot.getHttpLatency().getCount());
+        assertTrue(snapshot.getHttpStatusCounts().isEmpty());
+        assertEquals(1L, (long) snapshot.getHttpExceptionCounts().get(ConnectionException.class.getName()));
+    }
+
+    /**
+     * Verifies requests fail over to another worker when a worker cannot be connected to, and that the
+     * health check brings the worker back into rotation once it recovers.
+     */
+    @Test
+    public void verifyWorkerFailoverAndHealthCheck() throws Exception {
+        final String downWorker = "http://localhost:" + SECOND_HTTP_PORT;
+        final Configuration configuration = new Configuration(Arrays.asList(downWorker, "http://localhost:" + HTTP_PORT))
+            .useWorkerHealthCheckIntervalInSeconds(1);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData(RESPONSE_DATA)
+            .start()
+        ) {
+            // Both reads and writes fail over, as the first worker was never connected to.
+            assertEquals(RESPONSE_DATA, restClient.submitRequest(new DummyRequest()).getResponseStr());
+            assertEquals(RESPONSE_DATA, restClient.submitRequest(new DummyRequest("/", RequestMethod.POST, "{}")).getResponseStr());
+
+            final WorkerPool.Worker worker = restClient.getWorkerPool().getWorkers().get(0);
+            assertEquals(downWorker, worker.getHost());
+            assertFalse(worker.isHealthy());
+
+            // Once the worker recovers, the health check brings it back into rotation.
+            try (final TestHttpServer recoveredServer = new TestHttpServer()
+                .withHttp(SECOND_HTTP_PORT)
+                .withMockData(RESPONSE_DATA)
+                .start()
+            ) {
+                final long deadline = System.currentTimeMillis() + 10_000;
+                while (!worker.isHealthy() && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(100);
+                }
+                assertTrue(worker.isHealthy());
+                assertEquals("/", recoveredServer.getLastRequest().getUrl());
+            }
+        } finally {
+            restClient.close();
+        }
+    }
+
+    /**
+     * Verifies write requests are sent directly to the leader when known, falling back to any worker
+     * when the leader cannot be connected to.
+     */
+    @Test
+    public void verifyLeaderRouting() throws Exception {
+        final String follower = "http://localhost:" + HTTP_PORT;
+        final String leader = "http://localhost:" + SECOND_HTTP_PORT;
+        final String downWorker = "http://localhost:" + THIRD_HTTP_PORT;
+        final SettableLeaderResolver leaderResolver = new SettableLeaderResolver(leader);
+        final Configuration configuration = new Configuration(Arrays.asList(follower, leader, downWorker))
+            .useLeaderResolver(leaderResolver);
+
+        final HttpClientRestClient restClient = new HttpClientRestClient();
+        restClient.init(configuration);
+
+        try (final TestHttpServer followerServer = new TestHttpServer().withHttp(HTTP_PORT).withMockData(RESPONSE_DATA).start();
+             final TestHttpServer leaderServer = new TestHttpServer().withHttp(SECOND_HTTP_PORT).withMockData(RESPONSE_DATA).start()
+        ) {
+            restClient.submitRequest(new DummyRequest("/connectors", RequestMethod.POST, "{}"));
+            assertEquals("/connectors", leaderServer.getLastRequest().getUrl());
+            assertNull(followerServer.getLastRequest());
+
+            // Leader is unreachable, so the request falls back to the first healthy worker and the leader is forgotten.
+            leaderResolver.setLeaderHost(downWorker);
+            restClient.submitRequest(new DummyRequest("/connectors/MyConnector", RequestMethod.DELETE, null));
+            assertEquals("/connectors/MyConnector", followerServer.getLastRequest().getUrl());
+            assertNull(leaderResolver.getLeaderHost());
+        } finally {
+            restClient.close();
+        }
+    }
+
     /**
      * Represents a dummy request.
      */
@@ -264,15 +703,26 @@ public class HttpClientRestClientTest {
         private final String endPoint;
         private final RequestMethod requestMethod;
         private final String requestBody;
+        private final int deadlineInSeconds;
 
         public DummyRequest() {
             this("/", RequestMethod.GET, null);
         }
 
         public DummyRequest(final String endPoint, final RequestMethod requestMethod, final String requestBody) {
+            this(endPoint, requestMethod, requestBody, 0);
+        }
+
+        public DummyRequest(final String endPoint, final RequestMethod requestMethod, final String requestBody, final int deadlineInSeconds) {
             this.endPoint = endPoint;
             this.requestMethod = requestMethod;
             this.requestBody = requestBody;
+            this.deadlineInSeconds = deadlineInSeconds;
+        }
+
+        @Override
+        public int getDeadlineInSeconds() {
+            return deadlineInSeconds;
         }
 
         @Override
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WorkerPoolTest {
+
+    private final WorkerPool workerPool = new WorkerPool(Arrays.asList("http://worker1:8083", "http://worker2:8083", "http://worker3:8083"));
+
+    /**
+     * Verifies reads are spread round-robin across idle workers, always returning every worker for failover.
+     */
+    @Test
+    public void testSelectForRead_roundRobin() {
+        final Set<String> preferredHosts = new HashSet<>();
+        for (int index = 0; index < 3; index++) {
+            final List<WorkerPool.Worker> selected = workerPool.selectForRead();
+            assertEquals(3, selected.size());
+            preferredHosts.add(selected.get(0).getHost());
+        }
+        assertEquals(3, preferredHosts.size());
+    }
+
+    /**
+     * Verifies reads prefer the worker with the fewest outstanding requests.
+     */
+    @Test
+    public void testSelectForRead_leastOutstanding() {
+        final WorkerPool.Worker worker1 = workerPool.getWorkers().get(0);
+        final WorkerPool.Worker worker2 = workerPool.getWorkers().get(1);
+        worker1.onRequestStart();
+        worker2.onRequestStart();
+
+        for (int index = 0; index < 3; index++) {
+            assertSame(workerPool.getWorkers().get(2), workerPool.selectForRead().get(0));
+        }
+
+        worker1.onRequestEnd();
+        worker2.onRequestEnd();
+        assertEquals(0, worker1.getOutstandingRequests());
+    }
+
+    /**
+     * Verifies unhealthy workers are only selected once every healthy worker has been tried.
+     */
+    @Test
+    public void testUnhealthyWorkersSelectedLast() {
+        final WorkerPool.Worker worker1 = workerPool.getWorkers().get(0);
+        workerPool.onConnectFailure(worker1);
+        assertFalse(worker1.isHealthy());
+
+        for (int index = 0; index < 3; index++) {
+            final List<WorkerPool.Worker> selected = workerPool.selectForRead();
+            assertEquals(3, selected.size());
+            assertSame(worker1, selected.get(2));
+        }
+
+        // Writes go to the first healthy worker in configured order.
+        final List<WorkerPool.Worker> selected = workerPool.selectForWrite();
+        assertSame(workerPool.getWorkers().get(1), selected.get(0));
+        assertSame(workerPool.getWorkers().get(2), selected.get(1));
+        assertSame(worker1, selected.get(2));
+
+        worker1.setHealthy(true);
+        assertSame(worker1, workerPool.selectForWrite().get(0));
+    }
+
+    /**
+     * Verifies writes are sent to the leader when it is known and healthy.
+     */
+    @Test
+    public void testSelectForWrite_prefersLeader() {
+        final WorkerPool.Worker leader = workerPool.getWorkers().get(2);
+        List<WorkerPool.Worker> selected = workerPool.selectForWrite(leader.getHost());
+        assertEquals(3, selected.size());
+        assertSame(leader, selected.get(0));
+        assertSame(workerPool.getWorkers().get(0), selected.get(1));
+
+        // Unknown leaders are ignored.
+        assertSame(workerPool.getWorkers().get(0), workerPool.selectForWrite("http://unknown:8083").get(0));
+
+        // Unhealthy leaders are tried last.
+        workerPool.onConnectFailure(leader);
+        selected = workerPool.selectForWrite(leader.getHost());
+        assertSame(workerPool.getWorkers().get(0), selected.get(0));
+        assertSame(leader, selected.get(2));
+    }
+
+    /**
+     * Verifies a SettableLeaderResolver forgets a leader which cannot be connected to.
+     */
+    @Test
+    public void testSettableLeaderResolver() {
+        final SettableLeaderResolver leaderResolver = new SettableLeaderResolver("http://worker1:8083");
+        assertEquals("http://worker1:8083", leaderResolver.getLeaderHost());
+
+        // Leader has since changed, so should not be forgotten.
+        leaderResolver.setLeaderHost("http://worker2:8083");
+        leaderResolver.onLeaderUnavailable("http://worker1:8083");
+        assertEquals("http://worker2:8083", leaderResolver.getLeaderHost());
+
+        leaderResolver.onLeaderUnavailable("http://worker2:8083");
+        assertNull(leaderResolver.getLeaderHost());
+    }
+
+    /**
+     * Verifies a lone worker is never taken out of rotation.
+     */
+    @Test
+    public void testSingleWorker() {
+        final WorkerPool singleWorkerPool = new WorkerPool(Arrays.asList("http://worker1:8083"));
+        final WorkerPool.Worker worker = singleWorkerPool.getWorkers().get(0);
+        singleWorkerPool.onConnectFailure(worker);
+        assertTrue(worker.isHealthy());
+        assertSame(worker, singleWorkerPool.selectForRead().get(0));
+        assertSame(worker, singleWorkerPool.selectForWrite().get(0));
+    }
+}
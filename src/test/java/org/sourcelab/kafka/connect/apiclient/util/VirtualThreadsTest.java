@@ -0,0 +1,60 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VirtualThreadsTest {
+
+    /**
+     * Virtual threads should be detected on Java 21+ only, and used to run each task when available.
+     */
+    @Test
+    public void newThreadPerTaskExecutor() throws Exception {
+        final String specificationVersion = System.getProperty("java.specification.version");
+        final boolean expectAvailable = !specificationVersion.startsWith("1.") && Integer.parseInt(specificationVersion) >= 21;
+        assertEquals(expectAvailable, VirtualThreads.isAvailable());
+
+        if (!expectAvailable) {
+            try {
+                VirtualThreads.newThreadPerTaskExecutor("test-");
+                fail("Should have thrown an exception");
+            } catch (final UnsupportedOperationException exception) {
+                // Expected.
+            }
+            return;
+        }
+
+        final ExecutorService executorService = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            final Thread thread = executorService.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("test-"));
+            assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.watcher;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.KafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorsWithExpandedMetadata;
+import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests over ConnectClusterWatcher.
+ */
+public class ConnectClusterWatcherTest {
+
+    private final Configuration configuration = new Configuration("http://localhost:9092");
+
+    /**
+     * Verifies the first poll reports every connector as added, and later polls report only what changed.
+     */
+    @Test
+    public void poll_reportsStructuralChanges() {
+        final String first = "{"
+            + connector("Alpha", "{\"topics\":\"a\",\"tasks.max\":\"2\"}", "RUNNING", "w1", task(0, "RUNNING", "w1") + "," + task(1, "RUNNING", "w2"))
+            + "," + connector("Beta", "{\"topics\":\"b\"}", "RUNNING", "w1", task(0, "RUNNING", "w1"))
+            + "}";
+        final String second = "{"
+            + connector("Alpha", "{\"topics\":\"a,c\",\"tasks.max\":\"2\",\"new.key\":\"x\"}", "RUNNING", "w2",
+                task(0, "FAILED", "w1") + "," + task(2, "RUNNING", "w2"))
+            + "," + connector("Gamma", "{\"topics\":\"g\"}", "PAUSED", "w2", "")
+            + "}";
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(first, HttpStatus.SC_OK))
+            .thenReturn(new RestResponse(second, HttpStatus.SC_OK))
+            .thenReturn(new RestResponse(second, HttpStatus.SC_OK));
+
+        final List<List<ClusterChangeEvent>> notified = new ArrayList<>();
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final ConnectClusterWatcher watcher = new ConnectClusterWatcher(client, 1_000)) {
+            watcher.addListener((changes, snapshot) -> notified.add(changes));
+
+            assertEquals(Arrays.asList(
+                added("Alpha"),
+                added("Beta")
+            ), watcher.poll());
+
+            assertEquals(Arrays.asList(
+                new ClusterChangeEvent(
+                    ClusterChangeEvent.Type.CONFIG_CHANGED, "Alpha", null, null, null, new TreeSet<>(Arrays.asList("new.key", "topics"))),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_WORKER_CHANGED, "Alpha", null, "w1", "w2", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_STATE_CHANGED, "Alpha", 0, "RUNNING", "FAILED", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_REMOVED, "Alpha", 1, "RUNNING", null, null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_ADDED, "Alpha", 2, null, "RUNNING", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_REMOVED, "Beta", null, null, null, null),
+                added("Gamma")
+            ), watcher.poll());
+
+            // Nothing changed, listeners are not notified.
+            assertEquals(Collections.emptyList(), watcher.poll());
+            assertEquals(2, notified.size());
+            assertEquals(new TreeSet<>(Arrays.asList("Alpha", "Gamma")), new TreeSet<>(watcher.getSnapshot().getConnectorNames()));
+        }
+    }
+
+    /**
+     * Verifies listeners are told of poll failures, and the previous snapshot is retained.
+     */
+    @Test
+    public void poll_failureRetainsSnapshot() {
+        final String first = "{" + connector("Alpha", "{}", "RUNNING", "w1", "") + "}";
+        final String second = "{" + connector("Alpha", "{}", "PAUSED", "w1", "") + "}";
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(first, HttpStatus.SC_OK))
+            .thenThrow(new ConnectionException("Refused", null))
+            .thenReturn(new RestResponse(second, HttpStatus.SC_OK));
+
+        final List<Exception> failures = new ArrayList<>();
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final ConnectClusterWatcher watcher = new ConnectClusterWatcher(client, 1_000)) {
+            watcher.addListener(new ClusterChangeListener() {
+                @Override
+                public void onChanges(final List<ClusterChangeEvent> changes, final ConnectorsWithExpandedMetadata snapshot) {
+                }
+
+                @Override
+                public void onPollFailure(final Exception exception) {
+                    failures.add(exception);
+                }
+            });
+
+            watcher.poll();
+            final ConnectorsWithExpandedMetadata snapshot = watcher.getSnapshot();
+            try {
+                watcher.poll();
+                fail("Should have thrown an exception");
+            } catch (final ConnectionException exception) {
+                // Expected.
+            }
+            assertEquals(1, failures.size());
+            assertEquals(snapshot, watcher.getSnapshot());
+
+            assertEquals(Collections.singletonList(
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, "Alpha", null, "RUNNING", "PAUSED", null)
+            ), watcher.poll());
+        }
+    }
+
+    /**
+     * Verifies the watcher polls in the background once started, surviving failed polls.
+     */
+    @Test
+    public void start_pollsOnSchedule() throws InterruptedException {
+        final String first = "{" + connector("Alpha", "{}", "RUNNING", "w1", "") + "}";
+        final String second = "{" + connector("Alpha", "{}", "PAUSED", "w1", "") + "}";
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(first, HttpStatus.SC_OK))
+            .thenThrow(new ConnectionException("Refused", null))
+            .thenReturn(new RestResponse(second, HttpStatus.SC_OK));
+
+        final CountDownLatch twoNotifications = new CountDownLatch(2);
+        final List<ClusterChangeEvent> notified = new CopyOnWriteArrayList<>();
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final ConnectClusterWatcher watcher = new ConnectClusterWatcher(client, 10)) {
+            watcher.addListener((changes, snapshot) -> {
+                notified.addAll(changes);
+                twoNotifications.countDown();
+            });
+            watcher.start();
+            assertTrue(twoNotifications.await(5, TimeUnit.SECONDS));
+            assertNotNull(watcher.getSnapshot());
+        }
+        assertEquals(ClusterChangeEvent.Type.CONNECTOR_ADDED, notified.get(0).getType());
+        assertEquals(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, notified.get(1).getType());
+    }
+
+    /**
+     * Verifies a status missing its connector or tasks entries is treated as having none.
+     */
+    @Test
+    public void poll_toleratesMissingStatusEntries() {
+        final String first = "{" + connector("Alpha", "{}", "RUNNING", "w1", task(0, "RUNNING", "w1")) + "}";
+        final String second = "{\"Alpha\":{"
+            + "\"info\":{\"name\":\"Alpha\",\"config\":{},\"tasks\":[],\"type\":\"sink\"},"
+            + "\"status\":{\"name\":\"Alpha\",\"type\":\"sink\"}"
+            + "}}";
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(first, HttpStatus.SC_OK))
+            .thenReturn(new RestResponse(second, HttpStatus.SC_OK))
+            .thenReturn(new RestResponse(first, HttpStatus.SC_OK));
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final ConnectClusterWatcher watcher = new ConnectClusterWatcher(client, 1_000)) {
+            watcher.poll();
+
+            assertEquals(Arrays.asList(
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, "Alpha", null, "RUNNING", null, null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_WORKER_CHANGED, "Alpha", null, "w1", null, null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_REMOVED, "Alpha", 0, "RUNNING", null, null)
+            ), watcher.poll());
+
+            assertEquals(Arrays.asList(
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, "Alpha", null, null, "RUNNING", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_WORKER_CHANGED, "Alpha", null, null, "w1", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_ADDED, "Alpha", 0, null, "RUNNING", null)
+            ), watcher.poll());
+        }
+    }
+
+    /**
+     * Test that transitions to and from an omitted status, and null task entries, are reported without failing.
+     */
+    @Test
+    public void poll_reportsTransitionsThroughOmittedStatus() {
+        final String first = "{" + connector("Alpha", "{}", "RUNNING", "w1", "null," + task(0, "RUNNING", "w1")) + "}";
+        final String second = "{\"Alpha\":{\"info\":{\"name\":\"Alpha\",\"config\":{},\"tasks\":[],\"type\":\"sink\"}}}";
+        final String third = "{" + connector("Alpha", "{}", "FAILED", "w1", task(0, "FAILED", "w1") + ",null") + "}";
+
+        final RestClient mockRestClient = mock(RestClient.class);
+        when(mockRestClient.submitRequest(any()))
+            .thenReturn(new RestResponse(first, HttpStatus.SC_OK))
+            .thenReturn(new RestResponse(second, HttpStatus.SC_OK))
+            .thenReturn(new RestResponse(third, HttpStatus.SC_OK));
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, mockRestClient);
+             final ConnectClusterWatcher watcher = new ConnectClusterWatcher(client, 1_000)) {
+            watcher.poll();
+
+            assertEquals(Arrays.asList(
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, "Alpha", null, "RUNNING", null, null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_WORKER_CHANGED, "Alpha", null, "w1", null, null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_REMOVED, "Alpha", 0, "RUNNING", null, null)
+            ), watcher.poll());
+
+            assertEquals(Arrays.asList(
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_STATE_CHANGED, "Alpha", null, null, "FAILED", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_WORKER_CHANGED, "Alpha", null, null, "w1", null),
+                new ClusterChangeEvent(ClusterChangeEvent.Type.TASK_ADDED, "Alpha", 0, null, "FAILED", null)
+            ), watcher.poll());
+        }
+    }
+
+    private static ClusterChangeEvent added(final String connectorName) {
+        return new ClusterChangeEvent(ClusterChangeEvent.Type.CONNECTOR_ADDED, connectorName, null, null, null, null);
+    }
+
+    private static String connector(final String name, final String config, final String state, final String workerId, final String tasks) {
+        return "\"" + name + "\":{"
+            + "\"info\":{\"name\":\"" + name + "\",\"config\":" + config + ",\"tasks\":[],\"type\":\"sink\"},"
+            + "\"status\":{\"name\":\"" + name + "\",\"connector\":{\"state\":\"" + state + "\",\"worker_id\":\"" + workerId + "\"},"
+            + "\"tasks\":[" + tasks + "],\"type\":\"sink\"}"
+            + "}";
+    }
+
+    private static String task(final int id, final String state, final String workerId) {
+        return "{\"id\":" + id + ",\"state\":\"" + state + "\",\"worker_id\":\"" + workerId + "\"}";
+    }
+}
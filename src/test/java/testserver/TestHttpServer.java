@@ -27,6 +27,7 @@ import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 
 import javax.servlet.http.HttpServletRequest;
@@ -50,6 +51,8 @@ public class TestHttpServer implements AutoCloseable {
     // Mocked Responses
     private String responseBody;
     private String mockResponseData;
+    private long responseDelayMs = 0;
+    private boolean gzipEnabled = false;
 
     // Http options
     private Integer httpPort = null;
@@ -90,6 +93,16 @@ public class TestHttpServer implements AutoCloseable {
         return this;
     }
 
+    public TestHttpServer withResponseDelay(final long responseDelayMs) {
+        this.responseDelayMs = responseDelayMs;
+        return this;
+    }
+
+    public TestHttpServer withGzip() {
+        this.gzipEnabled = true;
+        return this;
+    }
+
     public TestHttpServer start() throws Exception {
         configureServer();
         jettyServer.start();
@@ -151,7 +164,16 @@ public class TestHttpServer implements AutoCloseable {
             jettyServer.addConnector(httpsConnector);
         }
 
-        jettyServer.setHandler(getMockHandler());
+        if (gzipEnabled) {
+            // Compress responses when requested, and decompress compressed request bodies.
+            final GzipHandler gzipHandler = new GzipHandler();
+            gzipHandler.setIncludedMethods("GET", "POST", "PUT");
+            gzipHandler.setInflateBufferSize(1024);
+            gzipHandler.setHandler(getMockHandler());
+            jettyServer.setHandler(gzipHandler);
+        } else {
+            jettyServer.setHandler(getMockHandler());
+        }
     }
 
     /**
@@ -170,6 +192,15 @@ public class TestHttpServer implements AutoCloseable {
                     request.getMethod()
                 );
 
+                // Simulate a slow server
+                if (responseDelayMs > 0) {
+                    try {
+                        Thread.sleep(responseDelayMs);
+                    } catch (final InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
                 setResponseBody(getMockResponseData());
                 response.setStatus(SC_OK);
                 response.setContentType("text/json;charset=utf-8");
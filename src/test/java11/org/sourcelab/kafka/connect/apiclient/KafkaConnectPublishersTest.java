@@ -0,0 +1,164 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient;
+
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.request.Request;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorStatus;
+import org.sourcelab.kafka.connect.apiclient.rest.ExecutorAsyncRestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestClient;
+import org.sourcelab.kafka.connect.apiclient.rest.RestResponse;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests over KafkaConnectPublishers.
+ */
+public class KafkaConnectPublishersTest {
+
+    private final Configuration configuration = new Configuration("http://localhost:9092")
+        .useAsyncThreadPoolSize(8);
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicInteger maxInFlight = new AtomicInteger(0);
+
+    /**
+     * Verifies every connector's status is published, skipping connectors deleted after being listed,
+     * and that no more requests are in flight than the subscriber has requested.
+     */
+    @Test
+    public void publishConnectorStatuses_boundedByDemand() throws Exception {
+        final RestClient mockRestClient = mockRestClient("[\"Alpha\",\"Beta\",\"Deleted\",\"Gamma\",\"Delta\"]", false);
+
+        final TestSubscriber subscriber = new TestSubscriber(2);
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            new KafkaConnectPublishers(client, 4).publishConnectorStatuses().subscribe(subscriber);
+            assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        }
+
+        assertNull(subscriber.error);
+        final List<String> names = new ArrayList<>(subscriber.names);
+        Collections.sort(names);
+        assertEquals(Arrays.asList("Alpha", "Beta", "Delta", "Gamma"), names);
+        assertTrue("Expected at most 2 concurrent requests, saw " + maxInFlight.get(), maxInFlight.get() <= 2);
+    }
+
+    /**
+     * Verifies a failed request terminates the subscription with onError.
+     */
+    @Test
+    public void publishConnectorStatuses_failure() throws Exception {
+        final RestClient mockRestClient = mockRestClient("[\"Alpha\",\"Beta\"]", true);
+
+        final TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new ExecutorAsyncRestClient(mockRestClient))) {
+            new KafkaConnectPublishers(client).publishConnectorStatuses().subscribe(subscriber);
+            assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        }
+
+        assertTrue(subscriber.error instanceof InvalidRequestException);
+    }
+
+    private RestClient mockRestClient(final String connectors, final boolean failStatuses) {
+        final RestClient mockRestClient = mock(RestClient.class);
+        doAnswer((invocation) -> {
+            final Request<?> request = invocation.getArgument(0);
+            if (request.getApiEndpoint().equals("/connectors")) {
+                return new RestResponse(connectors, HttpStatus.SC_OK);
+            }
+
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            final String name = request.getApiEndpoint().split("/")[2];
+            if (failStatuses) {
+                return new RestResponse("{\"error_code\":400,\"message\":\"Bad request\"}", HttpStatus.SC_BAD_REQUEST);
+            }
+            if (name.equals("Deleted")) {
+                return new RestResponse("{\"error_code\":404,\"message\":\"Connector Deleted not found\"}", HttpStatus.SC_NOT_FOUND);
+            }
+            return new RestResponse(
+                "{\"name\":\"" + name + "\",\"connector\":{\"state\":\"RUNNING\",\"worker_id\":\"w1\"},\"tasks\":[],\"type\":\"sink\"}",
+                HttpStatus.SC_OK
+            );
+        }).when(mockRestClient).submitRequest(any());
+        return mockRestClient;
+    }
+
+    /**
+     * Requests a fixed batch of items, requesting the next batch once the previous has been received.
+     */
+    private static final class TestSubscriber implements Flow.Subscriber<ConnectorStatus> {
+        private final long batchSize;
+        private final List<String> names = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Throwable error = null;
+        private Flow.Subscription subscription;
+        private long remaining;
+
+        private TestSubscriber(final long batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            remaining = batchSize;
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(final ConnectorStatus item) {
+            names.add(item.getName());
+            if (--remaining == 0) {
+                remaining = batchSize;
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2018, 2019, 2020, 2021 SourceLab.org https://github.com/SourceLabOrg/kafka-connect-client
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit
+ * persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ * Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.sourcelab.kafka.connect.apiclient.rest;
+
+import org.junit.Test;
+import org.sourcelab.kafka.connect.apiclient.AsyncKafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.Configuration;
+import org.sourcelab.kafka.connect.apiclient.KafkaConnectClient;
+import org.sourcelab.kafka.connect.apiclient.metrics.InMemoryRequestMetrics;
+import org.sourcelab.kafka.connect.apiclient.metrics.RequestTypeMetricsSnapshot;
+import org.sourcelab.kafka.connect.apiclient.request.dto.ConnectorDefinition;
+import org.sourcelab.kafka.connect.apiclient.request.get.GetConnectors;
+import org.sourcelab.kafka.connect.apiclient.request.put.PutConnectorConfig;
+import org.sourcelab.kafka.connect.apiclient.rest.exceptions.ConnectionException;
+import testserver.TestHttpServer;
+
+import java.net.http.HttpClient;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests JdkHttpRestClient against a test http server.
+ */
+public class JdkHttpRestClientTest {
+
+    private static final int HTTP_PORT = 10885;
+    private static final int UNUSED_HTTP_PORT = 10886;
+
+    /**
+     * Verifies requests can be submitted both synchronously and asynchronously, and metrics recorded.
+     */
+    @Test
+    public void submitRequest_syncAndAsync() throws Exception {
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useRequestMetricsListener(metrics);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("[\"Alpha\",\"Beta\"]")
+            .start()
+        ) {
+            try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new JdkHttpRestClient())) {
+                assertEquals(Arrays.asList("Alpha", "Beta"), client.getConnectors());
+            }
+            try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new JdkHttpRestClient(HttpClient.Version.HTTP_1_1))) {
+                assertEquals(Arrays.asList("Alpha", "Beta"), client.getConnectors().get(5, TimeUnit.SECONDS));
+            }
+            assertEquals("/connectors", httpServer.getLastRequest().getUrl());
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(GetConnectors.class);
+        assertEquals(2, snapshot.getHttpLatency().getCount());
+        assertEquals(2L, (long) snapshot.getHttpStatusCounts().get(200));
+        assertEquals(2L * "[\"Alpha\",\"Beta\"]".length(), snapshot.getResponseBytes());
+    }
+
+    /**
+     * Verifies large request bodies are compressed, and compressed responses decompressed.
+     */
+    @Test
+    public void submitRequest_withCompression() throws Exception {
+        final Map<String, String> config = new LinkedHashMap<>();
+        for (int index = 0; index < 50; index++) {
+            config.put("transforms.route" + index + ".type", "org.apache.kafka.connect.transforms.RegexRouter");
+        }
+        final String definition = "{\"name\":\"Alpha\",\"type\":\"sink\",\"tasks\":[],\"config\":"
+            + config.toString().replace("=", "\":\"").replace(", ", "\",\"").replace("{", "{\"").replace("}", "\"}")
+            + "}";
+
+        final InMemoryRequestMetrics metrics = new InMemoryRequestMetrics();
+        final Configuration configuration = new Configuration("http://localhost:" + HTTP_PORT)
+            .useResponseCompression()
+            .useRequestCompressionThresholdInBytes(512)
+            .useRequestMetricsListener(metrics);
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withGzip()
+            .withMockData(definition)
+            .start();
+             final KafkaConnectClient client = new KafkaConnectClient(configuration, new JdkHttpRestClient())
+        ) {
+            final ConnectorDefinition connectorDefinition = client.updateConnectorConfig("Alpha", config);
+            assertEquals(config, connectorDefinition.getConfig());
+            assertTrue(httpServer.getLastRequest().getRequestBody().contains("transforms.route49.type"));
+        }
+
+        final RequestTypeMetricsSnapshot snapshot = metrics.getSnapshot().get(PutConnectorConfig.class);
+        assertEquals(definition.length(), snapshot.getResponseBytes());
+        assertTrue(snapshot.getResponseWireBytes() < definition.length() / 2);
+        assertTrue(snapshot.getRequestWireBytes() < snapshot.getRequestBytes() / 2);
+    }
+
+    /**
+     * Verifies requests fail over to the next worker when a worker cannot be connected to.
+     */
+    @Test
+    public void submitRequest_failsOver() throws Exception {
+        final Configuration configuration = new Configuration(Arrays.asList(
+            "http://localhost:" + UNUSED_HTTP_PORT,
+            "http://localhost:" + HTTP_PORT
+        ));
+
+        try (final TestHttpServer httpServer = new TestHttpServer()
+            .withHttp(HTTP_PORT)
+            .withMockData("[\"Alpha\"]")
+            .start()
+        ) {
+            try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new JdkHttpRestClient())) {
+                assertEquals(Collections.singletonList("Alpha"), client.getConnectors());
+            }
+            try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new JdkHttpRestClient())) {
+                assertEquals(Collections.singletonList("Alpha"), client.getConnectors().get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Verifies a ConnectionException is raised when no worker can be connected to.
+     */
+    @Test
+    public void submitRequest_connectionFailure() throws Exception {
+        final Configuration configuration = new Configuration("http://localhost:" + UNUSED_HTTP_PORT);
+
+        try (final KafkaConnectClient client = new KafkaConnectClient(configuration, new JdkHttpRestClient())) {
+            client.getConnectors();
+            fail("Should have thrown an exception");
+        } catch (final ConnectionException exception) {
+            // Expected.
+        }
+
+        try (final AsyncKafkaConnectClient client = new AsyncKafkaConnectClient(configuration, new JdkHttpRestClient())) {
+            client.getConnectors().get(5, TimeUnit.SECONDS);
+            fail("Should have thrown an exception");
+        } catch (final ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof ConnectionException);
+        }
+    }
+}